@@ -0,0 +1,242 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package android.os;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * JVM stand-in for {@code android.os.Parcel}, used by benchmarks only. It keeps the
+ * data in a heap buffer using the same layout as the native Parcel: 4 bytes for ints,
+ * floats and array lengths, 8 bytes for longs and doubles and arrays of bytes, chars
+ * padded to 4 bytes, so {@link #dataSize()} is comparable to the real one.
+ */
+public final class Parcel {
+
+    private ByteBuffer mBuffer = ByteBuffer.allocate(256).order(ByteOrder.nativeOrder());
+    private int mDataSize;
+
+    private Parcel() {
+    }
+
+    public static Parcel obtain() {
+        return new Parcel();
+    }
+
+    public void recycle() {
+        mBuffer.clear();
+        mDataSize = 0;
+    }
+
+    public int dataSize() {
+        return mDataSize;
+    }
+
+    public int dataPosition() {
+        return mBuffer.position();
+    }
+
+    public void setDataPosition(final int pos) {
+        mBuffer.position(pos);
+    }
+
+    public void writeInt(final int val) {
+        ensureCapacity(4).putInt(val);
+        updateDataSize();
+    }
+
+    public int readInt() {
+        return mBuffer.getInt();
+    }
+
+    public void writeLong(final long val) {
+        ensureCapacity(8).putLong(val);
+        updateDataSize();
+    }
+
+    public long readLong() {
+        return mBuffer.getLong();
+    }
+
+    public void writeFloat(final float val) {
+        ensureCapacity(4).putFloat(val);
+        updateDataSize();
+    }
+
+    public float readFloat() {
+        return mBuffer.getFloat();
+    }
+
+    public void writeDouble(final double val) {
+        ensureCapacity(8).putDouble(val);
+        updateDataSize();
+    }
+
+    public double readDouble() {
+        return mBuffer.getDouble();
+    }
+
+    public void writeIntArray(final int[] val) {
+        writeInt(val.length);
+        ensureCapacity(4 * val.length).asIntBuffer().put(val);
+        skip(4 * val.length);
+    }
+
+    public void readIntArray(final int[] val) {
+        checkLength(val.length);
+        mBuffer.asIntBuffer().get(val);
+        mBuffer.position(mBuffer.position() + 4 * val.length);
+    }
+
+    public int[] createIntArray() {
+        final int[] val = new int[readInt()];
+        mBuffer.asIntBuffer().get(val);
+        mBuffer.position(mBuffer.position() + 4 * val.length);
+        return val;
+    }
+
+    public void writeLongArray(final long[] val) {
+        writeInt(val.length);
+        ensureCapacity(8 * val.length).asLongBuffer().put(val);
+        skip(8 * val.length);
+    }
+
+    public void readLongArray(final long[] val) {
+        checkLength(val.length);
+        mBuffer.asLongBuffer().get(val);
+        mBuffer.position(mBuffer.position() + 8 * val.length);
+    }
+
+    public long[] createLongArray() {
+        final long[] val = new long[readInt()];
+        mBuffer.asLongBuffer().get(val);
+        mBuffer.position(mBuffer.position() + 8 * val.length);
+        return val;
+    }
+
+    public void writeFloatArray(final float[] val) {
+        writeInt(val.length);
+        ensureCapacity(4 * val.length).asFloatBuffer().put(val);
+        skip(4 * val.length);
+    }
+
+    public void readFloatArray(final float[] val) {
+        checkLength(val.length);
+        mBuffer.asFloatBuffer().get(val);
+        mBuffer.position(mBuffer.position() + 4 * val.length);
+    }
+
+    public float[] createFloatArray() {
+        final float[] val = new float[readInt()];
+        mBuffer.asFloatBuffer().get(val);
+        mBuffer.position(mBuffer.position() + 4 * val.length);
+        return val;
+    }
+
+    public void writeDoubleArray(final double[] val) {
+        writeInt(val.length);
+        ensureCapacity(8 * val.length).asDoubleBuffer().put(val);
+        skip(8 * val.length);
+    }
+
+    public void readDoubleArray(final double[] val) {
+        checkLength(val.length);
+        mBuffer.asDoubleBuffer().get(val);
+        mBuffer.position(mBuffer.position() + 8 * val.length);
+    }
+
+    public double[] createDoubleArray() {
+        final double[] val = new double[readInt()];
+        mBuffer.asDoubleBuffer().get(val);
+        mBuffer.position(mBuffer.position() + 8 * val.length);
+        return val;
+    }
+
+    public void writeCharArray(final char[] val) {
+        writeInt(val.length);
+        for (final char c : val) {
+            writeInt(c);
+        }
+    }
+
+    public void readCharArray(final char[] val) {
+        checkLength(val.length);
+        for (int i = 0; i < val.length; i++) {
+            val[i] = (char) readInt();
+        }
+    }
+
+    public char[] createCharArray() {
+        final char[] val = new char[readInt()];
+        for (int i = 0; i < val.length; i++) {
+            val[i] = (char) readInt();
+        }
+        return val;
+    }
+
+    public void writeByteArray(final byte[] val) {
+        writeByteArray(val, 0, val.length);
+    }
+
+    public void writeByteArray(final byte[] val, final int offset, final int len) {
+        writeInt(len);
+        ensureCapacity(len).put(val, offset, len);
+        skip((4 - (len & 3)) & 3);
+    }
+
+    public void readByteArray(final byte[] val) {
+        checkLength(val.length);
+        mBuffer.get(val);
+        mBuffer.position(mBuffer.position() + ((4 - (val.length & 3)) & 3));
+    }
+
+    public byte[] createByteArray() {
+        final byte[] val = new byte[readInt()];
+        mBuffer.get(val);
+        mBuffer.position(mBuffer.position() + ((4 - (val.length & 3)) & 3));
+        return val;
+    }
+
+    private void checkLength(final int length) {
+        if (readInt() != length) {
+            throw new RuntimeException("bad array lengths");
+        }
+    }
+
+    private ByteBuffer ensureCapacity(final int bytes) {
+        final ByteBuffer buffer = mBuffer;
+        final int position = buffer.position();
+        if (buffer.capacity() - position < bytes) {
+            final int capacity = Math.max(buffer.capacity() * 2, position + bytes);
+            mBuffer = ByteBuffer.wrap(Arrays.copyOf(buffer.array(), capacity))
+                    .order(ByteOrder.nativeOrder());
+            mBuffer.position(position);
+        }
+        return mBuffer;
+    }
+
+    private void skip(final int bytes) {
+        ensureCapacity(bytes);
+        mBuffer.position(mBuffer.position() + bytes);
+        updateDataSize();
+    }
+
+    private void updateDataSize() {
+        mDataSize = Math.max(mDataSize, mBuffer.position());
+    }
+
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections.benchmarks;
+
+import android.os.Parcel;
+
+import com.globusltd.collections.IntArrayList;
+import com.globusltd.collections.IntProcedure;
+import com.globusltd.collections.ParallelIntAggregates;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link IntArrayList} with {@code ArrayList<Integer>}, a plain {@code int[]}
+ * and {@code SparseIntArray}. Benchmarks that mutate the shared state restore its size
+ * with an O(1) operation, so every invocation works on a list of the same size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class IntArrayListBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    private IntArrayList mList;
+    private IntArrayList mEqualList;
+    private IntArrayList mDeltaVarIntList;
+    private IntArrayList.Cursor mCursor;
+    private final SumProcedure mSumProcedure = new SumProcedure();
+    private ArrayList<Integer> mBoxedList;
+    private ArrayList<Integer> mEqualBoxedList;
+    private int[] mArray;
+    private int[] mEqualArray;
+    private SparseIntArrayBaseline mSparseArray;
+    private Parcel mParcel;
+    private ForkJoinPool mPool;
+
+    @Setup
+    public void setUp() {
+        mList = new IntArrayList();
+        mEqualList = new IntArrayList();
+        mBoxedList = new ArrayList<>();
+        mEqualBoxedList = new ArrayList<>();
+        mArray = new int[size];
+        mSparseArray = new SparseIntArrayBaseline();
+        for (int i = 0; i < size; i++) {
+            mList.add(i);
+            mEqualList.add(i);
+            mBoxedList.add(i);
+            mEqualBoxedList.add(i);
+            mArray[i] = i;
+            mSparseArray.append(2 * i, i);
+        }
+        mEqualArray = mArray.clone();
+        mCursor = mList.cursor();
+        mDeltaVarIntList = new IntArrayList(mList);
+        mDeltaVarIntList.setParcelEncoding(IntArrayList.PARCEL_ENCODING_DELTA_VARINT);
+        mParcel = Parcel.obtain();
+        mPool = new ForkJoinPool();
+    }
+
+    @TearDown
+    public void tearDown() {
+        mPool.shutdown();
+    }
+
+    @Benchmark
+    public IntArrayList add() {
+        final IntArrayList list = new IntArrayList();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public IntArrayList addAll() {
+        final IntArrayList list = new IntArrayList();
+        list.addAll(mArray, 0, size);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> addBoxed() {
+        final ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public int[] addArray() {
+        final int[] array = new int[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = i;
+        }
+        return array;
+    }
+
+    @Benchmark
+    public SparseIntArrayBaseline addSparse() {
+        final SparseIntArrayBaseline sparseArray = new SparseIntArrayBaseline();
+        for (int i = 0; i < size; i++) {
+            sparseArray.append(i, i);
+        }
+        return sparseArray;
+    }
+
+    @Benchmark
+    public int insert() {
+        final int index = size >> 1;
+        mList.add(index, -1);
+        return mList.removeAt(size);
+    }
+
+    @Benchmark
+    public Integer insertBoxed() {
+        final int index = size >> 1;
+        mBoxedList.add(index, -1);
+        return mBoxedList.remove(size);
+    }
+
+    @Benchmark
+    public void insertSparse() {
+        // Keys are even numbers, so an odd key is inserted between the existing ones.
+        final int index = (size >> 1) + 1;
+        mSparseArray.put(2 * index - 1, -1);
+        mSparseArray.removeAt(index);
+    }
+
+    @Benchmark
+    public long get() {
+        final IntArrayList list = mList;
+        long sum = 0;
+        for (int i = 0, s = list.size(); i < s; i++) {
+            sum += list.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long getBoxed() {
+        final ArrayList<Integer> list = mBoxedList;
+        long sum = 0;
+        for (int i = 0, s = list.size(); i < s; i++) {
+            sum += list.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long getForEach() {
+        final SumProcedure procedure = mSumProcedure;
+        procedure.sum = 0;
+        mList.forEach(procedure);
+        return procedure.sum;
+    }
+
+    @Benchmark
+    public long getCursor() {
+        final IntArrayList.Cursor cursor = mCursor;
+        cursor.reset(mList);
+        long sum = 0;
+        while (cursor.moveNext()) {
+            sum += cursor.value();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long sum() {
+        return mList.sum();
+    }
+
+    @Benchmark
+    public long sumParallel() {
+        return ParallelIntAggregates.sum(mList, mPool);
+    }
+
+    @Benchmark
+    public long getArray() {
+        final int[] array = mArray;
+        long sum = 0;
+        for (int i = 0, s = array.length; i < s; i++) {
+            sum += array[i];
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long getSparse() {
+        final SparseIntArrayBaseline sparseArray = mSparseArray;
+        long sum = 0;
+        for (int i = 0, s = sparseArray.size(); i < s; i++) {
+            sum += sparseArray.valueAt(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return mList.indexOf(size - 1);
+    }
+
+    @Benchmark
+    public int binarySearch() {
+        return mList.binarySearch(size - 1);
+    }
+
+    @Benchmark
+    public int indexOfBoxed() {
+        return mBoxedList.indexOf(size - 1);
+    }
+
+    @Benchmark
+    public int indexOfArray() {
+        final int[] array = mArray;
+        final int item = size - 1;
+        for (int i = 0, s = array.length; i < s; i++) {
+            if (array[i] == item) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public int indexOfSparse() {
+        return mSparseArray.indexOfValue(size - 1);
+    }
+
+    @Benchmark
+    public boolean removeAt() {
+        final int index = size >> 1;
+        final int item = mList.removeAt(index);
+        return mList.add(item);
+    }
+
+    @Benchmark
+    public boolean removeAtBoxed() {
+        final int index = size >> 1;
+        final Integer item = mBoxedList.remove(index);
+        return mBoxedList.add(item);
+    }
+
+    @Benchmark
+    public boolean equalsList() {
+        return mList.equals(mEqualList);
+    }
+
+    @Benchmark
+    public boolean equalsBoxed() {
+        return mBoxedList.equals(mEqualBoxedList);
+    }
+
+    @Benchmark
+    public boolean equalsArray() {
+        return Arrays.equals(mArray, mEqualArray);
+    }
+
+    @Benchmark
+    public int hashCodeList() {
+        return mList.hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeBoxed() {
+        return mBoxedList.hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeArray() {
+        return Arrays.hashCode(mArray);
+    }
+
+    @Benchmark
+    public IntArrayList copy() {
+        return new IntArrayList(mList);
+    }
+
+    @Benchmark
+    public ArrayList<Integer> copyBoxed() {
+        return new ArrayList<>(mBoxedList);
+    }
+
+    @Benchmark
+    public int[] copyArray() {
+        return mArray.clone();
+    }
+
+    @Benchmark
+    public SparseIntArrayBaseline copySparse() {
+        return mSparseArray.clone();
+    }
+
+    @Benchmark
+    public IntArrayList parcel() {
+        final Parcel parcel = mParcel;
+        parcel.recycle();
+        mList.writeToParcel(parcel, 0);
+        parcel.setDataPosition(0);
+        return IntArrayList.CREATOR.createFromParcel(parcel);
+    }
+
+    @Benchmark
+    public IntArrayList parcelDeltaVarInt() {
+        final Parcel parcel = mParcel;
+        parcel.recycle();
+        mDeltaVarIntList.writeToParcel(parcel, 0);
+        parcel.setDataPosition(0);
+        return IntArrayList.CREATOR.createFromParcel(parcel);
+    }
+
+    @Benchmark
+    public int[] parcelArray() {
+        final Parcel parcel = mParcel;
+        parcel.recycle();
+        parcel.writeIntArray(mArray);
+        parcel.setDataPosition(0);
+        return parcel.createIntArray();
+    }
+
+    private static final class SumProcedure implements IntProcedure {
+
+        long sum;
+
+        @Override
+        public void apply(final int value) {
+            sum += value;
+        }
+
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections.benchmarks;
+
+import com.globusltd.collections.IntArrayList;
+import com.globusltd.collections.IntHashSet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the unrolled scanning kernels of {@link IntArrayList} with the scalar loops they
+ * replaced: {@code indexOf} and {@code lastIndexOf} of a missing number, {@code equals} and
+ * {@code hashCode} of equal lists and {@code indexOfAny} of a set of missing numbers, which
+ * is compared with one {@code indexOf} per number.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class IntArrayListScanBenchmark {
+
+    private static final int SEARCHED_COUNT = 16;
+
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    private IntArrayList mList;
+    private IntArrayList mEqualList;
+    private int[] mArray;
+    private IntHashSet mSearched;
+    private int[] mSearchedArray;
+
+    @Setup
+    public void setUp() {
+        mList = new IntArrayList();
+        mArray = new int[size];
+        for (int i = 0; i < size; i++) {
+            mList.add(i);
+            mArray[i] = i;
+        }
+        mEqualList = new IntArrayList(mList);
+        mSearched = new IntHashSet();
+        mSearchedArray = new int[SEARCHED_COUNT];
+        for (int i = 0; i < SEARCHED_COUNT; i++) {
+            mSearched.add(-1 - i);
+            mSearchedArray[i] = -1 - i;
+        }
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return mList.indexOf(-1);
+    }
+
+    @Benchmark
+    public int indexOfScalar() {
+        final int[] array = mArray;
+        for (int i = 0, s = array.length; i < s; i++) {
+            if (array[i] == -1) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public int lastIndexOf() {
+        return mList.lastIndexOf(-1);
+    }
+
+    @Benchmark
+    public int lastIndexOfScalar() {
+        final int[] array = mArray;
+        for (int i = array.length - 1; i >= 0; i--) {
+            if (array[i] == -1) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public boolean equalsList() {
+        return mList.equals(mEqualList);
+    }
+
+    @Benchmark
+    public boolean equalsScalar() {
+        // The previous implementation read the other list with a bounds check per element.
+        final IntArrayList list = mList;
+        final IntArrayList that = mEqualList;
+        for (int i = 0, s = list.size(); i < s; i++) {
+            if (list.get(i) != that.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Benchmark
+    public int hashCodeList() {
+        return mList.hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeScalar() {
+        final int[] array = mArray;
+        int hashCode = 1;
+        for (int i = 0, s = array.length; i < s; i++) {
+            hashCode = 31 * hashCode + array[i];
+        }
+        return hashCode;
+    }
+
+    @Benchmark
+    public int indexOfAny() {
+        return mList.indexOfAny(mSearched);
+    }
+
+    @Benchmark
+    public int indexOfAnyScalar() {
+        final IntArrayList list = mList;
+        int index = -1;
+        for (final int item : mSearchedArray) {
+            final int i = list.indexOf(item);
+            if (i >= 0 && (index < 0 || i < index)) {
+                index = i;
+            }
+        }
+        return index;
+    }
+
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections.benchmarks;
+
+import android.os.Parcel;
+
+import com.globusltd.collections.CompressedSortedLongList;
+import com.globusltd.collections.LongArrayList;
+import com.globusltd.collections.LongProcedure;
+import com.globusltd.collections.ParallelLongAggregates;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link LongArrayList} with {@code ArrayList<Long>},
+ * {@link CompressedSortedLongList} and a plain {@code long[]}.
+ * Benchmarks that mutate the shared state restore its size with an O(1) operation,
+ * so every invocation works on a list of the same size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class LongArrayListBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    private LongArrayList mList;
+    private LongArrayList mEqualList;
+    private LongArrayList mDeltaVarIntList;
+    private CompressedSortedLongList mCompressedList;
+    private LongArrayList.Cursor mCursor;
+    private final SumProcedure mSumProcedure = new SumProcedure();
+    private ArrayList<Long> mBoxedList;
+    private ArrayList<Long> mEqualBoxedList;
+    private long[] mArray;
+    private long[] mEqualArray;
+    private Parcel mParcel;
+    private ForkJoinPool mPool;
+
+    @Setup
+    public void setUp() {
+        mList = new LongArrayList();
+        mEqualList = new LongArrayList();
+        mBoxedList = new ArrayList<>();
+        mEqualBoxedList = new ArrayList<>();
+        mArray = new long[size];
+        for (int i = 0; i < size; i++) {
+            mList.add(i);
+            mEqualList.add(i);
+            mBoxedList.add((long) i);
+            mEqualBoxedList.add((long) i);
+            mArray[i] = i;
+        }
+        mEqualArray = mArray.clone();
+        mCompressedList = new CompressedSortedLongList(mList);
+        mCursor = mList.cursor();
+        mDeltaVarIntList = new LongArrayList(mList);
+        mDeltaVarIntList.setParcelEncoding(LongArrayList.PARCEL_ENCODING_DELTA_VARINT);
+        mParcel = Parcel.obtain();
+        mPool = new ForkJoinPool();
+    }
+
+    @TearDown
+    public void tearDown() {
+        mPool.shutdown();
+    }
+
+    @Benchmark
+    public LongArrayList add() {
+        final LongArrayList list = new LongArrayList();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public LongArrayList addAll() {
+        final LongArrayList list = new LongArrayList();
+        list.addAll(mArray, 0, size);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Long> addBoxed() {
+        final ArrayList<Long> list = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            list.add((long) i);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public long[] addArray() {
+        final long[] array = new long[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = i;
+        }
+        return array;
+    }
+
+    @Benchmark
+    public long insert() {
+        final int index = size >> 1;
+        mList.add(index, -1L);
+        return mList.removeAt(size);
+    }
+
+    @Benchmark
+    public Long insertBoxed() {
+        final int index = size >> 1;
+        mBoxedList.add(index, -1L);
+        return mBoxedList.remove(size);
+    }
+
+    @Benchmark
+    public long get() {
+        final LongArrayList list = mList;
+        long sum = 0;
+        for (int i = 0, s = list.size(); i < s; i++) {
+            sum += list.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long getBoxed() {
+        final ArrayList<Long> list = mBoxedList;
+        long sum = 0;
+        for (int i = 0, s = list.size(); i < s; i++) {
+            sum += list.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long getForEach() {
+        final SumProcedure procedure = mSumProcedure;
+        procedure.sum = 0;
+        mList.forEach(procedure);
+        return procedure.sum;
+    }
+
+    @Benchmark
+    public long getCursor() {
+        final LongArrayList.Cursor cursor = mCursor;
+        cursor.reset(mList);
+        long sum = 0;
+        while (cursor.moveNext()) {
+            sum += cursor.value();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long sum() {
+        return mList.sum();
+    }
+
+    @Benchmark
+    public long sumParallel() {
+        return ParallelLongAggregates.sum(mList, mPool);
+    }
+
+    @Benchmark
+    public long getCompressed() {
+        final CompressedSortedLongList list = mCompressedList;
+        long sum = 0;
+        for (int i = 0, s = list.size(); i < s; i++) {
+            sum += list.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long[] toArrayCompressed() {
+        return mCompressedList.toArray();
+    }
+
+    @Benchmark
+    public long getArray() {
+        final long[] array = mArray;
+        long sum = 0;
+        for (int i = 0, s = array.length; i < s; i++) {
+            sum += array[i];
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return mList.indexOf(size - 1);
+    }
+
+    @Benchmark
+    public int binarySearch() {
+        return mList.binarySearch(size - 1);
+    }
+
+    @Benchmark
+    public int binarySearchCompressed() {
+        return mCompressedList.binarySearch(size - 1);
+    }
+
+    @Benchmark
+    public int indexOfBoxed() {
+        return mBoxedList.indexOf((long) (size - 1));
+    }
+
+    @Benchmark
+    public int indexOfArray() {
+        final long[] array = mArray;
+        final long item = size - 1;
+        for (int i = 0, s = array.length; i < s; i++) {
+            if (array[i] == item) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public boolean removeAt() {
+        final int index = size >> 1;
+        final long item = mList.removeAt(index);
+        return mList.add(item);
+    }
+
+    @Benchmark
+    public boolean removeAtBoxed() {
+        final int index = size >> 1;
+        final Long item = mBoxedList.remove(index);
+        return mBoxedList.add(item);
+    }
+
+    @Benchmark
+    public boolean equalsList() {
+        return mList.equals(mEqualList);
+    }
+
+    @Benchmark
+    public boolean equalsBoxed() {
+        return mBoxedList.equals(mEqualBoxedList);
+    }
+
+    @Benchmark
+    public boolean equalsArray() {
+        return Arrays.equals(mArray, mEqualArray);
+    }
+
+    @Benchmark
+    public int hashCodeList() {
+        return mList.hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeBoxed() {
+        return mBoxedList.hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeArray() {
+        return Arrays.hashCode(mArray);
+    }
+
+    @Benchmark
+    public LongArrayList copy() {
+        return new LongArrayList(mList);
+    }
+
+    @Benchmark
+    public ArrayList<Long> copyBoxed() {
+        return new ArrayList<>(mBoxedList);
+    }
+
+    @Benchmark
+    public long[] copyArray() {
+        return mArray.clone();
+    }
+
+    @Benchmark
+    public LongArrayList parcel() {
+        final Parcel parcel = mParcel;
+        parcel.recycle();
+        mList.writeToParcel(parcel, 0);
+        parcel.setDataPosition(0);
+        return LongArrayList.CREATOR.createFromParcel(parcel);
+    }
+
+    @Benchmark
+    public LongArrayList parcelDeltaVarInt() {
+        final Parcel parcel = mParcel;
+        parcel.recycle();
+        mDeltaVarIntList.writeToParcel(parcel, 0);
+        parcel.setDataPosition(0);
+        return LongArrayList.CREATOR.createFromParcel(parcel);
+    }
+
+    @Benchmark
+    public long[] parcelArray() {
+        final Parcel parcel = mParcel;
+        parcel.recycle();
+        parcel.writeLongArray(mArray);
+        parcel.setDataPosition(0);
+        return parcel.createLongArray();
+    }
+
+    private static final class SumProcedure implements LongProcedure {
+
+        long sum;
+
+        @Override
+        public void apply(final long value) {
+            sum += value;
+        }
+
+    }
+
+}
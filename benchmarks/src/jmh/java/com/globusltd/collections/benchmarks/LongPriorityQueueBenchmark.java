@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections.benchmarks;
+
+import com.globusltd.collections.LongPriorityQueue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link LongPriorityQueue} with {@code PriorityQueue<Long>} on a deadline
+ * schedule: every benchmark adds all deadlines and then polls them in order.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class LongPriorityQueueBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    private long[] mDeadlines;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        mDeadlines = new long[size];
+        for (int i = 0; i < size; i++) {
+            mDeadlines[i] = random.nextLong();
+        }
+    }
+
+    @Benchmark
+    public long addPoll() {
+        final LongPriorityQueue queue = new LongPriorityQueue();
+        for (final long deadline : mDeadlines) {
+            queue.add(deadline);
+        }
+        long sum = 0;
+        while (!queue.isEmpty()) {
+            sum += queue.poll();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long addAllPoll() {
+        final LongPriorityQueue queue = new LongPriorityQueue();
+        queue.addAll(mDeadlines, 0, size);
+        long sum = 0;
+        while (!queue.isEmpty()) {
+            sum += queue.poll();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long addPollBoxed() {
+        final PriorityQueue<Long> queue = new PriorityQueue<>();
+        for (final long deadline : mDeadlines) {
+            queue.add(deadline);
+        }
+        long sum = 0;
+        while (!queue.isEmpty()) {
+            sum += queue.poll();
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections.benchmarks;
+
+import java.util.Arrays;
+
+/**
+ * A JVM copy of the {@code android.util.SparseIntArray} algorithm: sorted keys with
+ * binary search over parallel int arrays. Used as a baseline only.
+ */
+final class SparseIntArrayBaseline implements Cloneable {
+
+    private int[] mKeys;
+    private int[] mValues;
+    private int mSize;
+
+    SparseIntArrayBaseline() {
+        mKeys = new int[10];
+        mValues = new int[10];
+    }
+
+    int get(final int key, final int valueIfKeyNotFound) {
+        final int i = Arrays.binarySearch(mKeys, 0, mSize, key);
+        return (i < 0 ? valueIfKeyNotFound : mValues[i]);
+    }
+
+    void put(final int key, final int value) {
+        int i = Arrays.binarySearch(mKeys, 0, mSize, key);
+        if (i >= 0) {
+            mValues[i] = value;
+        } else {
+            i = ~i;
+            ensureCapacity(mSize + 1);
+            System.arraycopy(mKeys, i, mKeys, i + 1, mSize - i);
+            System.arraycopy(mValues, i, mValues, i + 1, mSize - i);
+            mKeys[i] = key;
+            mValues[i] = value;
+            mSize++;
+        }
+    }
+
+    void append(final int key, final int value) {
+        if (mSize != 0 && key <= mKeys[mSize - 1]) {
+            put(key, value);
+            return;
+        }
+        ensureCapacity(mSize + 1);
+        mKeys[mSize] = key;
+        mValues[mSize] = value;
+        mSize++;
+    }
+
+    void removeAt(final int index) {
+        System.arraycopy(mKeys, index + 1, mKeys, index, mSize - (index + 1));
+        System.arraycopy(mValues, index + 1, mValues, index, mSize - (index + 1));
+        mSize--;
+    }
+
+    int keyAt(final int index) {
+        return mKeys[index];
+    }
+
+    int valueAt(final int index) {
+        return mValues[index];
+    }
+
+    int indexOfValue(final int value) {
+        for (int i = 0; i < mSize; i++) {
+            if (mValues[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    int size() {
+        return mSize;
+    }
+
+    @Override
+    public SparseIntArrayBaseline clone() {
+        final SparseIntArrayBaseline clone = new SparseIntArrayBaseline();
+        clone.mKeys = mKeys.clone();
+        clone.mValues = mValues.clone();
+        clone.mSize = mSize;
+        return clone;
+    }
+
+    private void ensureCapacity(final int minCapacity) {
+        if (minCapacity > mKeys.length) {
+            final int capacity = Math.max(minCapacity, mKeys.length * 2);
+            mKeys = Arrays.copyOf(mKeys, capacity);
+            mValues = Arrays.copyOf(mValues, capacity);
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.support.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the work done by {@link IntArrayList} and {@link LongArrayList} on their hot paths:
+ * <ul>
+ * <li>grows of the backing array;</li>
+ * <li>elements copied because the backing array grew or elements were shifted by an
+ * insertion or a removal;</li>
+ * <li>elements compared by linear searches, like {@link IntArrayList#indexOf(int)}.</li>
+ * </ul>
+ * Instrumentation is off by default. A list reports to the sink set with
+ * {@link IntArrayList#setStats(CollectionStats)}, or to the global sink which was set with
+ * {@link #setGlobal(CollectionStats)} when the list was created or obtained. A list without
+ * a sink only checks a field for {@code null}.
+ * <p/>
+ * Counters are atomic, so one sink can be shared by lists used on different threads.
+ */
+public final class CollectionStats {
+
+    private static volatile CollectionStats sGlobal;
+
+    private final AtomicLong mGrowCount = new AtomicLong();
+    private final AtomicLong mCopiedElements = new AtomicLong();
+    private final AtomicLong mScannedElements = new AtomicLong();
+
+    /**
+     * Sets the sink for the lists created from now on, or turns the global instrumentation
+     * off if {@code stats} is {@code null}. Existing lists keep their sink.
+     */
+    public static void setGlobal(@Nullable final CollectionStats stats) {
+        sGlobal = stats;
+    }
+
+    /**
+     * Returns the sink for newly created lists, or {@code null} if the global
+     * instrumentation is off.
+     */
+    @Nullable
+    public static CollectionStats getGlobal() {
+        return sGlobal;
+    }
+
+    /**
+     * Returns the number of times a backing array grew.
+     */
+    public long getGrowCount() {
+        return mGrowCount.get();
+    }
+
+    /**
+     * Returns the number of elements copied to a grown backing array or shifted within it.
+     */
+    public long getCopiedElements() {
+        return mCopiedElements.get();
+    }
+
+    /**
+     * Returns the number of elements compared by linear searches.
+     */
+    public long getScannedElements() {
+        return mScannedElements.get();
+    }
+
+    /**
+     * Resets all counters to zero.
+     */
+    public void reset() {
+        mGrowCount.set(0L);
+        mCopiedElements.set(0L);
+        mScannedElements.set(0L);
+    }
+
+    @Override
+    public String toString() {
+        return "CollectionStats { grows=" + mGrowCount.get()
+                + ", copied=" + mCopiedElements.get()
+                + ", scanned=" + mScannedElements.get() + " }";
+    }
+
+    void recordGrow(final int copiedElements) {
+        mGrowCount.incrementAndGet();
+        mCopiedElements.addAndGet(copiedElements);
+    }
+
+    void recordCopy(final int copiedElements) {
+        mCopiedElements.addAndGet(copiedElements);
+    }
+
+    void recordScan(final int scannedElements) {
+        mScannedElements.addAndGet(scannedElements);
+    }
+
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Encodes a sequence of numbers as differences between neighbours, zig-zag mapped to
+ * unsigned numbers and written as little-endian base 128 varints. Sorted or clustered
+ * sequences, like database ids, take one or two bytes per element instead of four or eight.
+ */
+final class DeltaVarIntCodec {
+
+    private DeltaVarIntCodec() {
+    }
+
+    /**
+     * Returns the number of bytes required to encode the first {@code size} values.
+     */
+    static int encodedLength(@NonNull final int[] values, final int size) {
+        return encodedLength(values, 0, size);
+    }
+
+    /**
+     * Returns the number of bytes required to encode the values between {@code from},
+     * inclusive, and {@code to}, exclusive.
+     */
+    static int encodedLength(@NonNull final int[] values, final int from, final int to) {
+        int length = 0;
+        int previous = 0;
+        for (int i = from; i < to; i++) {
+            final int value = values[i];
+            length += varIntLength(zigZag(value - previous));
+            previous = value;
+        }
+        return length;
+    }
+
+    /**
+     * Encodes the first {@code size} values into the specified array which must have
+     * at least {@link #encodedLength(int[], int)} bytes.
+     */
+    static void encode(@NonNull final int[] values, final int size, @NonNull final byte[] dest) {
+        encode(values, 0, size, dest);
+    }
+
+    /**
+     * Encodes the values between {@code from}, inclusive, and {@code to}, exclusive, into
+     * the specified array which must have at least
+     * {@link #encodedLength(int[], int, int)} bytes.
+     */
+    static void encode(@NonNull final int[] values, final int from, final int to,
+            @NonNull final byte[] dest) {
+        int offset = 0;
+        int previous = 0;
+        for (int i = from; i < to; i++) {
+            final int value = values[i];
+            int v = zigZag(value - previous);
+            while ((v & ~0x7F) != 0) {
+                dest[offset++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            dest[offset++] = (byte) v;
+            previous = value;
+        }
+    }
+
+    /**
+     * Decodes {@code size} values encoded with {@link #encode(int[], int, byte[])}.
+     *
+     * @throws IllegalArgumentException if {@code src} does not contain exactly
+     *                                  {@code size} encoded values.
+     */
+    @NonNull
+    static int[] decodeInts(@NonNull final byte[] src, final int size) {
+        final int length = src.length;
+        checkSize(size, length);
+        final int[] values = new int[size];
+        int offset = 0;
+        int previous = 0;
+        for (int i = 0; i < size; i++) {
+            int v = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (offset >= length || shift > 28) {
+                    throw new IllegalArgumentException("Malformed varint at " + offset);
+                }
+                b = src[offset++];
+                v |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous += unZigZag(v);
+            values[i] = previous;
+        }
+        checkFullyConsumed(offset, length);
+        return values;
+    }
+
+    /**
+     * Returns the number of bytes required to encode the first {@code size} values.
+     */
+    static int encodedLength(@NonNull final long[] values, final int size) {
+        return encodedLength(values, 0, size);
+    }
+
+    /**
+     * Returns the number of bytes required to encode the values between {@code from},
+     * inclusive, and {@code to}, exclusive.
+     */
+    static int encodedLength(@NonNull final long[] values, final int from, final int to) {
+        int length = 0;
+        long previous = 0L;
+        for (int i = from; i < to; i++) {
+            final long value = values[i];
+            length += varLongLength(zigZag(value - previous));
+            previous = value;
+        }
+        return length;
+    }
+
+    /**
+     * Encodes the first {@code size} values into the specified array which must have
+     * at least {@link #encodedLength(long[], int)} bytes.
+     */
+    static void encode(@NonNull final long[] values, final int size, @NonNull final byte[] dest) {
+        encode(values, 0, size, dest);
+    }
+
+    /**
+     * Encodes the values between {@code from}, inclusive, and {@code to}, exclusive, into
+     * the specified array which must have at least
+     * {@link #encodedLength(long[], int, int)} bytes.
+     */
+    static void encode(@NonNull final long[] values, final int from, final int to,
+            @NonNull final byte[] dest) {
+        int offset = 0;
+        long previous = 0L;
+        for (int i = from; i < to; i++) {
+            final long value = values[i];
+            long v = zigZag(value - previous);
+            while ((v & ~0x7FL) != 0L) {
+                dest[offset++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            dest[offset++] = (byte) v;
+            previous = value;
+        }
+    }
+
+    /**
+     * Decodes {@code size} values encoded with {@link #encode(long[], int, byte[])}.
+     *
+     * @throws IllegalArgumentException if {@code src} does not contain exactly
+     *                                  {@code size} encoded values.
+     */
+    @NonNull
+    static long[] decodeLongs(@NonNull final byte[] src, final int size) {
+        final int length = src.length;
+        checkSize(size, length);
+        final long[] values = new long[size];
+        int offset = 0;
+        long previous = 0L;
+        for (int i = 0; i < size; i++) {
+            long v = 0L;
+            int shift = 0;
+            byte b;
+            do {
+                if (offset >= length || shift > 63) {
+                    throw new IllegalArgumentException("Malformed varint at " + offset);
+                }
+                b = src[offset++];
+                v |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous += unZigZag(v);
+            values[i] = previous;
+        }
+        checkFullyConsumed(offset, length);
+        return values;
+    }
+
+    private static int zigZag(final int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unZigZag(final int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long zigZag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(final long value) {
+        return (value >>> 1) ^ -(value & 1L);
+    }
+
+    private static int varIntLength(final int value) {
+        if ((value & (~0 << 7)) == 0) {
+            return 1;
+        } else if ((value & (~0 << 14)) == 0) {
+            return 2;
+        } else if ((value & (~0 << 21)) == 0) {
+            return 3;
+        } else if ((value & (~0 << 28)) == 0) {
+            return 4;
+        }
+        return 5;
+    }
+
+    private static int varLongLength(long value) {
+        int length = 1;
+        while ((value & ~0x7FL) != 0L) {
+            value >>>= 7;
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Checks the number of values before an array is allocated for them, every value takes
+     * at least one byte.
+     */
+    private static void checkSize(final int size, final int length) {
+        if (size < 0 || size > length) {
+            throw new IllegalArgumentException("Illegal size " + size + " for " + length
+                    + " bytes");
+        }
+    }
+
+    private static void checkFullyConsumed(final int offset, final int length) {
+        if (offset != length) {
+            throw new IllegalArgumentException("Unexpected " + (length - offset) + " trailing bytes");
+        }
+    }
+
+}
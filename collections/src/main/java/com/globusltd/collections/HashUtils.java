@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+/**
+ * Helper methods shared by the open-addressing hash collections.
+ */
+final class HashUtils {
+
+    static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    private static final int MIN_CAPACITY = 4;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private static final int INT_PHI = 0x9E3779B9;
+    private static final long LONG_PHI = 0x9E3779B97F4A7C15L;
+
+    private HashUtils() {
+    }
+
+    /**
+     * Spreads bits of the specified key, so that sequential keys do not occupy
+     * adjacent slots of a table with power of two capacity.
+     */
+    static int mix(final int key) {
+        final int h = key * INT_PHI;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Spreads bits of the specified key, so that sequential keys do not occupy
+     * adjacent slots of a table with power of two capacity.
+     */
+    static int mix(final long key) {
+        final long h = key * LONG_PHI;
+        final int i = (int) (h ^ (h >>> 32));
+        return i ^ (i >>> 16);
+    }
+
+    /**
+     * Checks that the specified load factor leaves at least one free slot in a table.
+     *
+     * @throws IllegalArgumentException if {@code loadFactor} is not in (0, 1) range.
+     */
+    static float checkLoadFactor(final float loadFactor) {
+        if (!(loadFactor > 0f && loadFactor < 1f)) {
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+        }
+        return loadFactor;
+    }
+
+    /**
+     * Returns power of two table capacity to hold the specified number of elements
+     * without resizing.
+     *
+     * @throws IllegalArgumentException if {@code expectedSize} is negative.
+     */
+    static int capacityFor(final int expectedSize, final float loadFactor) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + expectedSize);
+        }
+
+        final long minCapacity = (long) Math.ceil(expectedSize / (double) loadFactor);
+        if (minCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity is too large: " + expectedSize);
+        }
+
+        int capacity = MIN_CAPACITY;
+        while (capacity < minCapacity) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Returns the number of elements that a table with the specified capacity holds
+     * before it has to be resized, always leaves at least one free slot.
+     */
+    static int resizeThreshold(final int capacity, final float loadFactor) {
+        return Math.min(capacity - 1, (int) Math.ceil(capacity * loadFactor));
+    }
+
+    /**
+     * Returns capacity of the table after the next resize.
+     *
+     * @throws IllegalStateException if the table cannot grow anymore.
+     */
+    static int nextCapacity(final int capacity) {
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("Table is full, capacity is " + capacity);
+        }
+        return capacity << 1;
+    }
+
+}
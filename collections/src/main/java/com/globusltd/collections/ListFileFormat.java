@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.support.annotation.NonNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * File layout shared by {@code saveTo}/{@code loadFrom} of the primitive lists and the
+ * memory-mapped lists. A file starts with a 16 byte header: magic number, format version,
+ * element size in bytes and number of elements, followed by the elements. All values are
+ * little-endian, so the elements can be mapped and read in place on ARM and x86 devices.
+ */
+final class ListFileFormat {
+
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * Size of the buffer used to copy elements between a list and a file.
+     */
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    private static final int MAGIC = 0x4C43474C; // "LGCL" in little-endian order
+    private static final int VERSION = 1;
+
+    private ListFileFormat() {
+    }
+
+    /**
+     * Writes a header for {@code size} elements of {@code elementSize} bytes each at the
+     * current position of the channel.
+     */
+    static void writeHeader(@NonNull final FileChannel channel, final int elementSize,
+            final int size) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER);
+        header.putInt(MAGIC).putInt(VERSION).putInt(elementSize).putInt(size);
+        header.flip();
+        writeFully(channel, header);
+    }
+
+    /**
+     * Reads and validates a header at the current position of the channel.
+     *
+     * @return the number of elements which follow the header.
+     * @throws IOException if the header is truncated, written by an unknown version or
+     *                     for elements of another size, or the file is too short for
+     *                     the elements.
+     */
+    static int readHeader(@NonNull final FileChannel channel, final int elementSize)
+            throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER);
+        readFully(channel, header);
+        header.flip();
+
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a list file");
+        }
+        final int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported list file version " + version);
+        }
+        final int fileElementSize = header.getInt();
+        if (fileElementSize != elementSize) {
+            throw new IOException("List file has elements of " + fileElementSize
+                    + " bytes, expected " + elementSize);
+        }
+        final int size = header.getInt();
+        if (size < 0 || (long) size * elementSize > channel.size() - channel.position()) {
+            throw new IOException("Illegal list size " + size);
+        }
+        return size;
+    }
+
+    static void writeFully(@NonNull final FileChannel channel, @NonNull final ByteBuffer src)
+            throws IOException {
+        while (src.hasRemaining()) {
+            channel.write(src);
+        }
+    }
+
+    static void readFully(@NonNull final FileChannel channel, @NonNull final ByteBuffer dst)
+            throws IOException {
+        while (dst.hasRemaining()) {
+            if (channel.read(dst) < 0) {
+                throw new EOFException("Unexpected end of list file");
+            }
+        }
+    }
+
+}
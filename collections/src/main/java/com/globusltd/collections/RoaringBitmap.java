@@ -0,0 +1,1294 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * RoaringBitmap is a compressed set of ints. The values are split into chunks by their
+ * high 16 bits and every non-empty chunk keeps its low 16 bits in the most compact of
+ * three containers:
+ * <ul>
+ * <li>a sorted array of up to 4096 values, 2 bytes per value;</li>
+ * <li>a bitmap of 65536 bits, 8 KB regardless of the number of values;</li>
+ * <li>a sorted array of runs of consecutive values, 4 bytes per run.</li>
+ * </ul>
+ * Set operations work chunk by chunk on whole containers, so {@link #and(RoaringBitmap)},
+ * {@link #or(RoaringBitmap)} and {@link #andNot(RoaringBitmap)} of dense sets are computed
+ * 64 values at a time, and {@link #longCardinality()} is a sum of the container sizes.
+ * <p/>
+ * Containers produced by set operations, {@link #addRange(int, int)} and the constructor
+ * from a list are compacted automatically. Call {@link #optimize()} after many single
+ * {@link #add(int)} calls to convert containers to runs where it saves memory.
+ * <p/>
+ * Values are ordered as signed ints, like in a sorted {@link IntArrayList}.
+ */
+public class RoaringBitmap implements Parcelable {
+
+    private static final int ARRAY_MAX_SIZE = 4096;
+    private static final int BITMAP_WORDS = 1024;
+    private static final int BITMAP_BYTES = BITMAP_WORDS * 8;
+
+    private static final int CONTAINER_ARRAY = 0;
+    private static final int CONTAINER_BITMAP = 1;
+    private static final int CONTAINER_RUN = 2;
+
+    /**
+     * Some VMs reserve header words in an array, larger arrays may fail to allocate.
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private char[] mKeys;
+    private Container[] mContainers;
+    private int mSize;
+
+    /**
+     * Constructs a new empty instance of {@code RoaringBitmap}.
+     */
+    public RoaringBitmap() {
+        mKeys = new char[4];
+        mContainers = new Container[4];
+    }
+
+    /**
+     * Constructs a new instance of {@code RoaringBitmap} containing the elements of the
+     * specified bitmap.
+     *
+     * @param bitmap the bitmap whose elements are to be copied.
+     */
+    public RoaringBitmap(@NonNull final RoaringBitmap bitmap) {
+        this(bitmap.mSize);
+        for (int i = 0; i < bitmap.mSize; i++) {
+            append(bitmap.mKeys[i], bitmap.mContainers[i].copy());
+        }
+    }
+
+    /**
+     * Constructs a new instance of {@code RoaringBitmap} containing the distinct elements of
+     * the specified list. The list does not have to be sorted.
+     *
+     * @param intArrayList the list whose elements are to be added.
+     */
+    public RoaringBitmap(@NonNull final IntArrayList intArrayList) {
+        this();
+        final int[] values = intArrayList.toArray();
+        Arrays.sort(values);
+
+        final char[] chunk = new char[Math.min(values.length, 1 << 16)];
+        int i = 0;
+        while (i < values.length) {
+            final char key = highBits(values[i]);
+            int count = 0;
+            for (; i < values.length && highBits(values[i]) == key; i++) {
+                final char low = lowBits(values[i]);
+                if (count == 0 || chunk[count - 1] != low) {
+                    chunk[count++] = low;
+                }
+            }
+            append(key, Container.fromSortedValues(chunk, count));
+        }
+    }
+
+    private RoaringBitmap(final int capacity) {
+        mKeys = new char[Math.max(capacity, 4)];
+        mContainers = new Container[Math.max(capacity, 4)];
+    }
+
+    private RoaringBitmap(@NonNull final Parcel in) {
+        this();
+        final int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            final char key = (char) in.readInt();
+            append(key, Container.readFromParcel(in));
+        }
+    }
+
+    /**
+     * Adds the specified value to this bitmap.
+     *
+     * @param value the value to add.
+     * @return {@code true} if the bitmap did not already contain the value.
+     */
+    public boolean add(final int value) {
+        final char key = highBits(value);
+        final int index = indexOfKey(key);
+        if (index < 0) {
+            insert(~index, key, new ArrayContainer(lowBits(value)));
+            return true;
+        }
+
+        final Container container = mContainers[index];
+        final int cardinality = container.cardinality();
+        mContainers[index] = container.add(lowBits(value));
+        return (mContainers[index].cardinality() != cardinality);
+    }
+
+    /**
+     * Adds all values in the range from {@code from}, inclusive, to {@code to}, exclusive,
+     * to this bitmap.
+     *
+     * @param from the first value to add.
+     * @param to   the value after the last value to add.
+     * @throws IllegalArgumentException if {@code from > to}.
+     */
+    public void addRange(final int from, final int to) {
+        if (from > to) {
+            throw new IllegalArgumentException("Invalid range [" + from + ", " + to + ")");
+        }
+        if (from == to) {
+            return;
+        }
+
+        // Unsigned positions of the values, where the chunk is the high 16 bits.
+        final long start = (from ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+        final long end = (to ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+        for (long chunkStart = start & ~0xFFFFL; chunkStart < end; chunkStart += 1 << 16) {
+            final char key = (char) (chunkStart >>> 16);
+            final int low = (int) (Math.max(start, chunkStart) - chunkStart);
+            final int high = (int) (Math.min(end, chunkStart + (1 << 16)) - chunkStart);
+
+            final int index = indexOfKey(key);
+            final long[] words = (index >= 0 ?
+                    mContainers[index].toWords() : new long[BITMAP_WORDS]);
+            setRange(words, low, high);
+            final Container container = Container.fromWords(words);
+            if (index >= 0) {
+                mContainers[index] = container;
+            } else {
+                insert(~index, key, container);
+            }
+        }
+    }
+
+    /**
+     * Removes the specified value from this bitmap.
+     *
+     * @param value the value to remove.
+     * @return {@code true} if the bitmap contained the value.
+     */
+    public boolean remove(final int value) {
+        final int index = indexOfKey(highBits(value));
+        if (index < 0) {
+            return false;
+        }
+
+        final Container container = mContainers[index];
+        final int cardinality = container.cardinality();
+        final Container result = container.remove(lowBits(value));
+        if (result.cardinality() == 0) {
+            removeAt(index);
+        } else {
+            mContainers[index] = result;
+        }
+        return (result.cardinality() != cardinality);
+    }
+
+    /**
+     * Searches this bitmap for the specified value.
+     *
+     * @param value the value to search for.
+     * @return {@code true} if {@code value} is an element of this bitmap.
+     */
+    public boolean contains(final int value) {
+        final int index = indexOfKey(highBits(value));
+        return (index >= 0 && mContainers[index].contains(lowBits(value)));
+    }
+
+    /**
+     * Returns a new bitmap containing the values which are in both this and the specified
+     * bitmap.
+     */
+    @NonNull
+    public RoaringBitmap and(@NonNull final RoaringBitmap other) {
+        final RoaringBitmap result = new RoaringBitmap(Math.min(mSize, other.mSize));
+        int i = 0;
+        int j = 0;
+        while (i < mSize && j < other.mSize) {
+            final char key = mKeys[i];
+            final char otherKey = other.mKeys[j];
+            if (key < otherKey) {
+                i++;
+            } else if (key > otherKey) {
+                j++;
+            } else {
+                result.appendIfNotEmpty(key,
+                        Container.and(mContainers[i++], other.mContainers[j++]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new bitmap containing the values which are in this or the specified bitmap.
+     */
+    @NonNull
+    public RoaringBitmap or(@NonNull final RoaringBitmap other) {
+        final RoaringBitmap result = new RoaringBitmap(mSize + other.mSize);
+        int i = 0;
+        int j = 0;
+        while (i < mSize || j < other.mSize) {
+            final int key = (i < mSize ? mKeys[i] : Integer.MAX_VALUE);
+            final int otherKey = (j < other.mSize ? other.mKeys[j] : Integer.MAX_VALUE);
+            if (key < otherKey) {
+                result.append((char) key, mContainers[i++].copy());
+            } else if (key > otherKey) {
+                result.append((char) otherKey, other.mContainers[j++].copy());
+            } else {
+                result.append((char) key,
+                        Container.or(mContainers[i++], other.mContainers[j++]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new bitmap containing the values which are in this bitmap but not in the
+     * specified one.
+     */
+    @NonNull
+    public RoaringBitmap andNot(@NonNull final RoaringBitmap other) {
+        final RoaringBitmap result = new RoaringBitmap(mSize);
+        int j = 0;
+        for (int i = 0; i < mSize; i++) {
+            final char key = mKeys[i];
+            while (j < other.mSize && other.mKeys[j] < key) {
+                j++;
+            }
+            if (j < other.mSize && other.mKeys[j] == key) {
+                result.appendIfNotEmpty(key,
+                        Container.andNot(mContainers[i], other.mContainers[j]));
+            } else {
+                result.append(key, mContainers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Converts every container of this bitmap to the representation that takes the least
+     * memory.
+     */
+    public void optimize() {
+        for (int i = 0; i < mSize; i++) {
+            mContainers[i] = mContainers[i].optimize();
+        }
+    }
+
+    /**
+     * Returns the number of values in this bitmap.
+     *
+     * @throws IllegalStateException if the bitmap contains more than
+     *                               {@link Integer#MAX_VALUE} values.
+     * @see #longCardinality()
+     */
+    public int cardinality() {
+        final long cardinality = longCardinality();
+        if (cardinality > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Cardinality " + cardinality
+                    + " does not fit into an int, use longCardinality()");
+        }
+        return (int) cardinality;
+    }
+
+    /**
+     * Returns the number of values in this bitmap, which is up to 2<sup>32</sup> when the
+     * bitmap contains every int.
+     */
+    public long longCardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < mSize; i++) {
+            cardinality += mContainers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    /**
+     * Returns if this bitmap contains no values.
+     */
+    public boolean isEmpty() {
+        return (mSize == 0);
+    }
+
+    /**
+     * Removes all values from this bitmap, leaving it empty.
+     */
+    public void clear() {
+        Arrays.fill(mContainers, 0, mSize, null);
+        mSize = 0;
+    }
+
+    /**
+     * Returns the approximate number of bytes the containers of this bitmap take.
+     */
+    public long sizeInBytes() {
+        long bytes = 0;
+        for (int i = 0; i < mSize; i++) {
+            bytes += 2 + mContainers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Applies the specified procedure to every value of this bitmap in ascending order.
+     * The procedure must not modify this bitmap.
+     *
+     * @param procedure the procedure to apply.
+     */
+    public void forEach(@NonNull final IntProcedure procedure) {
+        for (int i = 0; i < mSize; i++) {
+            mContainers[i].forEach(procedure, mKeys[i] << 16);
+        }
+    }
+
+    /**
+     * Returns a new array containing all values of this bitmap in ascending order.
+     *
+     * @throws IllegalStateException if the bitmap contains more values than an array can hold.
+     */
+    public int[] toArray() {
+        final long cardinality = longCardinality();
+        if (cardinality > MAX_ARRAY_SIZE) {
+            throw new IllegalStateException("Cardinality " + cardinality
+                    + " is too large for an array");
+        }
+        final int[] result = new int[(int) cardinality];
+        int offset = 0;
+        for (int i = 0; i < mSize; i++) {
+            offset = mContainers[i].fill(result, offset, mKeys[i] << 16);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new {@code IntArrayList} containing all values of this bitmap in ascending
+     * order.
+     *
+     * @throws IllegalStateException if the bitmap contains more values than an array can hold.
+     */
+    @NonNull
+    public IntArrayList toIntArrayList() {
+        final int[] a = toArray();
+        final IntArrayList list = new IntArrayList();
+        list.addAll(a, 0, a.length);
+        return list;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (int i = 0; i < mSize; i++) {
+            hashCode = mContainers[i].hash(hashCode, mKeys[i] << 16);
+        }
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+
+        if (!(o instanceof RoaringBitmap)) {
+            return false;
+        }
+
+        final RoaringBitmap that = (RoaringBitmap) o;
+        if (mSize != that.mSize) {
+            return false;
+        }
+
+        for (int i = 0; i < mSize; i++) {
+            if (mKeys[i] != that.mKeys[i]) {
+                return false;
+            }
+            if (!mContainers[i].sameValues(that.mContainers[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "RoaringBitmap { cardinality=" + longCardinality() + " }";
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(final Parcel dest, final int flags) {
+        dest.writeInt(mSize);
+        for (int i = 0; i < mSize; i++) {
+            dest.writeInt(mKeys[i]);
+            mContainers[i].writeToParcel(dest);
+        }
+    }
+
+    public static final Creator<RoaringBitmap> CREATOR = new Creator<RoaringBitmap>() {
+
+        @Override
+        public RoaringBitmap createFromParcel(final Parcel in) {
+            return new RoaringBitmap(in);
+        }
+
+        @Override
+        public RoaringBitmap[] newArray(final int size) {
+            return new RoaringBitmap[size];
+        }
+
+    };
+
+    /**
+     * Returns the chunk key of the specified value. The sign bit is flipped, so unsigned
+     * keys keep the signed order of the values.
+     */
+    private static char highBits(final int value) {
+        return (char) ((value ^ Integer.MIN_VALUE) >>> 16);
+    }
+
+    private static char lowBits(final int value) {
+        return (char) value;
+    }
+
+    /**
+     * Restores the value from the {@code base = key << 16} of its chunk and its low bits.
+     */
+    private static int value(final int base, final int low) {
+        return (base | low) ^ Integer.MIN_VALUE;
+    }
+
+    private int indexOfKey(final char key) {
+        int lo = 0;
+        int hi = mSize - 1;
+        while (lo <= hi) {
+            final int mid = (lo + hi) >>> 1;
+            final char midKey = mKeys[mid];
+            if (midKey < key) {
+                lo = mid + 1;
+            } else if (midKey > key) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return ~lo;
+    }
+
+    private void append(final char key, @NonNull final Container container) {
+        insert(mSize, key, container);
+    }
+
+    private void appendIfNotEmpty(final char key, @Nullable final Container container) {
+        if (container != null) {
+            append(key, container);
+        }
+    }
+
+    private void insert(final int index, final char key, @NonNull final Container container) {
+        if (mSize == mKeys.length) {
+            final int capacity = mSize + Math.max(mSize >> 1, 4);
+            final char[] keys = new char[capacity];
+            final Container[] containers = new Container[capacity];
+            System.arraycopy(mKeys, 0, keys, 0, mSize);
+            System.arraycopy(mContainers, 0, containers, 0, mSize);
+            mKeys = keys;
+            mContainers = containers;
+        }
+        System.arraycopy(mKeys, index, mKeys, index + 1, mSize - index);
+        System.arraycopy(mContainers, index, mContainers, index + 1, mSize - index);
+        mKeys[index] = key;
+        mContainers[index] = container;
+        mSize++;
+    }
+
+    private void removeAt(final int index) {
+        System.arraycopy(mKeys, index + 1, mKeys, index, mSize - index - 1);
+        System.arraycopy(mContainers, index + 1, mContainers, index, mSize - index - 1);
+        mContainers[--mSize] = null;
+    }
+
+    /**
+     * Sets the bits from {@code from}, inclusive, to {@code to}, exclusive.
+     */
+    private static void setRange(@NonNull final long[] words, final int from, final int to) {
+        if (from >= to) {
+            return;
+        }
+        final int first = from >>> 6;
+        final int last = (to - 1) >>> 6;
+        if (first == last) {
+            words[first] |= (-1L << from) & (-1L >>> -to);
+            return;
+        }
+        words[first] |= -1L << from;
+        for (int i = first + 1; i < last; i++) {
+            words[i] = -1L;
+        }
+        words[last] |= -1L >>> -to;
+    }
+
+    /**
+     * Clears the bits from {@code from}, inclusive, to {@code to}, exclusive.
+     */
+    private static void clearRange(@NonNull final long[] words, final int from, final int to) {
+        if (from >= to) {
+            return;
+        }
+        final int first = from >>> 6;
+        final int last = (to - 1) >>> 6;
+        if (first == last) {
+            words[first] &= ~((-1L << from) & (-1L >>> -to));
+            return;
+        }
+        words[first] &= ~(-1L << from);
+        for (int i = first + 1; i < last; i++) {
+            words[i] = 0L;
+        }
+        words[last] &= ~(-1L >>> -to);
+    }
+
+    /**
+     * Holds the low 16 bits of the values of one chunk. Containers are never empty,
+     * operations which can change the representation return the container to use instead.
+     */
+    private abstract static class Container {
+
+        abstract int cardinality();
+
+        abstract boolean contains(char value);
+
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract Container copy();
+
+        abstract Container optimize();
+
+        abstract long sizeInBytes();
+
+        /**
+         * Returns a new bitmap of 1024 words with the values of this container.
+         */
+        abstract long[] toWords();
+
+        /**
+         * Sets the bits of the values of this container.
+         */
+        abstract void orInto(long[] words);
+
+        /**
+         * Clears the bits of the values of this container.
+         */
+        abstract void andNotFrom(long[] words);
+
+        abstract void forEach(IntProcedure procedure, int base);
+
+        /**
+         * Writes the values to {@code dest} starting at {@code offset} and returns the
+         * offset after the last written value.
+         */
+        abstract int fill(int[] dest, int offset, int base);
+
+        abstract int hash(int hashCode, int base);
+
+        abstract void writeToParcel(Parcel dest);
+
+        boolean sameValues(@NonNull final Container other) {
+            return (cardinality() == other.cardinality()
+                    && Arrays.equals(toWords(), other.toWords()));
+        }
+
+        static Container readFromParcel(@NonNull final Parcel in) {
+            final int type = in.readInt();
+            switch (type) {
+                case CONTAINER_ARRAY:
+                    final char[] values = in.createCharArray();
+                    return new ArrayContainer(values, values.length);
+                case CONTAINER_BITMAP:
+                    final long[] words = in.createLongArray();
+                    return new BitmapContainer(words, cardinality(words));
+                case CONTAINER_RUN:
+                    final char[] runs = in.createCharArray();
+                    return new RunContainer(runs, runs.length / 2);
+                default:
+                    throw new IllegalArgumentException("Unknown container type: " + type);
+            }
+        }
+
+        /**
+         * Returns the smallest container for {@code count} distinct values in ascending order.
+         */
+        static Container fromSortedValues(@NonNull final char[] values, final int count) {
+            int runCount = 0;
+            for (int i = 0; i < count; i++) {
+                if (i == 0 || values[i] != values[i - 1] + 1) {
+                    runCount++;
+                }
+            }
+
+            if (runCount * 4L < Math.min(count * 2L, BITMAP_BYTES)) {
+                final char[] runs = new char[runCount * 2];
+                int r = -1;
+                for (int i = 0; i < count; i++) {
+                    if (i == 0 || values[i] != values[i - 1] + 1) {
+                        runs[++r * 2] = values[i];
+                    }
+                    runs[r * 2 + 1] = (char) (values[i] - runs[r * 2]);
+                }
+                return new RunContainer(runs, runCount);
+            }
+
+            if (count <= ARRAY_MAX_SIZE) {
+                final char[] array = new char[count];
+                System.arraycopy(values, 0, array, 0, count);
+                return new ArrayContainer(array, count);
+            }
+
+            final long[] words = new long[BITMAP_WORDS];
+            for (int i = 0; i < count; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return new BitmapContainer(words, count);
+        }
+
+        /**
+         * Returns the smallest container for the values of the bitmap, or {@code null} if
+         * the bitmap is empty. The bitmap can be taken over by the returned container.
+         */
+        @Nullable
+        static Container fromWords(@NonNull final long[] words) {
+            int cardinality = 0;
+            int runCount = 0;
+            long previous = 0L;
+            for (final long word : words) {
+                cardinality += Long.bitCount(word);
+                runCount += Long.bitCount(word & ~((word << 1) | (previous >>> 63)));
+                previous = word;
+            }
+
+            if (cardinality == 0) {
+                return null;
+            }
+            if (runCount * 4L < Math.min(cardinality * 2L, BITMAP_BYTES)) {
+                return RunContainer.fromWords(words, runCount);
+            }
+            if (cardinality <= ARRAY_MAX_SIZE) {
+                return ArrayContainer.fromWords(words, cardinality);
+            }
+            return new BitmapContainer(words, cardinality);
+        }
+
+        @Nullable
+        static Container and(@NonNull final Container a, @NonNull final Container b) {
+            if (a instanceof ArrayContainer) {
+                return ((ArrayContainer) a).filter(b, true);
+            }
+            if (b instanceof ArrayContainer) {
+                return ((ArrayContainer) b).filter(a, true);
+            }
+
+            final long[] words = a.toWords();
+            final long[] otherWords = b.toWords();
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                words[i] &= otherWords[i];
+            }
+            return fromWords(words);
+        }
+
+        @NonNull
+        static Container or(@NonNull final Container a, @NonNull final Container b) {
+            if (a instanceof ArrayContainer && b instanceof ArrayContainer
+                    && a.cardinality() + b.cardinality() <= ARRAY_MAX_SIZE) {
+                return ((ArrayContainer) a).merge((ArrayContainer) b);
+            }
+
+            final long[] words = a.toWords();
+            b.orInto(words);
+            return fromWords(words);
+        }
+
+        @Nullable
+        static Container andNot(@NonNull final Container a, @NonNull final Container b) {
+            if (a instanceof ArrayContainer) {
+                return ((ArrayContainer) a).filter(b, false);
+            }
+
+            final long[] words = a.toWords();
+            b.andNotFrom(words);
+            return fromWords(words);
+        }
+
+        static int cardinality(@NonNull final long[] words) {
+            int cardinality = 0;
+            for (final long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            return cardinality;
+        }
+
+    }
+
+    /**
+     * Keeps up to {@link #ARRAY_MAX_SIZE} values in a sorted array.
+     */
+    private static final class ArrayContainer extends Container {
+
+        private char[] mValues;
+        private int mCardinality;
+
+        ArrayContainer(final char value) {
+            mValues = new char[4];
+            mValues[0] = value;
+            mCardinality = 1;
+        }
+
+        ArrayContainer(@NonNull final char[] values, final int cardinality) {
+            mValues = values;
+            mCardinality = cardinality;
+        }
+
+        static ArrayContainer fromWords(@NonNull final long[] words, final int cardinality) {
+            final char[] values = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = words[i];
+                while (word != 0L) {
+                    values[count++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, cardinality);
+        }
+
+        @Override
+        int cardinality() {
+            return mCardinality;
+        }
+
+        @Override
+        boolean contains(final char value) {
+            return (indexOf(value) >= 0);
+        }
+
+        @Override
+        Container add(final char value) {
+            final int index = indexOf(value);
+            if (index >= 0) {
+                return this;
+            }
+
+            if (mCardinality == ARRAY_MAX_SIZE) {
+                final long[] words = toWords();
+                words[value >>> 6] |= 1L << value;
+                return new BitmapContainer(words, mCardinality + 1);
+            }
+
+            final int insertion = ~index;
+            if (mCardinality == mValues.length) {
+                final char[] values = new char[Math.min(ARRAY_MAX_SIZE, mCardinality * 2)];
+                System.arraycopy(mValues, 0, values, 0, insertion);
+                System.arraycopy(mValues, insertion, values, insertion + 1,
+                        mCardinality - insertion);
+                mValues = values;
+            } else {
+                System.arraycopy(mValues, insertion, mValues, insertion + 1,
+                        mCardinality - insertion);
+            }
+            mValues[insertion] = value;
+            mCardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(final char value) {
+            final int index = indexOf(value);
+            if (index >= 0) {
+                System.arraycopy(mValues, index + 1, mValues, index, mCardinality - index - 1);
+                mCardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        Container copy() {
+            final char[] values = new char[mCardinality];
+            System.arraycopy(mValues, 0, values, 0, mCardinality);
+            return new ArrayContainer(values, mCardinality);
+        }
+
+        @Override
+        Container optimize() {
+            return fromSortedValues(mValues, mCardinality);
+        }
+
+        @Override
+        long sizeInBytes() {
+            return mValues.length * 2L;
+        }
+
+        @Override
+        long[] toWords() {
+            final long[] words = new long[BITMAP_WORDS];
+            orInto(words);
+            return words;
+        }
+
+        @Override
+        void orInto(@NonNull final long[] words) {
+            for (int i = 0; i < mCardinality; i++) {
+                final char value = mValues[i];
+                words[value >>> 6] |= 1L << value;
+            }
+        }
+
+        @Override
+        void andNotFrom(@NonNull final long[] words) {
+            for (int i = 0; i < mCardinality; i++) {
+                final char value = mValues[i];
+                words[value >>> 6] &= ~(1L << value);
+            }
+        }
+
+        @Override
+        void forEach(@NonNull final IntProcedure procedure, final int base) {
+            for (int i = 0; i < mCardinality; i++) {
+                procedure.apply(value(base, mValues[i]));
+            }
+        }
+
+        @Override
+        int fill(@NonNull final int[] dest, final int offset, final int base) {
+            for (int i = 0; i < mCardinality; i++) {
+                dest[offset + i] = value(base, mValues[i]);
+            }
+            return offset + mCardinality;
+        }
+
+        @Override
+        int hash(final int hashCode, final int base) {
+            int h = hashCode;
+            for (int i = 0; i < mCardinality; i++) {
+                h = 31 * h + value(base, mValues[i]);
+            }
+            return h;
+        }
+
+        @Override
+        boolean sameValues(@NonNull final Container other) {
+            if (!(other instanceof ArrayContainer)) {
+                return super.sameValues(other);
+            }
+
+            final ArrayContainer that = (ArrayContainer) other;
+            if (mCardinality != that.mCardinality) {
+                return false;
+            }
+            for (int i = 0; i < mCardinality; i++) {
+                if (mValues[i] != that.mValues[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        void writeToParcel(@NonNull final Parcel dest) {
+            final char[] values = new char[mCardinality];
+            System.arraycopy(mValues, 0, values, 0, mCardinality);
+            dest.writeInt(CONTAINER_ARRAY);
+            dest.writeCharArray(values);
+        }
+
+        /**
+         * Returns the values of this container which are ({@code keep == true}) or are not
+         * contained in the specified container, or {@code null} if there are no such values.
+         */
+        @Nullable
+        ArrayContainer filter(@NonNull final Container other, final boolean keep) {
+            final char[] values = new char[mCardinality];
+            int count = 0;
+            for (int i = 0; i < mCardinality; i++) {
+                if (other.contains(mValues[i]) == keep) {
+                    values[count++] = mValues[i];
+                }
+            }
+            return (count == 0 ? null : new ArrayContainer(values, count));
+        }
+
+        @NonNull
+        ArrayContainer merge(@NonNull final ArrayContainer other) {
+            final char[] values = new char[mCardinality + other.mCardinality];
+            int i = 0;
+            int j = 0;
+            int count = 0;
+            while (i < mCardinality && j < other.mCardinality) {
+                final char a = mValues[i];
+                final char b = other.mValues[j];
+                if (a <= b) {
+                    i++;
+                }
+                if (b <= a) {
+                    j++;
+                }
+                values[count++] = (a <= b ? a : b);
+            }
+            while (i < mCardinality) {
+                values[count++] = mValues[i++];
+            }
+            while (j < other.mCardinality) {
+                values[count++] = other.mValues[j++];
+            }
+            return new ArrayContainer(values, count);
+        }
+
+        private int indexOf(final char value) {
+            int lo = 0;
+            int hi = mCardinality - 1;
+            while (lo <= hi) {
+                final int mid = (lo + hi) >>> 1;
+                final char midValue = mValues[mid];
+                if (midValue < value) {
+                    lo = mid + 1;
+                } else if (midValue > value) {
+                    hi = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return ~lo;
+        }
+
+    }
+
+    /**
+     * Keeps the values as bits of 1024 words.
+     */
+    private static final class BitmapContainer extends Container {
+
+        private final long[] mWords;
+        private int mCardinality;
+
+        BitmapContainer(@NonNull final long[] words, final int cardinality) {
+            mWords = words;
+            mCardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return mCardinality;
+        }
+
+        @Override
+        boolean contains(final char value) {
+            return ((mWords[value >>> 6] & (1L << value)) != 0L);
+        }
+
+        @Override
+        Container add(final char value) {
+            final long word = mWords[value >>> 6];
+            final long newWord = word | (1L << value);
+            if (newWord != word) {
+                mWords[value >>> 6] = newWord;
+                mCardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(final char value) {
+            final long word = mWords[value >>> 6];
+            final long newWord = word & ~(1L << value);
+            if (newWord != word) {
+                mWords[value >>> 6] = newWord;
+                mCardinality--;
+                if (mCardinality <= ARRAY_MAX_SIZE) {
+                    return ArrayContainer.fromWords(mWords, mCardinality);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(mWords.clone(), mCardinality);
+        }
+
+        @Override
+        Container optimize() {
+            return fromWords(mWords);
+        }
+
+        @Override
+        long sizeInBytes() {
+            return BITMAP_BYTES;
+        }
+
+        @Override
+        long[] toWords() {
+            return mWords.clone();
+        }
+
+        @Override
+        void orInto(@NonNull final long[] words) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                words[i] |= mWords[i];
+            }
+        }
+
+        @Override
+        void andNotFrom(@NonNull final long[] words) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                words[i] &= ~mWords[i];
+            }
+        }
+
+        @Override
+        void forEach(@NonNull final IntProcedure procedure, final int base) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = mWords[i];
+                while (word != 0L) {
+                    procedure.apply(value(base, (i << 6) + Long.numberOfTrailingZeros(word)));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        int fill(@NonNull final int[] dest, final int offset, final int base) {
+            int index = offset;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = mWords[i];
+                while (word != 0L) {
+                    dest[index++] = value(base, (i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return index;
+        }
+
+        @Override
+        int hash(final int hashCode, final int base) {
+            int h = hashCode;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = mWords[i];
+                while (word != 0L) {
+                    h = 31 * h + value(base, (i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return h;
+        }
+
+        @Override
+        void writeToParcel(@NonNull final Parcel dest) {
+            dest.writeInt(CONTAINER_BITMAP);
+            dest.writeLongArray(mWords);
+        }
+
+    }
+
+    /**
+     * Keeps the values as runs of consecutive values, every run is a pair of its first value
+     * and its length minus one. Run containers are not modified in place, a single value is
+     * added to or removed from a copy in another representation.
+     */
+    private static final class RunContainer extends Container {
+
+        private final char[] mRuns;
+        private final int mRunCount;
+        private final int mCardinality;
+
+        RunContainer(@NonNull final char[] runs, final int runCount) {
+            mRuns = runs;
+            mRunCount = runCount;
+            int cardinality = 0;
+            for (int i = 0; i < runCount; i++) {
+                cardinality += runs[i * 2 + 1] + 1;
+            }
+            mCardinality = cardinality;
+        }
+
+        static RunContainer fromWords(@NonNull final long[] words, final int runCount) {
+            final char[] runs = new char[runCount * 2];
+            int starts = 0;
+            int ends = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                final long word = words[i];
+                final long previous = (i > 0 ? words[i - 1] : 0L);
+                final long next = (i < BITMAP_WORDS - 1 ? words[i + 1] : 0L);
+
+                long startBits = word & ~((word << 1) | (previous >>> 63));
+                while (startBits != 0L) {
+                    runs[starts++ * 2] = (char) ((i << 6) + Long.numberOfTrailingZeros(startBits));
+                    startBits &= startBits - 1;
+                }
+
+                long endBits = word & ~((word >>> 1) | (next << 63));
+                while (endBits != 0L) {
+                    final int end = (i << 6) + Long.numberOfTrailingZeros(endBits);
+                    runs[ends * 2 + 1] = (char) (end - runs[ends * 2]);
+                    ends++;
+                    endBits &= endBits - 1;
+                }
+            }
+            return new RunContainer(runs, runCount);
+        }
+
+        @Override
+        int cardinality() {
+            return mCardinality;
+        }
+
+        @Override
+        boolean contains(final char value) {
+            int lo = 0;
+            int hi = mRunCount - 1;
+            while (lo <= hi) {
+                final int mid = (lo + hi) >>> 1;
+                final int start = mRuns[mid * 2];
+                if (value < start) {
+                    hi = mid - 1;
+                } else if (value - start > mRuns[mid * 2 + 1]) {
+                    lo = mid + 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        Container add(final char value) {
+            if (contains(value)) {
+                return this;
+            }
+            return unpack().add(value);
+        }
+
+        @Override
+        Container remove(final char value) {
+            if (!contains(value)) {
+                return this;
+            }
+            return unpack().remove(value);
+        }
+
+        @Override
+        Container copy() {
+            return new RunContainer(mRuns.clone(), mRunCount);
+        }
+
+        @Override
+        Container optimize() {
+            return this;
+        }
+
+        @Override
+        long sizeInBytes() {
+            return mRuns.length * 2L;
+        }
+
+        @Override
+        long[] toWords() {
+            final long[] words = new long[BITMAP_WORDS];
+            orInto(words);
+            return words;
+        }
+
+        @Override
+        void orInto(@NonNull final long[] words) {
+            for (int i = 0; i < mRunCount; i++) {
+                final int start = mRuns[i * 2];
+                setRange(words, start, start + mRuns[i * 2 + 1] + 1);
+            }
+        }
+
+        @Override
+        void andNotFrom(@NonNull final long[] words) {
+            for (int i = 0; i < mRunCount; i++) {
+                final int start = mRuns[i * 2];
+                clearRange(words, start, start + mRuns[i * 2 + 1] + 1);
+            }
+        }
+
+        @Override
+        void forEach(@NonNull final IntProcedure procedure, final int base) {
+            for (int i = 0; i < mRunCount; i++) {
+                final int start = mRuns[i * 2];
+                final int end = start + mRuns[i * 2 + 1];
+                for (int v = start; v <= end; v++) {
+                    procedure.apply(value(base, v));
+                }
+            }
+        }
+
+        @Override
+        int fill(@NonNull final int[] dest, final int offset, final int base) {
+            int index = offset;
+            for (int i = 0; i < mRunCount; i++) {
+                final int start = mRuns[i * 2];
+                final int end = start + mRuns[i * 2 + 1];
+                for (int v = start; v <= end; v++) {
+                    dest[index++] = value(base, v);
+                }
+            }
+            return index;
+        }
+
+        @Override
+        int hash(final int hashCode, final int base) {
+            int h = hashCode;
+            for (int i = 0; i < mRunCount; i++) {
+                final int start = mRuns[i * 2];
+                final int end = start + mRuns[i * 2 + 1];
+                for (int v = start; v <= end; v++) {
+                    h = 31 * h + value(base, v);
+                }
+            }
+            return h;
+        }
+
+        @Override
+        void writeToParcel(@NonNull final Parcel dest) {
+            final char[] runs = new char[mRunCount * 2];
+            System.arraycopy(mRuns, 0, runs, 0, runs.length);
+            dest.writeInt(CONTAINER_RUN);
+            dest.writeCharArray(runs);
+        }
+
+        /**
+         * Returns the values of this container in an array or a bitmap container.
+         */
+        private Container unpack() {
+            final long[] words = toWords();
+            if (mCardinality <= ARRAY_MAX_SIZE) {
+                return ArrayContainer.fromWords(words, mCardinality);
+            }
+            return new BitmapContainer(words, mCardinality);
+        }
+
+    }
+
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.support.annotation.NonNull;
+
+/**
+ * CompressedSorted${KTypeName}List is an immutable list of primitive ${KTypePlural} in ascending
+ * order which keeps the differences between adjacent elements bit-packed.
+ * <p/>
+ * Elements are split into blocks of {@link #BLOCK_SIZE}. Every block stores its first
+ * element as is and the differences to the next elements with the smallest bit width that
+ * fits the largest difference of the block, starting at a word boundary. Lists of ids or
+ * timestamps with small gaps take a fraction of the memory of a {@link ${KTypeName}ArrayList}.
+ * <p/>
+ * {@link #get(int)} finds the block directly and decodes up to {@link #BLOCK_SIZE} - 1
+ * differences, {@link #binarySearch(${KType})} searches the first elements of the blocks and
+ * decodes a single block. {@link #forEach(${KTypeName}Procedure)} and {@link #toArray()}
+ * decode the blocks sequentially.
+ * <p/>
+ * This class is generated from CompressedSortedKTypeList.java template, do not edit it
+ * directly.
+ */
+public class CompressedSorted${KTypeName}List {
+
+    private static final int BLOCK_SHIFT = 7;
+
+    /**
+     * The number of elements in a block.
+     */
+    public static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+    private final int mSize;
+    private final ${KType}[] mFirstValues;
+    private final int[] mOffsets;
+    private final byte[] mWidths;
+    private final long[] mPacked;
+
+    /**
+     * Constructs a new instance of {@code CompressedSorted${KTypeName}List} containing the
+     * elements of the specified list.
+     *
+     * @param ${KType}ArrayList the list whose elements are to be copied, in ascending order.
+     * @throws IllegalArgumentException if the list is not sorted in ascending order.
+     */
+    public CompressedSorted${KTypeName}List(@NonNull final ${KTypeName}ArrayList ${KType}ArrayList) {
+        final ${KType}[] a = ${KType}ArrayList.items();
+        final int size = ${KType}ArrayList.size();
+        for (int i = 1; i < size; i++) {
+            if (a[i] < a[i - 1]) {
+                throw new IllegalArgumentException("List is not sorted at index " + i);
+            }
+        }
+
+        final int blockCount = (size + BLOCK_SIZE - 1) >>> BLOCK_SHIFT;
+        mSize = size;
+        mFirstValues = new ${KType}[blockCount];
+        mOffsets = new int[blockCount];
+        mWidths = new byte[blockCount];
+
+        int words = 0;
+        for (int b = 0; b < blockCount; b++) {
+            final int from = b << BLOCK_SHIFT;
+            final int to = Math.min(from + BLOCK_SIZE, size);
+            long bits = 0L;
+            for (int i = from + 1; i < to; i++) {
+                bits |= (long) a[i] - a[i - 1];
+            }
+            final int width = 64 - Long.numberOfLeadingZeros(bits);
+            mFirstValues[b] = a[from];
+            mWidths[b] = (byte) width;
+            mOffsets[b] = words;
+            words += (int) (((long) (to - from - 1) * width + 63) >>> 6);
+        }
+
+        // Blocks of equal elements take no words, the padding word lets them read zero bits.
+        mPacked = new long[words + 1];
+        for (int b = 0; b < blockCount; b++) {
+            final int from = b << BLOCK_SHIFT;
+            final int to = Math.min(from + BLOCK_SIZE, size);
+            final int width = mWidths[b];
+            final int offset = mOffsets[b];
+            for (int i = from + 1, position = 0; i < to; i++, position += width) {
+                final long delta = (long) a[i] - a[i - 1];
+                final int word = offset + (position >>> 6);
+                final int shift = position & 63;
+                mPacked[word] |= delta << shift;
+                if (shift + width > 64) {
+                    mPacked[word + 1] |= delta >>> (64 - shift);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the element at the specified position in this list.
+     *
+     * @param index index of the element to return.
+     * @return the element at the specified position in this list.
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   (<tt>index &lt; 0 || index &gt;= size()</tt>)
+     */
+    public ${KType} get(final int index) {
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException("Invalid index " + index + ", size is " + mSize);
+        }
+
+        final int block = index >>> BLOCK_SHIFT;
+        final int width = mWidths[block];
+        final int offset = mOffsets[block];
+        final int end = (index & (BLOCK_SIZE - 1)) * width;
+        long value = mFirstValues[block];
+        for (int position = 0; position < end; position += width) {
+            value += delta(offset, position, width);
+        }
+        return (${KType}) value;
+    }
+
+    /**
+     * Searches this list for the specified number using the binary search.
+     *
+     * @param item the number to search for.
+     * @return the index of the first element equal to the number, or
+     * <tt>(-(insertion point) - 1)</tt> if there is no such element.
+     */
+    public int binarySearch(final ${KType} item) {
+        // The last block whose first element is less than the number holds its insertion point.
+        int lo = 0;
+        int hi = mFirstValues.length - 1;
+        while (lo <= hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (mFirstValues[mid] < item) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        if (hi < 0) {
+            return (mSize > 0 && mFirstValues[0] == item ? 0 : ~0);
+        }
+
+        final int block = hi;
+        final int from = block << BLOCK_SHIFT;
+        final int to = Math.min(from + BLOCK_SIZE, mSize);
+        final int width = mWidths[block];
+        final int offset = mOffsets[block];
+        long value = mFirstValues[block];
+        for (int i = from + 1, position = 0; i < to; i++, position += width) {
+            value += delta(offset, position, width);
+            final ${KType} element = (${KType}) value;
+            if (element == item) {
+                return i;
+            } else if (element > item) {
+                return ~i;
+            }
+        }
+        if (to < mSize && mFirstValues[block + 1] == item) {
+            return to;
+        }
+        return ~to;
+    }
+
+    /**
+     * Searches this list for the specified number and returns the index of the first
+     * occurrence.
+     *
+     * @param item the number to search for.
+     * @return the index of the first occurrence of the number, or -1 if it was not found.
+     */
+    public int indexOf(final ${KType} item) {
+        final int index = binarySearch(item);
+        return (index >= 0 ? index : -1);
+    }
+
+    /**
+     * Searches this {@code CompressedSorted${KTypeName}List} for the specified number.
+     *
+     * @param item the number to search for.
+     * @return {@code true} if {@code item} is an element of this list, {@code false} otherwise
+     */
+    public boolean contains(final ${KType} item) {
+        return binarySearch(item) >= 0;
+    }
+
+    /**
+     * Returns the number of elements in this {@code CompressedSorted${KTypeName}List}.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Returns if this {@code CompressedSorted${KTypeName}List} contains no elements.
+     */
+    public boolean isEmpty() {
+        return (mSize == 0);
+    }
+
+    /**
+     * Returns the approximate number of bytes the packed elements and block headers take.
+     */
+    public long sizeInBytes() {
+        return mPacked.length * 8L + mFirstValues.length * (${KTypeBoxed}.SIZE / 8)
+                + mOffsets.length * 4L + mWidths.length;
+    }
+
+    /**
+     * Applies the specified procedure to every element of this list in ascending order.
+     *
+     * @param procedure the procedure to apply.
+     */
+    public void forEach(@NonNull final ${KTypeName}Procedure procedure) {
+        for (int block = 0; block < mFirstValues.length; block++) {
+            final int count = Math.min(BLOCK_SIZE, mSize - (block << BLOCK_SHIFT));
+            final int width = mWidths[block];
+            final int offset = mOffsets[block];
+            long value = mFirstValues[block];
+            procedure.apply((${KType}) value);
+            for (int i = 1, position = 0; i < count; i++, position += width) {
+                value += delta(offset, position, width);
+                procedure.apply((${KType}) value);
+            }
+        }
+    }
+
+    /**
+     * Returns a new array containing all elements of this list in ascending order.
+     */
+    public ${KType}[] toArray() {
+        final ${KType}[] result = new ${KType}[mSize];
+        for (int block = 0; block < mFirstValues.length; block++) {
+            final int from = block << BLOCK_SHIFT;
+            final int to = Math.min(from + BLOCK_SIZE, mSize);
+            final int width = mWidths[block];
+            final int offset = mOffsets[block];
+            long value = mFirstValues[block];
+            result[from] = (${KType}) value;
+            for (int i = from + 1, position = 0; i < to; i++, position += width) {
+                value += delta(offset, position, width);
+                result[i] = (${KType}) value;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new {@code ${KTypeName}ArrayList} containing all elements of this list in
+     * ascending order.
+     */
+    @NonNull
+    public ${KTypeName}ArrayList to${KTypeName}ArrayList() {
+        final ${KType}[] a = toArray();
+        final ${KTypeName}ArrayList list = new ${KTypeName}ArrayList();
+        list.addAll(a, 0, a.length);
+        return list;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (int block = 0; block < mFirstValues.length; block++) {
+            final int count = Math.min(BLOCK_SIZE, mSize - (block << BLOCK_SHIFT));
+            final int width = mWidths[block];
+            final int offset = mOffsets[block];
+            long value = mFirstValues[block];
+            for (int i = 0, position = 0; i < count; i++) {
+                if (i > 0) {
+                    value += delta(offset, position, width);
+                    position += width;
+                }
+                final ${KType} e = (${KType}) value;
+                final int elementHash = ${KTypeHash('e')};
+                hashCode = 31 * hashCode + elementHash;
+            }
+        }
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+
+        if (!(o instanceof CompressedSorted${KTypeName}List)) {
+            return false;
+        }
+
+        final CompressedSorted${KTypeName}List that = (CompressedSorted${KTypeName}List) o;
+        if (mSize != that.mSize) {
+            return false;
+        }
+
+        // Equal lists are packed the same way.
+        for (int b = 0; b < mFirstValues.length; b++) {
+            if (mFirstValues[b] != that.mFirstValues[b] || mWidths[b] != that.mWidths[b]) {
+                return false;
+            }
+        }
+        for (int i = 0; i < mPacked.length; i++) {
+            if (mPacked[i] != that.mPacked[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressedSorted${KTypeName}List { size=" + mSize + " }";
+    }
+
+    /**
+     * Reads the difference of {@code width} bits at the bit {@code position} of the block
+     * starting at the word {@code offset}.
+     */
+    private long delta(final int offset, final int position, final int width) {
+        final int word = offset + (position >>> 6);
+        final int shift = position & 63;
+        long bits = mPacked[word] >>> shift;
+        if (shift + width > 64) {
+            bits |= mPacked[word + 1] << (64 - shift);
+        }
+        return (width == 64 ? bits : bits & ((1L << width) - 1));
+    }
+
+}
@@ -0,0 +1,431 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.support.annotation.NonNull;
+
+/**
+ * CopyOnWrite${KTypeName}ArrayList is a thread-safe list of primitive ${KTypePlural} for
+ * read-mostly sharing between threads. Every modification copies the elements into a new
+ * array of the exact size and publishes it through a volatile field, so the array itself
+ * is the snapshot of both the elements and the size.
+ * <p/>
+ * Reads never lock or allocate. Writes are serialized with a lock and cost O(n), so this
+ * class should be used when reads vastly outnumber writes. {@link #forEach(${KTypeName}Procedure)}
+ * and {@link #forEachWhile(${KTypeName}Predicate)} iterate over the snapshot taken when they
+ * are called and never see concurrent modifications, even the ones made by the procedure.
+ * <p/>
+ * This class is generated from CopyOnWriteKTypeArrayList.java template, do not edit it directly.
+ */
+public class CopyOnWrite${KTypeName}ArrayList {
+
+    private static final ${KType}[] EMPTY_ARRAY = new ${KType}[0];
+
+    private final Object mLock = new Object();
+    private volatile ${KType}[] mItems;
+
+    /**
+     * Constructs a new empty instance of {@code CopyOnWrite${KTypeName}ArrayList}.
+     */
+    public CopyOnWrite${KTypeName}ArrayList() {
+        mItems = EMPTY_ARRAY;
+    }
+
+    /**
+     * Constructs a new instance of {@code CopyOnWrite${KTypeName}ArrayList} containing the
+     * elements of the specified list.
+     *
+     * @param ${KType}ArrayList the list whose elements are to be copied.
+     */
+    public CopyOnWrite${KTypeName}ArrayList(@NonNull final ${KTypeName}ArrayList ${KType}ArrayList) {
+        mItems = ${KType}ArrayList.toArray();
+    }
+
+    /**
+     * Adds the specified number at the end of this list.
+     *
+     * @param item the number to add.
+     * @return always true
+     */
+    public boolean add(final ${KType} item) {
+        synchronized (mLock) {
+            final ${KType}[] a = mItems;
+            final int s = a.length;
+            final ${KType}[] newItems = new ${KType}[s + 1];
+            System.arraycopy(a, 0, newItems, 0, s);
+            newItems[s] = item;
+            mItems = newItems;
+            return true;
+        }
+    }
+
+    /**
+     * Inserts the specified element at the specified position in this list.
+     * Shifts the element currently at that position (if any) and any subsequent
+     * elements to the right (adds one to their indices).
+     *
+     * @param index   index at which the specified element is to be inserted
+     * @param element element to be inserted
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   (<tt>index &lt; 0 || index &gt; size()</tt>)
+     */
+    public void add(final int index, final ${KType} element) {
+        synchronized (mLock) {
+            final ${KType}[] a = mItems;
+            final int s = a.length;
+            if (index < 0 || index > s) {
+                throwIndexOutOfBoundsException(index, s);
+            }
+
+            final ${KType}[] newItems = new ${KType}[s + 1];
+            System.arraycopy(a, 0, newItems, 0, index);
+            newItems[index] = element;
+            System.arraycopy(a, index, newItems, index + 1, s - index);
+            mItems = newItems;
+        }
+    }
+
+    /**
+     * Adds the specified number at the end of this list if it is not already contained.
+     *
+     * @param item the number to add.
+     * @return {@code true} if the number was added.
+     */
+    public boolean addIfAbsent(final ${KType} item) {
+        synchronized (mLock) {
+            if (indexOf(mItems, item) >= 0) {
+                return false;
+            }
+            return add(item);
+        }
+    }
+
+    /**
+     * Adds {@code length} numbers of the specified array starting at {@code offset} at the
+     * end of this list with a single copy.
+     *
+     * @param array  the array containing numbers to add.
+     * @param offset the index of the first number to add.
+     * @param length the number of numbers to add.
+     * @return {@code true} if this list changed as a result of the call.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} is out of the
+     *                                   array bounds.
+     */
+    public boolean addAll(@NonNull final ${KType}[] array, final int offset, final int length) {
+        if (offset < 0 || length < 0 || offset > array.length - length) {
+            throw new IndexOutOfBoundsException("Invalid offset " + offset + " and length "
+                    + length + ", array length is " + array.length);
+        }
+        if (length == 0) {
+            return false;
+        }
+
+        synchronized (mLock) {
+            final ${KType}[] a = mItems;
+            final int s = a.length;
+            final ${KType}[] newItems = new ${KType}[s + length];
+            System.arraycopy(a, 0, newItems, 0, s);
+            System.arraycopy(array, offset, newItems, s, length);
+            mItems = newItems;
+            return true;
+        }
+    }
+
+    /**
+     * Adds all elements of the specified list at the end of this list with a single copy.
+     *
+     * @param ${KType}ArrayList the list whose elements are to be added.
+     * @return {@code true} if this list changed as a result of the call.
+     */
+    public boolean addAll(@NonNull final ${KTypeName}ArrayList ${KType}ArrayList) {
+        return addAll(${KType}ArrayList.items(), 0, ${KType}ArrayList.size());
+    }
+
+    /**
+     * Replaces the element at the specified position in this list with the
+     * specified element.
+     *
+     * @param index   index of the element to replace
+     * @param element element to be stored at the specified position
+     * @return the element previously at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   (<tt>index &lt; 0 || index &gt;= size()</tt>)
+     */
+    public ${KType} set(final int index, final ${KType} element) {
+        synchronized (mLock) {
+            final ${KType}[] a = mItems;
+            if (index < 0 || index >= a.length) {
+                throwIndexOutOfBoundsException(index, a.length);
+            }
+
+            final ${KType} oldValue = a[index];
+            if (oldValue != element) {
+                final ${KType}[] newItems = a.clone();
+                newItems[index] = element;
+                mItems = newItems;
+            }
+            return oldValue;
+        }
+    }
+
+    /**
+     * Returns the element at the specified position in this list. Does not lock.
+     *
+     * @param index index of the element to return
+     * @return the element at the specified position in this list
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   (<tt>index &lt; 0 || index &gt;= size()</tt>)
+     */
+    public ${KType} get(final int index) {
+        final ${KType}[] a = mItems;
+        if (index < 0 || index >= a.length) {
+            throwIndexOutOfBoundsException(index, a.length);
+        }
+        return a[index];
+    }
+
+    /**
+     * Removes the element at the specified position in this list.
+     * Shifts any subsequent elements to the left (subtracts one from their
+     * indices).
+     *
+     * @param index the index of the element to be removed
+     * @return the element that was removed from the list
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   (<tt>index &lt; 0 || index &gt;= size()</tt>)
+     */
+    public ${KType} removeAt(final int index) {
+        synchronized (mLock) {
+            final ${KType} result = get(index);
+            removeRange(index, index + 1);
+            return result;
+        }
+    }
+
+    /**
+     * Removes the first occurrence of the specified number from this list.
+     *
+     * @param item the number to remove.
+     * @return {@code true} if this list contained the number.
+     */
+    public boolean remove(final ${KType} item) {
+        synchronized (mLock) {
+            final int index = indexOf(mItems, item);
+            if (index < 0) {
+                return false;
+            }
+            removeRange(index, index + 1);
+            return true;
+        }
+    }
+
+    /**
+     * Removes from this list all of the elements whose index is between
+     * {@code fromIndex}, inclusive, and {@code toIndex}, exclusive.
+     *
+     * @param fromIndex index of the first element to be removed.
+     * @param toIndex   index after the last element to be removed.
+     * @throws IndexOutOfBoundsException if {@code fromIndex < 0 || toIndex > size() ||
+     *                                   fromIndex > toIndex}
+     */
+    public void removeRange(final int fromIndex, final int toIndex) {
+        synchronized (mLock) {
+            final ${KType}[] a = mItems;
+            final int s = a.length;
+            if (fromIndex < 0 || toIndex > s || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException("Invalid range [" + fromIndex + ", "
+                        + toIndex + "), size is " + s);
+            }
+            if (fromIndex == toIndex) {
+                return;
+            }
+
+            final ${KType}[] newItems = new ${KType}[s - (toIndex - fromIndex)];
+            System.arraycopy(a, 0, newItems, 0, fromIndex);
+            System.arraycopy(a, toIndex, newItems, fromIndex, s - toIndex);
+            mItems = newItems;
+        }
+    }
+
+    /**
+     * Removes all elements from this list, leaving it empty.
+     */
+    public void clear() {
+        synchronized (mLock) {
+            mItems = EMPTY_ARRAY;
+        }
+    }
+
+    /**
+     * Returns the number of elements in this list.
+     */
+    public int size() {
+        return mItems.length;
+    }
+
+    /**
+     * Returns if this list contains no elements.
+     */
+    public boolean isEmpty() {
+        return (mItems.length == 0);
+    }
+
+    /**
+     * Searches this list for the specified number and returns the index of the
+     * first occurrence. Does not lock.
+     *
+     * @param item the number to search for.
+     * @return the index of the first occurrence of the number, or -1 if it was
+     * not found.
+     */
+    public int indexOf(final ${KType} item) {
+        return indexOf(mItems, item);
+    }
+
+    /**
+     * Searches this list for the specified number. Does not lock.
+     *
+     * @param item the number to search for.
+     * @return {@code true} if {@code item} is an element of this list, {@code false}
+     * otherwise.
+     */
+    public boolean contains(final ${KType} item) {
+        return indexOf(mItems, item) >= 0;
+    }
+
+    /**
+     * Applies the specified procedure to every element of the current snapshot of this
+     * list. Does not lock or allocate, the procedure may modify this list.
+     *
+     * @param procedure the procedure to apply.
+     */
+    public void forEach(@NonNull final ${KTypeName}Procedure procedure) {
+        final ${KType}[] a = mItems;
+        for (final ${KType} e : a) {
+            procedure.apply(e);
+        }
+    }
+
+    /**
+     * Evaluates the specified predicate on the elements of the current snapshot of this
+     * list until it returns {@code false}. Does not lock or allocate, the predicate may
+     * modify this list.
+     *
+     * @param predicate the predicate to evaluate.
+     * @return {@code true} if the predicate returned {@code true} for every element,
+     * {@code false} if the iteration stopped early.
+     */
+    public boolean forEachWhile(@NonNull final ${KTypeName}Predicate predicate) {
+        final ${KType}[] a = mItems;
+        for (final ${KType} e : a) {
+            if (!predicate.apply(e)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a new array containing all elements of the current snapshot of this list.
+     */
+    public ${KType}[] toArray() {
+        return mItems.clone();
+    }
+
+    /**
+     * Returns a new {@code ${KTypeName}ArrayList} containing all elements of the current
+     * snapshot of this list.
+     */
+    @NonNull
+    public ${KTypeName}ArrayList to${KTypeName}ArrayList() {
+        final ${KType}[] a = mItems;
+        final ${KTypeName}ArrayList list = new ${KTypeName}ArrayList();
+        list.addAll(a, 0, a.length);
+        return list;
+    }
+
+    /**
+     * Returns the hash code value for this list, it is the same as the one of the
+     * {@link ${KTypeName}ArrayList} with the same elements.
+     */
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (final ${KType} e : mItems) {
+            final int elementHash = ${KTypeHash('e')};
+            hashCode = 31 * hashCode + elementHash;
+        }
+        return hashCode;
+    }
+
+    /**
+     * Returns <tt>true</tt> if and only if the specified object is also a
+     * CopyOnWrite${KTypeName}ArrayList and the snapshots of both lists contain the same
+     * elements in the same order.
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+
+        if (!(o instanceof CopyOnWrite${KTypeName}ArrayList)) {
+            return false;
+        }
+
+        final ${KType}[] a = mItems;
+        final ${KType}[] b = ((CopyOnWrite${KTypeName}ArrayList) o).mItems;
+        if (a.length != b.length) {
+            return false;
+        }
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        final ${KType}[] a = mItems;
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append("CopyOnWrite${KTypeName}ArrayList [ ");
+        for (int i = 0; i < a.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(a[i]);
+        }
+        sb.append(" ]");
+        return sb.toString();
+    }
+
+    private static int indexOf(@NonNull final ${KType}[] a, final ${KType} item) {
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == item) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void throwIndexOutOfBoundsException(final int index, final int size) {
+        throw new IndexOutOfBoundsException("Invalid index " + index + ", size is " + size);
+    }
+
+}
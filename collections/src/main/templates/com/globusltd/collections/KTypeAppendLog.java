@@ -0,0 +1,216 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * ${KTypeName}AppendLog is an append-only log of primitive ${KTypePlural} which many threads can
+ * append to without locks.
+ * <p/>
+ * A producer claims a slot with a CAS on the write index, stores the value and marks the
+ * slot as published, so producers never wait for each other. Elements are stored in chunks
+ * whose sizes double, chunks are allocated on demand and published data is never copied.
+ * <p/>
+ * Readers see the published prefix of the log: {@link #size()} returns the number of leading
+ * slots which are all published, and every element below it can be read without locks.
+ * Elements appended later by a slow producer become visible once all slots before them are
+ * published.
+ * <p/>
+ * This class is generated from KTypeAppendLog.java template, do not edit it directly.
+ */
+public class ${KTypeName}AppendLog {
+
+    private static final int FIRST_CHUNK_SHIFT = 10;
+    private static final int MAX_CHUNKS = 31 - FIRST_CHUNK_SHIFT;
+
+    /**
+     * The maximum number of elements a log can hold.
+     */
+    public static final int MAX_CAPACITY = chunkStart(MAX_CHUNKS);
+
+    private final AtomicReferenceArray<Chunk> mChunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+    private final AtomicInteger mWriteIndex = new AtomicInteger();
+    private final AtomicInteger mPublished = new AtomicInteger();
+
+    /**
+     * Appends the specified number to the end of this log. Can be called from any thread.
+     *
+     * @param item the number to append.
+     * @return the index of the appended number.
+     * @throws IllegalStateException if the log already holds {@link #MAX_CAPACITY} elements.
+     */
+    public int append(final ${KType} item) {
+        int index;
+        do {
+            index = mWriteIndex.get();
+            if (index == MAX_CAPACITY) {
+                throw new IllegalStateException("${KTypeName}AppendLog is full");
+            }
+        } while (!mWriteIndex.compareAndSet(index, index + 1));
+
+        final int k = chunkIndex(index);
+        final Chunk chunk = chunk(k);
+        final int offset = index - chunkStart(k);
+        chunk.mValues[offset] = item;
+        // The volatile write publishes the value to readers which see the flag.
+        chunk.mPublished.set(offset, 1);
+        return index;
+    }
+
+    /**
+     * Returns the length of the published prefix of this log.
+     */
+    public int size() {
+        final int published = mPublished.get();
+        final int claimed = mWriteIndex.get();
+
+        int size = published;
+        while (size < claimed && isPublished(size)) {
+            size++;
+        }
+
+        if (size != published) {
+            // Other readers may have moved the prefix further, never move it back.
+            int current;
+            do {
+                current = mPublished.get();
+            } while (current < size && !mPublished.compareAndSet(current, size));
+        }
+        return size;
+    }
+
+    /**
+     * Returns if the published prefix of this log is empty.
+     */
+    public boolean isEmpty() {
+        return (size() == 0);
+    }
+
+    /**
+     * Returns the element at the specified position of the published prefix.
+     *
+     * @param index index of the element to return.
+     * @return the element at the specified position in this log.
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   (<tt>index &lt; 0 || index &gt;= size()</tt>)
+     */
+    public ${KType} get(final int index) {
+        if (index < 0 || (index >= mPublished.get() && index >= size())) {
+            throw new IndexOutOfBoundsException("Invalid index " + index + ", size is " + size());
+        }
+        final int k = chunkIndex(index);
+        return mChunks.get(k).mValues[index - chunkStart(k)];
+    }
+
+    /**
+     * Applies the specified procedure to every element of the published prefix in order.
+     * Elements appended while the procedure runs are not visited.
+     *
+     * @param procedure the procedure to apply.
+     */
+    public void forEach(@NonNull final ${KTypeName}Procedure procedure) {
+        final int size = size();
+        for (int k = 0, start = 0; start < size; start = chunkStart(++k)) {
+            final ${KType}[] values = mChunks.get(k).mValues;
+            final int end = Math.min(values.length, size - start);
+            for (int i = 0; i < end; i++) {
+                procedure.apply(values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns a new array containing the elements of the published prefix.
+     */
+    public ${KType}[] toArray() {
+        final int size = size();
+        final ${KType}[] result = new ${KType}[size];
+        for (int k = 0, start = 0; start < size; start = chunkStart(++k)) {
+            final ${KType}[] values = mChunks.get(k).mValues;
+            System.arraycopy(values, 0, result, start, Math.min(values.length, size - start));
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new {@code ${KTypeName}ArrayList} containing the elements of the published
+     * prefix.
+     */
+    @NonNull
+    public ${KTypeName}ArrayList to${KTypeName}ArrayList() {
+        final ${KType}[] a = toArray();
+        final ${KTypeName}ArrayList list = new ${KTypeName}ArrayList();
+        list.addAll(a, 0, a.length);
+        return list;
+    }
+
+    @Override
+    public String toString() {
+        return "${KTypeName}AppendLog { size=" + size() + " }";
+    }
+
+    private boolean isPublished(final int index) {
+        final int k = chunkIndex(index);
+        final Chunk chunk = mChunks.get(k);
+        return (chunk != null && chunk.mPublished.get(index - chunkStart(k)) != 0);
+    }
+
+    private Chunk chunk(final int k) {
+        final Chunk chunk = mChunks.get(k);
+        if (chunk != null) {
+            return chunk;
+        }
+
+        final Chunk newChunk = new Chunk(chunkStart(k + 1) - chunkStart(k));
+        if (mChunks.compareAndSet(k, null, newChunk)) {
+            return newChunk;
+        }
+        return mChunks.get(k);
+    }
+
+    /**
+     * Returns the index of the chunk holding the element at the specified index. Chunk
+     * {@code k} holds {@code 2^(FIRST_CHUNK_SHIFT + k)} elements.
+     */
+    private static int chunkIndex(final int index) {
+        return 31 - Integer.numberOfLeadingZeros((index >>> FIRST_CHUNK_SHIFT) + 1);
+    }
+
+    /**
+     * Returns the index of the first element in the chunk {@code k}.
+     */
+    private static int chunkStart(final int k) {
+        return ((1 << k) - 1) << FIRST_CHUNK_SHIFT;
+    }
+
+    private static final class Chunk {
+
+        final ${KType}[] mValues;
+        final AtomicIntegerArray mPublished;
+
+        Chunk(final int capacity) {
+            mValues = new ${KType}[capacity];
+            mPublished = new AtomicIntegerArray(capacity);
+        }
+
+    }
+
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.support.annotation.NonNull;
+
+import java.util.NoSuchElementException;
+
+/**
+ * ${KTypeName}ArrayDeque is a double-ended queue of primitive ${KTypePlural} backed by a circular
+ * array. Elements can be added and removed at both ends in constant time and accessed by
+ * index relative to the first element.
+ * <p/>
+ * The length of the backing array is always a power of two, so positions wrap around with
+ * a mask instead of a division.
+ * <p/>
+ * A deque created with {@link #bounded(int)} never grows: adding to a full bounded deque
+ * overwrites the element at the opposite end, which makes it a rolling window over the
+ * last {@code maxSize} elements.
+ * <p/>
+ * This class is generated from KTypeArrayDeque.java template, do not edit it directly.
+ */
+public class ${KTypeName}ArrayDeque {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private ${KType}[] mItems;
+    private int mHead;
+    private int mSize;
+    private final int mMaxSize;
+
+    /**
+     * Constructs a new empty instance of {@code ${KTypeName}ArrayDeque}.
+     */
+    public ${KTypeName}ArrayDeque() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new empty instance of {@code ${KTypeName}ArrayDeque} with enough
+     * capacity to hold the specified number of elements without growing.
+     *
+     * @param capacity the initial capacity of this deque.
+     * @throws IllegalArgumentException if {@code capacity} is negative or too large.
+     */
+    public ${KTypeName}ArrayDeque(final int capacity) {
+        this(capacity, Integer.MAX_VALUE);
+    }
+
+    private ${KTypeName}ArrayDeque(final int capacity, final int maxSize) {
+        mItems = new ${KType}[arrayLengthFor(capacity)];
+        mMaxSize = maxSize;
+    }
+
+    /**
+     * Returns a new empty deque which holds at most {@code maxSize} elements. When the
+     * deque is full, {@link #addLast(${KType})} overwrites the first element and
+     * {@link #addFirst(${KType})} overwrites the last one.
+     *
+     * @param maxSize the maximum number of elements of the deque.
+     * @throws IllegalArgumentException if {@code maxSize} is not positive or too large.
+     */
+    @NonNull
+    public static ${KTypeName}ArrayDeque bounded(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Illegal max size: " + maxSize);
+        }
+        return new ${KTypeName}ArrayDeque(maxSize, maxSize);
+    }
+
+    /**
+     * Inserts the specified number at the front of this deque.
+     *
+     * @param item the number to add.
+     * @return {@code true} if an element at the end of a full bounded deque was overwritten.
+     */
+    public boolean addFirst(final ${KType} item) {
+        boolean overwritten = false;
+        if (mSize == mMaxSize) {
+            mSize--;
+            overwritten = true;
+        } else if (mSize == mItems.length) {
+            grow();
+        }
+
+        mHead = (mHead - 1) & (mItems.length - 1);
+        mItems[mHead] = item;
+        mSize++;
+        return overwritten;
+    }
+
+    /**
+     * Inserts the specified number at the end of this deque.
+     *
+     * @param item the number to add.
+     * @return {@code true} if an element at the front of a full bounded deque was
+     * overwritten.
+     */
+    public boolean addLast(final ${KType} item) {
+        if (mSize == mMaxSize) {
+            mItems[(mHead + mSize) & (mItems.length - 1)] = item;
+            mHead = (mHead + 1) & (mItems.length - 1);
+            return true;
+        }
+
+        if (mSize == mItems.length) {
+            grow();
+        }
+        mItems[(mHead + mSize) & (mItems.length - 1)] = item;
+        mSize++;
+        return false;
+    }
+
+    /**
+     * Removes and returns the first element of this deque.
+     *
+     * @throws NoSuchElementException if this deque is empty.
+     */
+    public ${KType} pollFirst() {
+        checkNotEmpty();
+        final ${KType} item = mItems[mHead];
+        mHead = (mHead + 1) & (mItems.length - 1);
+        mSize--;
+        return item;
+    }
+
+    /**
+     * Removes and returns the last element of this deque.
+     *
+     * @throws NoSuchElementException if this deque is empty.
+     */
+    public ${KType} pollLast() {
+        checkNotEmpty();
+        mSize--;
+        return mItems[(mHead + mSize) & (mItems.length - 1)];
+    }
+
+    /**
+     * Returns the first element of this deque without removing it.
+     *
+     * @throws NoSuchElementException if this deque is empty.
+     */
+    public ${KType} peekFirst() {
+        checkNotEmpty();
+        return mItems[mHead];
+    }
+
+    /**
+     * Returns the last element of this deque without removing it.
+     *
+     * @throws NoSuchElementException if this deque is empty.
+     */
+    public ${KType} peekLast() {
+        checkNotEmpty();
+        return mItems[(mHead + mSize - 1) & (mItems.length - 1)];
+    }
+
+    /**
+     * Returns the element at the specified position counting from the front of this deque.
+     *
+     * @param index index of the element to return.
+     * @return the element at the specified position in this deque.
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   (<tt>index &lt; 0 || index &gt;= size()</tt>)
+     */
+    public ${KType} get(final int index) {
+        if (index < 0 || index >= mSize) {
+            throwIndexOutOfBoundsException(index, mSize);
+        }
+        return mItems[(mHead + index) & (mItems.length - 1)];
+    }
+
+    /**
+     * Applies the specified procedure to every element of this deque from the first to the
+     * last one. The procedure must not modify this deque.
+     *
+     * @param procedure the procedure to apply.
+     */
+    public void forEach(@NonNull final ${KTypeName}Procedure procedure) {
+        final ${KType}[] items = mItems;
+        final int mask = items.length - 1;
+        for (int i = 0; i < mSize; i++) {
+            procedure.apply(items[(mHead + i) & mask]);
+        }
+    }
+
+    /**
+     * Removes all elements from this {@code ${KTypeName}ArrayDeque}, leaving it empty.
+     */
+    public void clear() {
+        mHead = 0;
+        mSize = 0;
+    }
+
+    /**
+     * Returns the number of elements in this {@code ${KTypeName}ArrayDeque}.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Returns if this {@code ${KTypeName}ArrayDeque} contains no elements.
+     */
+    public boolean isEmpty() {
+        return (mSize == 0);
+    }
+
+    /**
+     * Returns if this deque is bounded and holds the maximum number of elements, so the
+     * next addition overwrites an element.
+     */
+    public boolean isFull() {
+        return (mSize == mMaxSize);
+    }
+
+    /**
+     * Returns a new array containing all elements of this deque from the first to the last
+     * one.
+     */
+    public ${KType}[] toArray() {
+        final ${KType}[] result = new ${KType}[mSize];
+        copyTo(result);
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        final int mask = mItems.length - 1;
+        int hashCode = 1;
+        for (int i = 0; i < mSize; i++) {
+            final ${KType} e = mItems[(mHead + i) & mask];
+            final int elementHash = ${KTypeHash('e')};
+            hashCode = 31 * hashCode + elementHash;
+        }
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+
+        if (!(o instanceof ${KTypeName}ArrayDeque)) {
+            return false;
+        }
+
+        final ${KTypeName}ArrayDeque that = (${KTypeName}ArrayDeque) o;
+        if (mSize != that.mSize) {
+            return false;
+        }
+
+        for (int i = 0; i < mSize; i++) {
+            final ${KType} a = mItems[(mHead + i) & (mItems.length - 1)];
+            final ${KType} b = that.mItems[(that.mHead + i) & (that.mItems.length - 1)];
+            if (!(${KTypeEquals('a', 'b')})) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        final int mask = mItems.length - 1;
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append("${KTypeName}ArrayDeque [ ");
+        for (int i = 0; i < mSize; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(mItems[(mHead + i) & mask]);
+        }
+        sb.append(" ]");
+        return sb.toString();
+    }
+
+    private void checkNotEmpty() {
+        if (mSize == 0) {
+            throw new NoSuchElementException("${KTypeName}ArrayDeque is empty");
+        }
+    }
+
+    /**
+     * Doubles the backing array and moves the elements to its start.
+     */
+    private void grow() {
+        if (mItems.length == MAX_CAPACITY) {
+            throw new IllegalStateException("${KTypeName}ArrayDeque is too large");
+        }
+
+        final ${KType}[] newItems = new ${KType}[mItems.length << 1];
+        copyTo(newItems);
+        mItems = newItems;
+        mHead = 0;
+    }
+
+    /**
+     * Copies the elements in order to the start of the specified array, the wrapped part
+     * after the part up to the end of the backing array.
+     */
+    private void copyTo(@NonNull final ${KType}[] dest) {
+        final int firstPart = Math.min(mSize, mItems.length - mHead);
+        System.arraycopy(mItems, mHead, dest, 0, firstPart);
+        System.arraycopy(mItems, 0, dest, firstPart, mSize - firstPart);
+    }
+
+    /**
+     * Returns the smallest power of two which is not less than the specified capacity.
+     */
+    private static int arrayLengthFor(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity is too large: " + capacity);
+        }
+        return (capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1);
+    }
+
+    private static void throwIndexOutOfBoundsException(final int index, final int size) {
+        throw new IndexOutOfBoundsException("Invalid index " + index + ", size is " + size);
+    }
+
+}
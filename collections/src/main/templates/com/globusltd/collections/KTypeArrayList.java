@@ -0,0 +1,1881 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.annotation.NonNull;
+<% if (KType in ['int', 'long']) { %>import android.support.annotation.Nullable;
+<% } %>
+<% if (KType in ['int', 'long']) { %>import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.${KTypeName}Buffer;
+import java.nio.channels.FileChannel;
+<% } %>import java.util.Arrays;
+<% if (KType in ['int', 'long']) { %>import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+<% } %>
+/**
+ * ${KTypeName}ArrayList holds primitive ${KTypePlural}. It is intended to be more memory efficient
+ * than using an List&lt;${KTypeBoxed}&gt; to store primitive ${KTypePlural}, because it avoids
+ * auto-boxing.
+ * <p/>
+ * This class is generated from KTypeArrayList.java template, do not edit it directly.
+ */
+public class ${KTypeName}ArrayList implements Parcelable {
+<% if (KType in ['int', 'long']) { %>
+    /**
+     * Writes elements to a Parcel as they are, this is the default encoding.
+     *
+     * @see #setParcelEncoding(int)
+     */
+    public static final int PARCEL_ENCODING_PLAIN = 0;
+
+    /**
+     * Writes differences between neighbouring elements to a Parcel as variable length
+     * numbers. Sorted or clustered lists, like lists of database ids, take one or two
+     * bytes per element instead of ${KType == 'int' ? 'four' : 'eight'}.
+     *
+     * @see #setParcelEncoding(int)
+     */
+    public static final int PARCEL_ENCODING_DELTA_VARINT = 1;
+
+    private static final int ELEMENT_SIZE = ${KTypeBoxed}.SIZE / Byte.SIZE;
+<% } else { %>
+    private static final int PARCEL_ENCODING_PLAIN = 0;
+<% } %>
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MIN_CAPACITY_INCREMENT = 12;
+<% if (KType in ['int', 'long']) { %>
+    private static final int MAX_POOL_SIZE = 16;
+
+    /**
+     * Recycled lists with a larger backing array get a new array of the default capacity,
+     * so the pool does not hold on to large arrays.
+     */
+    public static final int MAX_RECYCLED_CAPACITY = 1024;
+
+    private static final Object sPoolSync = new Object();
+    private static ${KTypeName}ArrayList sPool;
+    private static int sPoolSize;
+<% } %>
+    private int mSize;
+    private ${KType}[] mItems;
+<% if (KType in ['int', 'long']) { %>
+    private int mParcelEncoding = PARCEL_ENCODING_PLAIN;
+
+    private CollectionStats mStats = CollectionStats.getGlobal();
+
+    // Whether mItems is shared with a snapshot, it is copied before an in-place modification.
+    private boolean mShared;
+
+    // The number of structural modifications, sub lists fail fast when it changes.
+    private int mModCount;
+
+    // Next list in the pool and whether this list is recycled, guarded by sPoolSync.
+    private ${KTypeName}ArrayList mNext;
+    private boolean mRecycled;
+<% } %>
+    /**
+     * Constructs a new instance of {@code ${KTypeName}ArrayList}.
+     */
+    public ${KTypeName}ArrayList() {
+        mSize = 0;
+        mItems = new ${KType}[DEFAULT_CAPACITY];
+    }
+
+    public ${KTypeName}ArrayList(@NonNull final ${KTypeName}ArrayList ${KType}ArrayList) {
+        mSize = ${KType}ArrayList.mSize;
+        mItems = new ${KType}[newCapacity(mSize)];
+        final ${KType}[] src = ${KType}ArrayList.mItems;
+        System.arraycopy(src, 0, mItems, 0, mSize);
+<% if (KType in ['int', 'long']) { %>
+        mParcelEncoding = ${KType}ArrayList.mParcelEncoding;
+<% } %>
+    }
+<% if (KType in ['int', 'long']) { %>
+    private ${KTypeName}ArrayList(@NonNull final ${KType}[] items, final int size) {
+        mSize = size;
+        mItems = items;
+    }
+<% } %>
+    private ${KTypeName}ArrayList(@NonNull final Parcel in) {
+        final int encoding = in.readInt();
+<% if (KType in ['int', 'long']) { %>
+        if (encoding == PARCEL_ENCODING_DELTA_VARINT) {
+            final int size = in.readInt();
+            mItems = DeltaVarIntCodec.decode${KTypeName}s(in.createByteArray(), size);
+            mSize = size;
+            mParcelEncoding = encoding;
+            return;
+        }
+<% } %>
+        if (encoding != PARCEL_ENCODING_PLAIN) {
+            throw new IllegalArgumentException("Unknown parcel encoding " + encoding);
+        }
+<% if (KTypeParcelArray) { %>
+        mItems = in.create${KTypeParcelArray}Array();
+        mSize = mItems.length;
+<% } else { %>
+        final int size = in.readInt();
+        final ${KType}[] items = new ${KType}[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = (${KType}) in.readInt();
+        }
+        mItems = items;
+        mSize = size;
+<% } %>
+    }
+
+<% if (KType in ['int', 'long']) { %>
+    /**
+     * Returns an empty {@code ${KTypeName}ArrayList} from the global pool, or a new instance if
+     * the pool is empty. Pooled lists keep the backing array they had when they were recycled,
+     * so short-lived lists do not allocate and grow a new array every time.
+     *
+     * @see #recycle()
+     */
+    @NonNull
+    public static ${KTypeName}ArrayList obtain() {
+        synchronized (sPoolSync) {
+            final ${KTypeName}ArrayList list = sPool;
+            if (list != null) {
+                sPool = list.mNext;
+                list.mNext = null;
+                list.mRecycled = false;
+                list.mStats = CollectionStats.getGlobal();
+                sPoolSize--;
+                return list;
+            }
+        }
+        return new ${KTypeName}ArrayList();
+    }
+
+    /**
+     * Clears this list and returns it to the global pool. The list must not be used after
+     * this call. A backing array larger than {@link #MAX_RECYCLED_CAPACITY} is dropped and
+     * the parcel encoding is reset to {@link #PARCEL_ENCODING_PLAIN}.
+     *
+     * @throws IllegalStateException if this list is already recycled.
+     * @see #obtain()
+     */
+    public void recycle() {
+        synchronized (sPoolSync) {
+            if (mRecycled) {
+                throw new IllegalStateException("${KTypeName}ArrayList is already recycled");
+            }
+            mRecycled = true;
+            mSize = 0;
+            mModCount++;
+            mParcelEncoding = PARCEL_ENCODING_PLAIN;
+            mStats = null;
+            if (mShared || mItems.length > MAX_RECYCLED_CAPACITY) {
+                mItems = new ${KType}[DEFAULT_CAPACITY];
+                mShared = false;
+            }
+
+            if (sPoolSize < MAX_POOL_SIZE) {
+                mNext = sPool;
+                sPool = this;
+                sPoolSize++;
+            }
+        }
+    }
+
+<% } %>
+    /**
+     * Adds the specified number at the end of this {@code ${KTypeName}ArrayList}.
+     *
+     * @param item the number to add.
+     * @return always true
+     */
+    public boolean add(final ${KType} item) {
+        final int s = mSize;
+        ensureCapacity(s + 1);
+        mItems[s] = item;
+        mSize = s + 1;
+<% if (KType in ['int', 'long']) { %>
+        mModCount++;
+<% } %>
+        return true;
+    }
+
+    /**
+     * Inserts the specified element at the specified position in this list
+     * (optional operation).  Shifts the element currently at that position
+     * (if any) and any subsequent elements to the right (adds one to their
+     * indices).
+     *
+     * @param index   index at which the specified element is to be inserted
+     * @param element element to be inserted
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   (<tt>index &lt; 0 || index &gt; size()</tt>)
+     */
+    public void add(final int index, final ${KType} element) {
+        final int s = mSize;
+        if (index < 0 || index > s) {
+            throwIndexOutOfBoundsException(index, s);
+        }
+
+<% if (KType in ['int', 'long']) { %>
+        unshare();
+<% } %>
+        ensureCapacity(s + 1);
+        final ${KType}[] a = mItems;
+        System.arraycopy(a, index, a, index + 1, s - index);
+<% if (KType in ['int', 'long']) { %>
+        if (mStats != null) {
+            mStats.recordCopy(s - index);
+        }
+<% } %>
+        a[index] = element;
+        mSize = s + 1;
+<% if (KType in ['int', 'long']) { %>
+        mModCount++;
+<% } %>
+    }
+
+    /**
+     * Adds {@code length} numbers of the specified array starting at {@code offset} at the
+     * end of this {@code ${KTypeName}ArrayList}. The backing array grows at most once.
+     *
+     * @param array  the array containing numbers to add.
+     * @param offset the index of the first number to add.
+     * @param length the number of numbers to add.
+     * @return {@code true} if this list changed as a result of the call.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} is out of the
+     *                                   array bounds.
+     */
+    public boolean addAll(@NonNull final ${KType}[] array, final int offset, final int length) {
+        checkArrayRange(array.length, offset, length);
+
+        final int s = mSize;
+        ensureCapacity(s + length);
+        System.arraycopy(array, offset, mItems, s, length);
+        mSize = s + length;
+<% if (KType in ['int', 'long']) { %>
+        mModCount++;
+<% } %>
+        return (length != 0);
+    }
+
+    /**
+     * Adds all elements of the specified list at the end of this {@code ${KTypeName}ArrayList}.
+     * The backing array grows at most once.
+     *
+     * @param ${KType}ArrayList the list whose elements are to be added.
+     * @return {@code true} if this list changed as a result of the call.
+     */
+    public boolean addAll(@NonNull final ${KTypeName}ArrayList ${KType}ArrayList) {
+        final int length = ${KType}ArrayList.mSize;
+        final int s = mSize;
+        ensureCapacity(s + length);
+        System.arraycopy(${KType}ArrayList.mItems, 0, mItems, s, length);
+        mSize = s + length;
+<% if (KType in ['int', 'long']) { %>
+        mModCount++;
+<% } %>
+        return (length != 0);
+    }
+<% if (KType in ['int', 'long']) { %>
+    /**
+     * Adds all elements of the specified sub list at the end of this
+     * {@code ${KTypeName}ArrayList}. The backing array grows at most once.
+     *
+     * @param subList the sub list whose elements are to be added.
+     * @return {@code true} if this list changed as a result of the call.
+     * @throws ConcurrentModificationException if the list of {@code subList} was modified
+     *                                         structurally after the sub list was created.
+     */
+    public boolean addAll(@NonNull final SubList subList) {
+        subList.checkForComodification();
+        return addAll(subList.mParent.mItems, subList.mOffset, subList.mSize);
+    }
+<% } %>
+
+    /**
+     * Inserts {@code length} numbers of the specified array starting at {@code offset} at the
+     * specified position in this list. Shifts the element currently at that position (if any)
+     * and any subsequent elements to the right. The backing array grows at most once.
+     *
+     * @param index  index at which the first number is to be inserted.
+     * @param array  the array containing numbers to insert.
+     * @param offset the index of the first number to insert.
+     * @param length the number of numbers to insert.
+     * @return {@code true} if this list changed as a result of the call.
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   (<tt>index &lt; 0 || index &gt; size()</tt>) or
+     *                                   {@code offset} or {@code length} is out of the
+     *                                   array bounds.
+     */
+    public boolean addAll(final int index, @NonNull final ${KType}[] array, final int offset,
+            final int length) {
+        final int s = mSize;
+        if (index < 0 || index > s) {
+            throwIndexOutOfBoundsException(index, s);
+        }
+        checkArrayRange(array.length, offset, length);
+
+<% if (KType in ['int', 'long']) { %>
+        unshare();
+<% } %>
+        ensureCapacity(s + length);
+        final ${KType}[] a = mItems;
+        System.arraycopy(a, index, a, index + length, s - index);
+<% if (KType in ['int', 'long']) { %>
+        if (mStats != null) {
+            mStats.recordCopy(s - index);
+        }
+<% } %>
+        System.arraycopy(array, offset, a, index, length);
+        mSize = s + length;
+<% if (KType in ['int', 'long']) { %>
+        mModCount++;
+<% } %>
+        return (length != 0);
+    }
+
+    /**
+     * Inserts all elements of the specified list at the specified position in this list.
+     * Shifts the element currently at that position (if any) and any subsequent elements
+     * to the right. The backing array grows at most once.
+     *
+     * @param index             index at which the first element is to be inserted.
+     * @param ${KType}ArrayList the list whose elements are to be inserted.
+     * @return {@code true} if this list changed as a result of the call.
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   (<tt>index &lt; 0 || index &gt; size()</tt>)
+     */
+    public boolean addAll(final int index, @NonNull final ${KTypeName}ArrayList ${KType}ArrayList) {
+        final ${KType}[] src = (${KType}ArrayList == this ? toArray() : ${KType}ArrayList.mItems);
+        return addAll(index, src, 0, ${KType}ArrayList.mSize);
+    }
+
+    /**
+     * Replaces all elements of this list with {@code length} numbers of the specified array
+     * starting at {@code offset}. The backing array grows at most once.
+     *
+     * @param array  the array containing new elements.
+     * @param offset the index of the first new element.
+     * @param length the number of new elements.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} is out of the
+     *                                   array bounds.
+     */
+    public void setAll(@NonNull final ${KType}[] array, final int offset, final int length) {
+        checkArrayRange(array.length, offset, length);
+
+        if (length > mItems.length) {
+            mItems = new ${KType}[newCapacity(length)];
+<% if (KType in ['int', 'long']) { %>
+            mShared = false;
+        } else if (mShared) {
+            // The old elements are replaced, so the shared array is not copied.
+            mItems = new ${KType}[mItems.length];
+            mShared = false;
+<% } %>
+        }
+        System.arraycopy(array, offset, mItems, 0, length);
+        mSize = length;
+<% if (KType in ['int', 'long']) { %>
+        mModCount++;
+<% } %>
+    }
+
+    /**
+     * Replaces all elements of this list with the elements of the specified list.
+     * The backing array grows at most once.
+     *
+     * @param ${KType}ArrayList the list whose elements are to be copied.
+     */
+    public void setAll(@NonNull final ${KTypeName}ArrayList ${KType}ArrayList) {
+        if (${KType}ArrayList != this) {
+            setAll(${KType}ArrayList.mItems, 0, ${KType}ArrayList.mSize);
+        }
+    }
+
+    /**
+     * Replaces the element at the specified position in this list with the
+     * specified element (optional operation).
+     *
+     * @param index   index of the element to replace
+     * @param element element to be stored at the specified position
+     * @return the element previously at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   (<tt>index &lt; 0 || index &gt;= size()</tt>)
+     */
+    public ${KType} set(final int index, final ${KType} element) {
+        final int size = mSize;
+        if (index < 0 || index >= size) {
+            throwIndexOutOfBoundsException(index, size);
+        }
+
+<% if (KType in ['int', 'long']) { %>
+        unshare();
+<% } %>
+        final ${KType}[] a = mItems;
+        final ${KType} oldValue = a[index];
+        a[index] = element;
+        return oldValue;
+    }
+
+    /**
+     * Returns the element at the specified location in this list.
+     *
+     * @param index the index of the element to return.
+     * @return the element at the specified index.
+     * @throws IndexOutOfBoundsException if {@code location < 0 || location >= size()}
+     */
+    public ${KType} get(final int index) {
+        final int size = mSize;
+        if (index < 0 || index >= size) {
+            throwIndexOutOfBoundsException(index, size);
+        }
+        return mItems[index];
+    }
+
+    /**
+     * Removes the element at the specified location from this list.
+     *
+     * @param index the index of the object to removeAt.
+     * @return the removed element.
+     * @throws IndexOutOfBoundsException when {@code location < 0 || location >= size()}
+     */
+    public ${KType} removeAt(final int index) {
+        int s = mSize;
+        if (index < 0 || index >= s) {
+            throwIndexOutOfBoundsException(index, s);
+        }
+
+<% if (KType in ['int', 'long']) { %>
+        unshare();
+<% } %>
+        final ${KType}[] a = mItems;
+        final ${KType} result = a[index];
+        System.arraycopy(a, index + 1, a, index, --s - index);
+<% if (KType in ['int', 'long']) { %>
+        if (mStats != null) {
+            mStats.recordCopy(s - index);
+        }
+<% } %>
+        a[s] = 0;
+        mSize = s;
+<% if (KType in ['int', 'long']) { %>
+        mModCount++;
+<% } %>
+        return result;
+    }
+
+    /**
+     * Removes from this list all of the elements whose index is between
+     * {@code fromIndex}, inclusive, and {@code toIndex}, exclusive. Shifts any
+     * succeeding elements to the left with a single copy.
+     *
+     * @param fromIndex index of the first element to be removed.
+     * @param toIndex   index after the last element to be removed.
+     * @throws IndexOutOfBoundsException if {@code fromIndex < 0 || toIndex > size() ||
+     *                                   fromIndex > toIndex}
+     */
+    public void removeRange(final int fromIndex, final int toIndex) {
+        final int s = mSize;
+        if (fromIndex < 0 || toIndex > s || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Invalid range [" + fromIndex + ", " + toIndex
+                    + "), size is " + s);
+        }
+        if (fromIndex == toIndex) {
+            return;
+        }
+
+<% if (KType in ['int', 'long']) { %>
+        unshare();
+<% } %>
+        System.arraycopy(mItems, toIndex, mItems, fromIndex, s - toIndex);
+<% if (KType in ['int', 'long']) { %>
+        if (mStats != null) {
+            mStats.recordCopy(s - toIndex);
+        }
+<% } %>
+        mSize = s - (toIndex - fromIndex);
+<% if (KType in ['int', 'long']) { %>
+        mModCount++;
+<% } %>
+    }
+<% if (KType in ['int', 'long']) { %>
+    /**
+     * Removes all elements of this list which match the specified predicate. The remaining
+     * elements are moved to the front in a single pass, keeping their order, so the work is
+     * linear in the size of the list. The predicate is evaluated once per element and must
+     * not modify this list.
+     *
+     * @param predicate the predicate to evaluate.
+     * @return the number of removed elements.
+     */
+    public int removeIf(@NonNull final ${KTypeName}Predicate predicate) {
+        final int s = mSize;
+        int i = 0;
+        while (i < s && !predicate.apply(mItems[i])) {
+            i++;
+        }
+        if (i == s) {
+            return 0;
+        }
+
+        unshare();
+        final ${KType}[] a = mItems;
+        int newSize = i;
+        for (i++; i < s; i++) {
+            final ${KType} e = a[i];
+            if (!predicate.apply(e)) {
+                a[newSize++] = e;
+            }
+        }
+        return truncate(newSize);
+    }
+
+    /**
+     * Removes all occurrences of the specified number from this list in a single pass.
+     *
+     * @param item the number to remove.
+     * @return the number of removed elements.
+     * @see #removeIf(${KTypeName}Predicate)
+     */
+    public int removeValue(final ${KType} item) {
+        final int s = mSize;
+        int i = indexOf(mItems, 0, s, item);
+        if (i < 0) {
+            return 0;
+        }
+
+        unshare();
+        final ${KType}[] a = mItems;
+        int newSize = i;
+        for (i++; i < s; i++) {
+            final ${KType} e = a[i];
+            if (e != item) {
+                a[newSize++] = e;
+            }
+        }
+        return truncate(newSize);
+    }
+
+    /**
+     * Removes all elements of this list which are contained in the specified list. Every
+     * lookup scans {@code ${KType}ArrayList}, prefer {@link #removeAll(${KTypeName}HashSet)}
+     * when it is large.
+     *
+     * @param ${KType}ArrayList the list of numbers to remove.
+     * @return the number of removed elements.
+     * @see #removeIf(${KTypeName}Predicate)
+     */
+    public int removeAll(@NonNull final ${KTypeName}ArrayList ${KType}ArrayList) {
+        if (${KType}ArrayList == this) {
+            final int s = mSize;
+            clear();
+            return s;
+        }
+        return removeIf(new ${KTypeName}Predicate() {
+
+            @Override
+            public boolean apply(final ${KType} value) {
+                return ${KType}ArrayList.contains(value);
+            }
+
+        });
+    }
+
+    /**
+     * Removes all elements of this list which are contained in the specified set.
+     *
+     * @param set the numbers to remove.
+     * @return the number of removed elements.
+     * @see #removeIf(${KTypeName}Predicate)
+     */
+    public int removeAll(@NonNull final ${KTypeName}HashSet set) {
+        return removeIf(new ${KTypeName}Predicate() {
+
+            @Override
+            public boolean apply(final ${KType} value) {
+                return set.contains(value);
+            }
+
+        });
+    }
+
+    /**
+     * Removes all elements of this list which are not contained in the specified list.
+     * Every lookup scans {@code ${KType}ArrayList}, prefer
+     * {@link #retainAll(${KTypeName}HashSet)} when it is large.
+     *
+     * @param ${KType}ArrayList the list of numbers to keep.
+     * @return the number of removed elements.
+     * @see #removeIf(${KTypeName}Predicate)
+     */
+    public int retainAll(@NonNull final ${KTypeName}ArrayList ${KType}ArrayList) {
+        if (${KType}ArrayList == this) {
+            return 0;
+        }
+        return removeIf(new ${KTypeName}Predicate() {
+
+            @Override
+            public boolean apply(final ${KType} value) {
+                return !${KType}ArrayList.contains(value);
+            }
+
+        });
+    }
+
+    /**
+     * Removes all elements of this list which are not contained in the specified set.
+     *
+     * @param set the numbers to keep.
+     * @return the number of removed elements.
+     * @see #removeIf(${KTypeName}Predicate)
+     */
+    public int retainAll(@NonNull final ${KTypeName}HashSet set) {
+        return removeIf(new ${KTypeName}Predicate() {
+
+            @Override
+            public boolean apply(final ${KType} value) {
+                return !set.contains(value);
+            }
+
+        });
+    }
+
+    /**
+     * Shrinks this list to the first {@code newSize} elements after a compaction.
+     *
+     * @return the number of removed elements.
+     */
+    private int truncate(final int newSize) {
+        final int removed = mSize - newSize;
+        mSize = newSize;
+        mModCount++;
+        return removed;
+    }
+<% } %>
+
+    /**
+     * Searches this {@code ${KTypeName}ArrayList} for the specified number.
+     *
+     * @param item the number to search for.
+     * @return {@code true} if {@code item} is an element of this
+     * {@code ${KTypeName}ArrayList}, {@code false} otherwise
+     */
+    public boolean contains(final ${KType} item) {
+        return indexOf(item) >= 0;
+    }
+
+    /**
+     * Removes all elements from this {@code ${KTypeName}ArrayList}, leaving it empty.
+     *
+     * @see #isEmpty()
+     * @see #size()
+     */
+    public void clear() {
+        if (mSize != 0) {
+            mSize = 0;
+<% if (KType in ['int', 'long']) { %>
+            mModCount++;
+            if (mShared) {
+                mItems = new ${KType}[mItems.length];
+                mShared = false;
+            }
+<% } %>
+        }
+    }
+
+    /**
+     * Returns the number of elements in this {@code ${KTypeName}ArrayList}.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Returns if this {@code ${KTypeName}ArrayList} contains no elements. This implementation
+     * tests, whether {@code size} returns 0.
+     *
+     * @return {@code true} if this {@code ${KTypeName}ArrayList} has no elements, {@code false}
+     * otherwise.
+     * @see #size
+     */
+    public boolean isEmpty() {
+        return (mSize == 0);
+    }
+
+    /**
+     * Searches this list for the specified number and returns the index of the
+     * first occurrence.
+     *
+     * @param item the number to search for.
+     * @return the index of the first occurrence of the number, or -1 if it was
+     * not found.
+     */
+    public int indexOf(final ${KType} item) {
+        final int index = indexOf(mItems, 0, mSize, item);
+<% if (KType in ['int', 'long']) { %>
+        if (mStats != null) {
+            mStats.recordScan(index >= 0 ? index + 1 : mSize);
+        }
+<% } %>
+        return index;
+    }
+
+    /**
+     * Searches this list for the specified number and returns the index of the
+     * last occurrence.
+     *
+     * @param item the number to search for.
+     * @return the index of the last occurrence of the number, or -1 if it was
+     * not found.
+     */
+    public int lastIndexOf(final ${KType} item) {
+        final int index = lastIndexOf(mItems, 0, mSize, item);
+<% if (KType in ['int', 'long']) { %>
+        if (mStats != null) {
+            mStats.recordScan(index >= 0 ? mSize - index : mSize);
+        }
+<% } %>
+        return index;
+    }
+<% if (KType in ['int', 'long']) { %>
+    /**
+     * Returns the index of the first element of this list which is contained in the
+     * specified set. Every element is looked up in the set once, so searching for many
+     * numbers takes a single pass instead of one {@link #indexOf(${KType})} per number.
+     *
+     * @param set the numbers to search for.
+     * @return the index of the first element contained in the set, or -1 if there is no
+     * such element.
+     */
+    public int indexOfAny(@NonNull final ${KTypeName}HashSet set) {
+        final ${KType}[] a = mItems;
+        final int s = (set.isEmpty() ? 0 : mSize);
+        int index = -1;
+        for (int i = 0; i < s; i++) {
+            if (set.contains(a[i])) {
+                index = i;
+                break;
+            }
+        }
+        if (mStats != null) {
+            mStats.recordScan(index >= 0 ? index + 1 : s);
+        }
+        return index;
+    }
+<% } %>
+
+    /**
+     * Sorts the elements of this list into ascending numerical order in place, without
+     * boxing them.
+<% if (KType in ['float', 'double']) { %>     * The order is the one of {@link ${KTypeBoxed}#compare(${KType}, ${KType})}: -0.0 goes
+     * before 0.0 and NaN goes after all other values.
+<% } %>     */
+    public void sort() {
+<% if (KType in ['int', 'long']) { %>
+        unshare();
+        // Sub lists would see the elements reordered, so they must fail fast.
+        mModCount++;
+<% } %>
+        Arrays.sort(mItems, 0, mSize);
+    }
+
+    /**
+     * Searches this list for the specified number using the binary search algorithm.
+     * The list must be sorted, e.g. by {@link #sort()}, otherwise the result is undefined.
+     * If the list contains several elements equal to the number, there is no guarantee
+     * which one will be found.
+     *
+     * @param item the number to search for.
+     * @return the index of the number if it is contained in the list, otherwise
+     * <tt>(-(insertion point) - 1)</tt>. The insertion point is the index of the first
+     * element greater than the number, or {@link #size()} if all elements are less than it.
+     */
+    public int binarySearch(final ${KType} item) {
+        final ${KType}[] a = mItems;
+        int lo = 0;
+        int hi = mSize - 1;
+        while (lo <= hi) {
+            final int mid = (lo + hi) >>> 1;
+            final ${KType} midVal = a[mid];
+            final int cmp = ${KTypeCompare('midVal', 'item')};
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return ~lo;
+    }
+
+    /**
+     * Inserts the specified number into this sorted list keeping it sorted. The list
+     * must be sorted, e.g. by {@link #sort()}, otherwise the position is undefined.
+     *
+     * @param item the number to insert.
+     * @return the index at which the number was inserted.
+     */
+    public int addSorted(final ${KType} item) {
+        int index = binarySearch(item);
+        if (index < 0) {
+            index = ~index;
+        }
+        add(index, item);
+        return index;
+    }
+
+    /**
+     * Removes all but the first element of every run of equal elements in this sorted
+     * list. The list must be sorted, e.g. by {@link #sort()}, otherwise only adjacent
+     * duplicates are removed.
+     *
+     * @return the number of removed elements.
+     */
+    public int removeDuplicatesSorted() {
+        final int s = mSize;
+        if (s < 2) {
+            return 0;
+        }
+
+        // Skip the leading unique elements, the list is not modified if there are no duplicates.
+        ${KType}[] a = mItems;
+        int i = 1;
+        while (i < s) {
+            final ${KType} e = a[i];
+            final ${KType} previous = a[i - 1];
+            if (${KTypeEquals('e', 'previous')}) {
+                break;
+            }
+            i++;
+        }
+        if (i == s) {
+            return 0;
+        }
+
+<% if (KType in ['int', 'long']) { %>
+        unshare();
+        a = mItems;
+<% } %>
+        int newSize = i;
+        for (i++; i < s; i++) {
+            final ${KType} e = a[i];
+            final ${KType} last = a[newSize - 1];
+            if (!(${KTypeEquals('e', 'last')})) {
+                a[newSize++] = e;
+            }
+        }
+        mSize = newSize;
+<% if (KType in ['int', 'long']) { %>
+        mModCount++;
+<% } %>
+        return s - newSize;
+    }
+
+    /**
+     * Applies the specified procedure to every element of this list in order. Elements
+     * are read from the backing array directly, without per-element bounds checks and
+     * without boxing. The procedure must not modify this list.
+     *
+     * @param procedure the procedure to apply.
+     */
+    public void forEach(@NonNull final ${KTypeName}Procedure procedure) {
+        final ${KType}[] a = mItems;
+        final int s = mSize;
+        for (int i = 0; i < s; i++) {
+            procedure.apply(a[i]);
+        }
+    }
+
+    /**
+     * Evaluates the specified predicate on the elements of this list in order until it
+     * returns {@code false}. The predicate must not modify this list.
+     *
+     * @param predicate the predicate to evaluate.
+     * @return {@code true} if the predicate returned {@code true} for every element,
+     * {@code false} if the iteration stopped early.
+     */
+    public boolean forEachWhile(@NonNull final ${KTypeName}Predicate predicate) {
+        final ${KType}[] a = mItems;
+        final int s = mSize;
+        for (int i = 0; i < s; i++) {
+            if (!predicate.apply(a[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a new cursor positioned before the first element of this list. A cursor can
+     * be {@link Cursor#reset(${KTypeName}ArrayList) reset} and reused to iterate without
+     * allocations.
+     */
+    @NonNull
+    public Cursor cursor() {
+        return new Cursor(this);
+    }
+<% if (KType in ['int', 'long']) { %>
+    /**
+     * Returns the sum of all elements of this list. ${KType == 'int' ? 'The sum is computed as long, so it does not overflow.' : 'The sum wraps around on overflow.'}
+     *
+     * @see Parallel${KTypeName}Aggregates#sum(${KTypeName}ArrayList, java.util.concurrent.ForkJoinPool)
+     */
+    public long sum() {
+        return sum(mItems, 0, mSize);
+    }
+
+    /**
+     * Returns the smallest element of this list.
+     *
+     * @throws NoSuchElementException if this list is empty.
+     */
+    public ${KType} min() {
+        final int s = mSize;
+        if (s == 0) {
+            throw new NoSuchElementException("${KTypeName}ArrayList is empty");
+        }
+        return min(mItems, 0, s);
+    }
+
+    /**
+     * Returns the largest element of this list.
+     *
+     * @throws NoSuchElementException if this list is empty.
+     */
+    public ${KType} max() {
+        final int s = mSize;
+        if (s == 0) {
+            throw new NoSuchElementException("${KTypeName}ArrayList is empty");
+        }
+        return max(mItems, 0, s);
+    }
+
+    /**
+     * Returns the number of elements of this list which match the specified predicate.
+     *
+     * @param predicate the predicate to evaluate.
+     */
+    public int count(@NonNull final ${KTypeName}Predicate predicate) {
+        return count(mItems, 0, mSize, predicate);
+    }
+
+    /**
+     * Returns a new list containing the elements of this list which match the specified
+     * predicate, in the same order.
+     *
+     * @param predicate the predicate to evaluate.
+     */
+    @NonNull
+    public ${KTypeName}ArrayList filter(@NonNull final ${KTypeName}Predicate predicate) {
+        final ${KTypeName}ArrayList result = new ${KTypeName}ArrayList();
+        filter(mItems, 0, mSize, predicate, result);
+        return result;
+    }
+
+    /**
+     * Returns an immutable snapshot of the elements of this list without copying them. The
+     * snapshot shares the backing array, this list copies it before the next modification
+     * which could overwrite the shared elements. Appending elements while the backing array
+     * has spare capacity does not copy it.
+     */
+    @NonNull
+    public Snapshot snapshot() {
+        mShared = true;
+        return new Snapshot(mItems, mSize);
+    }
+
+    /**
+     * Returns a view of the elements of this list between {@code fromIndex}, inclusive, and
+     * {@code toIndex}, exclusive. The view reads and writes the backing array of this list,
+     * no elements are copied. Once this list is modified structurally, e.g. an element is
+     * added or removed, every operation of the view throws
+     * {@link ConcurrentModificationException}.
+     *
+     * @param fromIndex index of the first element of the view.
+     * @param toIndex   index after the last element of the view.
+     * @throws IndexOutOfBoundsException if {@code fromIndex < 0 || toIndex > size() ||
+     *                                   fromIndex > toIndex}
+     */
+    @NonNull
+    public SubList subList(final int fromIndex, final int toIndex) {
+        final int s = mSize;
+        if (fromIndex < 0 || toIndex > s || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Invalid range [" + fromIndex + ", " + toIndex
+                    + "), size is " + s);
+        }
+        return new SubList(this, fromIndex, toIndex - fromIndex);
+    }
+<% } %>
+    /**
+     * Returns a new array containing all elements contained in this
+     * {@code ${KTypeName}ArrayList}.
+     *
+     * @return an array of the elements from this {@code ${KTypeName}ArrayList}
+     */
+    public ${KType}[] toArray() {
+        final int s = mSize;
+        final ${KType}[] result = new ${KType}[s];
+        System.arraycopy(mItems, 0, result, 0, s);
+        return result;
+    }
+
+    /**
+     * Returns the hash code value for this ${KTypeName}ArrayList. Two lists are defined to have
+     * the same hashcode if they contain the same elements in the same order.
+     *
+     * @return the hash code value for this ${KTypeName}ArrayList.
+     */
+    @Override
+    public int hashCode() {
+        return hashCode(mItems, 0, mSize);
+    }
+
+    /**
+     * Compares the specified object with this list for equality. Returns
+     * <tt>true</tt> if and only if the specified object is also a ${KTypeName}ArrayList, both
+     * lists have the same size, and all corresponding pairs of elements in
+     * the two lists are <i>equal</i>.  (Two elements <tt>e1</tt> and
+     * <tt>e2</tt> are <i>equal</i> if <tt>(e1==null ? e2==null :
+     * e1.equals(e2))</tt>.) In other words, two lists are defined to be
+     * equal if they contain the same elements in the same order.
+     *
+     * @param o the object to be compared for equality with this list
+     * @return <tt>true</tt> if the specified object is equal to this ${KTypeName}ArrayList
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+
+        if (!(o instanceof ${KTypeName}ArrayList)) {
+            return false;
+        }
+
+        final ${KTypeName}ArrayList that = (${KTypeName}ArrayList) o;
+        final int s = mSize;
+        return (that.mSize == s && equals(mItems, that.mItems, s));
+    }
+
+    @Override
+    public String toString() {
+        final int size = mSize;
+        final ${KType}[] items = mItems;
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append("${KTypeName}ArrayList [ ");
+        for (int i = 0; i < size; i++) {
+            sb.append(items[i]);
+            if (i < size - 1) {
+                sb.append(", ");
+            } else {
+                sb.append(" ]");
+            }
+        }
+        return sb.toString();
+    }
+<% if (KType in ['int', 'long']) { %>
+    /**
+     * Sets the sink which counts grows, copied and scanned elements of this list, or turns
+     * the instrumentation of this list off if {@code stats} is {@code null}.
+     *
+     * @see CollectionStats
+     */
+    public void setStats(@Nullable final CollectionStats stats) {
+        mStats = stats;
+    }
+
+    /**
+     * Returns the sink this list reports to, or {@code null} if it is not instrumented.
+     */
+    @Nullable
+    public CollectionStats getStats() {
+        return mStats;
+    }
+
+    /**
+     * Sets the encoding used by {@link #writeToParcel(Parcel, int)}. The list read from
+     * a Parcel keeps the encoding it was written with.
+     *
+     * @param parcelEncoding either {@link #PARCEL_ENCODING_PLAIN} or
+     *                       {@link #PARCEL_ENCODING_DELTA_VARINT}.
+     * @throws IllegalArgumentException if the encoding is unknown.
+     */
+    public void setParcelEncoding(final int parcelEncoding) {
+        if (parcelEncoding != PARCEL_ENCODING_PLAIN && parcelEncoding != PARCEL_ENCODING_DELTA_VARINT) {
+            throw new IllegalArgumentException("Unknown parcel encoding " + parcelEncoding);
+        }
+        mParcelEncoding = parcelEncoding;
+    }
+
+    /**
+     * Returns the encoding used by {@link #writeToParcel(Parcel, int)}.
+     *
+     * @see #setParcelEncoding(int)
+     */
+    public int getParcelEncoding() {
+        return mParcelEncoding;
+    }
+
+    /**
+     * Writes this list at the current position of the channel, the position is moved past
+     * the written data. The data starts with a versioned header and can be read back with
+     * {@link #loadFrom(FileChannel)} or mapped with {@link Mapped${KTypeName}List#map(FileChannel)}.
+     *
+     * @param channel a channel opened for writing.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void saveTo(@NonNull final FileChannel channel) throws IOException {
+        final ${KType}[] a = mItems;
+        final int s = mSize;
+        ListFileFormat.writeHeader(channel, ELEMENT_SIZE, s);
+
+        final int chunk = Math.min(s, ListFileFormat.CHUNK_SIZE / ELEMENT_SIZE);
+        final ByteBuffer buffer = ByteBuffer.allocate(chunk * ELEMENT_SIZE)
+                .order(ListFileFormat.BYTE_ORDER);
+        final ${KTypeName}Buffer view = buffer.as${KTypeName}Buffer();
+        for (int i = 0; i < s; i += chunk) {
+            final int n = Math.min(chunk, s - i);
+            view.clear();
+            view.put(a, i, n);
+            buffer.clear();
+            buffer.limit(n * ELEMENT_SIZE);
+            ListFileFormat.writeFully(channel, buffer);
+        }
+    }
+
+    /**
+     * Reads a list written by {@link #saveTo(FileChannel)} at the current position of the
+     * channel, the position is moved past the read data.
+     *
+     * @param channel a channel opened for reading.
+     * @return a new list with the read elements.
+     * @throws IOException if an I/O error occurs, the data is truncated or was not written
+     *                     by {@code ${KTypeName}ArrayList}.
+     */
+    @NonNull
+    public static ${KTypeName}ArrayList loadFrom(@NonNull final FileChannel channel)
+            throws IOException {
+        final int s = ListFileFormat.readHeader(channel, ELEMENT_SIZE);
+        final ${KType}[] a = new ${KType}[s];
+
+        final int chunk = Math.min(s, ListFileFormat.CHUNK_SIZE / ELEMENT_SIZE);
+        final ByteBuffer buffer = ByteBuffer.allocate(chunk * ELEMENT_SIZE)
+                .order(ListFileFormat.BYTE_ORDER);
+        final ${KTypeName}Buffer view = buffer.as${KTypeName}Buffer();
+        for (int i = 0; i < s; i += chunk) {
+            final int n = Math.min(chunk, s - i);
+            buffer.clear();
+            buffer.limit(n * ELEMENT_SIZE);
+            ListFileFormat.readFully(channel, buffer);
+            view.clear();
+            view.get(a, i, n);
+        }
+        return new ${KTypeName}ArrayList(a, s);
+    }
+<% } %>
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(final Parcel dest, final int flags) {
+        final ${KType}[] a = mItems;
+        final int s = mSize;
+<% if (KType in ['int', 'long']) { %>
+        if (mParcelEncoding == PARCEL_ENCODING_DELTA_VARINT) {
+            final byte[] bytes = new byte[DeltaVarIntCodec.encodedLength(a, s)];
+            DeltaVarIntCodec.encode(a, s, bytes);
+            dest.writeInt(PARCEL_ENCODING_DELTA_VARINT);
+            dest.writeInt(s);
+            dest.writeByteArray(bytes);
+            return;
+        }
+<% } %>
+        // Only live elements are written, spare capacity is not sent over Binder.
+        dest.writeInt(PARCEL_ENCODING_PLAIN);
+<% if (KTypeParcelArray) { %>
+        writeElements(dest, a, 0, s);
+<% } else { %>
+        dest.writeInt(s);
+        for (int i = 0; i < s; i++) {
+            dest.writeInt(a[i]);
+        }
+<% } %>
+    }
+<% if (KTypeParcelArray) { %>
+    /**
+     * Writes the elements between {@code from}, inclusive, and {@code to}, exclusive, in
+     * the format read by {@link Parcel#create${KTypeParcelArray}Array()}, without copying them
+     * into a temporary array.
+     */
+    static void writeElements(@NonNull final Parcel dest, @NonNull final ${KType}[] a,
+            final int from, final int to) {
+<% if (KType == 'byte') { %>
+        dest.writeByteArray(a, from, to - from);
+<% } else { %>
+        dest.writeInt(to - from);
+        for (int i = from; i < to; i++) {
+            dest.write${KType == 'char' ? 'Int' : KTypeParcelArray}(a[i]);
+        }
+<% } %>
+    }
+<% } %>
+<% if (KType in ['int', 'long']) { %>
+    /**
+     * Returns the backing array, only the first {@link #size()} elements are valid.
+     */
+    ${KType}[] items() {
+        return mItems;
+    }
+
+    static long sum(@NonNull final ${KType}[] a, final int from, final int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    static ${KType} min(@NonNull final ${KType}[] a, final int from, final int to) {
+        ${KType} min = a[from];
+        for (int i = from + 1; i < to; i++) {
+            final ${KType} e = a[i];
+            if (e < min) {
+                min = e;
+            }
+        }
+        return min;
+    }
+
+    static ${KType} max(@NonNull final ${KType}[] a, final int from, final int to) {
+        ${KType} max = a[from];
+        for (int i = from + 1; i < to; i++) {
+            final ${KType} e = a[i];
+            if (e > max) {
+                max = e;
+            }
+        }
+        return max;
+    }
+
+    static int count(@NonNull final ${KType}[] a, final int from, final int to,
+            @NonNull final ${KTypeName}Predicate predicate) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (predicate.apply(a[i])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static void filter(@NonNull final ${KType}[] a, final int from, final int to,
+            @NonNull final ${KTypeName}Predicate predicate, @NonNull final ${KTypeName}ArrayList dest) {
+        for (int i = from; i < to; i++) {
+            final ${KType} e = a[i];
+            if (predicate.apply(e)) {
+                dest.add(e);
+            }
+        }
+    }
+<% } %>
+    /**
+     * Returns the index of the first element between {@code from}, inclusive, and
+     * {@code to}, exclusive, which is equal to {@code item}, or -1. Four elements are
+     * compared per iteration without short-circuiting, so there is one branch per four
+     * elements; the remaining loop finds the match among them.
+     */
+    static int indexOf(@NonNull final ${KType}[] a, final int from, final int to,
+            final ${KType} item) {
+        int i = from;
+        for (final int end = to - 3; i < end; i += 4) {
+            if ((${KTypeEquals('item', 'a[i]')}) | (${KTypeEquals('item', 'a[i + 1]')})
+                    | (${KTypeEquals('item', 'a[i + 2]')}) | (${KTypeEquals('item', 'a[i + 3]')})) {
+                break;
+            }
+        }
+        for (; i < to; i++) {
+            if (${KTypeEquals('item', 'a[i]')}) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the last element between {@code from}, inclusive, and
+     * {@code to}, exclusive, which is equal to {@code item}, or -1.
+     *
+     * @see #indexOf(${KType}[], int, int, ${KType})
+     */
+    static int lastIndexOf(@NonNull final ${KType}[] a, final int from, final int to,
+            final ${KType} item) {
+        int i = to - 1;
+        for (final int end = from + 3; i >= end; i -= 4) {
+            if ((${KTypeEquals('item', 'a[i]')}) | (${KTypeEquals('item', 'a[i - 1]')})
+                    | (${KTypeEquals('item', 'a[i - 2]')}) | (${KTypeEquals('item', 'a[i - 3]')})) {
+                break;
+            }
+        }
+        for (; i >= from; i--) {
+            if (${KTypeEquals('item', 'a[i]')}) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the hash code of the elements between {@code from}, inclusive, and
+     * {@code to}, exclusive, the same as {@link java.util.List#hashCode()} of the boxed
+     * elements. Four elements are folded in per iteration with the powers of 31, which
+     * shortens the chain of dependent multiplications.
+     */
+    static int hashCode(@NonNull final ${KType}[] a, final int from, final int to) {
+        int hashCode = 1;
+        int i = from;
+        for (final int end = to - 3; i < end; i += 4) {
+            final ${KType} e0 = a[i];
+            final ${KType} e1 = a[i + 1];
+            final ${KType} e2 = a[i + 2];
+            final ${KType} e3 = a[i + 3];
+            hashCode = 923521 * hashCode + 29791 * (${KTypeHash('e0')}) + 961 * (${KTypeHash('e1')})
+                    + 31 * (${KTypeHash('e2')}) + (${KTypeHash('e3')});
+        }
+        for (; i < to; i++) {
+            final ${KType} e = a[i];
+            final int elementHash = ${KTypeHash('e')};
+            hashCode = 31 * hashCode + elementHash;
+        }
+        return hashCode;
+    }
+
+    /**
+     * Returns if the first {@code length} elements of both arrays are equal, comparing four
+     * pairs per iteration.
+     */
+    static boolean equals(@NonNull final ${KType}[] a, @NonNull final ${KType}[] b,
+            final int length) {
+        if (a == b) {
+            return true;
+        }
+
+        int i = 0;
+        for (final int end = length - 3; i < end; i += 4) {
+            if (!(${KTypeEquals('a[i]', 'b[i]')}) | !(${KTypeEquals('a[i + 1]', 'b[i + 1]')})
+                    | !(${KTypeEquals('a[i + 2]', 'b[i + 2]')}) | !(${KTypeEquals('a[i + 3]', 'b[i + 3]')})) {
+                return false;
+            }
+        }
+        for (; i < length; i++) {
+            if (!(${KTypeEquals('a[i]', 'b[i]')})) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensureCapacity(final int minCapacity) {
+        final ${KType}[] a = mItems;
+        if (minCapacity > a.length) {
+            final ${KType}[] newArray = new ${KType}[newCapacity(minCapacity)];
+            System.arraycopy(a, 0, newArray, 0, mSize);
+            mItems = newArray;
+<% if (KType in ['int', 'long']) { %>
+            mShared = false;
+            if (mStats != null) {
+                mStats.recordGrow(mSize);
+            }
+<% } %>
+        }
+    }
+<% if (KType in ['int', 'long']) { %>
+    /**
+     * Copies the backing array if it is shared with a snapshot, so it can be modified in place.
+     */
+    private void unshare() {
+        if (mShared) {
+            final ${KType}[] a = mItems;
+            final ${KType}[] newArray = new ${KType}[a.length];
+            System.arraycopy(a, 0, newArray, 0, mSize);
+            mItems = newArray;
+            mShared = false;
+            if (mStats != null) {
+                mStats.recordCopy(mSize);
+            }
+        }
+    }
+<% } %>
+
+    private static void checkArrayRange(final int arrayLength, final int offset, final int length) {
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new IndexOutOfBoundsException("Invalid offset " + offset + " and length "
+                    + length + ", array length is " + arrayLength);
+        }
+    }
+
+    private static void throwIndexOutOfBoundsException(final int index, final int size) {
+        throw new IndexOutOfBoundsException("Invalid index " + index + ", size is " + size);
+    }
+
+    private static int newCapacity(final int currentCapacity) {
+        final int increment = (currentCapacity < (MIN_CAPACITY_INCREMENT / 2) ?
+                MIN_CAPACITY_INCREMENT : currentCapacity >> 1);
+        return currentCapacity + increment;
+    }
+
+    /**
+     * Iterates over the elements of a {@code ${KTypeName}ArrayList} without boxing:
+     * <pre>
+     * final ${KTypeName}ArrayList.Cursor cursor = list.cursor();
+     * while (cursor.moveNext()) {
+     *     final ${KType} value = cursor.value();
+     *     ...
+     * }
+     * </pre>
+     * The cursor captures the backing array and the size of the list when it is created or
+     * reset. If the list is modified structurally afterwards, the cursor must be reset.
+     */
+    public static final class Cursor {
+
+        private ${KType}[] mItems;
+        private int mSize;
+        private int mIndex;
+
+        private Cursor(@NonNull final ${KTypeName}ArrayList ${KType}ArrayList) {
+            reset(${KType}ArrayList);
+        }
+
+        /**
+         * Positions this cursor before the first element of the specified list.
+         *
+         * @param ${KType}ArrayList the list to iterate over.
+         */
+        public void reset(@NonNull final ${KTypeName}ArrayList ${KType}ArrayList) {
+            mItems = ${KType}ArrayList.mItems;
+            mSize = ${KType}ArrayList.mSize;
+            mIndex = -1;
+        }
+
+        /**
+         * Moves this cursor to the next element.
+         *
+         * @return {@code true} if the cursor is on an element, {@code false} if there are
+         * no more elements.
+         */
+        public boolean moveNext() {
+            return (++mIndex < mSize);
+        }
+
+        /**
+         * Returns the element this cursor is on. Must be called only after
+         * {@link #moveNext()} returned {@code true}.
+         */
+        public ${KType} value() {
+            return mItems[mIndex];
+        }
+
+        /**
+         * Returns the index of the element this cursor is on, or -1 before the first call
+         * to {@link #moveNext()}.
+         */
+        public int index() {
+            return mIndex;
+        }
+
+    }
+<% if (KType in ['int', 'long']) { %>
+    /**
+     * An immutable sequence of ${KTypePlural} returned by {@link #snapshot()}. The snapshot
+     * shares the backing array with the list it was taken from and caches its hash code.
+     */
+    public static final class Snapshot {
+
+        private final ${KType}[] mItems;
+        private final int mSize;
+        private int mHashCode;
+
+        private Snapshot(@NonNull final ${KType}[] items, final int size) {
+            mItems = items;
+            mSize = size;
+        }
+
+        /**
+         * Returns the number of elements in this snapshot.
+         */
+        public int size() {
+            return mSize;
+        }
+
+        /**
+         * Returns if this snapshot contains no elements.
+         */
+        public boolean isEmpty() {
+            return (mSize == 0);
+        }
+
+        /**
+         * Returns the element at the specified location in this snapshot.
+         *
+         * @param index the index of the element to return.
+         * @return the element at the specified index.
+         * @throws IndexOutOfBoundsException if {@code index < 0 || index >= size()}
+         */
+        public ${KType} get(final int index) {
+            final int size = mSize;
+            if (index < 0 || index >= size) {
+                throwIndexOutOfBoundsException(index, size);
+            }
+            return mItems[index];
+        }
+
+        /**
+         * Searches this snapshot for the specified number and returns the index of the
+         * first occurrence.
+         *
+         * @param item the number to search for.
+         * @return the index of the first occurrence of the number, or -1 if it was not found.
+         */
+        public int indexOf(final ${KType} item) {
+            return ${KTypeName}ArrayList.indexOf(mItems, 0, mSize, item);
+        }
+
+        /**
+         * Searches this snapshot for the specified number and returns the index of the
+         * last occurrence.
+         *
+         * @param item the number to search for.
+         * @return the index of the last occurrence of the number, or -1 if it was not found.
+         */
+        public int lastIndexOf(final ${KType} item) {
+            return ${KTypeName}ArrayList.lastIndexOf(mItems, 0, mSize, item);
+        }
+
+        /**
+         * Searches this snapshot for the specified number.
+         *
+         * @param item the number to search for.
+         * @return {@code true} if {@code item} is an element of this snapshot, {@code false}
+         * otherwise
+         */
+        public boolean contains(final ${KType} item) {
+            return indexOf(item) >= 0;
+        }
+
+        /**
+         * Applies the specified procedure to every element of this snapshot in order.
+         *
+         * @param procedure the procedure to apply.
+         */
+        public void forEach(@NonNull final ${KTypeName}Procedure procedure) {
+            final ${KType}[] a = mItems;
+            final int s = mSize;
+            for (int i = 0; i < s; i++) {
+                procedure.apply(a[i]);
+            }
+        }
+
+        /**
+         * Returns the sum of all elements of this snapshot.
+         *
+         * @see ${KTypeName}ArrayList#sum()
+         */
+        public long sum() {
+            return ${KTypeName}ArrayList.sum(mItems, 0, mSize);
+        }
+
+        /**
+         * Returns a new array containing all elements of this snapshot.
+         */
+        public ${KType}[] toArray() {
+            final int s = mSize;
+            final ${KType}[] result = new ${KType}[s];
+            System.arraycopy(mItems, 0, result, 0, s);
+            return result;
+        }
+
+        /**
+         * Returns a new modifiable list containing the elements of this snapshot.
+         */
+        @NonNull
+        public ${KTypeName}ArrayList to${KTypeName}ArrayList() {
+            final int s = mSize;
+            final ${KType}[] items = new ${KType}[newCapacity(s)];
+            System.arraycopy(mItems, 0, items, 0, s);
+            return new ${KTypeName}ArrayList(items, s);
+        }
+
+        @Override
+        public int hashCode() {
+            int hashCode = mHashCode;
+            if (hashCode == 0) {
+                hashCode = ${KTypeName}ArrayList.hashCode(mItems, 0, mSize);
+                mHashCode = hashCode;
+            }
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (o == this) {
+                return true;
+            }
+
+            if (!(o instanceof Snapshot)) {
+                return false;
+            }
+
+            final Snapshot that = (Snapshot) o;
+            final int s = mSize;
+            if (that.mSize != s) {
+                return false;
+            }
+            if (that.mItems == mItems) {
+                return true;
+            }
+            if (mHashCode != 0 && that.mHashCode != 0 && mHashCode != that.mHashCode) {
+                return false;
+            }
+            return ${KTypeName}ArrayList.equals(mItems, that.mItems, s);
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder();
+            sb.append("${KTypeName}ArrayList.Snapshot [");
+            for (int i = 0; i < mSize; i++) {
+                sb.append(i == 0 ? " " : ", ").append(mItems[i]);
+            }
+            sb.append(" ]");
+            return sb.toString();
+        }
+
+    }
+
+    /**
+     * A view of a range of a {@code ${KTypeName}ArrayList} returned by
+     * {@link #subList(int, int)}. Elements are read from and written to the backing array of
+     * the list. The view fails fast with {@link ConcurrentModificationException} once the
+     * list is modified structurally. Writing a sub list to a Parcel writes the same data as
+     * a {@code ${KTypeName}ArrayList} with the elements of the range and the parcel encoding of
+     * the list.
+     */
+    public static final class SubList implements Parcelable {
+
+        private final ${KTypeName}ArrayList mParent;
+        private final int mOffset;
+        private final int mSize;
+        private final int mModCount;
+
+        private SubList(@NonNull final ${KTypeName}ArrayList parent, final int offset,
+                final int size) {
+            mParent = parent;
+            mOffset = offset;
+            mSize = size;
+            mModCount = parent.mModCount;
+        }
+
+        /**
+         * Returns the number of elements in this sub list.
+         */
+        public int size() {
+            checkForComodification();
+            return mSize;
+        }
+
+        /**
+         * Returns if this sub list contains no elements.
+         */
+        public boolean isEmpty() {
+            checkForComodification();
+            return (mSize == 0);
+        }
+
+        /**
+         * Returns the element at the specified location in this sub list.
+         *
+         * @param index the index of the element to return.
+         * @return the element at the specified index.
+         * @throws IndexOutOfBoundsException if {@code index < 0 || index >= size()}
+         */
+        public ${KType} get(final int index) {
+            checkForComodification();
+            final int size = mSize;
+            if (index < 0 || index >= size) {
+                throwIndexOutOfBoundsException(index, size);
+            }
+            return mParent.mItems[mOffset + index];
+        }
+
+        /**
+         * Replaces the element at the specified position in this sub list and in its list.
+         *
+         * @param index   index of the element to replace.
+         * @param element element to be stored at the specified position.
+         * @return the element previously at the specified position.
+         * @throws IndexOutOfBoundsException if {@code index < 0 || index >= size()}
+         */
+        public ${KType} set(final int index, final ${KType} element) {
+            checkForComodification();
+            final int size = mSize;
+            if (index < 0 || index >= size) {
+                throwIndexOutOfBoundsException(index, size);
+            }
+            return mParent.set(mOffset + index, element);
+        }
+
+        /**
+         * Searches this sub list for the specified number and returns the index of the
+         * first occurrence.
+         *
+         * @param item the number to search for.
+         * @return the index of the first occurrence of the number in this sub list, or -1 if
+         * it was not found.
+         */
+        public int indexOf(final ${KType} item) {
+            checkForComodification();
+            final int index = ${KTypeName}ArrayList.indexOf(mParent.mItems, mOffset,
+                    mOffset + mSize, item);
+            return (index >= 0 ? index - mOffset : -1);
+        }
+
+        /**
+         * Searches this sub list for the specified number.
+         *
+         * @param item the number to search for.
+         * @return {@code true} if {@code item} is an element of this sub list, {@code false}
+         * otherwise
+         */
+        public boolean contains(final ${KType} item) {
+            return indexOf(item) >= 0;
+        }
+
+        /**
+         * Returns the sum of all elements of this sub list.
+         *
+         * @see ${KTypeName}ArrayList#sum()
+         */
+        public long sum() {
+            checkForComodification();
+            return ${KTypeName}ArrayList.sum(mParent.mItems, mOffset, mOffset + mSize);
+        }
+
+        /**
+         * Applies the specified procedure to every element of this sub list in order. The
+         * procedure must not modify the list structurally.
+         *
+         * @param procedure the procedure to apply.
+         */
+        public void forEach(@NonNull final ${KTypeName}Procedure procedure) {
+            checkForComodification();
+            final ${KType}[] a = mParent.mItems;
+            for (int i = mOffset, to = mOffset + mSize; i < to; i++) {
+                procedure.apply(a[i]);
+            }
+        }
+
+        /**
+         * Returns a new array containing all elements of this sub list.
+         */
+        public ${KType}[] toArray() {
+            checkForComodification();
+            final ${KType}[] result = new ${KType}[mSize];
+            System.arraycopy(mParent.mItems, mOffset, result, 0, mSize);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            checkForComodification();
+            final ${KType}[] a = mParent.mItems;
+            final StringBuilder sb = new StringBuilder();
+            sb.append("${KTypeName}ArrayList.SubList [");
+            for (int i = 0; i < mSize; i++) {
+                sb.append(i == 0 ? " " : ", ").append(a[mOffset + i]);
+            }
+            sb.append(" ]");
+            return sb.toString();
+        }
+
+        @Override
+        public int describeContents() {
+            return 0;
+        }
+
+        @Override
+        public void writeToParcel(final Parcel dest, final int flags) {
+            checkForComodification();
+            final ${KType}[] a = mParent.mItems;
+            final int from = mOffset;
+            final int to = from + mSize;
+            if (mParent.mParcelEncoding == PARCEL_ENCODING_DELTA_VARINT) {
+                final byte[] bytes = new byte[DeltaVarIntCodec.encodedLength(a, from, to)];
+                DeltaVarIntCodec.encode(a, from, to, bytes);
+                dest.writeInt(PARCEL_ENCODING_DELTA_VARINT);
+                dest.writeInt(mSize);
+                dest.writeByteArray(bytes);
+                return;
+            }
+            dest.writeInt(PARCEL_ENCODING_PLAIN);
+            writeElements(dest, a, from, to);
+        }
+
+        private void checkForComodification() {
+            if (mParent.mModCount != mModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        /**
+         * Reads a sub list spanning a new {@code ${KTypeName}ArrayList} read from a Parcel.
+         */
+        public static final Creator<SubList> CREATOR = new Creator<SubList>() {
+
+            @Override
+            public SubList createFromParcel(final Parcel in) {
+                final ${KTypeName}ArrayList list = ${KTypeName}ArrayList.CREATOR.createFromParcel(in);
+                return list.subList(0, list.mSize);
+            }
+
+            @Override
+            public SubList[] newArray(final int size) {
+                return new SubList[size];
+            }
+
+        };
+
+    }
+<% } %>
+
+    public static final Creator<${KTypeName}ArrayList> CREATOR = new Creator<${KTypeName}ArrayList>() {
+
+        @Override
+        public ${KTypeName}ArrayList createFromParcel(final Parcel in) {
+            return new ${KTypeName}ArrayList(in);
+        }
+
+        @Override
+        public ${KTypeName}ArrayList[] newArray(final int size) {
+            return new ${KTypeName}ArrayList[size];
+        }
+
+    };
+
+}
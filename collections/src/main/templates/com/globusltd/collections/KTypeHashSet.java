@@ -0,0 +1,461 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.annotation.NonNull;
+
+/**
+ * ${KTypeName}HashSet holds unique primitive ${KTypePlural}. It uses hashing with linear probing
+ * over a primitive array, so membership checks take constant time on average. Unlike
+ * Set&lt;${KTypeBoxed}&gt; it avoids auto-boxing and does not allocate on lookups.
+ * <p/>
+ * This class is generated from KTypeHashSet.java template, do not edit it directly.
+ */
+public class ${KTypeName}HashSet implements Parcelable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Marks free slots of the table, presence of this element is stored separately.
+     */
+    private static final ${KType} EMPTY_KEY = 0;
+
+    private final float mLoadFactor;
+
+    private ${KType}[] mKeys;
+    private int mMask;
+    private int mResizeThreshold;
+
+    private boolean mHasEmptyKey;
+
+    private int mSize;
+
+    /**
+     * Constructs a new instance of {@code ${KTypeName}HashSet}.
+     */
+    public ${KTypeName}HashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new instance of {@code ${KTypeName}HashSet} that holds the specified
+     * number of elements without resizing.
+     *
+     * @param initialCapacity the expected number of elements.
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative.
+     */
+    public ${KTypeName}HashSet(final int initialCapacity) {
+        this(initialCapacity, HashUtils.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a new instance of {@code ${KTypeName}HashSet} that holds the specified
+     * number of elements without resizing.
+     *
+     * @param initialCapacity the expected number of elements.
+     * @param loadFactor      the fraction of the table that can be filled before it grows.
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative or
+     *                                  {@code loadFactor} is not in (0, 1) range.
+     */
+    public ${KTypeName}HashSet(final int initialCapacity, final float loadFactor) {
+        mLoadFactor = HashUtils.checkLoadFactor(loadFactor);
+        allocateTable(HashUtils.capacityFor(initialCapacity, loadFactor));
+    }
+
+    public ${KTypeName}HashSet(@NonNull final ${KTypeName}HashSet set) {
+        mLoadFactor = set.mLoadFactor;
+        mKeys = set.mKeys.clone();
+        mMask = set.mMask;
+        mResizeThreshold = set.mResizeThreshold;
+        mHasEmptyKey = set.mHasEmptyKey;
+        mSize = set.mSize;
+    }
+
+    /**
+     * Constructs a new instance of {@code ${KTypeName}HashSet} containing the unique elements
+     * of the specified list.
+     *
+     * @param ${KType}ArrayList the list whose elements are to be added.
+     */
+    public ${KTypeName}HashSet(@NonNull final ${KTypeName}ArrayList ${KType}ArrayList) {
+        this(${KType}ArrayList.size());
+        addAll(${KType}ArrayList);
+    }
+
+    private ${KTypeName}HashSet(@NonNull final Parcel in) {
+        mLoadFactor = in.readFloat();
+        final int size = in.readInt();
+        final ${KType}[] keys = new ${KType}[size];
+        in.read${KTypeName}Array(keys);
+
+        allocateTable(HashUtils.capacityFor(size, mLoadFactor));
+        for (int i = 0; i < size; i++) {
+            add(keys[i]);
+        }
+    }
+
+    /**
+     * Adds the specified number to this set if it is not already present.
+     *
+     * @param item the number to add.
+     * @return {@code true} if this set did not already contain the number.
+     */
+    public boolean add(final ${KType} item) {
+        if (item == EMPTY_KEY) {
+            if (mHasEmptyKey) {
+                return false;
+            }
+            mHasEmptyKey = true;
+            mSize++;
+            return true;
+        }
+
+        final ${KType}[] keys = mKeys;
+        final int mask = mMask;
+        int slot = HashUtils.mix(item) & mask;
+        ${KType} existing;
+        while ((existing = keys[slot]) != EMPTY_KEY) {
+            if (existing == item) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = item;
+        if (++mSize > mResizeThreshold) {
+            rehash(HashUtils.nextCapacity(keys.length));
+        }
+        return true;
+    }
+
+    /**
+     * Adds all elements of the specified list to this set, the table is resized
+     * at most once.
+     *
+     * @param ${KType}ArrayList the list whose elements are to be added.
+     * @return {@code true} if this set changed as a result of the call.
+     */
+    public boolean addAll(@NonNull final ${KTypeName}ArrayList ${KType}ArrayList) {
+        final int count = ${KType}ArrayList.size();
+        ensureCapacity(mSize + count);
+
+        boolean changed = false;
+        for (int i = 0; i < count; i++) {
+            changed |= add(${KType}ArrayList.get(i));
+        }
+        return changed;
+    }
+
+    /**
+     * Adds all elements of the specified set to this set, the table is resized
+     * at most once.
+     *
+     * @param set the set whose elements are to be added.
+     * @return {@code true} if this set changed as a result of the call.
+     */
+    public boolean addAll(@NonNull final ${KTypeName}HashSet set) {
+        ensureCapacity(mSize + set.mSize);
+
+        boolean changed = false;
+        if (set.mHasEmptyKey) {
+            changed = add(EMPTY_KEY);
+        }
+
+        final ${KType}[] keys = set.mKeys;
+        for (int i = 0, length = keys.length; i < length; i++) {
+            final ${KType} key = keys[i];
+            if (key != EMPTY_KEY) {
+                changed |= add(key);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Searches this {@code ${KTypeName}HashSet} for the specified number.
+     *
+     * @param item the number to search for.
+     * @return {@code true} if {@code item} is an element of this
+     * {@code ${KTypeName}HashSet}, {@code false} otherwise
+     */
+    public boolean contains(final ${KType} item) {
+        if (item == EMPTY_KEY) {
+            return mHasEmptyKey;
+        }
+
+        final ${KType}[] keys = mKeys;
+        final int mask = mMask;
+        int slot = HashUtils.mix(item) & mask;
+        ${KType} existing;
+        while ((existing = keys[slot]) != EMPTY_KEY) {
+            if (existing == item) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the specified number from this set.
+     *
+     * @param item the number to remove.
+     * @return {@code true} if this set contained the number.
+     */
+    public boolean remove(final ${KType} item) {
+        if (item == EMPTY_KEY) {
+            if (!mHasEmptyKey) {
+                return false;
+            }
+            mHasEmptyKey = false;
+            mSize--;
+            return true;
+        }
+
+        final ${KType}[] keys = mKeys;
+        final int mask = mMask;
+        int slot = HashUtils.mix(item) & mask;
+        ${KType} existing;
+        while ((existing = keys[slot]) != EMPTY_KEY) {
+            if (existing == item) {
+                shiftConflictingKeys(slot);
+                mSize--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Removes all elements from this {@code ${KTypeName}HashSet}, leaving it empty.
+     *
+     * @see #isEmpty()
+     * @see #size()
+     */
+    public void clear() {
+        if (mSize != 0) {
+            final ${KType}[] keys = mKeys;
+            for (int i = 0, length = keys.length; i < length; i++) {
+                keys[i] = EMPTY_KEY;
+            }
+            mHasEmptyKey = false;
+            mSize = 0;
+        }
+    }
+
+    /**
+     * Returns the number of elements in this {@code ${KTypeName}HashSet}.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Returns if this {@code ${KTypeName}HashSet} contains no elements.
+     *
+     * @return {@code true} if this {@code ${KTypeName}HashSet} has no elements, {@code false}
+     * otherwise.
+     * @see #size
+     */
+    public boolean isEmpty() {
+        return (mSize == 0);
+    }
+
+    /**
+     * Returns a new array containing all elements contained in this set in no
+     * particular order.
+     *
+     * @return an array of the elements from this {@code ${KTypeName}HashSet}
+     */
+    public ${KType}[] toArray() {
+        final ${KType}[] result = new ${KType}[mSize];
+        int index = 0;
+        if (mHasEmptyKey) {
+            result[index++] = EMPTY_KEY;
+        }
+
+        final ${KType}[] keys = mKeys;
+        for (int i = 0, length = keys.length; i < length; i++) {
+            final ${KType} key = keys[i];
+            if (key != EMPTY_KEY) {
+                result[index++] = key;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the hash code value for this set, which is the sum of hash codes of its
+     * elements as defined by {@link java.util.Set#hashCode()}.
+     *
+     * @return the hash code value for this set.
+     */
+    @Override
+    public int hashCode() {
+        int hashCode = 0;
+        final ${KType}[] keys = mKeys;
+        for (int i = 0, length = keys.length; i < length; i++) {
+            final ${KType} e = keys[i];
+            hashCode += ${KTypeHash('e')};
+        }
+        return hashCode;
+    }
+
+    /**
+     * Compares the specified object with this set for equality. Returns <tt>true</tt>
+     * if and only if the specified object is also a ${KTypeName}HashSet and both sets
+     * contain the same elements. Load factors are not compared.
+     *
+     * @param o the object to be compared for equality with this set
+     * @return <tt>true</tt> if the specified object is equal to this set
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+
+        if (!(o instanceof ${KTypeName}HashSet)) {
+            return false;
+        }
+
+        final ${KTypeName}HashSet that = (${KTypeName}HashSet) o;
+        if (that.mSize != mSize || that.mHasEmptyKey != mHasEmptyKey) {
+            return false;
+        }
+
+        final ${KType}[] keys = mKeys;
+        for (int i = 0, length = keys.length; i < length; i++) {
+            final ${KType} key = keys[i];
+            if (key != EMPTY_KEY && !that.contains(key)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("${KTypeName}HashSet { ");
+        boolean first = true;
+        if (mHasEmptyKey) {
+            sb.append(EMPTY_KEY);
+            first = false;
+        }
+
+        final ${KType}[] keys = mKeys;
+        for (int i = 0, length = keys.length; i < length; i++) {
+            final ${KType} key = keys[i];
+            if (key != EMPTY_KEY) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                sb.append(key);
+                first = false;
+            }
+        }
+        sb.append(" }");
+        return sb.toString();
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(final Parcel dest, final int flags) {
+        dest.writeFloat(mLoadFactor);
+        dest.writeInt(mSize);
+        dest.write${KTypeName}Array(toArray());
+    }
+
+    private void ensureCapacity(final int minCapacity) {
+        if (minCapacity > mResizeThreshold) {
+            rehash(HashUtils.capacityFor(minCapacity, mLoadFactor));
+        }
+    }
+
+    private void allocateTable(final int capacity) {
+        mKeys = new ${KType}[capacity];
+        mMask = capacity - 1;
+        mResizeThreshold = HashUtils.resizeThreshold(capacity, mLoadFactor);
+    }
+
+    private void rehash(final int newCapacity) {
+        final ${KType}[] oldKeys = mKeys;
+        allocateTable(newCapacity);
+
+        final ${KType}[] keys = mKeys;
+        final int mask = mMask;
+        for (int i = 0, length = oldKeys.length; i < length; i++) {
+            final ${KType} key = oldKeys[i];
+            if (key != EMPTY_KEY) {
+                int slot = HashUtils.mix(key) & mask;
+                while (keys[slot] != EMPTY_KEY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+
+    /**
+     * Fills the gap left by a removed key by shifting back the following keys of
+     * the same probe sequence, so lookups never need tombstones.
+     */
+    private void shiftConflictingKeys(int gapSlot) {
+        final ${KType}[] keys = mKeys;
+        final int mask = mMask;
+        int distance = 0;
+        while (true) {
+            final int slot = (gapSlot + (++distance)) & mask;
+            final ${KType} existing = keys[slot];
+            if (existing == EMPTY_KEY) {
+                break;
+            }
+
+            final int idealSlot = HashUtils.mix(existing) & mask;
+            final int shift = (slot - idealSlot) & mask;
+            if (shift >= distance) {
+                keys[gapSlot] = existing;
+                gapSlot = slot;
+                distance = 0;
+            }
+        }
+        keys[gapSlot] = EMPTY_KEY;
+    }
+
+    public static final Creator<${KTypeName}HashSet> CREATOR = new Creator<${KTypeName}HashSet>() {
+
+        @Override
+        public ${KTypeName}HashSet createFromParcel(final Parcel in) {
+            return new ${KTypeName}HashSet(in);
+        }
+
+        @Override
+        public ${KTypeName}HashSet[] newArray(final int size) {
+            return new ${KTypeName}HashSet[size];
+        }
+
+    };
+
+}
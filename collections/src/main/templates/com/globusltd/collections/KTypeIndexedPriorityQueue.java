@@ -0,0 +1,332 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * ${KTypeName}IndexedPriorityQueue is a priority queue of ids in the range
+ * {@code [0, maxIds)}, each of which is ordered by a primitive ${KType} key. Unlike
+ * {@link ${KTypeName}PriorityQueue}, the queue tracks the heap position of every id, so the
+ * key of a queued id can be changed with {@link #decreaseKey(int, ${KType})} or
+ * {@link #updateKey(int, ${KType})} and the id can be removed with {@link #remove(int)}
+ * in O(log n).
+ * <p/>
+ * The head of the queue is the id with the smallest key for {@link #ORDER_ASCENDING} queues
+ * and the id with the largest key for {@link #ORDER_DESCENDING} queues. Keys and ids are
+ * stored side by side in an implicit 4-ary heap.
+ * <p/>
+ * This class is generated from KTypeIndexedPriorityQueue.java template, do not edit it
+ * directly.
+ */
+public class ${KTypeName}IndexedPriorityQueue {
+
+    /**
+     * The head of the queue is the id with the smallest key.
+     */
+    public static final int ORDER_ASCENDING = 0;
+
+    /**
+     * The head of the queue is the id with the largest key.
+     */
+    public static final int ORDER_DESCENDING = 1;
+
+    private final ${KType}[] mKeys;
+    private final int[] mIds;
+    private final int[] mPositions;
+    private int mSize;
+    private final boolean mDescending;
+
+    /**
+     * Constructs a new empty instance of {@code ${KTypeName}IndexedPriorityQueue} with the
+     * {@link #ORDER_ASCENDING} order.
+     *
+     * @param maxIds the number of ids the queue accepts, ids are in {@code [0, maxIds)}.
+     * @throws IllegalArgumentException if {@code maxIds} is negative.
+     */
+    public ${KTypeName}IndexedPriorityQueue(final int maxIds) {
+        this(maxIds, ORDER_ASCENDING);
+    }
+
+    /**
+     * Constructs a new empty instance of {@code ${KTypeName}IndexedPriorityQueue}.
+     *
+     * @param maxIds the number of ids the queue accepts, ids are in {@code [0, maxIds)}.
+     * @param order  either {@link #ORDER_ASCENDING} or {@link #ORDER_DESCENDING}.
+     * @throws IllegalArgumentException if {@code maxIds} is negative or {@code order} is
+     *                                  unknown.
+     */
+    public ${KTypeName}IndexedPriorityQueue(final int maxIds, final int order) {
+        if (maxIds < 0) {
+            throw new IllegalArgumentException("Illegal max ids: " + maxIds);
+        }
+        if (order != ORDER_ASCENDING && order != ORDER_DESCENDING) {
+            throw new IllegalArgumentException("Unknown order: " + order);
+        }
+        mKeys = new ${KType}[maxIds];
+        mIds = new int[maxIds];
+        mPositions = new int[maxIds];
+        Arrays.fill(mPositions, -1);
+        mDescending = (order == ORDER_DESCENDING);
+    }
+
+    /**
+     * Adds the specified id with the specified key to this queue.
+     *
+     * @param id  the id to add.
+     * @param key the key of the id.
+     * @throws IndexOutOfBoundsException if {@code id} is out of range.
+     * @throws IllegalArgumentException  if {@code id} is already in the queue.
+     */
+    public void add(final int id, final ${KType} key) {
+        checkId(id);
+        if (mPositions[id] >= 0) {
+            throw new IllegalArgumentException("Id " + id + " is already in the queue");
+        }
+        siftUp(mSize++, id, key);
+    }
+
+    /**
+     * Returns if the specified id is in this queue.
+     *
+     * @throws IndexOutOfBoundsException if {@code id} is out of range.
+     */
+    public boolean contains(final int id) {
+        checkId(id);
+        return (mPositions[id] >= 0);
+    }
+
+    /**
+     * Returns the key of the specified id.
+     *
+     * @throws IndexOutOfBoundsException if {@code id} is out of range.
+     * @throws NoSuchElementException    if {@code id} is not in the queue.
+     */
+    public ${KType} keyOf(final int id) {
+        return mKeys[position(id)];
+    }
+
+    /**
+     * Moves the specified id closer to the head of the queue: the new key must be less than
+     * or equal to the current one for {@link #ORDER_ASCENDING} queues and greater than or equal
+     * to it for {@link #ORDER_DESCENDING} queues.
+     *
+     * @param id  the id whose key is changed.
+     * @param key the new key of the id.
+     * @throws IndexOutOfBoundsException if {@code id} is out of range.
+     * @throws NoSuchElementException    if {@code id} is not in the queue.
+     * @throws IllegalArgumentException  if the new key would move the id away from the head.
+     */
+    public void decreaseKey(final int id, final ${KType} key) {
+        final int position = position(id);
+        if (before(mKeys[position], key)) {
+            throw new IllegalArgumentException("Key " + key + " of id " + id
+                    + " does not precede the current key " + mKeys[position]);
+        }
+        siftUp(position, id, key);
+    }
+
+    /**
+     * Changes the key of the specified id in either direction.
+     *
+     * @param id  the id whose key is changed.
+     * @param key the new key of the id.
+     * @throws IndexOutOfBoundsException if {@code id} is out of range.
+     * @throws NoSuchElementException    if {@code id} is not in the queue.
+     */
+    public void updateKey(final int id, final ${KType} key) {
+        final int position = position(id);
+        if (before(mKeys[position], key)) {
+            siftDown(position, id, key);
+        } else {
+            siftUp(position, id, key);
+        }
+    }
+
+    /**
+     * Returns the id at the head of this queue without removing it.
+     *
+     * @throws NoSuchElementException if this queue is empty.
+     */
+    public int peekId() {
+        checkNotEmpty();
+        return mIds[0];
+    }
+
+    /**
+     * Returns the key of the id at the head of this queue.
+     *
+     * @throws NoSuchElementException if this queue is empty.
+     */
+    public ${KType} peekKey() {
+        checkNotEmpty();
+        return mKeys[0];
+    }
+
+    /**
+     * Removes the id at the head of this queue and returns it.
+     *
+     * @throws NoSuchElementException if this queue is empty.
+     */
+    public int poll() {
+        checkNotEmpty();
+        final int id = mIds[0];
+        removeAt(0);
+        return id;
+    }
+
+    /**
+     * Removes the specified id from this queue.
+     *
+     * @param id the id to remove.
+     * @return {@code true} if the id was in the queue.
+     * @throws IndexOutOfBoundsException if {@code id} is out of range.
+     */
+    public boolean remove(final int id) {
+        checkId(id);
+        final int position = mPositions[id];
+        if (position < 0) {
+            return false;
+        }
+        removeAt(position);
+        return true;
+    }
+
+    /**
+     * Removes all ids from this {@code ${KTypeName}IndexedPriorityQueue}, leaving it empty.
+     */
+    public void clear() {
+        for (int i = 0; i < mSize; i++) {
+            mPositions[mIds[i]] = -1;
+        }
+        mSize = 0;
+    }
+
+    /**
+     * Returns the number of ids in this {@code ${KTypeName}IndexedPriorityQueue}.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Returns if this {@code ${KTypeName}IndexedPriorityQueue} contains no ids.
+     */
+    public boolean isEmpty() {
+        return (mSize == 0);
+    }
+
+    @Override
+    public String toString() {
+        return "${KTypeName}IndexedPriorityQueue { size=" + mSize + " }";
+    }
+
+    private void removeAt(final int position) {
+        mPositions[mIds[position]] = -1;
+        final int last = --mSize;
+        if (position == last) {
+            return;
+        }
+
+        final int lastId = mIds[last];
+        final ${KType} lastKey = mKeys[last];
+        if (before(lastKey, mKeys[position])) {
+            siftUp(position, lastId, lastKey);
+        } else {
+            siftDown(position, lastId, lastKey);
+        }
+    }
+
+    /**
+     * Returns if {@code a} must be closer to the head of the queue than {@code b}.
+     */
+    private boolean before(final ${KType} a, final ${KType} b) {
+        return (mDescending ? a > b : a < b);
+    }
+
+    private void siftUp(int index, final int id, final ${KType} key) {
+        while (index > 0) {
+            final int parent = (index - 1) >> 2;
+            final ${KType} parentKey = mKeys[parent];
+            if (!before(key, parentKey)) {
+                break;
+            }
+            move(parent, index);
+            index = parent;
+        }
+        set(index, id, key);
+    }
+
+    private void siftDown(int index, final int id, final ${KType} key) {
+        final int size = mSize;
+        final int lastParent = (size - 2) >> 2;
+        while (index <= lastParent) {
+            final int firstChild = (index << 2) + 1;
+            final int endChild = Math.min(firstChild + 4, size);
+            int child = firstChild;
+            ${KType} childKey = mKeys[firstChild];
+            for (int i = firstChild + 1; i < endChild; i++) {
+                if (before(mKeys[i], childKey)) {
+                    child = i;
+                    childKey = mKeys[i];
+                }
+            }
+            if (!before(childKey, key)) {
+                break;
+            }
+            move(child, index);
+            index = child;
+        }
+        set(index, id, key);
+    }
+
+    private void move(final int from, final int to) {
+        final int id = mIds[from];
+        mKeys[to] = mKeys[from];
+        mIds[to] = id;
+        mPositions[id] = to;
+    }
+
+    private void set(final int index, final int id, final ${KType} key) {
+        mKeys[index] = key;
+        mIds[index] = id;
+        mPositions[id] = index;
+    }
+
+    private int position(final int id) {
+        checkId(id);
+        final int position = mPositions[id];
+        if (position < 0) {
+            throw new NoSuchElementException("Id " + id + " is not in the queue");
+        }
+        return position;
+    }
+
+    private void checkId(final int id) {
+        if (id < 0 || id >= mPositions.length) {
+            throw new IndexOutOfBoundsException("Invalid id " + id + ", max ids is "
+                    + mPositions.length);
+        }
+    }
+
+    private void checkNotEmpty() {
+        if (mSize == 0) {
+            throw new NoSuchElementException("${KTypeName}IndexedPriorityQueue is empty");
+        }
+    }
+
+}
@@ -0,0 +1,524 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * ${KTypeName}LruCache is a cache with primitive ${KType} keys that holds strong references
+ * to a limited number of values. Each time a value is accessed, it is moved to the head of
+ * the queue. When a value is added to a full cache, the value at the end of the queue is
+ * evicted. Unlike android.util.LruCache over LinkedHashMap&lt;${KTypeBoxed}, V&gt;, entries
+ * are slots of parallel primitive arrays linked by {@code int} indices and found with an
+ * open-addressing index, so neither boxed keys nor entry objects are allocated and
+ * {@link #get(${KType})}, {@link #put(${KType}, Object)} and {@link #remove(${KType})} do
+ * not allocate unless the cache grows.
+ * <p/>
+ * By default the size of the cache is the number of entries, pass a {@link Weigher} to
+ * measure entries in other units, e.g. bytes of bitmaps. Override
+ * {@link #entryRemoved(boolean, ${KType}, Object, Object)} to release evicted values.
+ * <p/>
+ * This class is not thread-safe, synchronize on the cache if it is shared between threads.
+ * <p/>
+ * This class is generated from KTypeLruCache.java template, do not edit it directly.
+ *
+ * @param <V> the type of the values.
+ */
+public class ${KTypeName}LruCache<V> {
+
+    /**
+     * Measures the size of cache entries.
+     *
+     * @param <V> the type of the values.
+     */
+    public interface Weigher<V> {
+
+        /**
+         * Returns the size of the entry for the specified key and value in user-defined units.
+         * The size of an entry must not change while it is in the cache.
+         *
+         * @param key   the key of the entry.
+         * @param value the value of the entry.
+         * @return the non-negative size of the entry.
+         */
+        int weigh(${KType} key, @NonNull V value);
+
+    }
+
+    private static final int DEFAULT_ENTRY_CAPACITY = 16;
+
+    /**
+     * Marks the ends of the recency list and of the list of free entries.
+     */
+    private static final int NO_ENTRY = -1;
+
+    @Nullable
+    private final Weigher<? super V> mWeigher;
+
+    private int mMaxSize;
+    private int mSize;
+    private int mEntryCount;
+
+    // Index: slots hold entry + 1, so that a zero filled table is empty.
+    private int[] mTable;
+    private int mMask;
+    private int mResizeThreshold;
+
+    // Entries
+    private ${KType}[] mKeys;
+    private Object[] mValues;
+    private int[] mWeights;
+    private int[] mPrevious;
+    private int[] mNext;
+    private int mUsedEntries;
+    private int mFreeEntry = NO_ENTRY;
+
+    // Recency list, from the least recently used entry to the most recently used one.
+    private int mHead = NO_ENTRY;
+    private int mTail = NO_ENTRY;
+
+    private int mHitCount;
+    private int mMissCount;
+    private int mPutCount;
+    private int mEvictionCount;
+
+    /**
+     * Constructs a new instance of {@code ${KTypeName}LruCache} that holds at most the specified
+     * number of entries.
+     *
+     * @param maxSize the maximum number of entries in the cache.
+     * @throws IllegalArgumentException if {@code maxSize} is not positive.
+     */
+    public ${KTypeName}LruCache(final int maxSize) {
+        this(maxSize, null);
+    }
+
+    /**
+     * Constructs a new instance of {@code ${KTypeName}LruCache} which sizes entries with
+     * the specified weigher.
+     *
+     * @param maxSize the maximum sum of sizes of the entries in the cache.
+     * @param weigher the weigher to measure entries with, or {@code null} to count every
+     *                entry as 1.
+     * @throws IllegalArgumentException if {@code maxSize} is not positive.
+     */
+    public ${KTypeName}LruCache(final int maxSize, @Nullable final Weigher<? super V> weigher) {
+        mMaxSize = checkMaxSize(maxSize);
+        mWeigher = weigher;
+
+        final int entryCapacity = (weigher == null
+                ? Math.min(maxSize, DEFAULT_ENTRY_CAPACITY) : DEFAULT_ENTRY_CAPACITY);
+        allocateTable(HashUtils.capacityFor(entryCapacity, HashUtils.DEFAULT_LOAD_FACTOR));
+        mKeys = new ${KType}[entryCapacity];
+        mValues = new Object[entryCapacity];
+        mWeights = new int[entryCapacity];
+        mPrevious = new int[entryCapacity];
+        mNext = new int[entryCapacity];
+    }
+
+    /**
+     * Returns the value for the specified key and moves it to the head of the queue.
+     *
+     * @param key the key to search for.
+     * @return the cached value, or {@code null} if the key is not in the cache.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V get(final ${KType} key) {
+        final int slot = slotOf(key);
+        if (slot < 0) {
+            mMissCount++;
+            return null;
+        }
+
+        final int entry = mTable[slot] - 1;
+        moveToTail(entry);
+        mHitCount++;
+        return (V) mValues[entry];
+    }
+
+    /**
+     * Returns whether the cache contains the specified key. Unlike {@link #get(${KType})}
+     * it does not update the recency of the entry or the hit and miss counts.
+     *
+     * @param key the key to search for.
+     * @return {@code true} if the key is in the cache, {@code false} otherwise.
+     */
+    public boolean containsKey(final ${KType} key) {
+        return slotOf(key) >= 0;
+    }
+
+    /**
+     * Caches the value for the specified key and moves it to the head of the queue, then
+     * evicts the least recently used entries until the cache fits into the maximum size.
+     *
+     * @param key   the key to cache the value for.
+     * @param value the value to cache.
+     * @return the value previously cached for the key, or {@code null} if there was none.
+     * @throws NullPointerException  if {@code value} is {@code null}.
+     * @throws IllegalStateException if the weigher returns a negative size.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V put(final ${KType} key, @NonNull final V value) {
+        if (value == null) {
+            throw new NullPointerException("value == null");
+        }
+
+        final int weight = weigh(key, value);
+        mPutCount++;
+
+        final int[] table = mTable;
+        final ${KType}[] keys = mKeys;
+        final int mask = mMask;
+        int slot = HashUtils.mix(key) & mask;
+        int entry;
+        while ((entry = table[slot] - 1) != NO_ENTRY) {
+            if (keys[entry] == key) {
+                final V previousValue = (V) mValues[entry];
+                mValues[entry] = value;
+                mSize += weight - mWeights[entry];
+                mWeights[entry] = weight;
+                moveToTail(entry);
+                entryRemoved(false, key, previousValue, value);
+                trimToSize(mMaxSize);
+                return previousValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        entry = allocateEntry();
+        mKeys[entry] = key;
+        mValues[entry] = value;
+        mWeights[entry] = weight;
+        linkLast(entry);
+        table[slot] = entry + 1;
+        mSize += weight;
+        if (++mEntryCount > mResizeThreshold) {
+            rehash(HashUtils.nextCapacity(table.length));
+        }
+        trimToSize(mMaxSize);
+        return null;
+    }
+
+    /**
+     * Removes the entry for the specified key if it is in the cache.
+     *
+     * @param key the key to remove.
+     * @return the value previously cached for the key, or {@code null} if there was none.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V remove(final ${KType} key) {
+        final int slot = slotOf(key);
+        if (slot < 0) {
+            return null;
+        }
+
+        final int entry = mTable[slot] - 1;
+        final V previousValue = (V) mValues[entry];
+        removeEntry(slot, entry);
+        entryRemoved(false, key, previousValue, null);
+        return previousValue;
+    }
+
+    /**
+     * Evicts the least recently used entries until the sum of sizes of the remaining
+     * entries is not greater than the specified size.
+     *
+     * @param maxSize the maximum size of the cache after the call, or -1 to evict all entries.
+     */
+    @SuppressWarnings("unchecked")
+    public void trimToSize(final int maxSize) {
+        while (mSize > maxSize && mHead != NO_ENTRY) {
+            final int entry = mHead;
+            final ${KType} key = mKeys[entry];
+            final V value = (V) mValues[entry];
+            removeEntry(slotOf(key), entry);
+            mEvictionCount++;
+            entryRemoved(true, key, value, null);
+        }
+    }
+
+    /**
+     * Evicts all entries from the cache.
+     */
+    public void evictAll() {
+        trimToSize(-1);
+    }
+
+    /**
+     * Sets the maximum size of the cache, evicting the least recently used entries if
+     * the cache does not fit into it.
+     *
+     * @param maxSize the new maximum size.
+     * @throws IllegalArgumentException if {@code maxSize} is not positive.
+     */
+    public void resize(final int maxSize) {
+        mMaxSize = checkMaxSize(maxSize);
+        trimToSize(maxSize);
+    }
+
+    /**
+     * Called for entries that have been evicted or removed, or whose values have been
+     * replaced by {@link #put(${KType}, Object)}. The default implementation does nothing.
+     * The cache is in a consistent state when this method is called, so it may access
+     * the cache.
+     *
+     * @param evicted  {@code true} if the entry is evicted to make space, {@code false} if
+     *                 it is removed by {@link #remove(${KType})} or replaced.
+     * @param key      the key of the entry.
+     * @param oldValue the removed value.
+     * @param newValue the new value for the key if it is replaced, {@code null} otherwise.
+     */
+    protected void entryRemoved(final boolean evicted, final ${KType} key,
+            @NonNull final V oldValue, @Nullable final V newValue) {
+    }
+
+    /**
+     * Returns the sum of sizes of the entries in the cache. Without a {@link Weigher} it is
+     * the number of entries.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Returns the maximum sum of sizes of the entries in the cache.
+     */
+    public int maxSize() {
+        return mMaxSize;
+    }
+
+    /**
+     * Returns the number of entries in the cache.
+     */
+    public int entryCount() {
+        return mEntryCount;
+    }
+
+    /**
+     * Returns the number of times {@link #get(${KType})} returned a cached value.
+     */
+    public int hitCount() {
+        return mHitCount;
+    }
+
+    /**
+     * Returns the number of times {@link #get(${KType})} returned {@code null}.
+     */
+    public int missCount() {
+        return mMissCount;
+    }
+
+    /**
+     * Returns the number of times {@link #put(${KType}, Object)} was called.
+     */
+    public int putCount() {
+        return mPutCount;
+    }
+
+    /**
+     * Returns the number of entries that have been evicted.
+     */
+    public int evictionCount() {
+        return mEvictionCount;
+    }
+
+    /**
+     * Returns a new array containing the keys of the cache ordered from the least recently
+     * used to the most recently used one.
+     *
+     * @return an array of the keys from the cache.
+     */
+    public ${KType}[] keys() {
+        final ${KType}[] result = new ${KType}[mEntryCount];
+        final int[] next = mNext;
+        int index = 0;
+        for (int entry = mHead; entry != NO_ENTRY; entry = next[entry]) {
+            result[index++] = mKeys[entry];
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        final int accesses = mHitCount + mMissCount;
+        final int hitPercent = (accesses != 0 ? (int) (100L * mHitCount / accesses) : 0);
+        return "${KTypeName}LruCache { maxSize=" + mMaxSize + ", hits=" + mHitCount
+                + ", misses=" + mMissCount + ", hitRate=" + hitPercent + "% }";
+    }
+
+    private int weigh(final ${KType} key, final V value) {
+        final int weight = (mWeigher != null ? mWeigher.weigh(key, value) : 1);
+        if (weight < 0) {
+            throw new IllegalStateException("Negative size: " + key + "=" + value);
+        }
+        return weight;
+    }
+
+    /**
+     * Returns the index slot of the specified key, or -1 if the key is not in the cache.
+     */
+    private int slotOf(final ${KType} key) {
+        final int[] table = mTable;
+        final ${KType}[] keys = mKeys;
+        final int mask = mMask;
+        int slot = HashUtils.mix(key) & mask;
+        int entry;
+        while ((entry = table[slot] - 1) != NO_ENTRY) {
+            if (keys[entry] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void removeEntry(final int slot, final int entry) {
+        shiftConflictingEntries(slot);
+        unlink(entry);
+        mSize -= mWeights[entry];
+        mEntryCount--;
+
+        mValues[entry] = null;
+        mNext[entry] = mFreeEntry;
+        mFreeEntry = entry;
+    }
+
+    /**
+     * Returns a free entry, growing the entry arrays if all of them are in use.
+     */
+    private int allocateEntry() {
+        final int free = mFreeEntry;
+        if (free != NO_ENTRY) {
+            mFreeEntry = mNext[free];
+            return free;
+        }
+
+        if (mUsedEntries == mKeys.length) {
+            final int newCapacity = mUsedEntries << 1;
+            final ${KType}[] keys = new ${KType}[newCapacity];
+            System.arraycopy(mKeys, 0, keys, 0, mUsedEntries);
+            mKeys = keys;
+            final Object[] values = new Object[newCapacity];
+            System.arraycopy(mValues, 0, values, 0, mUsedEntries);
+            mValues = values;
+            mWeights = grow(mWeights, newCapacity);
+            mPrevious = grow(mPrevious, newCapacity);
+            mNext = grow(mNext, newCapacity);
+        }
+        return mUsedEntries++;
+    }
+
+    private void linkLast(final int entry) {
+        final int tail = mTail;
+        mPrevious[entry] = tail;
+        mNext[entry] = NO_ENTRY;
+        if (tail == NO_ENTRY) {
+            mHead = entry;
+        } else {
+            mNext[tail] = entry;
+        }
+        mTail = entry;
+    }
+
+    private void unlink(final int entry) {
+        final int previous = mPrevious[entry];
+        final int next = mNext[entry];
+        if (previous == NO_ENTRY) {
+            mHead = next;
+        } else {
+            mNext[previous] = next;
+        }
+        if (next == NO_ENTRY) {
+            mTail = previous;
+        } else {
+            mPrevious[next] = previous;
+        }
+    }
+
+    private void moveToTail(final int entry) {
+        if (entry != mTail) {
+            unlink(entry);
+            linkLast(entry);
+        }
+    }
+
+    private void allocateTable(final int capacity) {
+        mTable = new int[capacity];
+        mMask = capacity - 1;
+        mResizeThreshold = HashUtils.resizeThreshold(capacity, HashUtils.DEFAULT_LOAD_FACTOR);
+    }
+
+    private void rehash(final int newCapacity) {
+        allocateTable(newCapacity);
+
+        final int[] table = mTable;
+        final ${KType}[] keys = mKeys;
+        final int[] next = mNext;
+        final int mask = mMask;
+        for (int entry = mHead; entry != NO_ENTRY; entry = next[entry]) {
+            int slot = HashUtils.mix(keys[entry]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = entry + 1;
+        }
+    }
+
+    /**
+     * Fills the gap left by a removed entry by shifting back the following entries of
+     * the same probe sequence, so lookups never need tombstones.
+     */
+    private void shiftConflictingEntries(int gapSlot) {
+        final int[] table = mTable;
+        final ${KType}[] keys = mKeys;
+        final int mask = mMask;
+        int distance = 0;
+        while (true) {
+            final int slot = (gapSlot + (++distance)) & mask;
+            final int existing = table[slot];
+            if (existing == 0) {
+                break;
+            }
+
+            final int idealSlot = HashUtils.mix(keys[existing - 1]) & mask;
+            final int shift = (slot - idealSlot) & mask;
+            if (shift >= distance) {
+                table[gapSlot] = existing;
+                gapSlot = slot;
+                distance = 0;
+            }
+        }
+        table[gapSlot] = 0;
+    }
+
+    private static int[] grow(final int[] array, final int newCapacity) {
+        final int[] result = new int[newCapacity];
+        System.arraycopy(array, 0, result, 0, array.length);
+        return result;
+    }
+
+    private static int checkMaxSize(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize <= 0");
+        }
+        return maxSize;
+    }
+
+}
@@ -0,0 +1,560 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * ${KTypeName}ObjectHashMap maps primitive ${KTypePlural} to objects. Keys are kept in a
+ * primitive array and values in a parallel {@code Object[]}, using hashing with linear
+ * probing, so unlike Map&lt;${KTypeBoxed}, V&gt; it allocates neither boxed keys nor entries,
+ * and {@link #get(${KType})}, {@link #put(${KType}, Object)} and {@link #remove(${KType})} do not
+ * allocate unless the table grows. Values may be {@code null}, use
+ * {@link #containsKey(${KType})} to distinguish a mapping to {@code null} from a missing one.
+ * <p/>
+ * {@link Cursor} iterates over the mappings without allocations and can be reused.
+ * <p/>
+ * This class is generated from KTypeObjectHashMap.java template, do not edit it directly.
+ *
+ * @param <V> the type of the values.
+ */
+public class ${KTypeName}ObjectHashMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Marks free slots of the table, mapping for this key is stored separately.
+     */
+    private static final ${KType} EMPTY_KEY = 0;
+
+    private final float mLoadFactor;
+
+    private ${KType}[] mKeys;
+    private Object[] mValues;
+    private int mMask;
+    private int mResizeThreshold;
+
+    private boolean mHasEmptyKey;
+    private V mEmptyKeyValue;
+
+    private int mSize;
+
+    /**
+     * Constructs a new instance of {@code ${KTypeName}ObjectHashMap}.
+     */
+    public ${KTypeName}ObjectHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new instance of {@code ${KTypeName}ObjectHashMap} that holds the specified
+     * number of mappings without resizing.
+     *
+     * @param initialCapacity the expected number of mappings.
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative.
+     */
+    public ${KTypeName}ObjectHashMap(final int initialCapacity) {
+        this(initialCapacity, HashUtils.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a new instance of {@code ${KTypeName}ObjectHashMap} that holds the specified
+     * number of mappings without resizing.
+     *
+     * @param initialCapacity the expected number of mappings.
+     * @param loadFactor      the fraction of the table that can be filled before it grows.
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative or
+     *                                  {@code loadFactor} is not in (0, 1) range.
+     */
+    public ${KTypeName}ObjectHashMap(final int initialCapacity, final float loadFactor) {
+        mLoadFactor = HashUtils.checkLoadFactor(loadFactor);
+        allocateTable(HashUtils.capacityFor(initialCapacity, loadFactor));
+    }
+
+    public ${KTypeName}ObjectHashMap(@NonNull final ${KTypeName}ObjectHashMap<? extends V> map) {
+        mLoadFactor = map.mLoadFactor;
+        mKeys = map.mKeys.clone();
+        mValues = map.mValues.clone();
+        mMask = map.mMask;
+        mResizeThreshold = map.mResizeThreshold;
+        mHasEmptyKey = map.mHasEmptyKey;
+        mEmptyKeyValue = map.mEmptyKeyValue;
+        mSize = map.mSize;
+    }
+
+    /**
+     * Returns the value mapped to the specified key.
+     *
+     * @param key the key to search for.
+     * @return the value mapped to the key, or {@code null} if there is no such mapping.
+     */
+    @Nullable
+    public V get(final ${KType} key) {
+        return get(key, null);
+    }
+
+    /**
+     * Returns the value mapped to the specified key.
+     *
+     * @param key                the key to search for.
+     * @param valueIfKeyNotFound the value to return if there is no mapping for the key.
+     * @return the value mapped to the key, or {@code valueIfKeyNotFound} if there is
+     * no such mapping.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(final ${KType} key, final V valueIfKeyNotFound) {
+        if (key == EMPTY_KEY) {
+            return (mHasEmptyKey ? mEmptyKeyValue : valueIfKeyNotFound);
+        }
+
+        final int slot = slotOf(key);
+        return (slot >= 0 ? (V) mValues[slot] : valueIfKeyNotFound);
+    }
+
+    /**
+     * Returns whether this map contains a mapping for the specified key.
+     *
+     * @param key the key to search for.
+     * @return {@code true} if this map contains a mapping for the key, {@code false} otherwise.
+     */
+    public boolean containsKey(final ${KType} key) {
+        if (key == EMPTY_KEY) {
+            return mHasEmptyKey;
+        }
+        return slotOf(key) >= 0;
+    }
+
+    /**
+     * Maps the specified key to the specified value, replacing the previous mapping
+     * for the key if there was one.
+     *
+     * @param key   the key to map.
+     * @param value the value to map the key to, may be {@code null}.
+     * @return the value previously mapped to the key, or {@code null} if there was
+     * no such mapping.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V put(final ${KType} key, @Nullable final V value) {
+        if (key == EMPTY_KEY) {
+            final V previousValue = mEmptyKeyValue;
+            if (!mHasEmptyKey) {
+                mHasEmptyKey = true;
+                mSize++;
+            }
+            mEmptyKeyValue = value;
+            return previousValue;
+        }
+
+        final ${KType}[] keys = mKeys;
+        final int mask = mMask;
+        int slot = HashUtils.mix(key) & mask;
+        ${KType} existing;
+        while ((existing = keys[slot]) != EMPTY_KEY) {
+            if (existing == key) {
+                final V previousValue = (V) mValues[slot];
+                mValues[slot] = value;
+                return previousValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        mValues[slot] = value;
+        if (++mSize > mResizeThreshold) {
+            rehash(HashUtils.nextCapacity(keys.length));
+        }
+        return null;
+    }
+
+    /**
+     * Removes the mapping for the specified key from this map.
+     *
+     * @param key the key to remove.
+     * @return the value previously mapped to the key, or {@code null} if there was
+     * no such mapping.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V remove(final ${KType} key) {
+        if (key == EMPTY_KEY) {
+            if (!mHasEmptyKey) {
+                return null;
+            }
+            final V previousValue = mEmptyKeyValue;
+            mHasEmptyKey = false;
+            mEmptyKeyValue = null;
+            mSize--;
+            return previousValue;
+        }
+
+        final int slot = slotOf(key);
+        if (slot < 0) {
+            return null;
+        }
+        final V previousValue = (V) mValues[slot];
+        shiftConflictingKeys(slot);
+        mSize--;
+        return previousValue;
+    }
+
+    /**
+     * Removes all mappings from this {@code ${KTypeName}ObjectHashMap}, leaving it empty.
+     * The values are released, so they can be garbage collected.
+     *
+     * @see #isEmpty()
+     * @see #size()
+     */
+    public void clear() {
+        if (mSize != 0) {
+            final ${KType}[] keys = mKeys;
+            final Object[] values = mValues;
+            for (int i = 0, length = keys.length; i < length; i++) {
+                keys[i] = EMPTY_KEY;
+                values[i] = null;
+            }
+            mHasEmptyKey = false;
+            mEmptyKeyValue = null;
+            mSize = 0;
+        }
+    }
+
+    /**
+     * Returns the number of mappings in this {@code ${KTypeName}ObjectHashMap}.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Returns if this {@code ${KTypeName}ObjectHashMap} contains no mappings.
+     *
+     * @return {@code true} if this {@code ${KTypeName}ObjectHashMap} has no mappings,
+     * {@code false} otherwise.
+     * @see #size
+     */
+    public boolean isEmpty() {
+        return (mSize == 0);
+    }
+
+    /**
+     * Returns a new array containing all keys contained in this map in no particular order.
+     *
+     * @return an array of the keys from this map.
+     */
+    public ${KType}[] keys() {
+        final ${KType}[] result = new ${KType}[mSize];
+        int index = 0;
+        if (mHasEmptyKey) {
+            result[index++] = EMPTY_KEY;
+        }
+
+        final ${KType}[] keys = mKeys;
+        for (int i = 0, length = keys.length; i < length; i++) {
+            final ${KType} key = keys[i];
+            if (key != EMPTY_KEY) {
+                result[index++] = key;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new cursor positioned before the first mapping of this map. A cursor can be
+     * {@link Cursor#reset(${KTypeName}ObjectHashMap) reset} and reused to iterate without
+     * allocations.
+     */
+    @NonNull
+    public Cursor<V> cursor() {
+        return new Cursor<>(this);
+    }
+
+    /**
+     * Returns the hash code value for this map, which is the sum of hash codes of its
+     * mappings as defined by {@link java.util.Map#hashCode()}.
+     *
+     * @return the hash code value for this map.
+     */
+    @Override
+    public int hashCode() {
+        int hashCode = 0;
+        if (mHasEmptyKey) {
+            hashCode += hashCodeOf(mEmptyKeyValue);
+        }
+
+        final ${KType}[] keys = mKeys;
+        final Object[] values = mValues;
+        for (int i = 0, length = keys.length; i < length; i++) {
+            final ${KType} key = keys[i];
+            if (key != EMPTY_KEY) {
+                hashCode += (${KTypeHash('key')}) ^ hashCodeOf(values[i]);
+            }
+        }
+        return hashCode;
+    }
+
+    /**
+     * Compares the specified object with this map for equality. Returns <tt>true</tt>
+     * if and only if the specified object is also a ${KTypeName}ObjectHashMap and both
+     * maps contain the same mappings, values are compared with {@code equals}. Load factors
+     * are not compared.
+     *
+     * @param o the object to be compared for equality with this map
+     * @return <tt>true</tt> if the specified object is equal to this map
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+
+        if (!(o instanceof ${KTypeName}ObjectHashMap)) {
+            return false;
+        }
+
+        final ${KTypeName}ObjectHashMap<?> that = (${KTypeName}ObjectHashMap<?>) o;
+        if (that.mSize != mSize) {
+            return false;
+        }
+
+        if (mHasEmptyKey
+                && (!that.mHasEmptyKey || !equal(mEmptyKeyValue, that.mEmptyKeyValue))) {
+            return false;
+        }
+
+        final ${KType}[] keys = mKeys;
+        final Object[] values = mValues;
+        for (int i = 0, length = keys.length; i < length; i++) {
+            final ${KType} key = keys[i];
+            if (key != EMPTY_KEY) {
+                final int slot = that.slotOf(key);
+                if (slot < 0 || !equal(values[i], that.mValues[slot])) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("${KTypeName}ObjectHashMap { ");
+        boolean first = true;
+        if (mHasEmptyKey) {
+            sb.append(EMPTY_KEY).append('=').append(mEmptyKeyValue);
+            first = false;
+        }
+
+        final ${KType}[] keys = mKeys;
+        final Object[] values = mValues;
+        for (int i = 0, length = keys.length; i < length; i++) {
+            final ${KType} key = keys[i];
+            if (key != EMPTY_KEY) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                sb.append(key).append('=').append(values[i]);
+                first = false;
+            }
+        }
+        sb.append(" }");
+        return sb.toString();
+    }
+
+    /**
+     * Returns the slot of the specified key which must not be the empty key, or -1 if the
+     * key is not in the table.
+     */
+    private int slotOf(final ${KType} key) {
+        final ${KType}[] keys = mKeys;
+        final int mask = mMask;
+        int slot = HashUtils.mix(key) & mask;
+        ${KType} existing;
+        while ((existing = keys[slot]) != EMPTY_KEY) {
+            if (existing == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void allocateTable(final int capacity) {
+        mKeys = new ${KType}[capacity];
+        mValues = new Object[capacity];
+        mMask = capacity - 1;
+        mResizeThreshold = HashUtils.resizeThreshold(capacity, mLoadFactor);
+    }
+
+    private void rehash(final int newCapacity) {
+        final ${KType}[] oldKeys = mKeys;
+        final Object[] oldValues = mValues;
+        allocateTable(newCapacity);
+
+        final ${KType}[] keys = mKeys;
+        final Object[] values = mValues;
+        final int mask = mMask;
+        for (int i = 0, length = oldKeys.length; i < length; i++) {
+            final ${KType} key = oldKeys[i];
+            if (key != EMPTY_KEY) {
+                int slot = HashUtils.mix(key) & mask;
+                while (keys[slot] != EMPTY_KEY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Fills the gap left by a removed key by shifting back the following keys of
+     * the same probe sequence, so lookups never need tombstones. The value of the last
+     * freed slot is released.
+     */
+    private void shiftConflictingKeys(int gapSlot) {
+        final ${KType}[] keys = mKeys;
+        final Object[] values = mValues;
+        final int mask = mMask;
+        int distance = 0;
+        while (true) {
+            final int slot = (gapSlot + (++distance)) & mask;
+            final ${KType} existing = keys[slot];
+            if (existing == EMPTY_KEY) {
+                break;
+            }
+
+            final int idealSlot = HashUtils.mix(existing) & mask;
+            final int shift = (slot - idealSlot) & mask;
+            if (shift >= distance) {
+                keys[gapSlot] = existing;
+                values[gapSlot] = values[slot];
+                gapSlot = slot;
+                distance = 0;
+            }
+        }
+        keys[gapSlot] = EMPTY_KEY;
+        values[gapSlot] = null;
+    }
+
+    private static int hashCodeOf(@Nullable final Object value) {
+        return (value == null ? 0 : value.hashCode());
+    }
+
+    private static boolean equal(@Nullable final Object a, @Nullable final Object b) {
+        return (a == null ? b == null : a.equals(b));
+    }
+
+    /**
+     * Iterates over the mappings of a {@code ${KTypeName}ObjectHashMap} without allocations:
+     * <pre>
+     * final ${KTypeName}ObjectHashMap.Cursor&lt;V&gt; cursor = map.cursor();
+     * while (cursor.moveNext()) {
+     *     final ${KType} key = cursor.key();
+     *     final V value = cursor.value();
+     *     ...
+     * }
+     * </pre>
+     * The cursor captures the table of the map when it is created or reset. If the map is
+     * modified afterwards, the cursor must be reset.
+     *
+     * @param <V> the type of the values.
+     */
+    public static final class Cursor<V> {
+
+        private ${KType}[] mKeys;
+        private Object[] mValues;
+        private boolean mHasEmptyKey;
+        private V mEmptyKeyValue;
+        private int mIndex;
+        private ${KType} mKey;
+        private V mValue;
+
+        private Cursor(@NonNull final ${KTypeName}ObjectHashMap<? extends V> map) {
+            reset(map);
+        }
+
+        /**
+         * Positions this cursor before the first mapping of the specified map.
+         *
+         * @param map the map to iterate over.
+         */
+        public void reset(@NonNull final ${KTypeName}ObjectHashMap<? extends V> map) {
+            mKeys = map.mKeys;
+            mValues = map.mValues;
+            mHasEmptyKey = map.mHasEmptyKey;
+            mEmptyKeyValue = map.mEmptyKeyValue;
+            mIndex = -2;
+            mKey = EMPTY_KEY;
+            mValue = null;
+        }
+
+        /**
+         * Moves this cursor to the next mapping.
+         *
+         * @return {@code true} if the cursor is on a mapping, {@code false} if there are
+         * no more mappings.
+         */
+        @SuppressWarnings("unchecked")
+        public boolean moveNext() {
+            int i = mIndex + 1;
+            if (i == -1) {
+                if (mHasEmptyKey) {
+                    mIndex = -1;
+                    mKey = EMPTY_KEY;
+                    mValue = mEmptyKeyValue;
+                    return true;
+                }
+                i = 0;
+            }
+
+            final ${KType}[] keys = mKeys;
+            for (final int length = keys.length; i < length; i++) {
+                final ${KType} key = keys[i];
+                if (key != EMPTY_KEY) {
+                    mIndex = i;
+                    mKey = key;
+                    mValue = (V) mValues[i];
+                    return true;
+                }
+            }
+            mIndex = keys.length;
+            mValue = null;
+            return false;
+        }
+
+        /**
+         * Returns the key of the mapping this cursor is on. Must be called only after
+         * {@link #moveNext()} returned {@code true}.
+         */
+        public ${KType} key() {
+            return mKey;
+        }
+
+        /**
+         * Returns the value of the mapping this cursor is on. Must be called only after
+         * {@link #moveNext()} returned {@code true}.
+         */
+        public V value() {
+            return mValue;
+        }
+
+    }
+
+}
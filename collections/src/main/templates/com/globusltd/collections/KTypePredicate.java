@@ -0,0 +1,34 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+/**
+ * A predicate on primitive ${KTypePlural} which is evaluated without boxing them, e.g. by
+ * {@link ${KTypeName}ArrayList#forEachWhile(${KTypeName}Predicate)}.
+ * <p/>
+ * This interface is generated from KTypePredicate.java template, do not edit it directly.
+ */
+public interface ${KTypeName}Predicate {
+
+    /**
+     * Evaluates this predicate on the specified value.
+     *
+     * @param value the value to test.
+     * @return {@code true} if the value matches the predicate, {@code false} otherwise.
+     */
+    boolean apply(${KType} value);
+
+}
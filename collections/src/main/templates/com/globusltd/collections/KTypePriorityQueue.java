@@ -0,0 +1,256 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.support.annotation.NonNull;
+
+import java.util.NoSuchElementException;
+
+/**
+ * ${KTypeName}PriorityQueue is a priority queue of primitive ${KTypePlural} backed by an array
+ * which holds an implicit 4-ary heap. The head of the queue is the smallest element for
+ * {@link #ORDER_ASCENDING} queues and the largest one for {@link #ORDER_DESCENDING} queues.
+ * <p/>
+ * {@link #add(${KType})} and {@link #poll()} run in O(log n), {@link #peek()} runs in constant
+ * time. A 4-ary heap is half as deep as a binary one and the children of an element are
+ * adjacent in the array, which makes it faster for the primitive elements.
+ * <p/>
+ * This class is generated from KTypePriorityQueue.java template, do not edit it directly.
+ */
+public class ${KTypeName}PriorityQueue {
+
+    /**
+     * The head of the queue is its smallest element.
+     */
+    public static final int ORDER_ASCENDING = 0;
+
+    /**
+     * The head of the queue is its largest element.
+     */
+    public static final int ORDER_DESCENDING = 1;
+
+    private static final int DEFAULT_CAPACITY = 12;
+    private static final int MIN_CAPACITY_INCREMENT = 12;
+
+    private ${KType}[] mHeap;
+    private int mSize;
+    private final boolean mDescending;
+
+    /**
+     * Constructs a new empty instance of {@code ${KTypeName}PriorityQueue} with the
+     * {@link #ORDER_ASCENDING} order.
+     */
+    public ${KTypeName}PriorityQueue() {
+        this(DEFAULT_CAPACITY, ORDER_ASCENDING);
+    }
+
+    /**
+     * Constructs a new empty instance of {@code ${KTypeName}PriorityQueue} with the
+     * {@link #ORDER_ASCENDING} order.
+     *
+     * @param initialCapacity the initial capacity of this queue.
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative.
+     */
+    public ${KTypeName}PriorityQueue(final int initialCapacity) {
+        this(initialCapacity, ORDER_ASCENDING);
+    }
+
+    /**
+     * Constructs a new empty instance of {@code ${KTypeName}PriorityQueue}.
+     *
+     * @param initialCapacity the initial capacity of this queue.
+     * @param order           either {@link #ORDER_ASCENDING} or {@link #ORDER_DESCENDING}.
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative or
+     *                                  {@code order} is unknown.
+     */
+    public ${KTypeName}PriorityQueue(final int initialCapacity, final int order) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        if (order != ORDER_ASCENDING && order != ORDER_DESCENDING) {
+            throw new IllegalArgumentException("Unknown order: " + order);
+        }
+        mHeap = new ${KType}[initialCapacity];
+        mDescending = (order == ORDER_DESCENDING);
+    }
+
+    /**
+     * Adds the specified number to this queue.
+     *
+     * @param item the number to add.
+     */
+    public void add(final ${KType} item) {
+        ensureCapacity(mSize + 1);
+        siftUp(mSize++, item);
+    }
+
+    /**
+     * Adds {@code length} numbers of the specified array starting at {@code offset} to this
+     * queue. When at least as many numbers as the queue holds are added, the heap is rebuilt
+     * once in O(n) instead of sifting every number up.
+     *
+     * @param array  the array containing numbers to add.
+     * @param offset the index of the first number to add.
+     * @param length the number of numbers to add.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} is out of the
+     *                                   array bounds.
+     */
+    public void addAll(@NonNull final ${KType}[] array, final int offset, final int length) {
+        checkArrayRange(array.length, offset, length);
+        ensureCapacity(mSize + length);
+        if (length < mSize) {
+            for (int i = offset; i < offset + length; i++) {
+                siftUp(mSize++, array[i]);
+            }
+        } else {
+            System.arraycopy(array, offset, mHeap, mSize, length);
+            mSize += length;
+            for (int i = (mSize - 2) >> 2; i >= 0; i--) {
+                siftDown(i, mHeap[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the head of this queue without removing it.
+     *
+     * @throws NoSuchElementException if this queue is empty.
+     */
+    public ${KType} peek() {
+        checkNotEmpty();
+        return mHeap[0];
+    }
+
+    /**
+     * Removes and returns the head of this queue.
+     *
+     * @throws NoSuchElementException if this queue is empty.
+     */
+    public ${KType} poll() {
+        checkNotEmpty();
+        final ${KType} head = mHeap[0];
+        final int last = --mSize;
+        if (last > 0) {
+            siftDown(0, mHeap[last]);
+        }
+        return head;
+    }
+
+    /**
+     * Removes all elements from this {@code ${KTypeName}PriorityQueue}, leaving it empty.
+     */
+    public void clear() {
+        mSize = 0;
+    }
+
+    /**
+     * Returns the number of elements in this {@code ${KTypeName}PriorityQueue}.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Returns if this {@code ${KTypeName}PriorityQueue} contains no elements.
+     */
+    public boolean isEmpty() {
+        return (mSize == 0);
+    }
+
+    /**
+     * Returns a new array containing all elements of this queue in no particular order.
+     */
+    public ${KType}[] toArray() {
+        final ${KType}[] result = new ${KType}[mSize];
+        System.arraycopy(mHeap, 0, result, 0, mSize);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "${KTypeName}PriorityQueue { size=" + mSize + " }";
+    }
+
+    /**
+     * Returns if {@code a} must be closer to the head of the queue than {@code b}.
+     */
+    private boolean before(final ${KType} a, final ${KType} b) {
+        return (mDescending ? a > b : a < b);
+    }
+
+    private void siftUp(int index, final ${KType} item) {
+        final ${KType}[] heap = mHeap;
+        while (index > 0) {
+            final int parent = (index - 1) >> 2;
+            final ${KType} parentItem = heap[parent];
+            if (!before(item, parentItem)) {
+                break;
+            }
+            heap[index] = parentItem;
+            index = parent;
+        }
+        heap[index] = item;
+    }
+
+    private void siftDown(int index, final ${KType} item) {
+        final ${KType}[] heap = mHeap;
+        final int size = mSize;
+        final int lastParent = (size - 2) >> 2;
+        while (index <= lastParent) {
+            final int firstChild = (index << 2) + 1;
+            final int endChild = Math.min(firstChild + 4, size);
+            int child = firstChild;
+            ${KType} childItem = heap[firstChild];
+            for (int i = firstChild + 1; i < endChild; i++) {
+                if (before(heap[i], childItem)) {
+                    child = i;
+                    childItem = heap[i];
+                }
+            }
+            if (!before(childItem, item)) {
+                break;
+            }
+            heap[index] = childItem;
+            index = child;
+        }
+        heap[index] = item;
+    }
+
+    private void checkNotEmpty() {
+        if (mSize == 0) {
+            throw new NoSuchElementException("${KTypeName}PriorityQueue is empty");
+        }
+    }
+
+    private void ensureCapacity(final int minCapacity) {
+        final ${KType}[] a = mHeap;
+        if (minCapacity > a.length) {
+            final int increment = (a.length < (MIN_CAPACITY_INCREMENT / 2) ?
+                    MIN_CAPACITY_INCREMENT : a.length >> 1);
+            final ${KType}[] newArray = new ${KType}[Math.max(minCapacity, a.length + increment)];
+            System.arraycopy(a, 0, newArray, 0, mSize);
+            mHeap = newArray;
+        }
+    }
+
+    private static void checkArrayRange(final int arrayLength, final int offset, final int length) {
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new IndexOutOfBoundsException("Invalid offset " + offset + " and length "
+                    + length + ", array length is " + arrayLength);
+        }
+    }
+
+}
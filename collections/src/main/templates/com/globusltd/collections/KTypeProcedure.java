@@ -0,0 +1,33 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+/**
+ * A procedure which is applied to primitive ${KTypePlural} without boxing them, e.g. by
+ * {@link ${KTypeName}ArrayList#forEach(${KTypeName}Procedure)}.
+ * <p/>
+ * This interface is generated from KTypeProcedure.java template, do not edit it directly.
+ */
+public interface ${KTypeName}Procedure {
+
+    /**
+     * Applies this procedure to the specified value.
+     *
+     * @param value the value to process.
+     */
+    void apply(${KType} value);
+
+}
@@ -0,0 +1,527 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.annotation.NonNull;
+
+/**
+ * ${KTypeName}${VTypeName}HashMap maps primitive ${KTypePlural} to primitive ${VTypePlural}. Unlike
+ * SparseArray it uses hashing with linear probing over parallel primitive arrays instead of
+ * binary search, so lookups and insertions take constant time on average. Unlike
+ * Map&lt;${KTypeBoxed}, ${VTypeBoxed}&gt; it avoids auto-boxing and does not allocate on lookups.
+ * <p/>
+ * Absent mappings are reported with the no entry value which is passed to the constructor
+ * and defaults to 0, use {@link #containsKey(${KType})} to distinguish a mapping to that value.
+ * <p/>
+ * This class is generated from KTypeVTypeHashMap.java template, do not edit it directly.
+ */
+public class ${KTypeName}${VTypeName}HashMap implements Parcelable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Marks free slots of the table, mapping for this key is stored separately.
+     */
+    private static final ${KType} EMPTY_KEY = 0;
+
+    private final float mLoadFactor;
+    private final ${VType} mNoEntryValue;
+
+    private ${KType}[] mKeys;
+    private ${VType}[] mValues;
+    private int mMask;
+    private int mResizeThreshold;
+
+    private boolean mHasEmptyKey;
+    private ${VType} mEmptyKeyValue;
+
+    private int mSize;
+
+    /**
+     * Constructs a new instance of {@code ${KTypeName}${VTypeName}HashMap}.
+     */
+    public ${KTypeName}${VTypeName}HashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new instance of {@code ${KTypeName}${VTypeName}HashMap} that holds the specified
+     * number of mappings without resizing.
+     *
+     * @param initialCapacity the expected number of mappings.
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative.
+     */
+    public ${KTypeName}${VTypeName}HashMap(final int initialCapacity) {
+        this(initialCapacity, HashUtils.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a new instance of {@code ${KTypeName}${VTypeName}HashMap} that holds the specified
+     * number of mappings without resizing.
+     *
+     * @param initialCapacity the expected number of mappings.
+     * @param loadFactor      the fraction of the table that can be filled before it grows.
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative or
+     *                                  {@code loadFactor} is not in (0, 1) range.
+     */
+    public ${KTypeName}${VTypeName}HashMap(final int initialCapacity, final float loadFactor) {
+        this(initialCapacity, loadFactor, (${VType}) 0);
+    }
+
+    /**
+     * Constructs a new instance of {@code ${KTypeName}${VTypeName}HashMap} that holds the specified
+     * number of mappings without resizing.
+     *
+     * @param initialCapacity the expected number of mappings.
+     * @param loadFactor      the fraction of the table that can be filled before it grows.
+     * @param noEntryValue    the value returned for keys that are not mapped.
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative or
+     *                                  {@code loadFactor} is not in (0, 1) range.
+     */
+    public ${KTypeName}${VTypeName}HashMap(final int initialCapacity, final float loadFactor,
+            final ${VType} noEntryValue) {
+        mLoadFactor = HashUtils.checkLoadFactor(loadFactor);
+        mNoEntryValue = noEntryValue;
+        allocateTable(HashUtils.capacityFor(initialCapacity, loadFactor));
+    }
+
+    public ${KTypeName}${VTypeName}HashMap(@NonNull final ${KTypeName}${VTypeName}HashMap map) {
+        mLoadFactor = map.mLoadFactor;
+        mNoEntryValue = map.mNoEntryValue;
+        mKeys = map.mKeys.clone();
+        mValues = map.mValues.clone();
+        mMask = map.mMask;
+        mResizeThreshold = map.mResizeThreshold;
+        mHasEmptyKey = map.mHasEmptyKey;
+        mEmptyKeyValue = map.mEmptyKeyValue;
+        mSize = map.mSize;
+    }
+
+    private ${KTypeName}${VTypeName}HashMap(@NonNull final Parcel in) {
+        mLoadFactor = in.readFloat();
+        mNoEntryValue = in.read${VTypeName}();
+        final int size = in.readInt();
+        final ${KType}[] keys = new ${KType}[size];
+        in.read${KTypeName}Array(keys);
+        final ${VType}[] values = new ${VType}[size];
+        in.read${VTypeName}Array(values);
+
+        allocateTable(HashUtils.capacityFor(size, mLoadFactor));
+        for (int i = 0; i < size; i++) {
+            put(keys[i], values[i]);
+        }
+    }
+
+    /**
+     * Returns the value mapped to the specified key.
+     *
+     * @param key the key to search for.
+     * @return the value mapped to the key, or the no entry value if there is no such mapping.
+     */
+    public ${VType} get(final ${KType} key) {
+        return get(key, mNoEntryValue);
+    }
+
+    /**
+     * Returns the value mapped to the specified key.
+     *
+     * @param key                the key to search for.
+     * @param valueIfKeyNotFound the value to return if there is no mapping for the key.
+     * @return the value mapped to the key, or {@code valueIfKeyNotFound} if there is
+     * no such mapping.
+     */
+    public ${VType} get(final ${KType} key, final ${VType} valueIfKeyNotFound) {
+        if (key == EMPTY_KEY) {
+            return (mHasEmptyKey ? mEmptyKeyValue : valueIfKeyNotFound);
+        }
+
+        final ${KType}[] keys = mKeys;
+        final int mask = mMask;
+        int slot = HashUtils.mix(key) & mask;
+        ${KType} existing;
+        while ((existing = keys[slot]) != EMPTY_KEY) {
+            if (existing == key) {
+                return mValues[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return valueIfKeyNotFound;
+    }
+
+    /**
+     * Returns whether this map contains a mapping for the specified key.
+     *
+     * @param key the key to search for.
+     * @return {@code true} if this map contains a mapping for the key, {@code false} otherwise.
+     */
+    public boolean containsKey(final ${KType} key) {
+        if (key == EMPTY_KEY) {
+            return mHasEmptyKey;
+        }
+
+        final ${KType}[] keys = mKeys;
+        final int mask = mMask;
+        int slot = HashUtils.mix(key) & mask;
+        ${KType} existing;
+        while ((existing = keys[slot]) != EMPTY_KEY) {
+            if (existing == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Maps the specified key to the specified value, replacing the previous mapping
+     * for the key if there was one.
+     *
+     * @param key   the key to map.
+     * @param value the value to map the key to.
+     * @return the value previously mapped to the key, or the no entry value if there was
+     * no such mapping.
+     */
+    public ${VType} put(final ${KType} key, final ${VType} value) {
+        if (key == EMPTY_KEY) {
+            final ${VType} previousValue = (mHasEmptyKey ? mEmptyKeyValue : mNoEntryValue);
+            if (!mHasEmptyKey) {
+                mHasEmptyKey = true;
+                mSize++;
+            }
+            mEmptyKeyValue = value;
+            return previousValue;
+        }
+
+        final ${KType}[] keys = mKeys;
+        final int mask = mMask;
+        int slot = HashUtils.mix(key) & mask;
+        ${KType} existing;
+        while ((existing = keys[slot]) != EMPTY_KEY) {
+            if (existing == key) {
+                final ${VType} previousValue = mValues[slot];
+                mValues[slot] = value;
+                return previousValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        mValues[slot] = value;
+        if (++mSize > mResizeThreshold) {
+            rehash(HashUtils.nextCapacity(keys.length));
+        }
+        return mNoEntryValue;
+    }
+
+    /**
+     * Removes the mapping for the specified key from this map.
+     *
+     * @param key the key to remove.
+     * @return the value previously mapped to the key, or the no entry value if there was
+     * no such mapping.
+     */
+    public ${VType} remove(final ${KType} key) {
+        if (key == EMPTY_KEY) {
+            if (!mHasEmptyKey) {
+                return mNoEntryValue;
+            }
+            mHasEmptyKey = false;
+            mSize--;
+            return mEmptyKeyValue;
+        }
+
+        final ${KType}[] keys = mKeys;
+        final int mask = mMask;
+        int slot = HashUtils.mix(key) & mask;
+        ${KType} existing;
+        while ((existing = keys[slot]) != EMPTY_KEY) {
+            if (existing == key) {
+                final ${VType} previousValue = mValues[slot];
+                shiftConflictingKeys(slot);
+                mSize--;
+                return previousValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return mNoEntryValue;
+    }
+
+    /**
+     * Removes all mappings from this {@code ${KTypeName}${VTypeName}HashMap}, leaving it empty.
+     *
+     * @see #isEmpty()
+     * @see #size()
+     */
+    public void clear() {
+        if (mSize != 0) {
+            final ${KType}[] keys = mKeys;
+            for (int i = 0, length = keys.length; i < length; i++) {
+                keys[i] = EMPTY_KEY;
+            }
+            mHasEmptyKey = false;
+            mSize = 0;
+        }
+    }
+
+    /**
+     * Returns the number of mappings in this {@code ${KTypeName}${VTypeName}HashMap}.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Returns if this {@code ${KTypeName}${VTypeName}HashMap} contains no mappings.
+     *
+     * @return {@code true} if this {@code ${KTypeName}${VTypeName}HashMap} has no mappings,
+     * {@code false} otherwise.
+     * @see #size
+     */
+    public boolean isEmpty() {
+        return (mSize == 0);
+    }
+
+    /**
+     * Returns the value that is returned for keys that are not mapped.
+     */
+    public ${VType} getNoEntryValue() {
+        return mNoEntryValue;
+    }
+
+    /**
+     * Returns a new array containing all keys contained in this map in no particular order.
+     *
+     * @return an array of the keys from this map.
+     */
+    public ${KType}[] keys() {
+        final ${KType}[] result = new ${KType}[mSize];
+        int index = 0;
+        if (mHasEmptyKey) {
+            result[index++] = EMPTY_KEY;
+        }
+
+        final ${KType}[] keys = mKeys;
+        for (int i = 0, length = keys.length; i < length; i++) {
+            final ${KType} key = keys[i];
+            if (key != EMPTY_KEY) {
+                result[index++] = key;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new array containing all values contained in this map, in the order
+     * matching the order of {@link #keys()}.
+     *
+     * @return an array of the values from this map.
+     */
+    public ${VType}[] values() {
+        final ${VType}[] result = new ${VType}[mSize];
+        int index = 0;
+        if (mHasEmptyKey) {
+            result[index++] = mEmptyKeyValue;
+        }
+
+        final ${KType}[] keys = mKeys;
+        final ${VType}[] values = mValues;
+        for (int i = 0, length = keys.length; i < length; i++) {
+            if (keys[i] != EMPTY_KEY) {
+                result[index++] = values[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the hash code value for this map, which is the sum of hash codes of its
+     * mappings as defined by {@link java.util.Map#hashCode()}.
+     *
+     * @return the hash code value for this map.
+     */
+    @Override
+    public int hashCode() {
+        int hashCode = 0;
+        if (mHasEmptyKey) {
+            final ${VType} value = mEmptyKeyValue;
+            hashCode += ${VTypeHash('value')};
+        }
+
+        final ${KType}[] keys = mKeys;
+        final ${VType}[] values = mValues;
+        for (int i = 0, length = keys.length; i < length; i++) {
+            final ${KType} key = keys[i];
+            if (key != EMPTY_KEY) {
+                final ${VType} value = values[i];
+                hashCode += (${KTypeHash('key')}) ^ (${VTypeHash('value')});
+            }
+        }
+        return hashCode;
+    }
+
+    /**
+     * Compares the specified object with this map for equality. Returns <tt>true</tt>
+     * if and only if the specified object is also a ${KTypeName}${VTypeName}HashMap and both
+     * maps contain the same mappings. Load factors and no entry values are not compared.
+     *
+     * @param o the object to be compared for equality with this map
+     * @return <tt>true</tt> if the specified object is equal to this map
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+
+        if (!(o instanceof ${KTypeName}${VTypeName}HashMap)) {
+            return false;
+        }
+
+        final ${KTypeName}${VTypeName}HashMap that = (${KTypeName}${VTypeName}HashMap) o;
+        if (that.mSize != mSize) {
+            return false;
+        }
+
+        if (mHasEmptyKey && (!that.mHasEmptyKey || that.mEmptyKeyValue != mEmptyKeyValue)) {
+            return false;
+        }
+
+        final ${KType}[] keys = mKeys;
+        final ${VType}[] values = mValues;
+        for (int i = 0, length = keys.length; i < length; i++) {
+            final ${KType} key = keys[i];
+            if (key != EMPTY_KEY && (!that.containsKey(key) || that.get(key) != values[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("${KTypeName}${VTypeName}HashMap { ");
+        boolean first = true;
+        if (mHasEmptyKey) {
+            sb.append(EMPTY_KEY).append('=').append(mEmptyKeyValue);
+            first = false;
+        }
+
+        final ${KType}[] keys = mKeys;
+        final ${VType}[] values = mValues;
+        for (int i = 0, length = keys.length; i < length; i++) {
+            final ${KType} key = keys[i];
+            if (key != EMPTY_KEY) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                sb.append(key).append('=').append(values[i]);
+                first = false;
+            }
+        }
+        sb.append(" }");
+        return sb.toString();
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(final Parcel dest, final int flags) {
+        dest.writeFloat(mLoadFactor);
+        dest.write${VTypeName}(mNoEntryValue);
+        dest.writeInt(mSize);
+        dest.write${KTypeName}Array(keys());
+        dest.write${VTypeName}Array(values());
+    }
+
+    private void allocateTable(final int capacity) {
+        mKeys = new ${KType}[capacity];
+        mValues = new ${VType}[capacity];
+        mMask = capacity - 1;
+        mResizeThreshold = HashUtils.resizeThreshold(capacity, mLoadFactor);
+    }
+
+    private void rehash(final int newCapacity) {
+        final ${KType}[] oldKeys = mKeys;
+        final ${VType}[] oldValues = mValues;
+        allocateTable(newCapacity);
+
+        final ${KType}[] keys = mKeys;
+        final ${VType}[] values = mValues;
+        final int mask = mMask;
+        for (int i = 0, length = oldKeys.length; i < length; i++) {
+            final ${KType} key = oldKeys[i];
+            if (key != EMPTY_KEY) {
+                int slot = HashUtils.mix(key) & mask;
+                while (keys[slot] != EMPTY_KEY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Fills the gap left by a removed key by shifting back the following keys of
+     * the same probe sequence, so lookups never need tombstones.
+     */
+    private void shiftConflictingKeys(int gapSlot) {
+        final ${KType}[] keys = mKeys;
+        final ${VType}[] values = mValues;
+        final int mask = mMask;
+        int distance = 0;
+        while (true) {
+            final int slot = (gapSlot + (++distance)) & mask;
+            final ${KType} existing = keys[slot];
+            if (existing == EMPTY_KEY) {
+                break;
+            }
+
+            final int idealSlot = HashUtils.mix(existing) & mask;
+            final int shift = (slot - idealSlot) & mask;
+            if (shift >= distance) {
+                keys[gapSlot] = existing;
+                values[gapSlot] = values[slot];
+                gapSlot = slot;
+                distance = 0;
+            }
+        }
+        keys[gapSlot] = EMPTY_KEY;
+    }
+
+    public static final Creator<${KTypeName}${VTypeName}HashMap> CREATOR =
+            new Creator<${KTypeName}${VTypeName}HashMap>() {
+
+                @Override
+                public ${KTypeName}${VTypeName}HashMap createFromParcel(final Parcel in) {
+                    return new ${KTypeName}${VTypeName}HashMap(in);
+                }
+
+                @Override
+                public ${KTypeName}${VTypeName}HashMap[] newArray(final int size) {
+                    return new ${KTypeName}${VTypeName}HashMap[size];
+                }
+
+            };
+
+}
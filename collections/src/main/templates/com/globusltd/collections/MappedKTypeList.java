@@ -0,0 +1,213 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.support.annotation.NonNull;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.${KTypeName}Buffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Mapped${KTypeName}List is a read-only list of primitive ${KTypePlural} backed by a memory-mapped
+ * file written with {@link ${KTypeName}ArrayList#saveTo(FileChannel)}. Mapping does not read
+ * the elements, the OS pages them in lazily when they are accessed and they do not count
+ * against the Java heap.
+ * <p/>
+ * The mapping stays valid after the channel is closed. The file must not be modified while
+ * it is mapped.
+ * <p/>
+ * This class is generated from MappedKTypeList.java template, do not edit it directly.
+ */
+public class Mapped${KTypeName}List {
+
+    private static final int ELEMENT_SIZE = ${KTypeBoxed}.SIZE / Byte.SIZE;
+
+    private final int mSize;
+    private final ${KTypeName}Buffer mItems;
+
+    private Mapped${KTypeName}List(@NonNull final ${KTypeName}Buffer items, final int size) {
+        mSize = size;
+        mItems = items;
+    }
+
+    /**
+     * Maps the list written by {@link ${KTypeName}ArrayList#saveTo(FileChannel)} at the current
+     * position of the channel, the position is moved past the mapped data.
+     *
+     * @param channel a channel opened for reading.
+     * @return a new read-only list backed by the mapped file.
+     * @throws IOException if an I/O error occurs, the data is truncated or was not written
+     *                     by {@code ${KTypeName}ArrayList}.
+     */
+    @NonNull
+    public static Mapped${KTypeName}List map(@NonNull final FileChannel channel) throws IOException {
+        final int size = ListFileFormat.readHeader(channel, ELEMENT_SIZE);
+        final long position = channel.position();
+        final long length = (long) size * ELEMENT_SIZE;
+
+        final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        buffer.order(ListFileFormat.BYTE_ORDER);
+        channel.position(position + length);
+        return new Mapped${KTypeName}List(buffer.as${KTypeName}Buffer(), size);
+    }
+
+    /**
+     * Returns the element at the specified position in this list.
+     *
+     * @param index index of the element to return
+     * @return the element at the specified position in this list
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   (<tt>index &lt; 0 || index &gt;= size()</tt>)
+     */
+    public ${KType} get(final int index) {
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException("Invalid index " + index + ", size is " + mSize);
+        }
+        return mItems.get(index);
+    }
+
+    /**
+     * Searches this list for the specified number and returns the index of the
+     * first occurrence.
+     *
+     * @param item the number to search for.
+     * @return the index of the first occurrence of the number, or -1 if it was
+     * not found.
+     */
+    public int indexOf(final ${KType} item) {
+        final ${KTypeName}Buffer b = mItems;
+        final int s = mSize;
+        for (int i = 0; i < s; i++) {
+            if (b.get(i) == item) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Searches this {@code Mapped${KTypeName}List} for the specified number.
+     *
+     * @param item the number to search for.
+     * @return {@code true} if {@code item} is an element of this
+     * {@code Mapped${KTypeName}List}, {@code false} otherwise
+     */
+    public boolean contains(final ${KType} item) {
+        return indexOf(item) >= 0;
+    }
+
+    /**
+     * Returns the number of elements in this {@code Mapped${KTypeName}List}.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Returns if this {@code Mapped${KTypeName}List} contains no elements.
+     */
+    public boolean isEmpty() {
+        return (mSize == 0);
+    }
+
+    /**
+     * Returns a new array containing all elements of this list, the array is allocated
+     * on the Java heap.
+     */
+    public ${KType}[] toArray() {
+        final ${KType}[] result = new ${KType}[mSize];
+        final ${KTypeName}Buffer b = mItems.duplicate();
+        b.get(result, 0, mSize);
+        return result;
+    }
+
+    /**
+     * Returns a new mutable {@code ${KTypeName}ArrayList} containing all elements of this list.
+     */
+    public ${KTypeName}ArrayList to${KTypeName}ArrayList() {
+        final ${KTypeName}ArrayList list = new ${KTypeName}ArrayList();
+        final ${KType}[] a = toArray();
+        list.addAll(a, 0, a.length);
+        return list;
+    }
+
+    /**
+     * Returns the hash code value for this Mapped${KTypeName}List, it is the same as the one
+     * of the {@link ${KTypeName}ArrayList} with the same elements.
+     */
+    @Override
+    public int hashCode() {
+        final ${KTypeName}Buffer b = mItems;
+        int hashCode = 1;
+        for (int i = 0, s = mSize; i < s; i++) {
+            final ${KType} e = b.get(i);
+            final int elementHash = ${KTypeHash('e')};
+            hashCode = 31 * hashCode + elementHash;
+        }
+        return hashCode;
+    }
+
+    /**
+     * Returns <tt>true</tt> if and only if the specified object is also a
+     * Mapped${KTypeName}List and both lists contain the same elements in the same order.
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+
+        if (!(o instanceof Mapped${KTypeName}List)) {
+            return false;
+        }
+
+        final Mapped${KTypeName}List that = (Mapped${KTypeName}List) o;
+        final int s = mSize;
+        if (that.mSize != s) {
+            return false;
+        }
+
+        final ${KTypeName}Buffer a = mItems;
+        final ${KTypeName}Buffer b = that.mItems;
+        for (int i = 0; i < s; i++) {
+            if (a.get(i) != b.get(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        final int size = mSize;
+        final ${KTypeName}Buffer b = mItems;
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append("Mapped${KTypeName}List [ ");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(b.get(i));
+        }
+        sb.append(" ]");
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.RequiresApi;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork/join versions of the {@link ${KTypeName}ArrayList} aggregate operations. The backing
+ * array is split in halves until the ranges have at most {@link #SEQUENTIAL_THRESHOLD}
+ * elements, which are aggregated sequentially in the pool and then combined. Lists of at
+ * most {@link #SEQUENTIAL_THRESHOLD} elements are aggregated on the calling thread.
+ * <p/>
+ * {@link ForkJoinPool} is available on Android since API 21, the sequential operations of
+ * {@link ${KTypeName}ArrayList} work on every API level. The list must not be modified while
+ * an operation is running and predicates must be thread-safe.
+ * <p/>
+ * This class is generated from ParallelKTypeAggregates.java template, do not edit it directly.
+ */
+@RequiresApi(21)
+public final class Parallel${KTypeName}Aggregates {
+
+    /**
+     * Ranges of this many elements or less are not split any further.
+     */
+    public static final int SEQUENTIAL_THRESHOLD = 16 * 1024;
+
+    private Parallel${KTypeName}Aggregates() {
+    }
+
+    /**
+     * Returns the sum of all elements of the list.
+     *
+     * @see ${KTypeName}ArrayList#sum()
+     */
+    public static long sum(@NonNull final ${KTypeName}ArrayList ${KType}ArrayList,
+            @NonNull final ForkJoinPool pool) {
+        return invoke(pool, new SumTask(${KType}ArrayList.items(), 0, ${KType}ArrayList.size()));
+    }
+
+    /**
+     * Returns the smallest element of the list.
+     *
+     * @throws NoSuchElementException if the list is empty.
+     * @see ${KTypeName}ArrayList#min()
+     */
+    public static ${KType} min(@NonNull final ${KTypeName}ArrayList ${KType}ArrayList,
+            @NonNull final ForkJoinPool pool) {
+        checkNotEmpty(${KType}ArrayList);
+        return invoke(pool, new MinTask(${KType}ArrayList.items(), 0, ${KType}ArrayList.size()));
+    }
+
+    /**
+     * Returns the largest element of the list.
+     *
+     * @throws NoSuchElementException if the list is empty.
+     * @see ${KTypeName}ArrayList#max()
+     */
+    public static ${KType} max(@NonNull final ${KTypeName}ArrayList ${KType}ArrayList,
+            @NonNull final ForkJoinPool pool) {
+        checkNotEmpty(${KType}ArrayList);
+        return invoke(pool, new MaxTask(${KType}ArrayList.items(), 0, ${KType}ArrayList.size()));
+    }
+
+    /**
+     * Returns the number of elements of the list which match the specified predicate.
+     *
+     * @see ${KTypeName}ArrayList#count(${KTypeName}Predicate)
+     */
+    public static int count(@NonNull final ${KTypeName}ArrayList ${KType}ArrayList,
+            @NonNull final ${KTypeName}Predicate predicate, @NonNull final ForkJoinPool pool) {
+        return invoke(pool, new CountTask(${KType}ArrayList.items(), 0, ${KType}ArrayList.size(),
+                predicate));
+    }
+
+    /**
+     * Returns a new list containing the elements of the list which match the specified
+     * predicate, in the same order.
+     *
+     * @see ${KTypeName}ArrayList#filter(${KTypeName}Predicate)
+     */
+    @NonNull
+    public static ${KTypeName}ArrayList filter(@NonNull final ${KTypeName}ArrayList ${KType}ArrayList,
+            @NonNull final ${KTypeName}Predicate predicate, @NonNull final ForkJoinPool pool) {
+        return invoke(pool, new FilterTask(${KType}ArrayList.items(), 0, ${KType}ArrayList.size(),
+                predicate));
+    }
+
+    private static void checkNotEmpty(@NonNull final ${KTypeName}ArrayList ${KType}ArrayList) {
+        if (${KType}ArrayList.isEmpty()) {
+            throw new NoSuchElementException("${KTypeName}ArrayList is empty");
+        }
+    }
+
+    private static <V> V invoke(@NonNull final ForkJoinPool pool,
+            @NonNull final RangeTask<V> task) {
+        if (task.mTo - task.mFrom <= SEQUENTIAL_THRESHOLD) {
+            return task.computeSequentially();
+        }
+        return pool.invoke(task);
+    }
+
+    /**
+     * Splits the range in halves until it is small enough to be aggregated sequentially,
+     * then combines the results of both halves.
+     */
+    private abstract static class RangeTask<V> extends RecursiveTask<V> {
+
+        final ${KType}[] mItems;
+        final int mFrom;
+        final int mTo;
+
+        RangeTask(@NonNull final ${KType}[] items, final int from, final int to) {
+            mItems = items;
+            mFrom = from;
+            mTo = to;
+        }
+
+        @Override
+        protected final V compute() {
+            if (mTo - mFrom <= SEQUENTIAL_THRESHOLD) {
+                return computeSequentially();
+            }
+
+            final int mid = (mFrom + mTo) >>> 1;
+            final RangeTask<V> left = create(mFrom, mid);
+            left.fork();
+            final V right = create(mid, mTo).compute();
+            return combine(left.join(), right);
+        }
+
+        abstract V computeSequentially();
+
+        abstract RangeTask<V> create(int from, int to);
+
+        abstract V combine(V left, V right);
+
+    }
+
+    private static final class SumTask extends RangeTask<Long> {
+
+        SumTask(@NonNull final ${KType}[] items, final int from, final int to) {
+            super(items, from, to);
+        }
+
+        @Override
+        Long computeSequentially() {
+            return ${KTypeName}ArrayList.sum(mItems, mFrom, mTo);
+        }
+
+        @Override
+        RangeTask<Long> create(final int from, final int to) {
+            return new SumTask(mItems, from, to);
+        }
+
+        @Override
+        Long combine(final Long left, final Long right) {
+            return left + right;
+        }
+
+    }
+
+    private static final class MinTask extends RangeTask<${KTypeBoxed}> {
+
+        MinTask(@NonNull final ${KType}[] items, final int from, final int to) {
+            super(items, from, to);
+        }
+
+        @Override
+        ${KTypeBoxed} computeSequentially() {
+            return ${KTypeName}ArrayList.min(mItems, mFrom, mTo);
+        }
+
+        @Override
+        RangeTask<${KTypeBoxed}> create(final int from, final int to) {
+            return new MinTask(mItems, from, to);
+        }
+
+        @Override
+        ${KTypeBoxed} combine(final ${KTypeBoxed} left, final ${KTypeBoxed} right) {
+            return (left <= right ? left : right);
+        }
+
+    }
+
+    private static final class MaxTask extends RangeTask<${KTypeBoxed}> {
+
+        MaxTask(@NonNull final ${KType}[] items, final int from, final int to) {
+            super(items, from, to);
+        }
+
+        @Override
+        ${KTypeBoxed} computeSequentially() {
+            return ${KTypeName}ArrayList.max(mItems, mFrom, mTo);
+        }
+
+        @Override
+        RangeTask<${KTypeBoxed}> create(final int from, final int to) {
+            return new MaxTask(mItems, from, to);
+        }
+
+        @Override
+        ${KTypeBoxed} combine(final ${KTypeBoxed} left, final ${KTypeBoxed} right) {
+            return (left >= right ? left : right);
+        }
+
+    }
+
+    private static final class CountTask extends RangeTask<Integer> {
+
+        private final ${KTypeName}Predicate mPredicate;
+
+        CountTask(@NonNull final ${KType}[] items, final int from, final int to,
+                @NonNull final ${KTypeName}Predicate predicate) {
+            super(items, from, to);
+            mPredicate = predicate;
+        }
+
+        @Override
+        Integer computeSequentially() {
+            return ${KTypeName}ArrayList.count(mItems, mFrom, mTo, mPredicate);
+        }
+
+        @Override
+        RangeTask<Integer> create(final int from, final int to) {
+            return new CountTask(mItems, from, to, mPredicate);
+        }
+
+        @Override
+        Integer combine(final Integer left, final Integer right) {
+            return left + right;
+        }
+
+    }
+
+    private static final class FilterTask extends RangeTask<${KTypeName}ArrayList> {
+
+        private final ${KTypeName}Predicate mPredicate;
+
+        FilterTask(@NonNull final ${KType}[] items, final int from, final int to,
+                @NonNull final ${KTypeName}Predicate predicate) {
+            super(items, from, to);
+            mPredicate = predicate;
+        }
+
+        @Override
+        ${KTypeName}ArrayList computeSequentially() {
+            final ${KTypeName}ArrayList result = new ${KTypeName}ArrayList();
+            ${KTypeName}ArrayList.filter(mItems, mFrom, mTo, mPredicate, result);
+            return result;
+        }
+
+        @Override
+        RangeTask<${KTypeName}ArrayList> create(final int from, final int to) {
+            return new FilterTask(mItems, from, to, mPredicate);
+        }
+
+        @Override
+        ${KTypeName}ArrayList combine(final ${KTypeName}ArrayList left,
+                final ${KTypeName}ArrayList right) {
+            left.addAll(right);
+            return left;
+        }
+
+    }
+
+}
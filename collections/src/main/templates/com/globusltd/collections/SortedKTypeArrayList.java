@@ -0,0 +1,306 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.annotation.NonNull;
+
+/**
+ * Sorted${KTypeName}ArrayList holds primitive ${KTypePlural} in ascending order. Elements can
+ * only be added at the position that keeps the order, so {@link #indexOf(${KType})} and
+ * {@link #contains(${KType})} use the binary search and run in O(log n).
+ * <p/>
+ * Sorted lists are written to a Parcel with the
+ * {@link ${KTypeName}ArrayList#PARCEL_ENCODING_DELTA_VARINT} encoding.
+ * <p/>
+ * This class is generated from SortedKTypeArrayList.java template, do not edit it directly.
+ */
+public class Sorted${KTypeName}ArrayList implements Parcelable {
+
+    private final ${KTypeName}ArrayList mList;
+
+    /**
+     * Constructs a new empty instance of {@code Sorted${KTypeName}ArrayList}.
+     */
+    public Sorted${KTypeName}ArrayList() {
+        mList = new ${KTypeName}ArrayList();
+        mList.setParcelEncoding(${KTypeName}ArrayList.PARCEL_ENCODING_DELTA_VARINT);
+    }
+
+    /**
+     * Constructs a new instance of {@code Sorted${KTypeName}ArrayList} containing the elements
+     * of the specified list in ascending order.
+     *
+     * @param ${KType}ArrayList the list whose elements are to be copied.
+     */
+    public Sorted${KTypeName}ArrayList(@NonNull final ${KTypeName}ArrayList ${KType}ArrayList) {
+        mList = new ${KTypeName}ArrayList(${KType}ArrayList);
+        mList.setParcelEncoding(${KTypeName}ArrayList.PARCEL_ENCODING_DELTA_VARINT);
+        mList.sort();
+    }
+
+    public Sorted${KTypeName}ArrayList(@NonNull final Sorted${KTypeName}ArrayList sorted${KTypeName}ArrayList) {
+        mList = new ${KTypeName}ArrayList(sorted${KTypeName}ArrayList.mList);
+    }
+
+    private Sorted${KTypeName}ArrayList(@NonNull final Parcel in) {
+        mList = ${KTypeName}ArrayList.CREATOR.createFromParcel(in);
+    }
+
+    /**
+     * Inserts the specified number at the position that keeps this list sorted.
+     *
+     * @param item the number to add.
+     * @return the index at which the number was inserted.
+     */
+    public int add(final ${KType} item) {
+        return mList.addSorted(item);
+    }
+
+    /**
+     * Adds {@code length} numbers of the specified array starting at {@code offset} and
+     * sorts this list once afterwards.
+     *
+     * @param array  the array containing numbers to add.
+     * @param offset the index of the first number to add.
+     * @param length the number of numbers to add.
+     * @return {@code true} if this list changed as a result of the call.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} is out of the
+     *                                   array bounds.
+     */
+    public boolean addAll(@NonNull final ${KType}[] array, final int offset, final int length) {
+        if (mList.addAll(array, offset, length)) {
+            mList.sort();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the element at the specified position in this list.
+     *
+     * @param index index of the element to return.
+     * @return the element at the specified position in this list.
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   (<tt>index &lt; 0 || index &gt;= size()</tt>)
+     */
+    public ${KType} get(final int index) {
+        return mList.get(index);
+    }
+
+    /**
+     * Searches this list for the specified number and returns the index of the
+     * first occurrence.
+     *
+     * @param item the number to search for.
+     * @return the index of the first occurrence of the number, or -1 if it was
+     * not found.
+     */
+    public int indexOf(final ${KType} item) {
+        // Lower bound search, so long runs of equal elements are not walked back.
+        final ${KType}[] a = mList.items();
+        int lo = 0;
+        int hi = mList.size();
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (a[mid] < item) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return (lo < mList.size() && a[lo] == item ? lo : -1);
+    }
+
+    /**
+     * Searches this {@code Sorted${KTypeName}ArrayList} for the specified number.
+     *
+     * @param item the number to search for.
+     * @return {@code true} if {@code item} is an element of this
+     * {@code Sorted${KTypeName}ArrayList}, {@code false} otherwise
+     */
+    public boolean contains(final ${KType} item) {
+        return mList.binarySearch(item) >= 0;
+    }
+
+    /**
+     * Removes the first occurrence of the specified number from this list.
+     *
+     * @param item the number to remove.
+     * @return {@code true} if this list contained the number.
+     */
+    public boolean remove(final ${KType} item) {
+        final int index = indexOf(item);
+        if (index < 0) {
+            return false;
+        }
+        mList.removeAt(index);
+        return true;
+    }
+
+    /**
+     * Removes the element at the specified position in this list.
+     *
+     * @param index the index of the element to be removed.
+     * @return the element previously at the specified position.
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *                                   (<tt>index &lt; 0 || index &gt;= size()</tt>)
+     */
+    public ${KType} removeAt(final int index) {
+        return mList.removeAt(index);
+    }
+
+    /**
+     * Removes from this list all of the elements whose index is between
+     * {@code fromIndex}, inclusive, and {@code toIndex}, exclusive.
+     *
+     * @param fromIndex index of the first element to be removed.
+     * @param toIndex   index after the last element to be removed.
+     * @throws IndexOutOfBoundsException if {@code fromIndex < 0 || toIndex > size() ||
+     *                                   fromIndex > toIndex}
+     */
+    public void removeRange(final int fromIndex, final int toIndex) {
+        mList.removeRange(fromIndex, toIndex);
+    }
+
+    /**
+     * Removes all but the first element of every run of equal elements in this list.
+     *
+     * @return the number of removed elements.
+     */
+    public int removeDuplicates() {
+        return mList.removeDuplicatesSorted();
+    }
+
+    /**
+     * Applies the specified procedure to every element of this list in ascending order.
+     * The procedure must not modify this list.
+     *
+     * @param procedure the procedure to apply.
+     */
+    public void forEach(@NonNull final ${KTypeName}Procedure procedure) {
+        mList.forEach(procedure);
+    }
+
+    /**
+     * Evaluates the specified predicate on the elements of this list in ascending order
+     * until it returns {@code false}. The predicate must not modify this list.
+     *
+     * @param predicate the predicate to evaluate.
+     * @return {@code true} if the predicate returned {@code true} for every element,
+     * {@code false} if the iteration stopped early.
+     */
+    public boolean forEachWhile(@NonNull final ${KTypeName}Predicate predicate) {
+        return mList.forEachWhile(predicate);
+    }
+
+    /**
+     * Removes all elements from this {@code Sorted${KTypeName}ArrayList}, leaving it empty.
+     */
+    public void clear() {
+        mList.clear();
+    }
+
+    /**
+     * Returns the number of elements in this {@code Sorted${KTypeName}ArrayList}.
+     */
+    public int size() {
+        return mList.size();
+    }
+
+    /**
+     * Returns if this {@code Sorted${KTypeName}ArrayList} contains no elements.
+     */
+    public boolean isEmpty() {
+        return mList.isEmpty();
+    }
+
+    /**
+     * Returns a new array containing all elements of this list in ascending order.
+     */
+    public ${KType}[] toArray() {
+        return mList.toArray();
+    }
+
+    /**
+     * Returns a new {@code ${KTypeName}ArrayList} containing all elements of this list in
+     * ascending order. Changes to the returned list do not affect this list.
+     */
+    public ${KTypeName}ArrayList to${KTypeName}ArrayList() {
+        return new ${KTypeName}ArrayList(mList);
+    }
+
+    @Override
+    public int hashCode() {
+        return mList.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+
+        if (!(o instanceof Sorted${KTypeName}ArrayList)) {
+            return false;
+        }
+
+        final Sorted${KTypeName}ArrayList that = (Sorted${KTypeName}ArrayList) o;
+        return mList.equals(that.mList);
+    }
+
+    @Override
+    public String toString() {
+        final int size = mList.size();
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append("Sorted${KTypeName}ArrayList [ ");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(mList.get(i));
+        }
+        sb.append(" ]");
+        return sb.toString();
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(final Parcel dest, final int flags) {
+        mList.writeToParcel(dest, flags);
+    }
+
+    public static final Creator<Sorted${KTypeName}ArrayList> CREATOR = new Creator<Sorted${KTypeName}ArrayList>() {
+
+        @Override
+        public Sorted${KTypeName}ArrayList createFromParcel(final Parcel in) {
+            return new Sorted${KTypeName}ArrayList(in);
+        }
+
+        @Override
+        public Sorted${KTypeName}ArrayList[] newArray(final int size) {
+            return new Sorted${KTypeName}ArrayList[size];
+        }
+
+    };
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+
+public class CollectionStatsTest {
+
+    @After
+    public void tearDown() throws Exception {
+        CollectionStats.setGlobal(null);
+    }
+
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        assertNull(CollectionStats.getGlobal());
+        assertNull(new IntArrayList().getStats());
+        assertNull(new LongArrayList().getStats());
+    }
+
+    @Test
+    public void testGrow() throws Exception {
+        final CollectionStats stats = new CollectionStats();
+        final IntArrayList list = new IntArrayList();
+        list.setStats(stats);
+        for (int i = 0; i < 16; i++) {
+            list.add(i);
+        }
+        assertThat(stats.getGrowCount(), is(0L));
+
+        list.add(16);
+        assertThat(stats.getGrowCount(), is(1L));
+        assertThat(stats.getCopiedElements(), is(16L));
+    }
+
+    @Test
+    public void testShifts() throws Exception {
+        final CollectionStats stats = new CollectionStats();
+        final LongArrayList list = new LongArrayList();
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        list.setStats(stats);
+
+        list.add(0, 100L); // shifts 10 elements
+        list.removeAt(1); // shifts 9 elements
+        list.removeRange(0, 5); // shifts 5 elements
+        list.addAll(1, new long[] { 1L, 2L }, 0, 2); // shifts 4 elements
+        assertThat(stats.getGrowCount(), is(0L));
+        assertThat(stats.getCopiedElements(), is(28L));
+    }
+
+    @Test
+    public void testScan() throws Exception {
+        final CollectionStats stats = new CollectionStats();
+        final IntArrayList list = new IntArrayList();
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        list.setStats(stats);
+
+        list.indexOf(3);
+        assertThat(stats.getScannedElements(), is(4L));
+        list.contains(100);
+        assertThat(stats.getScannedElements(), is(14L));
+    }
+
+    @Test
+    public void testGlobal() throws Exception {
+        final CollectionStats stats = new CollectionStats();
+        CollectionStats.setGlobal(stats);
+        final LongArrayList list = new LongArrayList();
+        assertSame(stats, list.getStats());
+
+        CollectionStats.setGlobal(null);
+        assertNull(new LongArrayList().getStats());
+        assertSame(stats, list.getStats());
+
+        list.indexOf(1L);
+        list.setStats(null);
+        list.indexOf(1L);
+        assertThat(stats.getScannedElements(), is(0L));
+    }
+
+    @Test
+    public void testObtain() throws Exception {
+        final CollectionStats stats = new CollectionStats();
+        final IntArrayList list = IntArrayList.obtain();
+        list.setStats(stats);
+        list.recycle();
+        assertNull(IntArrayList.obtain().getStats());
+
+        CollectionStats.setGlobal(stats);
+        assertSame(stats, IntArrayList.obtain().getStats());
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        final CollectionStats stats = new CollectionStats();
+        final IntArrayList list = new IntArrayList();
+        list.setStats(stats);
+        for (int i = 0; i < 17; i++) {
+            list.add(i);
+        }
+        list.indexOf(1);
+        assertEquals("CollectionStats { grows=1, copied=16, scanned=2 }", stats.toString());
+
+        stats.reset();
+        assertEquals("CollectionStats { grows=0, copied=0, scanned=0 }", stats.toString());
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+
+public class DeltaVarIntCodecTest {
+
+    @Test
+    public void testIntsRoundTrip() throws Exception {
+        final int[] values = new int[] { 0, 1, 127, 128, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, 42 };
+
+        final byte[] bytes = new byte[DeltaVarIntCodec.encodedLength(values, values.length)];
+        DeltaVarIntCodec.encode(values, values.length, bytes);
+
+        assertArrayEquals(values, DeltaVarIntCodec.decodeInts(bytes, values.length));
+    }
+
+    @Test
+    public void testLongsRoundTrip() throws Exception {
+        final long[] values = new long[] { 0L, 1L, 127L, 128L, -1L, Long.MAX_VALUE, Long.MIN_VALUE, 42L };
+
+        final byte[] bytes = new byte[DeltaVarIntCodec.encodedLength(values, values.length)];
+        DeltaVarIntCodec.encode(values, values.length, bytes);
+
+        assertArrayEquals(values, DeltaVarIntCodec.decodeLongs(bytes, values.length));
+    }
+
+    @Test
+    public void testSortedValuesTakeOneBytePerElement() throws Exception {
+        final long[] values = new long[100];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1500000000000L + i * 3;
+        }
+
+        // The first value takes 6 bytes, every next one is encoded as a delta of 3.
+        assertThat(DeltaVarIntCodec.encodedLength(values, values.length), is(6 + 99));
+    }
+
+    @Test
+    public void testEncodesOnlySize() throws Exception {
+        final int[] values = new int[] { 1, 2, 3, 4 };
+
+        final byte[] bytes = new byte[DeltaVarIntCodec.encodedLength(values, 2)];
+        DeltaVarIntCodec.encode(values, 2, bytes);
+
+        assertArrayEquals(new int[] { 1, 2 }, DeltaVarIntCodec.decodeInts(bytes, 2));
+    }
+
+    @Test
+    public void testEncodesRange() throws Exception {
+        final long[] values = new long[] { 1L, 2L, 3L, 4L };
+
+        final byte[] bytes = new byte[DeltaVarIntCodec.encodedLength(values, 1, 3)];
+        DeltaVarIntCodec.encode(values, 1, 3, bytes);
+
+        assertArrayEquals(new long[] { 2L, 3L }, DeltaVarIntCodec.decodeLongs(bytes, 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncatedInput() throws Exception {
+        DeltaVarIntCodec.decodeInts(new byte[] { (byte) 0x80 }, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTrailingBytes() throws Exception {
+        DeltaVarIntCodec.decodeLongs(new byte[] { 1, 1 }, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeSize() throws Exception {
+        DeltaVarIntCodec.decodeInts(new byte[] { 1 }, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSizeLargerThanInput() throws Exception {
+        DeltaVarIntCodec.decodeLongs(new byte[] { 1, 1 }, Integer.MAX_VALUE);
+    }
+
+}
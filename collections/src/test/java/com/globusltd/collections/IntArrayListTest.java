@@ -19,7 +19,13 @@ import android.os.Parcel;
 
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertArrayEquals;
@@ -28,6 +34,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class IntArrayListTest {
 
@@ -69,6 +76,17 @@ public class IntArrayListTest {
         assertThat(intArrayList.get(2), is(200));
     }
 
+    @Test
+    public void testAddItemAtEnd() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(100);
+        intArrayList.add(200);
+
+        intArrayList.add(2, 300);
+
+        assertThat(intArrayList.get(2), is(300));
+    }
+
     @Test
     public void testSetItem1() throws Exception {
         final IntArrayList intArrayList = new IntArrayList();
@@ -189,6 +207,300 @@ public class IntArrayListTest {
         assertThat(intArrayList.indexOf(400), is(-1));
     }
 
+    @Test
+    public void testAddAllArray() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(100);
+
+        assertTrue(intArrayList.addAll(new int[] { 1, 2, 3, 4 }, 1, 2));
+        assertFalse(intArrayList.addAll(new int[] { 1, 2 }, 2, 0));
+
+        assertArrayEquals(new int[] { 100, 2, 3 }, intArrayList.toArray());
+    }
+
+    @Test
+    public void testAddAllList() throws Exception {
+        final IntArrayList intArrayList1 = new IntArrayList();
+        intArrayList1.add(100);
+        intArrayList1.add(200);
+
+        final IntArrayList intArrayList2 = new IntArrayList();
+        intArrayList2.add(300);
+
+        assertTrue(intArrayList2.addAll(intArrayList1));
+        assertTrue(intArrayList2.addAll(intArrayList2));
+
+        assertArrayEquals(new int[] { 300, 100, 200, 300, 100, 200 }, intArrayList2.toArray());
+    }
+
+    @Test
+    public void testAddAllAt() throws Exception {
+        final IntArrayList intArrayList1 = new IntArrayList();
+        intArrayList1.add(100);
+        intArrayList1.add(400);
+
+        assertTrue(intArrayList1.addAll(1, new int[] { 200, 300 }, 0, 2));
+        assertArrayEquals(new int[] { 100, 200, 300, 400 }, intArrayList1.toArray());
+
+        final IntArrayList intArrayList2 = new IntArrayList();
+        intArrayList2.add(500);
+
+        assertTrue(intArrayList1.addAll(4, intArrayList2));
+        assertTrue(intArrayList1.addAll(0, intArrayList1));
+        assertArrayEquals(new int[] { 100, 200, 300, 400, 500, 100, 200, 300, 400, 500 },
+                intArrayList1.toArray());
+    }
+
+    @Test
+    public void testAddAllKeepsItemsOnGrowth() throws Exception {
+        final int[] array = new int[100];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i;
+        }
+
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(-1);
+        intArrayList.add(-2);
+        intArrayList.addAll(1, array, 0, array.length);
+
+        assertThat(intArrayList.size(), is(102));
+        assertThat(intArrayList.get(0), is(-1));
+        for (int i = 0; i < array.length; i++) {
+            assertThat(intArrayList.get(i + 1), is(i));
+        }
+        assertThat(intArrayList.get(101), is(-2));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAddAllIllegalRange() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.addAll(new int[] { 1, 2 }, 1, 2);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAddAllIllegalIndex() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.addAll(1, new int[] { 1, 2 }, 0, 2);
+    }
+
+    @Test
+    public void testSetAll() throws Exception {
+        final IntArrayList intArrayList1 = new IntArrayList();
+        intArrayList1.add(100);
+        intArrayList1.add(200);
+        intArrayList1.add(300);
+
+        intArrayList1.setAll(new int[] { 1, 2, 3, 4 }, 2, 2);
+        assertArrayEquals(new int[] { 3, 4 }, intArrayList1.toArray());
+
+        final IntArrayList intArrayList2 = new IntArrayList();
+        for (int i = 0; i < 100; i++) {
+            intArrayList2.add(i);
+        }
+
+        intArrayList1.setAll(intArrayList2);
+        assertEquals(intArrayList2, intArrayList1);
+    }
+
+    @Test
+    public void testRemoveRange() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        for (int i = 0; i < 10; i++) {
+            intArrayList.add(i);
+        }
+
+        intArrayList.removeRange(2, 5);
+        assertArrayEquals(new int[] { 0, 1, 5, 6, 7, 8, 9 }, intArrayList.toArray());
+
+        intArrayList.removeRange(3, 3);
+        assertThat(intArrayList.size(), is(7));
+
+        intArrayList.removeRange(0, 7);
+        assertTrue(intArrayList.isEmpty());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testRemoveRangeIllegalRange() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(100);
+        intArrayList.removeRange(1, 0);
+    }
+
+    @Test
+    public void testSort() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(30);
+        intArrayList.add(-10);
+        intArrayList.add(20);
+        intArrayList.add(10);
+
+        intArrayList.sort();
+
+        assertArrayEquals(new int[] { -10, 10, 20, 30 }, intArrayList.toArray());
+    }
+
+    @Test
+    public void testBinarySearch() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(10);
+        intArrayList.add(20);
+        intArrayList.add(30);
+
+        assertThat(intArrayList.binarySearch(20), is(1));
+        assertThat(intArrayList.binarySearch(5), is(-1));
+        assertThat(intArrayList.binarySearch(25), is(-3));
+        assertThat(intArrayList.binarySearch(40), is(-4));
+    }
+
+    @Test
+    public void testAddSorted() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        assertThat(intArrayList.addSorted(20), is(0));
+        assertThat(intArrayList.addSorted(10), is(0));
+        assertThat(intArrayList.addSorted(30), is(2));
+        assertThat(intArrayList.addSorted(25), is(2));
+
+        assertArrayEquals(new int[] { 10, 20, 25, 30 }, intArrayList.toArray());
+    }
+
+    @Test
+    public void testRemoveDuplicatesSorted() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(10);
+        intArrayList.add(10);
+        intArrayList.add(20);
+        intArrayList.add(30);
+        intArrayList.add(30);
+        intArrayList.add(30);
+
+        assertThat(intArrayList.removeDuplicatesSorted(), is(3));
+        assertArrayEquals(new int[] { 10, 20, 30 }, intArrayList.toArray());
+    }
+
+    @Test
+    public void testRemoveDuplicatesSortedWithoutDuplicates() throws Exception {
+        final CollectionStats stats = new CollectionStats();
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(10);
+        intArrayList.add(20);
+        intArrayList.setStats(stats);
+        final IntArrayList.Snapshot snapshot = intArrayList.snapshot();
+        final IntArrayList.SubList subList = intArrayList.subList(0, 2);
+
+        assertThat(intArrayList.removeDuplicatesSorted(), is(0));
+        assertThat(stats.getCopiedElements(), is(0L));
+        assertThat(subList.get(1), is(20));
+
+        intArrayList.add(20);
+        assertThat(intArrayList.removeDuplicatesSorted(), is(1));
+        assertArrayEquals(new int[] { 10, 20 }, intArrayList.toArray());
+        assertThat(snapshot.size(), is(2));
+    }
+
+    @Test
+    public void testForEach() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(10);
+        intArrayList.add(20);
+        intArrayList.add(30);
+
+        final IntArrayList visited = new IntArrayList();
+        intArrayList.forEach(new IntProcedure() {
+            @Override
+            public void apply(final int value) {
+                visited.add(value);
+            }
+        });
+
+        assertEquals(intArrayList, visited);
+    }
+
+    @Test
+    public void testForEachWhile() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(10);
+        intArrayList.add(20);
+        intArrayList.add(30);
+
+        final IntArrayList visited = new IntArrayList();
+        final IntPredicate lessThan20 = new IntPredicate() {
+            @Override
+            public boolean apply(final int value) {
+                visited.add(value);
+                return value < 20;
+            }
+        };
+
+        assertFalse(intArrayList.forEachWhile(lessThan20));
+        assertThat(visited.size(), is(2));
+
+        intArrayList.removeAt(2);
+        intArrayList.removeAt(1);
+        assertTrue(intArrayList.forEachWhile(lessThan20));
+    }
+
+    @Test
+    public void testCursor() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(10);
+        intArrayList.add(20);
+
+        final IntArrayList.Cursor cursor = intArrayList.cursor();
+        assertThat(cursor.index(), is(-1));
+        assertTrue(cursor.moveNext());
+        assertThat(cursor.value(), is(10));
+        assertThat(cursor.index(), is(0));
+        assertTrue(cursor.moveNext());
+        assertThat(cursor.value(), is(20));
+        assertFalse(cursor.moveNext());
+
+        intArrayList.add(30);
+        cursor.reset(intArrayList);
+
+        final IntArrayList visited = new IntArrayList();
+        while (cursor.moveNext()) {
+            visited.add(cursor.value());
+        }
+        assertEquals(intArrayList, visited);
+    }
+
+    @Test
+    public void testSumMinMax() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(Integer.MAX_VALUE);
+        intArrayList.add(Integer.MAX_VALUE);
+        intArrayList.add(-20);
+        intArrayList.add(30);
+
+        assertThat(intArrayList.sum(), is(2L * Integer.MAX_VALUE + 10));
+        assertThat(intArrayList.min(), is(-20));
+        assertThat(intArrayList.max(), is(Integer.MAX_VALUE));
+        assertThat(new IntArrayList().sum(), is(0L));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testMinOfEmptyList() throws Exception {
+        new IntArrayList().min();
+    }
+
+    @Test
+    public void testCountAndFilter() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        for (int i = 0; i < 10; i++) {
+            intArrayList.add(i);
+        }
+
+        final IntPredicate even = new IntPredicate() {
+            @Override
+            public boolean apply(final int value) {
+                return value % 2 == 0;
+            }
+        };
+
+        assertThat(intArrayList.count(even), is(5));
+        assertArrayEquals(new int[] { 0, 2, 4, 6, 8 }, intArrayList.filter(even).toArray());
+    }
+
     @Test
     public void testHashcode() throws Exception {
         final IntArrayList intArrayList = new IntArrayList();
@@ -295,6 +607,570 @@ public class IntArrayListTest {
         assertThat(intArrayList.size(), is(100));
     }
 
+    @Test
+    public void testCapacityGrowthKeepsItems() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        for (int i = 0; i < 100; i++) {
+            intArrayList.add(i);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(intArrayList.get(i), is((int) i));
+        }
+    }
+
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        final IntArrayList intArrayListIn = new IntArrayList();
+        for (int i = 0; i < 100000; i++) {
+            intArrayListIn.add(i * 7 - 1000);
+        }
+
+        final File file = File.createTempFile("list", null);
+        try {
+            final RandomAccessFile out = new RandomAccessFile(file, "rw");
+            try {
+                intArrayListIn.saveTo(out.getChannel());
+                new IntArrayList().saveTo(out.getChannel());
+            } finally {
+                out.close();
+            }
+
+            final RandomAccessFile in = new RandomAccessFile(file, "r");
+            try {
+                final FileChannel channel = in.getChannel();
+                assertEquals(intArrayListIn, IntArrayList.loadFrom(channel));
+                assertTrue(IntArrayList.loadFrom(channel).isEmpty());
+                assertThat(channel.position(), is(channel.size()));
+            } finally {
+                in.close();
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoadFromTruncatedFile() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(100);
+        intArrayList.add(200);
+
+        final File file = File.createTempFile("list", null);
+        try {
+            final RandomAccessFile out = new RandomAccessFile(file, "rw");
+            try {
+                intArrayList.saveTo(out.getChannel());
+                out.getChannel().truncate(out.length() - 1);
+            } finally {
+                out.close();
+            }
+
+            final RandomAccessFile in = new RandomAccessFile(file, "r");
+            try {
+                IntArrayList.loadFrom(in.getChannel());
+            } finally {
+                in.close();
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testObtainRecycle() throws Exception {
+        final IntArrayList intArrayList = IntArrayList.obtain();
+        for (int i = 0; i < 100; i++) {
+            intArrayList.add(i);
+        }
+        intArrayList.setParcelEncoding(IntArrayList.PARCEL_ENCODING_DELTA_VARINT);
+        intArrayList.recycle();
+
+        final IntArrayList obtained = IntArrayList.obtain();
+        assertTrue(obtained.isEmpty());
+        assertThat(obtained.getParcelEncoding(), is(IntArrayList.PARCEL_ENCODING_PLAIN));
+        obtained.add(100);
+        assertThat(obtained.get(0), is(100));
+        obtained.recycle();
+    }
+
+    @Test
+    public void testRecycleDropsLargeArray() throws Exception {
+        final IntArrayList intArrayList = IntArrayList.obtain();
+        for (int i = 0; i <= IntArrayList.MAX_RECYCLED_CAPACITY; i++) {
+            intArrayList.add(i);
+        }
+        intArrayList.recycle();
+
+        final IntArrayList obtained = IntArrayList.obtain();
+        assertTrue(obtained.isEmpty());
+        assertTrue(obtained.items().length <= IntArrayList.MAX_RECYCLED_CAPACITY);
+        obtained.add(100);
+        assertThat(obtained.size(), is(1));
+        obtained.recycle();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRecycleTwice() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.recycle();
+        intArrayList.recycle();
+    }
+
+    @Test
+    public void testSnapshot() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        for (int i = 0; i < 5; i++) {
+            intArrayList.add(i);
+        }
+        final IntArrayList.Snapshot snapshot = intArrayList.snapshot();
+        intArrayList.set(0, 100);
+        intArrayList.removeAt(4);
+        intArrayList.add(200);
+
+        assertThat(snapshot.size(), is(5));
+        assertArrayEquals(new int[] { 0, 1, 2, 3, 4 }, snapshot.toArray());
+        assertArrayEquals(new int[] { 100, 1, 2, 3, 200 }, intArrayList.toArray());
+        assertThat(snapshot.get(4), is(4));
+        assertThat(snapshot.indexOf(3), is(3));
+        assertFalse(snapshot.contains(100));
+        assertThat(snapshot.sum(), is(10L));
+    }
+
+    @Test
+    public void testSnapshotCopiesLazily() throws Exception {
+        final CollectionStats stats = new CollectionStats();
+        final IntArrayList intArrayList = new IntArrayList();
+        for (int i = 0; i < 10; i++) {
+            intArrayList.add(i);
+        }
+        intArrayList.setStats(stats);
+
+        final IntArrayList.Snapshot snapshot = intArrayList.snapshot();
+        intArrayList.add(10);
+        assertThat(stats.getCopiedElements(), is(0L));
+
+        intArrayList.removeAt(10);
+        assertThat(stats.getCopiedElements(), is(11L));
+        intArrayList.set(0, 100);
+        assertThat(stats.getCopiedElements(), is(11L));
+        assertThat(snapshot.get(0), is(0));
+    }
+
+    @Test
+    public void testSnapshotClear() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(1);
+        intArrayList.add(2);
+        final IntArrayList.Snapshot snapshot = intArrayList.snapshot();
+        intArrayList.clear();
+        intArrayList.add(3);
+
+        assertArrayEquals(new int[] { 1, 2 }, snapshot.toArray());
+        assertArrayEquals(new int[] { 3 }, intArrayList.toArray());
+    }
+
+    @Test
+    public void testSnapshotToList() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(1);
+        intArrayList.add(2);
+        final IntArrayList.Snapshot snapshot = intArrayList.snapshot();
+
+        final IntArrayList restored = snapshot.toIntArrayList();
+        assertEquals(intArrayList, restored);
+        restored.add(3);
+        restored.set(0, 100);
+        assertArrayEquals(new int[] { 1, 2 }, snapshot.toArray());
+        assertArrayEquals(new int[] { 1, 2 }, intArrayList.toArray());
+    }
+
+    @Test
+    public void testSnapshotEquals() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(1);
+        intArrayList.add(2);
+        final IntArrayList.Snapshot snapshot1 = intArrayList.snapshot();
+        final IntArrayList.Snapshot snapshot2 = new IntArrayList(intArrayList).snapshot();
+
+        assertEquals(snapshot1, snapshot2);
+        assertThat(snapshot1.hashCode(), is(intArrayList.hashCode()));
+        assertThat(snapshot1.hashCode(), is(snapshot2.hashCode()));
+        assertEquals("IntArrayList.Snapshot [ 1, 2 ]", snapshot1.toString());
+        assertEquals("IntArrayList.Snapshot [ ]", new IntArrayList().snapshot().toString());
+
+        intArrayList.add(3);
+        assertNotEquals(snapshot1, intArrayList.snapshot());
+    }
+
+    @Test
+    public void testSubList() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        for (int i = 0; i < 10; i++) {
+            intArrayList.add(i);
+        }
+
+        final IntArrayList.SubList subList = intArrayList.subList(2, 6);
+        assertThat(subList.size(), is(4));
+        assertThat(subList.get(0), is(2));
+        assertThat(subList.indexOf(5), is(3));
+        assertThat(subList.indexOf(6), is(-1));
+        assertFalse(subList.contains(1));
+        assertThat(subList.sum(), is(14L));
+        assertArrayEquals(new int[] { 2, 3, 4, 5 }, subList.toArray());
+        assertEquals("IntArrayList.SubList [ 2, 3, 4, 5 ]", subList.toString());
+
+        assertThat(subList.set(1, 100), is(3));
+        assertThat(intArrayList.get(3), is(100));
+        assertThat(subList.get(1), is(100));
+    }
+
+    @Test
+    public void testSubListEmpty() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(1);
+
+        final IntArrayList.SubList subList = intArrayList.subList(1, 1);
+        assertTrue(subList.isEmpty());
+        assertThat(subList.toArray().length, is(0));
+        assertEquals("IntArrayList.SubList [ ]", subList.toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSubListInvalidRange() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(1);
+        intArrayList.subList(0, 2);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSubListGetOutOfRange() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(1);
+        intArrayList.add(2);
+        intArrayList.subList(0, 1).get(1);
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testSubListFailsFast() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(1);
+        intArrayList.add(2);
+        final IntArrayList.SubList subList = intArrayList.subList(0, 2);
+        intArrayList.set(0, 3); // not a structural modification
+        assertThat(subList.get(0), is(3));
+
+        intArrayList.removeAt(1);
+        subList.get(0);
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testSubListFailsFastAfterSort() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(2);
+        intArrayList.add(1);
+        final IntArrayList.SubList subList = intArrayList.subList(0, 2);
+
+        intArrayList.sort();
+        subList.get(0);
+    }
+
+    @Test
+    public void testSubListSetAfterSnapshot() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(1);
+        intArrayList.add(2);
+        final IntArrayList.Snapshot snapshot = intArrayList.snapshot();
+
+        intArrayList.subList(1, 2).set(0, 100);
+        assertThat(intArrayList.get(1), is(100));
+        assertThat(snapshot.get(1), is(2));
+    }
+
+    @Test
+    public void testRemoveAtInvalidIndexAfterSnapshot() throws Exception {
+        final CollectionStats stats = new CollectionStats();
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(1);
+        intArrayList.setStats(stats);
+        intArrayList.snapshot();
+
+        try {
+            intArrayList.removeAt(1);
+            fail();
+        } catch (final IndexOutOfBoundsException expected) {
+            // the shared backing array is not copied
+        }
+        assertThat(stats.getCopiedElements(), is(0L));
+    }
+
+    @Test
+    public void testRemoveEmptyRange() throws Exception {
+        final CollectionStats stats = new CollectionStats();
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(1);
+        intArrayList.add(2);
+        intArrayList.setStats(stats);
+        final IntArrayList.Snapshot snapshot = intArrayList.snapshot();
+        final IntArrayList.SubList subList = intArrayList.subList(0, 2);
+
+        intArrayList.removeRange(1, 1);
+        assertThat(stats.getCopiedElements(), is(0L));
+        assertThat(subList.get(1), is(2));
+        assertThat(snapshot.size(), is(2));
+    }
+
+    @Test
+    public void testSetAllAfterSnapshot() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(1);
+        final IntArrayList.Snapshot snapshot = intArrayList.snapshot();
+
+        final int[] array = new int[100];
+        array[99] = 2;
+        intArrayList.setAll(array, 0, array.length);
+        assertThat(intArrayList.get(99), is(2));
+        assertArrayEquals(new int[] { 1 }, snapshot.toArray());
+
+        final IntArrayList.Snapshot snapshot2 = intArrayList.snapshot();
+        intArrayList.setAll(new int[] { 3 }, 0, 1);
+        assertArrayEquals(new int[] { 3 }, intArrayList.toArray());
+        assertThat(snapshot2.get(99), is(2));
+    }
+
+    @Test
+    public void testAddAllSubList() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        for (int i = 0; i < 5; i++) {
+            intArrayList.add(i);
+        }
+
+        final IntArrayList other = new IntArrayList();
+        other.add(10);
+        assertTrue(other.addAll(intArrayList.subList(1, 4)));
+        assertArrayEquals(new int[] { 10, 1, 2, 3 }, other.toArray());
+
+        assertTrue(intArrayList.addAll(intArrayList.subList(0, 5)));
+        assertArrayEquals(new int[] { 0, 1, 2, 3, 4, 0, 1, 2, 3, 4 }, intArrayList.toArray());
+    }
+
+    @Test
+    public void testSubListParcelable() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        for (int i = 0; i < 10; i++) {
+            intArrayList.add(i * 10);
+        }
+        final IntArrayList.SubList subListIn = intArrayList.subList(3, 7);
+
+        final Parcel parcel = MockParcel.obtain();
+        subListIn.writeToParcel(parcel, 0);
+
+        parcel.setDataPosition(0);
+
+        final IntArrayList intArrayListOut = IntArrayList.CREATOR.createFromParcel(parcel);
+        assertArrayEquals(subListIn.toArray(), intArrayListOut.toArray());
+    }
+
+    @Test
+    public void testSubListParcelableDeltaVarInt() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        for (int i = 0; i < 10; i++) {
+            intArrayList.add(1000 + i * 3);
+        }
+        intArrayList.setParcelEncoding(IntArrayList.PARCEL_ENCODING_DELTA_VARINT);
+        final IntArrayList.SubList subListIn = intArrayList.subList(2, 9);
+
+        final Parcel parcel = MockParcel.obtain();
+        subListIn.writeToParcel(parcel, 0);
+
+        parcel.setDataPosition(0);
+
+        final IntArrayList.SubList subListOut = IntArrayList.SubList.CREATOR.createFromParcel(parcel);
+        assertArrayEquals(subListIn.toArray(), subListOut.toArray());
+    }
+
+    @Test
+    public void testIndexOfEveryPosition() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        for (int i = 0; i < 11; i++) {
+            intArrayList.add(i);
+        }
+
+        for (int i = 0; i < 11; i++) {
+            assertThat(intArrayList.indexOf(i), is(i));
+        }
+        assertThat(intArrayList.indexOf(11), is(-1));
+    }
+
+    @Test
+    public void testRemoveIf() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        for (int i = 0; i < 10; i++) {
+            intArrayList.add(i);
+        }
+
+        final int removed = intArrayList.removeIf(new IntPredicate() {
+
+            @Override
+            public boolean apply(final int value) {
+                return value % 3 == 0;
+            }
+
+        });
+        assertThat(removed, is(4));
+        assertArrayEquals(new int[] { 1, 2, 4, 5, 7, 8 }, intArrayList.toArray());
+    }
+
+    @Test
+    public void testRemoveIfLarge() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        for (int i = 0; i < 100000; i++) {
+            intArrayList.add(i);
+        }
+
+        final int removed = intArrayList.removeIf(new IntPredicate() {
+
+            @Override
+            public boolean apply(final int value) {
+                return (value & 1) != 0;
+            }
+
+        });
+        assertThat(removed, is(50000));
+        assertThat(intArrayList.size(), is(50000));
+        for (int i = 0; i < 50000; i++) {
+            assertThat(intArrayList.get(i), is(2 * i));
+        }
+    }
+
+    @Test
+    public void testRemoveIfKeepsSnapshot() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(1);
+        intArrayList.add(2);
+        intArrayList.add(3);
+        final IntArrayList.Snapshot snapshot = intArrayList.snapshot();
+
+        assertThat(intArrayList.removeValue(1), is(1));
+        assertArrayEquals(new int[] { 2, 3 }, intArrayList.toArray());
+        assertArrayEquals(new int[] { 1, 2, 3 }, snapshot.toArray());
+    }
+
+    @Test
+    public void testRemoveValue() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.add(5);
+        intArrayList.add(1);
+        intArrayList.add(5);
+        intArrayList.add(2);
+        intArrayList.add(5);
+
+        assertThat(intArrayList.removeValue(7), is(0));
+        assertThat(intArrayList.removeValue(5), is(3));
+        assertArrayEquals(new int[] { 1, 2 }, intArrayList.toArray());
+    }
+
+    @Test
+    public void testRemoveAll() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        for (int i = 0; i < 10; i++) {
+            intArrayList.add(i);
+        }
+        final IntArrayList removedList = new IntArrayList();
+        removedList.add(2);
+        removedList.add(3);
+        removedList.add(42);
+        final IntHashSet removedSet = new IntHashSet();
+        removedSet.add(0);
+        removedSet.add(9);
+
+        assertThat(intArrayList.removeAll(removedList), is(2));
+        assertThat(intArrayList.removeAll(removedSet), is(2));
+        assertArrayEquals(new int[] { 1, 4, 5, 6, 7, 8 }, intArrayList.toArray());
+
+        assertThat(intArrayList.removeAll(intArrayList), is(6));
+        assertTrue(intArrayList.isEmpty());
+    }
+
+    @Test
+    public void testRetainAll() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        for (int i = 0; i < 10; i++) {
+            intArrayList.add(i);
+        }
+        final IntArrayList retainedList = new IntArrayList();
+        for (int i = 0; i < 10; i += 2) {
+            retainedList.add(i);
+        }
+        final IntHashSet retainedSet = new IntHashSet();
+        retainedSet.add(4);
+        retainedSet.add(6);
+        retainedSet.add(7);
+
+        assertThat(intArrayList.retainAll(intArrayList), is(0));
+        assertThat(intArrayList.retainAll(retainedList), is(5));
+        assertThat(intArrayList.retainAll(retainedSet), is(3));
+        assertArrayEquals(new int[] { 4, 6 }, intArrayList.toArray());
+    }
+
+    @Test
+    public void testIndexOfAny() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        for (int i = 0; i < 10; i++) {
+            intArrayList.add(i * 10);
+        }
+        final IntHashSet set = new IntHashSet();
+        assertThat(intArrayList.indexOfAny(set), is(-1));
+
+        set.add(75);
+        set.add(70);
+        set.add(30);
+        assertThat(intArrayList.indexOfAny(set), is(3));
+
+        set.remove(30);
+        assertThat(intArrayList.indexOfAny(set), is(7));
+        set.remove(70);
+        assertThat(intArrayList.indexOfAny(set), is(-1));
+    }
+
+    @Test
+    public void testLastIndexOf() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        assertThat(intArrayList.lastIndexOf(0), is(-1));
+        for (int i = 0; i < 22; i++) {
+            intArrayList.add((i % 11));
+        }
+
+        for (int i = 0; i < 11; i++) {
+            assertThat(intArrayList.lastIndexOf(i), is(11 + i));
+        }
+        assertThat(intArrayList.lastIndexOf(11), is(-1));
+    }
+
+    @Test
+    public void testHashCodeEverySize() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        for (int i = 0; i < 10; i++) {
+            assertThat(intArrayList.hashCode(), is(Arrays.hashCode(intArrayList.toArray())));
+            intArrayList.add((i * 7));
+        }
+    }
+
+    @Test
+    public void testNotEqualsEveryPosition() throws Exception {
+        final IntArrayList intArrayList1 = new IntArrayList();
+        for (int i = 0; i < 10; i++) {
+            intArrayList1.add(i);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            final IntArrayList intArrayList2 = new IntArrayList(intArrayList1);
+            assertTrue(intArrayList1.equals(intArrayList2));
+            intArrayList2.set(i, 100);
+            assertFalse(intArrayList1.equals(intArrayList2));
+        }
+    }
+
     @Test
     public void testParcelable() throws Exception {
         final IntArrayList intArrayListIn = new IntArrayList();
@@ -311,6 +1187,50 @@ public class IntArrayListTest {
         assertEquals(intArrayListIn, intArrayListOut);
     }
 
+    @Test
+    public void testParcelableEmpty() throws Exception {
+        final IntArrayList intArrayListIn = new IntArrayList();
+
+        final Parcel parcel = MockParcel.obtain();
+        intArrayListIn.writeToParcel(parcel, 0);
+
+        parcel.setDataPosition(0);
+
+        final IntArrayList intArrayListOut = IntArrayList.CREATOR.createFromParcel(parcel);
+        assertTrue(intArrayListOut.isEmpty());
+
+        intArrayListOut.add(100);
+        assertThat(intArrayListOut.get(0), is(100));
+    }
+
+    @Test
+    public void testParcelableDeltaVarInt() throws Exception {
+        final IntArrayList intArrayListIn = new IntArrayList();
+        intArrayListIn.add(1000);
+        intArrayListIn.add(1001);
+        intArrayListIn.add(1003);
+        intArrayListIn.add(-5);
+        intArrayListIn.add(Integer.MAX_VALUE);
+        intArrayListIn.add(Integer.MIN_VALUE);
+        intArrayListIn.add(0);
+        intArrayListIn.setParcelEncoding(IntArrayList.PARCEL_ENCODING_DELTA_VARINT);
+
+        final Parcel parcel = MockParcel.obtain();
+        intArrayListIn.writeToParcel(parcel, 0);
+
+        parcel.setDataPosition(0);
+
+        final IntArrayList intArrayListOut = IntArrayList.CREATOR.createFromParcel(parcel);
+        assertEquals(intArrayListIn, intArrayListOut);
+        assertThat(intArrayListOut.getParcelEncoding(), is(IntArrayList.PARCEL_ENCODING_DELTA_VARINT));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalParcelEncoding() throws Exception {
+        final IntArrayList intArrayList = new IntArrayList();
+        intArrayList.setParcelEncoding(2);
+    }
+
     @Test
     public void testParcelableNewArray() throws Exception {
         final IntArrayList[] array = IntArrayList.CREATOR.newArray(2);
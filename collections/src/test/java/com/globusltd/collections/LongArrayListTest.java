@@ -19,7 +19,13 @@ import android.os.Parcel;
 
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertArrayEquals;
@@ -28,6 +34,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class LongArrayListTest {
     
@@ -69,6 +76,17 @@ public class LongArrayListTest {
         assertThat(longArrayList.get(2), is(200L));
     }
 
+    @Test
+    public void testAddItemAtEnd() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(100);
+        longArrayList.add(200);
+    
+        longArrayList.add(2, 300);
+    
+        assertThat(longArrayList.get(2), is(300L));
+    }
+    
     @Test
     public void testSetItem1() throws Exception {
         final LongArrayList longArrayList = new LongArrayList();
@@ -190,6 +208,300 @@ public class LongArrayListTest {
     }
     
     @Test
+    public void testAddAllArray() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(100);
+    
+        assertTrue(longArrayList.addAll(new long[] { 1, 2, 3, 4 }, 1, 2));
+        assertFalse(longArrayList.addAll(new long[] { 1, 2 }, 2, 0));
+    
+        assertArrayEquals(new long[] { 100, 2, 3 }, longArrayList.toArray());
+    }
+    
+    @Test
+    public void testAddAllList() throws Exception {
+        final LongArrayList longArrayList1 = new LongArrayList();
+        longArrayList1.add(100);
+        longArrayList1.add(200);
+    
+        final LongArrayList longArrayList2 = new LongArrayList();
+        longArrayList2.add(300);
+    
+        assertTrue(longArrayList2.addAll(longArrayList1));
+        assertTrue(longArrayList2.addAll(longArrayList2));
+    
+        assertArrayEquals(new long[] { 300, 100, 200, 300, 100, 200 }, longArrayList2.toArray());
+    }
+    
+    @Test
+    public void testAddAllAt() throws Exception {
+        final LongArrayList longArrayList1 = new LongArrayList();
+        longArrayList1.add(100);
+        longArrayList1.add(400);
+    
+        assertTrue(longArrayList1.addAll(1, new long[] { 200, 300 }, 0, 2));
+        assertArrayEquals(new long[] { 100, 200, 300, 400 }, longArrayList1.toArray());
+    
+        final LongArrayList longArrayList2 = new LongArrayList();
+        longArrayList2.add(500);
+    
+        assertTrue(longArrayList1.addAll(4, longArrayList2));
+        assertTrue(longArrayList1.addAll(0, longArrayList1));
+        assertArrayEquals(new long[] { 100, 200, 300, 400, 500, 100, 200, 300, 400, 500 },
+                longArrayList1.toArray());
+    }
+    
+    @Test
+    public void testAddAllKeepsItemsOnGrowth() throws Exception {
+        final long[] array = new long[100];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i;
+        }
+    
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(-1);
+        longArrayList.add(-2);
+        longArrayList.addAll(1, array, 0, array.length);
+    
+        assertThat(longArrayList.size(), is(102));
+        assertThat(longArrayList.get(0), is((long) -1));
+        for (int i = 0; i < array.length; i++) {
+            assertThat(longArrayList.get(i + 1), is((long) i));
+        }
+        assertThat(longArrayList.get(101), is((long) -2));
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAddAllIllegalRange() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.addAll(new long[] { 1, 2 }, 1, 2);
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAddAllIllegalIndex() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.addAll(1, new long[] { 1, 2 }, 0, 2);
+    }
+    
+    @Test
+    public void testSetAll() throws Exception {
+        final LongArrayList longArrayList1 = new LongArrayList();
+        longArrayList1.add(100);
+        longArrayList1.add(200);
+        longArrayList1.add(300);
+    
+        longArrayList1.setAll(new long[] { 1, 2, 3, 4 }, 2, 2);
+        assertArrayEquals(new long[] { 3, 4 }, longArrayList1.toArray());
+    
+        final LongArrayList longArrayList2 = new LongArrayList();
+        for (int i = 0; i < 100; i++) {
+            longArrayList2.add(i);
+        }
+    
+        longArrayList1.setAll(longArrayList2);
+        assertEquals(longArrayList2, longArrayList1);
+    }
+    
+    @Test
+    public void testRemoveRange() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        for (int i = 0; i < 10; i++) {
+            longArrayList.add(i);
+        }
+    
+        longArrayList.removeRange(2, 5);
+        assertArrayEquals(new long[] { 0, 1, 5, 6, 7, 8, 9 }, longArrayList.toArray());
+    
+        longArrayList.removeRange(3, 3);
+        assertThat(longArrayList.size(), is(7));
+    
+        longArrayList.removeRange(0, 7);
+        assertTrue(longArrayList.isEmpty());
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testRemoveRangeIllegalRange() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(100);
+        longArrayList.removeRange(1, 0);
+    }
+    
+        @Test
+    public void testSort() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(30);
+        longArrayList.add(-10);
+        longArrayList.add(20);
+        longArrayList.add(10);
+    
+        longArrayList.sort();
+    
+        assertArrayEquals(new long[] { -10, 10, 20, 30 }, longArrayList.toArray());
+    }
+    
+    @Test
+    public void testBinarySearch() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(10);
+        longArrayList.add(20);
+        longArrayList.add(30);
+    
+        assertThat(longArrayList.binarySearch(20), is(1));
+        assertThat(longArrayList.binarySearch(5), is(-1));
+        assertThat(longArrayList.binarySearch(25), is(-3));
+        assertThat(longArrayList.binarySearch(40), is(-4));
+    }
+    
+    @Test
+    public void testAddSorted() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        assertThat(longArrayList.addSorted(20), is(0));
+        assertThat(longArrayList.addSorted(10), is(0));
+        assertThat(longArrayList.addSorted(30), is(2));
+        assertThat(longArrayList.addSorted(25), is(2));
+    
+        assertArrayEquals(new long[] { 10, 20, 25, 30 }, longArrayList.toArray());
+    }
+    
+    @Test
+    public void testRemoveDuplicatesSorted() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(10);
+        longArrayList.add(10);
+        longArrayList.add(20);
+        longArrayList.add(30);
+        longArrayList.add(30);
+        longArrayList.add(30);
+    
+        assertThat(longArrayList.removeDuplicatesSorted(), is(3));
+        assertArrayEquals(new long[] { 10, 20, 30 }, longArrayList.toArray());
+    }
+    
+        @Test
+    public void testRemoveDuplicatesSortedWithoutDuplicates() throws Exception {
+        final CollectionStats stats = new CollectionStats();
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(10);
+        longArrayList.add(20);
+        longArrayList.setStats(stats);
+        final LongArrayList.Snapshot snapshot = longArrayList.snapshot();
+        final LongArrayList.SubList subList = longArrayList.subList(0, 2);
+    
+        assertThat(longArrayList.removeDuplicatesSorted(), is(0));
+        assertThat(stats.getCopiedElements(), is(0L));
+        assertThat(subList.get(1), is((long) 20));
+    
+        longArrayList.add(20);
+        assertThat(longArrayList.removeDuplicatesSorted(), is(1));
+        assertArrayEquals(new long[] { 10, 20 }, longArrayList.toArray());
+        assertThat(snapshot.size(), is(2));
+    }
+    
+        @Test
+    public void testForEach() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(10);
+        longArrayList.add(20);
+        longArrayList.add(30);
+    
+        final LongArrayList visited = new LongArrayList();
+        longArrayList.forEach(new LongProcedure() {
+            @Override
+            public void apply(final long value) {
+                visited.add(value);
+            }
+        });
+    
+        assertEquals(longArrayList, visited);
+    }
+    
+    @Test
+    public void testForEachWhile() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(10);
+        longArrayList.add(20);
+        longArrayList.add(30);
+    
+        final LongArrayList visited = new LongArrayList();
+        final LongPredicate lessThan20 = new LongPredicate() {
+            @Override
+            public boolean apply(final long value) {
+                visited.add(value);
+                return value < 20;
+            }
+        };
+    
+        assertFalse(longArrayList.forEachWhile(lessThan20));
+        assertThat(visited.size(), is(2));
+    
+        longArrayList.removeAt(2);
+        longArrayList.removeAt(1);
+        assertTrue(longArrayList.forEachWhile(lessThan20));
+    }
+    
+    @Test
+    public void testCursor() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(10);
+        longArrayList.add(20);
+    
+        final LongArrayList.Cursor cursor = longArrayList.cursor();
+        assertThat(cursor.index(), is(-1));
+        assertTrue(cursor.moveNext());
+        assertThat(cursor.value(), is((long) 10));
+        assertThat(cursor.index(), is(0));
+        assertTrue(cursor.moveNext());
+        assertThat(cursor.value(), is((long) 20));
+        assertFalse(cursor.moveNext());
+    
+        longArrayList.add(30);
+        cursor.reset(longArrayList);
+    
+        final LongArrayList visited = new LongArrayList();
+        while (cursor.moveNext()) {
+            visited.add(cursor.value());
+        }
+        assertEquals(longArrayList, visited);
+    }
+    
+        @Test
+    public void testSumMinMax() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(Long.MAX_VALUE);
+        longArrayList.add(Long.MAX_VALUE);
+        longArrayList.add(-20);
+        longArrayList.add(30);
+    
+        assertThat(longArrayList.sum(), is(2L * Long.MAX_VALUE + 10));
+        assertThat(longArrayList.min(), is((long) -20));
+        assertThat(longArrayList.max(), is(Long.MAX_VALUE));
+        assertThat(new LongArrayList().sum(), is(0L));
+    }
+    
+    @Test(expected = NoSuchElementException.class)
+    public void testMinOfEmptyList() throws Exception {
+        new LongArrayList().min();
+    }
+    
+    @Test
+    public void testCountAndFilter() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        for (int i = 0; i < 10; i++) {
+            longArrayList.add(i);
+        }
+    
+        final LongPredicate even = new LongPredicate() {
+            @Override
+            public boolean apply(final long value) {
+                return value % 2 == 0;
+            }
+        };
+    
+        assertThat(longArrayList.count(even), is(5));
+        assertArrayEquals(new long[] { 0, 2, 4, 6, 8 }, longArrayList.filter(even).toArray());
+    }
+    
+        @Test
     public void testHashcode() throws Exception {
         final LongArrayList longArrayList = new LongArrayList();
         longArrayList.add(100);
@@ -296,6 +608,570 @@ public class LongArrayListTest {
     }
     
     @Test
+    public void testCapacityGrowthKeepsItems() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        for (int i = 0; i < 100; i++) {
+            longArrayList.add(i);
+        }
+    
+        for (int i = 0; i < 100; i++) {
+            assertThat(longArrayList.get(i), is((long) i));
+        }
+    }
+    
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        final LongArrayList longArrayListIn = new LongArrayList();
+        for (int i = 0; i < 100000; i++) {
+            longArrayListIn.add(i * 7 - 1000);
+        }
+    
+        final File file = File.createTempFile("list", null);
+        try {
+            final RandomAccessFile out = new RandomAccessFile(file, "rw");
+            try {
+                longArrayListIn.saveTo(out.getChannel());
+                new LongArrayList().saveTo(out.getChannel());
+            } finally {
+                out.close();
+            }
+    
+            final RandomAccessFile in = new RandomAccessFile(file, "r");
+            try {
+                final FileChannel channel = in.getChannel();
+                assertEquals(longArrayListIn, LongArrayList.loadFrom(channel));
+                assertTrue(LongArrayList.loadFrom(channel).isEmpty());
+                assertThat(channel.position(), is(channel.size()));
+            } finally {
+                in.close();
+            }
+        } finally {
+            file.delete();
+        }
+    }
+    
+    @Test(expected = IOException.class)
+    public void testLoadFromTruncatedFile() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(100);
+        longArrayList.add(200);
+    
+        final File file = File.createTempFile("list", null);
+        try {
+            final RandomAccessFile out = new RandomAccessFile(file, "rw");
+            try {
+                longArrayList.saveTo(out.getChannel());
+                out.getChannel().truncate(out.length() - 1);
+            } finally {
+                out.close();
+            }
+    
+            final RandomAccessFile in = new RandomAccessFile(file, "r");
+            try {
+                LongArrayList.loadFrom(in.getChannel());
+            } finally {
+                in.close();
+            }
+        } finally {
+            file.delete();
+        }
+    }
+    
+        @Test
+    public void testObtainRecycle() throws Exception {
+        final LongArrayList longArrayList = LongArrayList.obtain();
+        for (int i = 0; i < 100; i++) {
+            longArrayList.add(i);
+        }
+        longArrayList.setParcelEncoding(LongArrayList.PARCEL_ENCODING_DELTA_VARINT);
+        longArrayList.recycle();
+    
+        final LongArrayList obtained = LongArrayList.obtain();
+        assertTrue(obtained.isEmpty());
+        assertThat(obtained.getParcelEncoding(), is(LongArrayList.PARCEL_ENCODING_PLAIN));
+        obtained.add(100);
+        assertThat(obtained.get(0), is((long) 100));
+        obtained.recycle();
+    }
+    
+    @Test
+    public void testRecycleDropsLargeArray() throws Exception {
+        final LongArrayList longArrayList = LongArrayList.obtain();
+        for (int i = 0; i <= LongArrayList.MAX_RECYCLED_CAPACITY; i++) {
+            longArrayList.add(i);
+        }
+        longArrayList.recycle();
+    
+        final LongArrayList obtained = LongArrayList.obtain();
+        assertTrue(obtained.isEmpty());
+        assertTrue(obtained.items().length <= LongArrayList.MAX_RECYCLED_CAPACITY);
+        obtained.add(100);
+        assertThat(obtained.size(), is(1));
+        obtained.recycle();
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testRecycleTwice() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.recycle();
+        longArrayList.recycle();
+    }
+    
+        @Test
+    public void testSnapshot() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        for (int i = 0; i < 5; i++) {
+            longArrayList.add(i);
+        }
+        final LongArrayList.Snapshot snapshot = longArrayList.snapshot();
+        longArrayList.set(0, 100);
+        longArrayList.removeAt(4);
+        longArrayList.add(200);
+    
+        assertThat(snapshot.size(), is(5));
+        assertArrayEquals(new long[] { 0, 1, 2, 3, 4 }, snapshot.toArray());
+        assertArrayEquals(new long[] { 100, 1, 2, 3, 200 }, longArrayList.toArray());
+        assertThat(snapshot.get(4), is((long) 4));
+        assertThat(snapshot.indexOf(3), is(3));
+        assertFalse(snapshot.contains(100));
+        assertThat(snapshot.sum(), is(10L));
+    }
+    
+    @Test
+    public void testSnapshotCopiesLazily() throws Exception {
+        final CollectionStats stats = new CollectionStats();
+        final LongArrayList longArrayList = new LongArrayList();
+        for (int i = 0; i < 10; i++) {
+            longArrayList.add(i);
+        }
+        longArrayList.setStats(stats);
+    
+        final LongArrayList.Snapshot snapshot = longArrayList.snapshot();
+        longArrayList.add(10);
+        assertThat(stats.getCopiedElements(), is(0L));
+    
+        longArrayList.removeAt(10);
+        assertThat(stats.getCopiedElements(), is(11L));
+        longArrayList.set(0, 100);
+        assertThat(stats.getCopiedElements(), is(11L));
+        assertThat(snapshot.get(0), is((long) 0));
+    }
+    
+    @Test
+    public void testSnapshotClear() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(1);
+        longArrayList.add(2);
+        final LongArrayList.Snapshot snapshot = longArrayList.snapshot();
+        longArrayList.clear();
+        longArrayList.add(3);
+    
+        assertArrayEquals(new long[] { 1, 2 }, snapshot.toArray());
+        assertArrayEquals(new long[] { 3 }, longArrayList.toArray());
+    }
+    
+    @Test
+    public void testSnapshotToList() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(1);
+        longArrayList.add(2);
+        final LongArrayList.Snapshot snapshot = longArrayList.snapshot();
+    
+        final LongArrayList restored = snapshot.toLongArrayList();
+        assertEquals(longArrayList, restored);
+        restored.add(3);
+        restored.set(0, 100);
+        assertArrayEquals(new long[] { 1, 2 }, snapshot.toArray());
+        assertArrayEquals(new long[] { 1, 2 }, longArrayList.toArray());
+    }
+    
+    @Test
+    public void testSnapshotEquals() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(1);
+        longArrayList.add(2);
+        final LongArrayList.Snapshot snapshot1 = longArrayList.snapshot();
+        final LongArrayList.Snapshot snapshot2 = new LongArrayList(longArrayList).snapshot();
+    
+        assertEquals(snapshot1, snapshot2);
+        assertThat(snapshot1.hashCode(), is(longArrayList.hashCode()));
+        assertThat(snapshot1.hashCode(), is(snapshot2.hashCode()));
+        assertEquals("LongArrayList.Snapshot [ 1, 2 ]", snapshot1.toString());
+        assertEquals("LongArrayList.Snapshot [ ]", new LongArrayList().snapshot().toString());
+    
+        longArrayList.add(3);
+        assertNotEquals(snapshot1, longArrayList.snapshot());
+    }
+    
+    @Test
+    public void testSubList() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        for (int i = 0; i < 10; i++) {
+            longArrayList.add(i);
+        }
+    
+        final LongArrayList.SubList subList = longArrayList.subList(2, 6);
+        assertThat(subList.size(), is(4));
+        assertThat(subList.get(0), is((long) 2));
+        assertThat(subList.indexOf(5), is(3));
+        assertThat(subList.indexOf(6), is(-1));
+        assertFalse(subList.contains(1));
+        assertThat(subList.sum(), is(14L));
+        assertArrayEquals(new long[] { 2, 3, 4, 5 }, subList.toArray());
+        assertEquals("LongArrayList.SubList [ 2, 3, 4, 5 ]", subList.toString());
+    
+        assertThat(subList.set(1, 100), is((long) 3));
+        assertThat(longArrayList.get(3), is((long) 100));
+        assertThat(subList.get(1), is((long) 100));
+    }
+    
+    @Test
+    public void testSubListEmpty() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(1);
+    
+        final LongArrayList.SubList subList = longArrayList.subList(1, 1);
+        assertTrue(subList.isEmpty());
+        assertThat(subList.toArray().length, is(0));
+        assertEquals("LongArrayList.SubList [ ]", subList.toString());
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSubListInvalidRange() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(1);
+        longArrayList.subList(0, 2);
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSubListGetOutOfRange() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(1);
+        longArrayList.add(2);
+        longArrayList.subList(0, 1).get(1);
+    }
+    
+    @Test(expected = ConcurrentModificationException.class)
+    public void testSubListFailsFast() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(1);
+        longArrayList.add(2);
+        final LongArrayList.SubList subList = longArrayList.subList(0, 2);
+        longArrayList.set(0, 3); // not a structural modification
+        assertThat(subList.get(0), is((long) 3));
+    
+        longArrayList.removeAt(1);
+        subList.get(0);
+    }
+    
+    @Test(expected = ConcurrentModificationException.class)
+    public void testSubListFailsFastAfterSort() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(2);
+        longArrayList.add(1);
+        final LongArrayList.SubList subList = longArrayList.subList(0, 2);
+    
+        longArrayList.sort();
+        subList.get(0);
+    }
+    
+        @Test
+    public void testSubListSetAfterSnapshot() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(1);
+        longArrayList.add(2);
+        final LongArrayList.Snapshot snapshot = longArrayList.snapshot();
+    
+        longArrayList.subList(1, 2).set(0, 100);
+        assertThat(longArrayList.get(1), is((long) 100));
+        assertThat(snapshot.get(1), is((long) 2));
+    }
+    
+    @Test
+    public void testRemoveAtInvalidIndexAfterSnapshot() throws Exception {
+        final CollectionStats stats = new CollectionStats();
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(1);
+        longArrayList.setStats(stats);
+        longArrayList.snapshot();
+    
+        try {
+            longArrayList.removeAt(1);
+            fail();
+        } catch (final IndexOutOfBoundsException expected) {
+            // the shared backing array is not copied
+        }
+        assertThat(stats.getCopiedElements(), is(0L));
+    }
+    
+    @Test
+    public void testRemoveEmptyRange() throws Exception {
+        final CollectionStats stats = new CollectionStats();
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(1);
+        longArrayList.add(2);
+        longArrayList.setStats(stats);
+        final LongArrayList.Snapshot snapshot = longArrayList.snapshot();
+        final LongArrayList.SubList subList = longArrayList.subList(0, 2);
+    
+        longArrayList.removeRange(1, 1);
+        assertThat(stats.getCopiedElements(), is(0L));
+        assertThat(subList.get(1), is((long) 2));
+        assertThat(snapshot.size(), is(2));
+    }
+    
+    @Test
+    public void testSetAllAfterSnapshot() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(1);
+        final LongArrayList.Snapshot snapshot = longArrayList.snapshot();
+    
+        final long[] array = new long[100];
+        array[99] = 2;
+        longArrayList.setAll(array, 0, array.length);
+        assertThat(longArrayList.get(99), is((long) 2));
+        assertArrayEquals(new long[] { 1 }, snapshot.toArray());
+    
+        final LongArrayList.Snapshot snapshot2 = longArrayList.snapshot();
+        longArrayList.setAll(new long[] { 3 }, 0, 1);
+        assertArrayEquals(new long[] { 3 }, longArrayList.toArray());
+        assertThat(snapshot2.get(99), is((long) 2));
+    }
+    
+        @Test
+    public void testAddAllSubList() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        for (int i = 0; i < 5; i++) {
+            longArrayList.add(i);
+        }
+    
+        final LongArrayList other = new LongArrayList();
+        other.add(10);
+        assertTrue(other.addAll(longArrayList.subList(1, 4)));
+        assertArrayEquals(new long[] { 10, 1, 2, 3 }, other.toArray());
+    
+        assertTrue(longArrayList.addAll(longArrayList.subList(0, 5)));
+        assertArrayEquals(new long[] { 0, 1, 2, 3, 4, 0, 1, 2, 3, 4 }, longArrayList.toArray());
+    }
+    
+    @Test
+    public void testSubListParcelable() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        for (int i = 0; i < 10; i++) {
+            longArrayList.add(i * 10);
+        }
+        final LongArrayList.SubList subListIn = longArrayList.subList(3, 7);
+    
+        final Parcel parcel = MockParcel.obtain();
+        subListIn.writeToParcel(parcel, 0);
+    
+        parcel.setDataPosition(0);
+    
+        final LongArrayList longArrayListOut = LongArrayList.CREATOR.createFromParcel(parcel);
+        assertArrayEquals(subListIn.toArray(), longArrayListOut.toArray());
+    }
+    
+    @Test
+    public void testSubListParcelableDeltaVarInt() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        for (int i = 0; i < 10; i++) {
+            longArrayList.add(1000 + i * 3);
+        }
+        longArrayList.setParcelEncoding(LongArrayList.PARCEL_ENCODING_DELTA_VARINT);
+        final LongArrayList.SubList subListIn = longArrayList.subList(2, 9);
+    
+        final Parcel parcel = MockParcel.obtain();
+        subListIn.writeToParcel(parcel, 0);
+    
+        parcel.setDataPosition(0);
+    
+        final LongArrayList.SubList subListOut = LongArrayList.SubList.CREATOR.createFromParcel(parcel);
+        assertArrayEquals(subListIn.toArray(), subListOut.toArray());
+    }
+    
+    @Test
+    public void testIndexOfEveryPosition() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        for (int i = 0; i < 11; i++) {
+            longArrayList.add(i);
+        }
+    
+        for (int i = 0; i < 11; i++) {
+            assertThat(longArrayList.indexOf(i), is(i));
+        }
+        assertThat(longArrayList.indexOf(11), is(-1));
+    }
+    
+    @Test
+    public void testRemoveIf() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        for (int i = 0; i < 10; i++) {
+            longArrayList.add(i);
+        }
+    
+        final int removed = longArrayList.removeIf(new LongPredicate() {
+    
+            @Override
+            public boolean apply(final long value) {
+                return value % 3 == 0;
+            }
+    
+        });
+        assertThat(removed, is(4));
+        assertArrayEquals(new long[] { 1, 2, 4, 5, 7, 8 }, longArrayList.toArray());
+    }
+    
+    @Test
+    public void testRemoveIfLarge() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        for (int i = 0; i < 100000; i++) {
+            longArrayList.add(i);
+        }
+    
+        final int removed = longArrayList.removeIf(new LongPredicate() {
+    
+            @Override
+            public boolean apply(final long value) {
+                return (value & 1) != 0;
+            }
+    
+        });
+        assertThat(removed, is(50000));
+        assertThat(longArrayList.size(), is(50000));
+        for (int i = 0; i < 50000; i++) {
+            assertThat(longArrayList.get(i), is((long) (2 * i)));
+        }
+    }
+    
+    @Test
+    public void testRemoveIfKeepsSnapshot() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(1);
+        longArrayList.add(2);
+        longArrayList.add(3);
+        final LongArrayList.Snapshot snapshot = longArrayList.snapshot();
+    
+        assertThat(longArrayList.removeValue(1), is(1));
+        assertArrayEquals(new long[] { 2, 3 }, longArrayList.toArray());
+        assertArrayEquals(new long[] { 1, 2, 3 }, snapshot.toArray());
+    }
+    
+    @Test
+    public void testRemoveValue() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.add(5);
+        longArrayList.add(1);
+        longArrayList.add(5);
+        longArrayList.add(2);
+        longArrayList.add(5);
+    
+        assertThat(longArrayList.removeValue(7), is(0));
+        assertThat(longArrayList.removeValue(5), is(3));
+        assertArrayEquals(new long[] { 1, 2 }, longArrayList.toArray());
+    }
+    
+    @Test
+    public void testRemoveAll() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        for (int i = 0; i < 10; i++) {
+            longArrayList.add(i);
+        }
+        final LongArrayList removedList = new LongArrayList();
+        removedList.add(2);
+        removedList.add(3);
+        removedList.add(42);
+        final LongHashSet removedSet = new LongHashSet();
+        removedSet.add(0);
+        removedSet.add(9);
+    
+        assertThat(longArrayList.removeAll(removedList), is(2));
+        assertThat(longArrayList.removeAll(removedSet), is(2));
+        assertArrayEquals(new long[] { 1, 4, 5, 6, 7, 8 }, longArrayList.toArray());
+    
+        assertThat(longArrayList.removeAll(longArrayList), is(6));
+        assertTrue(longArrayList.isEmpty());
+    }
+    
+    @Test
+    public void testRetainAll() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        for (int i = 0; i < 10; i++) {
+            longArrayList.add(i);
+        }
+        final LongArrayList retainedList = new LongArrayList();
+        for (int i = 0; i < 10; i += 2) {
+            retainedList.add(i);
+        }
+        final LongHashSet retainedSet = new LongHashSet();
+        retainedSet.add(4);
+        retainedSet.add(6);
+        retainedSet.add(7);
+    
+        assertThat(longArrayList.retainAll(longArrayList), is(0));
+        assertThat(longArrayList.retainAll(retainedList), is(5));
+        assertThat(longArrayList.retainAll(retainedSet), is(3));
+        assertArrayEquals(new long[] { 4, 6 }, longArrayList.toArray());
+    }
+    
+    @Test
+    public void testIndexOfAny() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        for (int i = 0; i < 10; i++) {
+            longArrayList.add(i * 10);
+        }
+        final LongHashSet set = new LongHashSet();
+        assertThat(longArrayList.indexOfAny(set), is(-1));
+    
+        set.add(75);
+        set.add(70);
+        set.add(30);
+        assertThat(longArrayList.indexOfAny(set), is(3));
+    
+        set.remove(30);
+        assertThat(longArrayList.indexOfAny(set), is(7));
+        set.remove(70);
+        assertThat(longArrayList.indexOfAny(set), is(-1));
+    }
+    
+    @Test
+    public void testLastIndexOf() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        assertThat(longArrayList.lastIndexOf(0), is(-1));
+        for (int i = 0; i < 22; i++) {
+            longArrayList.add((i % 11));
+        }
+    
+        for (int i = 0; i < 11; i++) {
+            assertThat(longArrayList.lastIndexOf(i), is(11 + i));
+        }
+        assertThat(longArrayList.lastIndexOf(11), is(-1));
+    }
+    
+    @Test
+    public void testHashCodeEverySize() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        for (int i = 0; i < 10; i++) {
+            assertThat(longArrayList.hashCode(), is(Arrays.hashCode(longArrayList.toArray())));
+            longArrayList.add((i * 7));
+        }
+    }
+    
+    @Test
+    public void testNotEqualsEveryPosition() throws Exception {
+        final LongArrayList longArrayList1 = new LongArrayList();
+        for (int i = 0; i < 10; i++) {
+            longArrayList1.add(i);
+        }
+    
+        for (int i = 0; i < 10; i++) {
+            final LongArrayList longArrayList2 = new LongArrayList(longArrayList1);
+            assertTrue(longArrayList1.equals(longArrayList2));
+            longArrayList2.set(i, 100);
+            assertFalse(longArrayList1.equals(longArrayList2));
+        }
+    }
+    
+        @Test
     public void testParcelable() throws Exception {
         final LongArrayList longArrayListIn = new LongArrayList();
         longArrayListIn.add(100);
@@ -311,6 +1187,50 @@ public class LongArrayListTest {
         assertEquals(longArrayListIn, longArrayListOut);
     }
     
+    @Test
+    public void testParcelableEmpty() throws Exception {
+        final LongArrayList longArrayListIn = new LongArrayList();
+    
+        final Parcel parcel = MockParcel.obtain();
+        longArrayListIn.writeToParcel(parcel, 0);
+    
+        parcel.setDataPosition(0);
+    
+        final LongArrayList longArrayListOut = LongArrayList.CREATOR.createFromParcel(parcel);
+        assertTrue(longArrayListOut.isEmpty());
+    
+        longArrayListOut.add(100);
+        assertThat(longArrayListOut.get(0), is(100L));
+    }
+    
+    @Test
+    public void testParcelableDeltaVarInt() throws Exception {
+        final LongArrayList longArrayListIn = new LongArrayList();
+        longArrayListIn.add(1000);
+        longArrayListIn.add(1001);
+        longArrayListIn.add(1003);
+        longArrayListIn.add(-5);
+        longArrayListIn.add(Long.MAX_VALUE);
+        longArrayListIn.add(Long.MIN_VALUE);
+        longArrayListIn.add(0);
+        longArrayListIn.setParcelEncoding(LongArrayList.PARCEL_ENCODING_DELTA_VARINT);
+    
+        final Parcel parcel = MockParcel.obtain();
+        longArrayListIn.writeToParcel(parcel, 0);
+    
+        parcel.setDataPosition(0);
+    
+        final LongArrayList longArrayListOut = LongArrayList.CREATOR.createFromParcel(parcel);
+        assertEquals(longArrayListIn, longArrayListOut);
+        assertThat(longArrayListOut.getParcelEncoding(), is(LongArrayList.PARCEL_ENCODING_DELTA_VARINT));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalParcelEncoding() throws Exception {
+        final LongArrayList longArrayList = new LongArrayList();
+        longArrayList.setParcelEncoding(2);
+    }
+    
     @Test
     public void testParcelableNewArray() throws Exception {
         final LongArrayList[] array = LongArrayList.CREATOR.newArray(2);
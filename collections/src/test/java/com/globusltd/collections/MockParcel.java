@@ -23,9 +23,13 @@ import org.mockito.Matchers;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Matchers.anyFloat;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
@@ -76,13 +80,34 @@ class MockParcel {
         doAnswer(writeSingleValueAnswer).when(mParcel).writeString(anyString());
         doAnswer(writeSingleValueAnswer).when(mParcel).writeInt(anyInt());
         doAnswer(writeSingleValueAnswer).when(mParcel).writeLong(anyLong());
+        doAnswer(writeSingleValueAnswer).when(mParcel).writeFloat(anyFloat());
+        doAnswer(writeSingleValueAnswer).when(mParcel).writeDouble(anyDouble());
         doAnswer(writeSingleValueAnswer).when(mParcel).writeIntArray(Matchers.<int[]>any());
         doAnswer(writeSingleValueAnswer).when(mParcel).writeLongArray(Matchers.<long[]>any());
+        doAnswer(writeSingleValueAnswer).when(mParcel).writeFloatArray(Matchers.<float[]>any());
+        doAnswer(writeSingleValueAnswer).when(mParcel).writeDoubleArray(Matchers.<double[]>any());
+        doAnswer(writeSingleValueAnswer).when(mParcel).writeCharArray(Matchers.<char[]>any());
+        doAnswer(writeSingleValueAnswer).when(mParcel).writeByteArray(Matchers.<byte[]>any());
+        
+        final Answer<Void> writeByteArrayRangeAnswer = new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation) throws Throwable {
+                final byte[] array = (byte[]) invocation.getArguments()[0];
+                final int offset = (Integer) invocation.getArguments()[1];
+                final int length = (Integer) invocation.getArguments()[2];
+                mObjects.add(Arrays.copyOfRange(array, offset, offset + length));
+                return null;
+            }
+        };
+        doAnswer(writeByteArrayRangeAnswer).when(mParcel)
+                .writeByteArray(Matchers.<byte[]>any(), anyInt(), anyInt());
     }
     
     private void setupReads() {
         when(mParcel.readInt()).thenAnswer(readParceledValueAnswer());
         when(mParcel.readLong()).thenAnswer(readParceledValueAnswer());
+        when(mParcel.readFloat()).thenAnswer(readParceledValueAnswer());
+        when(mParcel.readDouble()).thenAnswer(readParceledValueAnswer());
         
         final Answer<Void> readIntArrayAnswer = new Answer<Void>() {
             @Override
@@ -105,6 +130,84 @@ class MockParcel {
             }
         };
         doAnswer(readLongArrayAnswer).when(mParcel).readLongArray(Matchers.<long[]>any());
+        
+        final Answer<Void> readFloatArrayAnswer = new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation) throws Throwable {
+                final float[] array = (float[]) mObjects.get(mPosition++);
+                final float[] argument = (float[]) invocation.getArguments()[0];
+                System.arraycopy(array, 0, argument, 0, argument.length);
+                return null;
+            }
+        };
+        doAnswer(readFloatArrayAnswer).when(mParcel).readFloatArray(Matchers.<float[]>any());
+        
+        final Answer<Void> readDoubleArrayAnswer = new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation) throws Throwable {
+                final double[] array = (double[]) mObjects.get(mPosition++);
+                final double[] argument = (double[]) invocation.getArguments()[0];
+                System.arraycopy(array, 0, argument, 0, argument.length);
+                return null;
+            }
+        };
+        doAnswer(readDoubleArrayAnswer).when(mParcel).readDoubleArray(Matchers.<double[]>any());
+        
+        final Answer<Void> readCharArrayAnswer = new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation) throws Throwable {
+                final char[] array = (char[]) mObjects.get(mPosition++);
+                final char[] argument = (char[]) invocation.getArguments()[0];
+                System.arraycopy(array, 0, argument, 0, argument.length);
+                return null;
+            }
+        };
+        doAnswer(readCharArrayAnswer).when(mParcel).readCharArray(Matchers.<char[]>any());
+        
+        final Answer<Void> readByteArrayAnswer = new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation) throws Throwable {
+                final byte[] array = (byte[]) mObjects.get(mPosition++);
+                final byte[] argument = (byte[]) invocation.getArguments()[0];
+                System.arraycopy(array, 0, argument, 0, argument.length);
+                return null;
+            }
+        };
+        doAnswer(readByteArrayAnswer).when(mParcel).readByteArray(Matchers.<byte[]>any());
+        
+        final Answer<Object> createArrayAnswer = new Answer<Object>() {
+            @Override
+            public Object answer(final InvocationOnMock invocation) throws Throwable {
+                final Object value = mObjects.get(mPosition++);
+                if (value.getClass().isArray()) {
+                    final int length = Array.getLength(value);
+                    final Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+                    System.arraycopy(value, 0, copy, 0, length);
+                    return copy;
+                }
+                
+                // The array was written as its length followed by the elements, like
+                // Parcel.writeIntArray does, chars are written as ints.
+                final Class<?> componentType = invocation.getMethod().getReturnType().getComponentType();
+                final int length = (Integer) value;
+                final Object array = Array.newInstance(componentType, length);
+                for (int i = 0; i < length; i++) {
+                    final Object element = mObjects.get(mPosition++);
+                    if (componentType == char.class) {
+                        Array.setChar(array, i, (char) ((Integer) element).intValue());
+                    } else {
+                        Array.set(array, i, element);
+                    }
+                }
+                return array;
+            }
+        };
+        when(mParcel.createIntArray()).thenAnswer(createArrayAnswer);
+        when(mParcel.createLongArray()).thenAnswer(createArrayAnswer);
+        when(mParcel.createFloatArray()).thenAnswer(createArrayAnswer);
+        when(mParcel.createDoubleArray()).thenAnswer(createArrayAnswer);
+        when(mParcel.createCharArray()).thenAnswer(createArrayAnswer);
+        when(mParcel.createByteArray()).thenAnswer(createArrayAnswer);
     }
     
     @SuppressWarnings("unchecked")
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.os.Parcel;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RoaringBitmapTest {
+
+    @Test
+    public void testAddContainsRemove() throws Exception {
+        final RoaringBitmap bitmap = new RoaringBitmap();
+        assertTrue(bitmap.add(100));
+        assertTrue(bitmap.add(70000));
+        assertFalse(bitmap.add(100));
+
+        assertThat(bitmap.cardinality(), is(2));
+        assertTrue(bitmap.contains(100));
+        assertTrue(bitmap.contains(70000));
+        assertFalse(bitmap.contains(200));
+
+        assertTrue(bitmap.remove(100));
+        assertFalse(bitmap.remove(100));
+        assertFalse(bitmap.contains(100));
+        assertTrue(bitmap.remove(70000));
+        assertTrue(bitmap.isEmpty());
+    }
+
+    @Test
+    public void testSignedOrder() throws Exception {
+        final RoaringBitmap bitmap = new RoaringBitmap();
+        bitmap.add(Integer.MAX_VALUE);
+        bitmap.add(0);
+        bitmap.add(-1);
+        bitmap.add(Integer.MIN_VALUE);
+        bitmap.add(65536);
+
+        assertArrayEquals(new int[] { Integer.MIN_VALUE, -1, 0, 65536, Integer.MAX_VALUE },
+                bitmap.toArray());
+    }
+
+    @Test
+    public void testArrayToBitmapAndBack() throws Exception {
+        final RoaringBitmap bitmap = new RoaringBitmap();
+        for (int i = 0; i < 10000; i++) {
+            bitmap.add(i * 2);
+        }
+        assertThat(bitmap.cardinality(), is(10000));
+        assertThat(bitmap.sizeInBytes(), is(2L + 8192L));
+
+        for (int i = 0; i < 10000; i++) {
+            if (i % 5 != 0) {
+                bitmap.remove(i * 2);
+            }
+        }
+        assertThat(bitmap.cardinality(), is(2000));
+        bitmap.optimize();
+        assertThat(bitmap.sizeInBytes(), is(2L + 4000L));
+        for (int i = 0; i < 10000; i++) {
+            assertThat(bitmap.contains(i * 2), is(i % 5 == 0));
+        }
+    }
+
+    @Test
+    public void testAddRange() throws Exception {
+        final RoaringBitmap bitmap = new RoaringBitmap();
+        bitmap.addRange(-100, 1000000);
+
+        assertThat(bitmap.cardinality(), is(1000100));
+        assertTrue(bitmap.contains(-100));
+        assertTrue(bitmap.contains(999999));
+        assertFalse(bitmap.contains(-101));
+        assertFalse(bitmap.contains(1000000));
+        // Every chunk is a single run.
+        assertTrue(bitmap.sizeInBytes() < 200L);
+
+        bitmap.remove(5000);
+        assertFalse(bitmap.contains(5000));
+        assertThat(bitmap.cardinality(), is(1000099));
+    }
+
+    @Test
+    public void testAddEmptyRange() throws Exception {
+        final RoaringBitmap bitmap = new RoaringBitmap();
+        bitmap.addRange(10, 10);
+        assertTrue(bitmap.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddInvalidRange() throws Exception {
+        new RoaringBitmap().addRange(10, 9);
+    }
+
+    @Test
+    public void testOptimize() throws Exception {
+        final RoaringBitmap bitmap = new RoaringBitmap();
+        for (int i = 0; i < 3000; i++) {
+            bitmap.add(i);
+        }
+        final RoaringBitmap copy = new RoaringBitmap(bitmap);
+
+        bitmap.optimize();
+        assertThat(bitmap.sizeInBytes(), is(6L));
+        assertEquals(copy, bitmap);
+        assertThat(bitmap.hashCode(), is(copy.hashCode()));
+    }
+
+    @Test
+    public void testSetOperations() throws Exception {
+        final Random random = new Random(42);
+        final RoaringBitmap[] bitmaps = new RoaringBitmap[4];
+        final List<TreeSet<Integer>> sets = new ArrayList<>();
+        for (int b = 0; b < bitmaps.length; b++) {
+            bitmaps[b] = new RoaringBitmap();
+            sets.add(new TreeSet<Integer>());
+        }
+
+        // Sparse, dense and run chunks at overlapping keys.
+        for (int b = 0; b < bitmaps.length; b++) {
+            for (int chunk = 0; chunk < 6; chunk++) {
+                final int base = (chunk - 3) << 16;
+                final int count = (chunk + b) % 3 == 0 ? 100 : 20000;
+                for (int i = 0; i < count; i++) {
+                    final int value = base + random.nextInt(1 << 16);
+                    bitmaps[b].add(value);
+                    sets.get(b).add(value);
+                }
+            }
+            final int from = random.nextInt(1 << 18) - (1 << 17);
+            bitmaps[b].addRange(from, from + 30000);
+            for (int value = from; value < from + 30000; value++) {
+                sets.get(b).add(value);
+            }
+        }
+
+        for (int a = 0; a < bitmaps.length; a++) {
+            for (int b = 0; b < bitmaps.length; b++) {
+                final TreeSet<Integer> and = new TreeSet<>(sets.get(a));
+                and.retainAll(sets.get(b));
+                assertArrayEquals(toArray(and), bitmaps[a].and(bitmaps[b]).toArray());
+
+                final TreeSet<Integer> or = new TreeSet<>(sets.get(a));
+                or.addAll(sets.get(b));
+                final RoaringBitmap union = bitmaps[a].or(bitmaps[b]);
+                assertArrayEquals(toArray(or), union.toArray());
+                assertThat(union.cardinality(), is(or.size()));
+
+                final TreeSet<Integer> andNot = new TreeSet<>(sets.get(a));
+                andNot.removeAll(sets.get(b));
+                assertArrayEquals(toArray(andNot), bitmaps[a].andNot(bitmaps[b]).toArray());
+            }
+        }
+    }
+
+    @Test
+    public void testIntArrayListConversion() throws Exception {
+        final IntArrayList list = new IntArrayList();
+        list.add(300);
+        list.add(-5);
+        list.add(100000);
+        list.add(300);
+        for (int i = 0; i < 5000; i++) {
+            list.add(1000 + i);
+        }
+
+        final RoaringBitmap bitmap = new RoaringBitmap(list);
+        assertThat(bitmap.cardinality(), is(5003));
+
+        final IntArrayList sorted = bitmap.toIntArrayList();
+        assertThat(sorted.size(), is(5003));
+        assertThat(sorted.get(0), is(-5));
+        assertThat(sorted.get(1), is(300));
+        assertThat(sorted.get(2), is(1000));
+        assertThat(sorted.get(5002), is(100000));
+        assertThat(sorted.hashCode(), is(bitmap.hashCode()));
+    }
+
+    @Test
+    public void testForEach() throws Exception {
+        final RoaringBitmap bitmap = new RoaringBitmap();
+        bitmap.addRange(0, 10);
+        bitmap.add(-7);
+        bitmap.add(1 << 20);
+
+        final IntArrayList visited = new IntArrayList();
+        bitmap.forEach(new IntProcedure() {
+
+            @Override
+            public void apply(final int item) {
+                visited.add(item);
+            }
+
+        });
+        assertEquals(bitmap.toIntArrayList(), visited);
+    }
+
+    @Test
+    public void testParcelable() throws Exception {
+        final RoaringBitmap bitmapIn = new RoaringBitmap();
+        bitmapIn.add(-1);
+        bitmapIn.add(3);
+        for (int i = 0; i < 5000; i++) {
+            bitmapIn.add((1 << 16) + i * 3);
+        }
+        bitmapIn.addRange(1 << 20, (1 << 20) + 50000);
+
+        final Parcel parcel = MockParcel.obtain();
+        bitmapIn.writeToParcel(parcel, 0);
+
+        parcel.setDataPosition(0);
+
+        final RoaringBitmap bitmapOut = RoaringBitmap.CREATOR.createFromParcel(parcel);
+        assertEquals(bitmapIn, bitmapOut);
+        assertThat(bitmapOut.cardinality(), is(55002));
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        final RoaringBitmap bitmap1 = new RoaringBitmap();
+        bitmap1.add(100);
+        bitmap1.add(200);
+
+        final RoaringBitmap bitmap2 = new RoaringBitmap();
+        bitmap2.add(200);
+        bitmap2.add(100);
+
+        assertEquals(bitmap1, bitmap2);
+        assertThat(bitmap1.hashCode(), is(bitmap2.hashCode()));
+
+        bitmap2.add(300);
+        assertNotEquals(bitmap1, bitmap2);
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        final RoaringBitmap bitmap = new RoaringBitmap();
+        bitmap.addRange(0, 100000);
+        bitmap.clear();
+
+        assertTrue(bitmap.isEmpty());
+        assertThat(bitmap.cardinality(), is(0));
+        assertThat(bitmap.toArray().length, is(0));
+    }
+
+    @Test
+    public void testFullRangeCardinality() throws Exception {
+        final RoaringBitmap bitmap = new RoaringBitmap();
+        bitmap.addRange(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        assertThat(bitmap.longCardinality(), is((1L << 32) - 1));
+        assertTrue(bitmap.contains(Integer.MIN_VALUE));
+        assertFalse(bitmap.contains(Integer.MAX_VALUE));
+
+        bitmap.add(Integer.MAX_VALUE);
+        assertThat(bitmap.longCardinality(), is(1L << 32));
+        assertEquals("RoaringBitmap { cardinality=4294967296 }", bitmap.toString());
+
+        try {
+            bitmap.cardinality();
+            fail();
+        } catch (final IllegalStateException expected) {
+            // does not fit into an int
+        }
+        try {
+            bitmap.toArray();
+            fail();
+        } catch (final IllegalStateException expected) {
+            // too large for an array
+        }
+        try {
+            bitmap.toIntArrayList();
+            fail();
+        } catch (final IllegalStateException expected) {
+            // too large for an array
+        }
+    }
+
+    @Test
+    public void testToString() throws Exception {
+        final RoaringBitmap bitmap = new RoaringBitmap();
+        bitmap.addRange(0, 10);
+
+        assertEquals("RoaringBitmap { cardinality=10 }", bitmap.toString());
+    }
+
+    private static int[] toArray(final TreeSet<Integer> set) {
+        final int[] array = new int[set.size()];
+        int i = 0;
+        for (final Integer value : set) {
+            array[i++] = value;
+        }
+        return array;
+    }
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class CompressedSorted${KTypeName}ListTest {
+
+    @Test
+    public void testGet() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = randomSortedList(1000, 1000);
+        final CompressedSorted${KTypeName}List list = new CompressedSorted${KTypeName}List(${KType}ArrayList);
+
+        assertThat(list.size(), is(1000));
+        for (int i = 0; i < 1000; i++) {
+            assertThat(list.get(i), is(${KType}ArrayList.get(i)));
+        }
+    }
+
+    @Test
+    public void testExtremeValues() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add(${KTypeBoxed}.MIN_VALUE);
+        ${KType}ArrayList.add(-1);
+        ${KType}ArrayList.add(0);
+        ${KType}ArrayList.add(0);
+        ${KType}ArrayList.add(${KTypeBoxed}.MAX_VALUE);
+
+        final CompressedSorted${KTypeName}List list = new CompressedSorted${KTypeName}List(${KType}ArrayList);
+
+        assertTrue(Arrays.equals(${KType}ArrayList.toArray(), list.toArray()));
+        assertThat(list.get(4), is(${KTypeBoxed}.MAX_VALUE));
+        assertThat(list.binarySearch(${KTypeBoxed}.MIN_VALUE), is(0));
+        assertThat(list.binarySearch(${KTypeBoxed}.MAX_VALUE), is(4));
+    }
+
+    @Test
+    public void testBinarySearch() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = randomSortedList(5000, 10);
+        final CompressedSorted${KTypeName}List list = new CompressedSorted${KTypeName}List(${KType}ArrayList);
+
+        final ${KType} last = ${KType}ArrayList.get(${KType}ArrayList.size() - 1);
+        for (${KType} item = -5; item < last + 5; item++) {
+            final int expected = ${KType}ArrayList.indexOf(item);
+            final int index = list.binarySearch(item);
+            if (expected >= 0) {
+                assertThat(index, is(expected));
+                assertTrue(list.contains(item));
+            } else {
+                assertTrue(index < 0);
+                final int insertion = ~index;
+                assertTrue(insertion == 0 || list.get(insertion - 1) < item);
+                assertTrue(insertion == list.size() || list.get(insertion) > item);
+                assertFalse(list.contains(item));
+            }
+        }
+    }
+
+    @Test
+    public void testDuplicatesAcrossBlocks() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        for (int i = 0; i < 3 * CompressedSorted${KTypeName}List.BLOCK_SIZE; i++) {
+            ${KType}ArrayList.add(i < 100 ? 1 : 7);
+        }
+
+        final CompressedSorted${KTypeName}List list = new CompressedSorted${KTypeName}List(${KType}ArrayList);
+
+        assertThat(list.indexOf(1), is(0));
+        assertThat(list.indexOf(7), is(100));
+        assertThat(list.binarySearch(5), is(~100));
+        assertThat(list.binarySearch(8), is(~list.size()));
+    }
+
+    @Test
+    public void testCompression() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = randomSortedList(100000, 16);
+        final CompressedSorted${KTypeName}List list = new CompressedSorted${KTypeName}List(${KType}ArrayList);
+
+        // Gaps below 16 take 4 bits.
+        final long plainBytes = 100000L * (${KTypeBoxed}.SIZE / 8);
+        assertTrue(list.sizeInBytes() * 4 < plainBytes);
+        assertEquals(${KType}ArrayList, list.to${KTypeName}ArrayList());
+    }
+
+    @Test
+    public void testForEach() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = randomSortedList(300, 100);
+        final CompressedSorted${KTypeName}List list = new CompressedSorted${KTypeName}List(${KType}ArrayList);
+
+        final ${KTypeName}ArrayList visited = new ${KTypeName}ArrayList();
+        list.forEach(new ${KTypeName}Procedure() {
+
+            @Override
+            public void apply(final ${KType} item) {
+                visited.add(item);
+            }
+
+        });
+        assertEquals(${KType}ArrayList, visited);
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        final CompressedSorted${KTypeName}List list =
+                new CompressedSorted${KTypeName}List(new ${KTypeName}ArrayList());
+
+        assertTrue(list.isEmpty());
+        assertThat(list.toArray().length, is(0));
+        assertThat(list.binarySearch(100), is(~0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsortedList() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add(200);
+        ${KType}ArrayList.add(100);
+
+        new CompressedSorted${KTypeName}List(${KType}ArrayList);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexOutOfBoundsException() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add(100);
+
+        new CompressedSorted${KTypeName}List(${KType}ArrayList).get(1);
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = randomSortedList(500, 1000);
+        final CompressedSorted${KTypeName}List list1 = new CompressedSorted${KTypeName}List(${KType}ArrayList);
+        final CompressedSorted${KTypeName}List list2 = new CompressedSorted${KTypeName}List(${KType}ArrayList);
+
+        assertEquals(list1, list2);
+        assertThat(list1.hashCode(), is(${KType}ArrayList.hashCode()));
+
+        ${KType}ArrayList.add(${KType}ArrayList.get(499) + 1);
+        assertNotEquals(list1, new CompressedSorted${KTypeName}List(${KType}ArrayList));
+    }
+
+    @Test
+    public void testToString() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add(100);
+
+        assertEquals("CompressedSorted${KTypeName}List { size=1 }",
+                new CompressedSorted${KTypeName}List(${KType}ArrayList).toString());
+    }
+
+    private static ${KTypeName}ArrayList randomSortedList(final int size, final int maxGap) {
+        final Random random = new Random(42);
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType} value = 0;
+        for (int i = 0; i < size; i++) {
+            value += random.nextInt(maxGap);
+            ${KType}ArrayList.add(value);
+        }
+        return ${KType}ArrayList;
+    }
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class CopyOnWrite${KTypeName}ArrayListTest {
+
+    @Test
+    public void testNewListIsEmpty() throws Exception {
+        final CopyOnWrite${KTypeName}ArrayList list = new CopyOnWrite${KTypeName}ArrayList();
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void testAddAndGet() throws Exception {
+        final CopyOnWrite${KTypeName}ArrayList list = new CopyOnWrite${KTypeName}ArrayList();
+        list.add(100);
+        list.add(200);
+        list.add(1, 300);
+        list.add(0, 400);
+
+        assertThat(list.size(), is(4));
+        assertThat(list.get(2), is((${KType}) 300));
+        assertTrue(Arrays.equals(new ${KType}[] { 400, 100, 300, 200 }, list.toArray()));
+    }
+
+    @Test
+    public void testAddIfAbsent() throws Exception {
+        final CopyOnWrite${KTypeName}ArrayList list = new CopyOnWrite${KTypeName}ArrayList();
+
+        assertTrue(list.addIfAbsent(100));
+        assertFalse(list.addIfAbsent(100));
+        assertThat(list.size(), is(1));
+    }
+
+    @Test
+    public void testAddAll() throws Exception {
+        final CopyOnWrite${KTypeName}ArrayList list = new CopyOnWrite${KTypeName}ArrayList();
+        list.add(100);
+
+        assertTrue(list.addAll(new ${KType}[] { 1, 2, 3 }, 1, 2));
+        assertFalse(list.addAll(new ${KType}[] { 1 }, 0, 0));
+
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add(200);
+        assertTrue(list.addAll(${KType}ArrayList));
+
+        assertTrue(Arrays.equals(new ${KType}[] { 100, 2, 3, 200 }, list.toArray()));
+    }
+
+    @Test
+    public void testSet() throws Exception {
+        final CopyOnWrite${KTypeName}ArrayList list = new CopyOnWrite${KTypeName}ArrayList();
+        list.add(100);
+
+        assertThat(list.set(0, 200), is((${KType}) 100));
+        assertThat(list.get(0), is((${KType}) 200));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexOutOfBoundsException() throws Exception {
+        final CopyOnWrite${KTypeName}ArrayList list = new CopyOnWrite${KTypeName}ArrayList();
+        list.add(100);
+        list.get(1);
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        final CopyOnWrite${KTypeName}ArrayList list = new CopyOnWrite${KTypeName}ArrayList();
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+
+        assertThat(list.removeAt(0), is((${KType}) 0));
+        assertTrue(list.remove(9));
+        assertFalse(list.remove(9));
+        list.removeRange(1, 4);
+
+        assertTrue(Arrays.equals(new ${KType}[] { 1, 5, 6, 7, 8 }, list.toArray()));
+
+        list.clear();
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void testIndexOf() throws Exception {
+        final CopyOnWrite${KTypeName}ArrayList list = new CopyOnWrite${KTypeName}ArrayList();
+        list.add(100);
+        list.add(200);
+        list.add(200);
+
+        assertThat(list.indexOf(200), is(1));
+        assertThat(list.indexOf(300), is(-1));
+        assertTrue(list.contains(100));
+        assertFalse(list.contains(300));
+    }
+
+    @Test
+    public void testForEachIteratesOverSnapshot() throws Exception {
+        final CopyOnWrite${KTypeName}ArrayList list = new CopyOnWrite${KTypeName}ArrayList();
+        list.add(100);
+        list.add(200);
+
+        final ${KTypeName}ArrayList visited = new ${KTypeName}ArrayList();
+        list.forEach(new ${KTypeName}Procedure() {
+            @Override
+            public void apply(final ${KType} value) {
+                visited.add(value);
+                list.add(value);
+            }
+        });
+
+        assertTrue(Arrays.equals(new ${KType}[] { 100, 200 }, visited.toArray()));
+        assertThat(list.size(), is(4));
+    }
+
+    @Test
+    public void testForEachWhile() throws Exception {
+        final CopyOnWrite${KTypeName}ArrayList list = new CopyOnWrite${KTypeName}ArrayList();
+        list.add(100);
+        list.add(200);
+
+        assertFalse(list.forEachWhile(new ${KTypeName}Predicate() {
+            @Override
+            public boolean apply(final ${KType} value) {
+                return value < 200;
+            }
+        }));
+    }
+
+    @Test
+    public void testConcurrentAdd() throws Exception {
+        final CopyOnWrite${KTypeName}ArrayList list = new CopyOnWrite${KTypeName}ArrayList();
+        final Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 500; i++) {
+                        list.add(i);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(list.size(), is(2000));
+    }
+
+    @Test
+    public void testListConstructor() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add(100);
+        ${KType}ArrayList.add(200);
+
+        final CopyOnWrite${KTypeName}ArrayList list = new CopyOnWrite${KTypeName}ArrayList(${KType}ArrayList);
+
+        assertEquals(${KType}ArrayList, list.to${KTypeName}ArrayList());
+        assertThat(list.hashCode(), is(${KType}ArrayList.hashCode()));
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        final CopyOnWrite${KTypeName}ArrayList list1 = new CopyOnWrite${KTypeName}ArrayList();
+        list1.add(100);
+
+        final CopyOnWrite${KTypeName}ArrayList list2 = new CopyOnWrite${KTypeName}ArrayList();
+        list2.add(100);
+
+        assertEquals(list1, list2);
+
+        list2.add(200);
+        assertNotEquals(list1, list2);
+    }
+
+    @Test
+    public void testToString() {
+        final CopyOnWrite${KTypeName}ArrayList list = new CopyOnWrite${KTypeName}ArrayList();
+        list.add(100);
+        list.add(200);
+
+        assertEquals("CopyOnWrite${KTypeName}ArrayList [ 100, 200 ]", list.toString());
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ${KTypeName}AppendLogTest {
+
+    @Test
+    public void testNewLogIsEmpty() throws Exception {
+        final ${KTypeName}AppendLog log = new ${KTypeName}AppendLog();
+        assertTrue(log.isEmpty());
+        assertThat(log.size(), is(0));
+    }
+
+    @Test
+    public void testAppendAndGet() throws Exception {
+        final ${KTypeName}AppendLog log = new ${KTypeName}AppendLog();
+        assertThat(log.append(100), is(0));
+        assertThat(log.append(200), is(1));
+
+        assertThat(log.size(), is(2));
+        assertThat(log.get(0), is((${KType}) 100));
+        assertThat(log.get(1), is((${KType}) 200));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexOutOfBoundsException() throws Exception {
+        final ${KTypeName}AppendLog log = new ${KTypeName}AppendLog();
+        log.append(100);
+        log.get(1);
+    }
+
+    @Test
+    public void testAppendAcrossChunks() throws Exception {
+        final ${KTypeName}AppendLog log = new ${KTypeName}AppendLog();
+        for (int i = 0; i < 100000; i++) {
+            log.append(i);
+        }
+
+        assertThat(log.size(), is(100000));
+        for (int i = 0; i < 100000; i++) {
+            assertThat(log.get(i), is((${KType}) i));
+        }
+
+        final ${KType}[] array = log.toArray();
+        assertThat(array.length, is(100000));
+        assertThat(array[99999], is((${KType}) 99999));
+        assertThat(log.to${KTypeName}ArrayList().size(), is(100000));
+    }
+
+    @Test
+    public void testForEach() throws Exception {
+        final ${KTypeName}AppendLog log = new ${KTypeName}AppendLog();
+        for (int i = 0; i < 5000; i++) {
+            log.append(i);
+        }
+
+        final ${KTypeName}ArrayList visited = new ${KTypeName}ArrayList();
+        log.forEach(new ${KTypeName}Procedure() {
+            @Override
+            public void apply(final ${KType} value) {
+                visited.add(value);
+            }
+        });
+
+        assertTrue(Arrays.equals(log.toArray(), visited.toArray()));
+    }
+
+    @Test
+    public void testConcurrentAppend() throws Exception {
+        final ${KTypeName}AppendLog log = new ${KTypeName}AppendLog();
+        final int producers = 4;
+        final int appends = 25000;
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicBoolean unpublishedRead = new AtomicBoolean();
+
+        final Thread reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (!done.get()) {
+                    final int size = log.size();
+                    for (int i = Math.max(0, size - 100); i < size; i++) {
+                        if (log.get(i) == 0) {
+                            unpublishedRead.set(true);
+                        }
+                    }
+                }
+            }
+        });
+        reader.start();
+
+        final Thread[] threads = new Thread[producers];
+        for (int t = 0; t < producers; t++) {
+            final int producer = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < appends; i++) {
+                        log.append(producer * appends + i + 1);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        done.set(true);
+        reader.join();
+
+        assertFalse(unpublishedRead.get());
+        assertThat(log.size(), is(producers * appends));
+
+        final ${KType}[] array = log.toArray();
+        Arrays.sort(array);
+        for (int i = 0; i < array.length; i++) {
+            assertThat(array[i], is((${KType}) (i + 1)));
+        }
+    }
+
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ${KTypeName}ArrayDequeTest {
+
+    @Test
+    public void testAddLastPollFirst() throws Exception {
+        final ${KTypeName}ArrayDeque deque = new ${KTypeName}ArrayDeque(4);
+        for (int i = 0; i < 100; i++) {
+            deque.addLast(i);
+        }
+
+        assertThat(deque.size(), is(100));
+        for (int i = 0; i < 100; i++) {
+            assertThat(deque.pollFirst(), is((${KType}) i));
+        }
+        assertTrue(deque.isEmpty());
+    }
+
+    @Test
+    public void testAddFirstPollLast() throws Exception {
+        final ${KTypeName}ArrayDeque deque = new ${KTypeName}ArrayDeque(4);
+        for (int i = 0; i < 100; i++) {
+            deque.addFirst(i);
+        }
+
+        assertThat(deque.size(), is(100));
+        for (int i = 0; i < 100; i++) {
+            assertThat(deque.pollLast(), is((${KType}) i));
+        }
+        assertTrue(deque.isEmpty());
+    }
+
+    @Test
+    public void testGetAfterWrapAround() throws Exception {
+        final ${KTypeName}ArrayDeque deque = new ${KTypeName}ArrayDeque(8);
+        for (int i = 0; i < 6; i++) {
+            deque.addLast(i);
+        }
+        for (int i = 0; i < 4; i++) {
+            deque.pollFirst();
+        }
+        for (int i = 6; i < 12; i++) {
+            deque.addLast(i);
+        }
+
+        assertThat(deque.size(), is(8));
+        for (int i = 0; i < 8; i++) {
+            assertThat(deque.get(i), is((${KType}) (i + 4)));
+        }
+
+        // The next addition grows the wrapped array.
+        deque.addLast(12);
+        assertTrue(Arrays.equals(new ${KType}[] { 4, 5, 6, 7, 8, 9, 10, 11, 12 },
+                deque.toArray()));
+    }
+
+    @Test
+    public void testPeek() throws Exception {
+        final ${KTypeName}ArrayDeque deque = new ${KTypeName}ArrayDeque();
+        deque.addLast(200);
+        deque.addFirst(100);
+        deque.addLast(300);
+
+        assertThat(deque.peekFirst(), is((${KType}) 100));
+        assertThat(deque.peekLast(), is((${KType}) 300));
+        assertThat(deque.size(), is(3));
+    }
+
+    @Test
+    public void testBoundedAddLastOverwritesFirst() throws Exception {
+        final ${KTypeName}ArrayDeque deque = ${KTypeName}ArrayDeque.bounded(3);
+        assertFalse(deque.addLast(100));
+        assertFalse(deque.addLast(200));
+        assertFalse(deque.addLast(300));
+        assertTrue(deque.isFull());
+
+        assertTrue(deque.addLast(400));
+        assertTrue(deque.addLast(500));
+        assertTrue(Arrays.equals(new ${KType}[] { 300, 400, 500 }, deque.toArray()));
+    }
+
+    @Test
+    public void testBoundedAddFirstOverwritesLast() throws Exception {
+        final ${KTypeName}ArrayDeque deque = ${KTypeName}ArrayDeque.bounded(3);
+        deque.addLast(100);
+        deque.addLast(200);
+        deque.addLast(300);
+
+        assertTrue(deque.addFirst(0));
+        assertTrue(Arrays.equals(new ${KType}[] { 0, 100, 200 }, deque.toArray()));
+    }
+
+    @Test
+    public void testBoundedRollingWindow() throws Exception {
+        final ${KTypeName}ArrayDeque deque = ${KTypeName}ArrayDeque.bounded(5);
+        for (int i = 0; i < 1000; i++) {
+            deque.addLast(i);
+        }
+
+        assertThat(deque.size(), is(5));
+        for (int i = 0; i < 5; i++) {
+            assertThat(deque.get(i), is((${KType}) (995 + i)));
+        }
+
+        deque.pollFirst();
+        assertFalse(deque.isFull());
+        assertFalse(deque.addLast(1000));
+        assertThat(deque.peekLast(), is((${KType}) 1000));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoundedIllegalMaxSize() throws Exception {
+        ${KTypeName}ArrayDeque.bounded(0);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testPollEmpty() throws Exception {
+        new ${KTypeName}ArrayDeque().pollFirst();
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testPeekEmpty() throws Exception {
+        new ${KTypeName}ArrayDeque().peekLast();
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexOutOfBoundsException() throws Exception {
+        final ${KTypeName}ArrayDeque deque = new ${KTypeName}ArrayDeque();
+        deque.addLast(100);
+        deque.get(1);
+    }
+
+    @Test
+    public void testForEach() throws Exception {
+        final ${KTypeName}ArrayDeque deque = ${KTypeName}ArrayDeque.bounded(4);
+        for (int i = 1; i <= 6; i++) {
+            deque.addLast(i);
+        }
+
+        final long[] sum = new long[1];
+        deque.forEach(new ${KTypeName}Procedure() {
+
+            @Override
+            public void apply(final ${KType} item) {
+                sum[0] += item;
+            }
+
+        });
+        assertThat(sum[0], is(18L));
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        final ${KTypeName}ArrayDeque deque = new ${KTypeName}ArrayDeque();
+        deque.addLast(100);
+        deque.addLast(200);
+        deque.clear();
+
+        assertTrue(deque.isEmpty());
+        assertThat(deque.toArray().length, is(0));
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        final ${KTypeName}ArrayDeque deque1 = new ${KTypeName}ArrayDeque(2);
+        deque1.addLast(100);
+        deque1.addLast(200);
+        deque1.addLast(300);
+
+        // Same elements at different positions of the backing array.
+        final ${KTypeName}ArrayDeque deque2 = new ${KTypeName}ArrayDeque(4);
+        deque2.addFirst(300);
+        deque2.addFirst(200);
+        deque2.addFirst(100);
+
+        assertEquals(deque1, deque2);
+        assertThat(deque1.hashCode(), is(deque2.hashCode()));
+
+        deque2.pollLast();
+        assertNotEquals(deque1, deque2);
+    }
+
+    @Test
+    public void testToString() throws Exception {
+        final ${KTypeName}ArrayDeque deque = new ${KTypeName}ArrayDeque();
+        deque.addLast(200);
+        deque.addFirst(100);
+
+        assertEquals("${KTypeName}ArrayDeque [ 100, 200 ]", deque.toString());
+    }
+
+}
@@ -0,0 +1,631 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.os.Parcel;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ${KTypeName}ArrayListTest {
+
+    @Test
+    public void testNew${KTypeName}ArrayListIsEmpty() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        assertTrue(${KType}ArrayList.isEmpty());
+    }
+
+    @Test
+    public void testAddItem() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 100);
+        ${KType}ArrayList.add((${KType}) 200);
+        ${KType}ArrayList.add((${KType}) 300);
+
+        assertThat(${KType}ArrayList.size(), is(3));
+    }
+
+    @Test
+    public void testAddItemAt1() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 100);
+        ${KType}ArrayList.add((${KType}) 200);
+
+        ${KType}ArrayList.add(1, (${KType}) 300);
+
+        assertThat(${KType}ArrayList.size(), is(3));
+    }
+
+    @Test
+    public void testAddItemAt2() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 100);
+        ${KType}ArrayList.add((${KType}) 200);
+
+        ${KType}ArrayList.add(1, (${KType}) 300);
+
+        assertThat(${KType}ArrayList.get(2), is((${KType}) 200));
+    }
+
+    @Test
+    public void testAddItemAtEnd() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 100);
+        ${KType}ArrayList.add((${KType}) 200);
+
+        ${KType}ArrayList.add(2, (${KType}) 300);
+
+        assertThat(${KType}ArrayList.get(2), is((${KType}) 300));
+    }
+
+    @Test
+    public void testSetItem1() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 100);
+        ${KType}ArrayList.add((${KType}) 200);
+
+        assertThat(${KType}ArrayList.set(0, (${KType}) 300), is((${KType}) 100));
+    }
+
+    @Test
+    public void testSetItem2() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 100);
+        ${KType}ArrayList.add((${KType}) 200);
+        ${KType}ArrayList.set(0, (${KType}) 300);
+
+        assertThat(${KType}ArrayList.get(0), is((${KType}) 300));
+    }
+
+    @Test
+    public void testGetItem() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 100);
+        ${KType}ArrayList.add((${KType}) 200);
+        ${KType}ArrayList.add((${KType}) 300);
+
+        assertThat(${KType}ArrayList.get(1), is((${KType}) 200));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexOutOfBoundsException() {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        assertThat(${KType}ArrayList.get(0), is((${KType}) 100));
+    }
+
+    @Test
+    public void testRemoveItem() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 100);
+        ${KType}ArrayList.add((${KType}) 200);
+        ${KType}ArrayList.add((${KType}) 300);
+
+        assertThat(${KType}ArrayList.removeAt(1), is((${KType}) 200));
+    }
+
+    @Test
+    public void testToArray() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 100);
+        ${KType}ArrayList.add((${KType}) 200);
+        ${KType}ArrayList.add((${KType}) 300);
+
+        final ${KType}[] array = ${KType}ArrayList.toArray();
+        assertTrue(Arrays.equals(new ${KType}[] { (${KType}) 100, (${KType}) 200, (${KType}) 300 }, array));
+    }
+
+    @Test
+    public void testItemsAfterRemove() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 100);
+        ${KType}ArrayList.add((${KType}) 200);
+        ${KType}ArrayList.add((${KType}) 300);
+        ${KType}ArrayList.removeAt(1);
+
+        final ${KType}[] array = ${KType}ArrayList.toArray();
+        assertTrue(Arrays.equals(new ${KType}[] { (${KType}) 100, (${KType}) 300 }, array));
+    }
+
+    @Test
+    public void testContainsItem() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 100);
+        ${KType}ArrayList.add((${KType}) 200);
+        ${KType}ArrayList.add((${KType}) 300);
+
+        assertTrue(${KType}ArrayList.contains((${KType}) 200));
+    }
+
+    @Test
+    public void testDoesNotContainItem() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 100);
+        ${KType}ArrayList.add((${KType}) 200);
+        ${KType}ArrayList.add((${KType}) 300);
+
+        assertFalse(${KType}ArrayList.contains((${KType}) 400));
+    }
+
+    @Test
+    public void testClearItems() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 100);
+        ${KType}ArrayList.add((${KType}) 200);
+        ${KType}ArrayList.add((${KType}) 300);
+
+        ${KType}ArrayList.clear();
+
+        assertTrue(${KType}ArrayList.isEmpty());
+    }
+
+    @Test
+    public void testExistingIndexOf() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 100);
+        ${KType}ArrayList.add((${KType}) 200);
+        ${KType}ArrayList.add((${KType}) 300);
+
+        assertThat(${KType}ArrayList.indexOf((${KType}) 200), is(1));
+    }
+
+    @Test
+    public void testNotExistingIndexOf() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 100);
+        ${KType}ArrayList.add((${KType}) 200);
+        ${KType}ArrayList.add((${KType}) 300);
+
+        assertThat(${KType}ArrayList.indexOf((${KType}) 400), is(-1));
+    }
+
+    @Test
+    public void testAddAllArray() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 10);
+
+        assertTrue(${KType}ArrayList.addAll(new ${KType}[] { 1, 2, 3, 4 }, 1, 2));
+        assertFalse(${KType}ArrayList.addAll(new ${KType}[] { 1, 2 }, 2, 0));
+
+        assertTrue(Arrays.equals(new ${KType}[] { 10, 2, 3 }, ${KType}ArrayList.toArray()));
+    }
+
+    @Test
+    public void testAddAllList() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList1 = new ${KTypeName}ArrayList();
+        ${KType}ArrayList1.add((${KType}) 10);
+        ${KType}ArrayList1.add((${KType}) 20);
+
+        final ${KTypeName}ArrayList ${KType}ArrayList2 = new ${KTypeName}ArrayList();
+        ${KType}ArrayList2.add((${KType}) 30);
+
+        assertTrue(${KType}ArrayList2.addAll(${KType}ArrayList1));
+        assertTrue(${KType}ArrayList2.addAll(${KType}ArrayList2));
+
+        assertTrue(Arrays.equals(new ${KType}[] { 30, 10, 20, 30, 10, 20 }, ${KType}ArrayList2.toArray()));
+    }
+
+    @Test
+    public void testAddAllAt() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList1 = new ${KTypeName}ArrayList();
+        ${KType}ArrayList1.add((${KType}) 10);
+        ${KType}ArrayList1.add((${KType}) 40);
+
+        assertTrue(${KType}ArrayList1.addAll(1, new ${KType}[] { 20, 30 }, 0, 2));
+        assertTrue(Arrays.equals(new ${KType}[] { 10, 20, 30, 40 }, ${KType}ArrayList1.toArray()));
+
+        final ${KTypeName}ArrayList ${KType}ArrayList2 = new ${KTypeName}ArrayList();
+        ${KType}ArrayList2.add((${KType}) 50);
+
+        assertTrue(${KType}ArrayList1.addAll(4, ${KType}ArrayList2));
+        assertTrue(${KType}ArrayList1.addAll(0, ${KType}ArrayList1));
+        assertTrue(Arrays.equals(new ${KType}[] { 10, 20, 30, 40, 50, 10, 20, 30, 40, 50 },
+                ${KType}ArrayList1.toArray()));
+    }
+
+    @Test
+    public void testAddAllKeepsItemsOnGrowth() throws Exception {
+        final ${KType}[] array = new ${KType}[100];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = (${KType}) i;
+        }
+
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) -1);
+        ${KType}ArrayList.add((${KType}) -2);
+        ${KType}ArrayList.addAll(1, array, 0, array.length);
+
+        assertThat(${KType}ArrayList.size(), is(102));
+        assertThat(${KType}ArrayList.get(0), is((${KType}) -1));
+        for (int i = 0; i < array.length; i++) {
+            assertThat(${KType}ArrayList.get(i + 1), is((${KType}) i));
+        }
+        assertThat(${KType}ArrayList.get(101), is((${KType}) -2));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAddAllIllegalRange() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.addAll(new ${KType}[] { 1, 2 }, 1, 2);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAddAllIllegalIndex() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.addAll(1, new ${KType}[] { 1, 2 }, 0, 2);
+    }
+
+    @Test
+    public void testSetAll() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList1 = new ${KTypeName}ArrayList();
+        ${KType}ArrayList1.add((${KType}) 10);
+        ${KType}ArrayList1.add((${KType}) 20);
+        ${KType}ArrayList1.add((${KType}) 30);
+
+        ${KType}ArrayList1.setAll(new ${KType}[] { 1, 2, 3, 4 }, 2, 2);
+        assertTrue(Arrays.equals(new ${KType}[] { 3, 4 }, ${KType}ArrayList1.toArray()));
+
+        final ${KTypeName}ArrayList ${KType}ArrayList2 = new ${KTypeName}ArrayList();
+        for (int i = 0; i < 100; i++) {
+            ${KType}ArrayList2.add((${KType}) i);
+        }
+
+        ${KType}ArrayList1.setAll(${KType}ArrayList2);
+        assertEquals(${KType}ArrayList2, ${KType}ArrayList1);
+    }
+
+    @Test
+    public void testRemoveRange() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        for (int i = 0; i < 10; i++) {
+            ${KType}ArrayList.add((${KType}) i);
+        }
+
+        ${KType}ArrayList.removeRange(2, 5);
+        assertTrue(Arrays.equals(new ${KType}[] { 0, 1, 5, 6, 7, 8, 9 }, ${KType}ArrayList.toArray()));
+
+        ${KType}ArrayList.removeRange(3, 3);
+        assertThat(${KType}ArrayList.size(), is(7));
+
+        ${KType}ArrayList.removeRange(0, 7);
+        assertTrue(${KType}ArrayList.isEmpty());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testRemoveRangeIllegalRange() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 10);
+        ${KType}ArrayList.removeRange(1, 0);
+    }
+
+    @Test
+    public void testSort() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 30);
+        ${KType}ArrayList.add((${KType}) 5);
+        ${KType}ArrayList.add((${KType}) 20);
+        ${KType}ArrayList.add((${KType}) 10);
+
+        ${KType}ArrayList.sort();
+
+        assertTrue(Arrays.equals(new ${KType}[] { 5, 10, 20, 30 }, ${KType}ArrayList.toArray()));
+    }
+
+    @Test
+    public void testBinarySearch() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 10);
+        ${KType}ArrayList.add((${KType}) 20);
+        ${KType}ArrayList.add((${KType}) 30);
+
+        assertThat(${KType}ArrayList.binarySearch((${KType}) 20), is(1));
+        assertThat(${KType}ArrayList.binarySearch((${KType}) 5), is(-1));
+        assertThat(${KType}ArrayList.binarySearch((${KType}) 25), is(-3));
+        assertThat(${KType}ArrayList.binarySearch((${KType}) 40), is(-4));
+    }
+
+    @Test
+    public void testAddSorted() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        assertThat(${KType}ArrayList.addSorted((${KType}) 20), is(0));
+        assertThat(${KType}ArrayList.addSorted((${KType}) 10), is(0));
+        assertThat(${KType}ArrayList.addSorted((${KType}) 30), is(2));
+        assertThat(${KType}ArrayList.addSorted((${KType}) 25), is(2));
+
+        assertTrue(Arrays.equals(new ${KType}[] { 10, 20, 25, 30 }, ${KType}ArrayList.toArray()));
+    }
+
+    @Test
+    public void testRemoveDuplicatesSorted() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 10);
+        ${KType}ArrayList.add((${KType}) 10);
+        ${KType}ArrayList.add((${KType}) 20);
+        ${KType}ArrayList.add((${KType}) 30);
+        ${KType}ArrayList.add((${KType}) 30);
+        ${KType}ArrayList.add((${KType}) 30);
+
+        assertThat(${KType}ArrayList.removeDuplicatesSorted(), is(3));
+        assertTrue(Arrays.equals(new ${KType}[] { 10, 20, 30 }, ${KType}ArrayList.toArray()));
+    }
+
+    @Test
+    public void testForEach() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 10);
+        ${KType}ArrayList.add((${KType}) 20);
+        ${KType}ArrayList.add((${KType}) 30);
+
+        final ${KTypeName}ArrayList visited = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.forEach(new ${KTypeName}Procedure() {
+            @Override
+            public void apply(final ${KType} value) {
+                visited.add(value);
+            }
+        });
+
+        assertEquals(${KType}ArrayList, visited);
+    }
+
+    @Test
+    public void testForEachWhile() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 10);
+        ${KType}ArrayList.add((${KType}) 20);
+        ${KType}ArrayList.add((${KType}) 30);
+
+        final ${KTypeName}ArrayList visited = new ${KTypeName}ArrayList();
+        final ${KTypeName}Predicate lessThan20 = new ${KTypeName}Predicate() {
+            @Override
+            public boolean apply(final ${KType} value) {
+                visited.add(value);
+                return value < 20;
+            }
+        };
+
+        assertFalse(${KType}ArrayList.forEachWhile(lessThan20));
+        assertThat(visited.size(), is(2));
+
+        ${KType}ArrayList.removeAt(2);
+        ${KType}ArrayList.removeAt(1);
+        assertTrue(${KType}ArrayList.forEachWhile(lessThan20));
+    }
+
+    @Test
+    public void testCursor() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 10);
+        ${KType}ArrayList.add((${KType}) 20);
+
+        final ${KTypeName}ArrayList.Cursor cursor = ${KType}ArrayList.cursor();
+        assertThat(cursor.index(), is(-1));
+        assertTrue(cursor.moveNext());
+        assertThat(cursor.value(), is((${KType}) 10));
+        assertThat(cursor.index(), is(0));
+        assertTrue(cursor.moveNext());
+        assertThat(cursor.value(), is((${KType}) 20));
+        assertFalse(cursor.moveNext());
+
+        ${KType}ArrayList.add((${KType}) 30);
+        cursor.reset(${KType}ArrayList);
+
+        final ${KTypeName}ArrayList visited = new ${KTypeName}ArrayList();
+        while (cursor.moveNext()) {
+            visited.add(cursor.value());
+        }
+        assertEquals(${KType}ArrayList, visited);
+    }
+
+    @Test
+    public void testHashcode() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 100);
+        ${KType}ArrayList.add((${KType}) 200);
+        ${KType}ArrayList.add((${KType}) 300);
+
+        final ${KType}[] array = ${KType}ArrayList.toArray();
+        assertThat(${KType}ArrayList.hashCode(), is(Arrays.hashCode(array)));
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList1 = new ${KTypeName}ArrayList();
+        ${KType}ArrayList1.add((${KType}) 100);
+        ${KType}ArrayList1.add((${KType}) 200);
+        ${KType}ArrayList1.add((${KType}) 300);
+
+        final ${KTypeName}ArrayList ${KType}ArrayList2 = new ${KTypeName}ArrayList();
+        ${KType}ArrayList2.add((${KType}) 100);
+        ${KType}ArrayList2.add((${KType}) 200);
+        ${KType}ArrayList2.add((${KType}) 300);
+
+        assertTrue(${KType}ArrayList1.equals(${KType}ArrayList2));
+    }
+
+    @Test
+    public void testNotEquals1() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList1 = new ${KTypeName}ArrayList();
+        ${KType}ArrayList1.add((${KType}) 100);
+        ${KType}ArrayList1.add((${KType}) 200);
+        ${KType}ArrayList1.add((${KType}) 300);
+
+        final ${KTypeName}ArrayList ${KType}ArrayList2 = new ${KTypeName}ArrayList();
+        ${KType}ArrayList2.add((${KType}) 300);
+
+        assertFalse(${KType}ArrayList1.equals(${KType}ArrayList2));
+    }
+
+    @SuppressWarnings("all")
+    @Test
+    public void testNotEquals2() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 100);
+        ${KType}ArrayList.add((${KType}) 200);
+        ${KType}ArrayList.add((${KType}) 300);
+
+        assertFalse(${KType}ArrayList.equals(null));
+    }
+
+    @SuppressWarnings("all")
+    @Test
+    public void testNotEquals3() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 100);
+        ${KType}ArrayList.add((${KType}) 200);
+        ${KType}ArrayList.add((${KType}) 300);
+
+        final ${KType}[] array = new ${KType}[3];
+        assertFalse(${KType}ArrayList.equals(array));
+    }
+
+    @Test
+    public void testToString() {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add((${KType}) 100);
+        ${KType}ArrayList.add((${KType}) 200);
+
+        assertEquals(${KType}ArrayList.toString(),
+                "${KTypeName}ArrayList [ " + (${KType}) 100 + ", " + (${KType}) 200 + " ]");
+    }
+
+    @Test
+    public void testCopyConstructor1() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList1 = new ${KTypeName}ArrayList();
+        ${KType}ArrayList1.add((${KType}) 100);
+        ${KType}ArrayList1.add((${KType}) 200);
+        ${KType}ArrayList1.add((${KType}) 300);
+
+        final ${KTypeName}ArrayList ${KType}ArrayList2 = new ${KTypeName}ArrayList(${KType}ArrayList1);
+        assertEquals(${KType}ArrayList1, ${KType}ArrayList2);
+    }
+
+    @Test
+    public void testCopyConstructor2() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList1 = new ${KTypeName}ArrayList();
+        ${KType}ArrayList1.add((${KType}) 100);
+        ${KType}ArrayList1.add((${KType}) 200);
+        ${KType}ArrayList1.add((${KType}) 300);
+
+        final ${KTypeName}ArrayList ${KType}ArrayList2 = new ${KTypeName}ArrayList(${KType}ArrayList1);
+
+        ${KType}ArrayList1.removeAt(1);
+
+        assertNotEquals(${KType}ArrayList1, ${KType}ArrayList2);
+    }
+
+    @Test
+    public void testCapacityGrowth() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        for (int i = 0; i < 100; i++) {
+            ${KType}ArrayList.add((${KType}) (i * 100));
+        }
+
+        assertThat(${KType}ArrayList.size(), is(100));
+    }
+
+    @Test
+    public void testCapacityGrowthKeepsItems() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        for (int i = 0; i < 100; i++) {
+            ${KType}ArrayList.add((${KType}) i);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(${KType}ArrayList.get(i), is((${KType}) i));
+        }
+    }
+
+    @Test
+    public void testIndexOfEveryPosition() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        for (int i = 0; i < 11; i++) {
+            ${KType}ArrayList.add((${KType}) i);
+        }
+
+        for (int i = 0; i < 11; i++) {
+            assertThat(${KType}ArrayList.indexOf((${KType}) i), is(i));
+        }
+        assertThat(${KType}ArrayList.indexOf((${KType}) 11), is(-1));
+    }
+
+    @Test
+    public void testLastIndexOf() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        assertThat(${KType}ArrayList.lastIndexOf((${KType}) 0), is(-1));
+        for (int i = 0; i < 22; i++) {
+            ${KType}ArrayList.add((${KType}) (i % 11));
+        }
+
+        for (int i = 0; i < 11; i++) {
+            assertThat(${KType}ArrayList.lastIndexOf((${KType}) i), is(11 + i));
+        }
+        assertThat(${KType}ArrayList.lastIndexOf((${KType}) 11), is(-1));
+    }
+
+    @Test
+    public void testHashCodeEverySize() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        for (int i = 0; i < 10; i++) {
+            assertThat(${KType}ArrayList.hashCode(), is(Arrays.hashCode(${KType}ArrayList.toArray())));
+            ${KType}ArrayList.add((${KType}) (i * 7));
+        }
+    }
+
+    @Test
+    public void testNotEqualsEveryPosition() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList1 = new ${KTypeName}ArrayList();
+        for (int i = 0; i < 10; i++) {
+            ${KType}ArrayList1.add((${KType}) i);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            final ${KTypeName}ArrayList ${KType}ArrayList2 = new ${KTypeName}ArrayList(${KType}ArrayList1);
+            assertTrue(${KType}ArrayList1.equals(${KType}ArrayList2));
+            ${KType}ArrayList2.set(i, (${KType}) 100);
+            assertFalse(${KType}ArrayList1.equals(${KType}ArrayList2));
+        }
+    }
+
+    @Test
+    public void testParcelable() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayListIn = new ${KTypeName}ArrayList();
+        ${KType}ArrayListIn.add((${KType}) 100);
+        ${KType}ArrayListIn.add((${KType}) 200);
+        ${KType}ArrayListIn.add((${KType}) 300);
+
+        final Parcel parcel = MockParcel.obtain();
+        ${KType}ArrayListIn.writeToParcel(parcel, 0);
+
+        parcel.setDataPosition(0);
+
+        final ${KTypeName}ArrayList ${KType}ArrayListOut = ${KTypeName}ArrayList.CREATOR.createFromParcel(parcel);
+        assertEquals(${KType}ArrayListIn, ${KType}ArrayListOut);
+    }
+
+    @Test
+    public void testParcelableNewArray() throws Exception {
+        final ${KTypeName}ArrayList[] array = ${KTypeName}ArrayList.CREATOR.newArray(2);
+        assertThat(array.length, is(2));
+    }
+
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.os.Parcel;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ${KTypeName}HashSetTest {
+
+    @Test
+    public void testNewSetIsEmpty() throws Exception {
+        final ${KTypeName}HashSet set = new ${KTypeName}HashSet();
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void testAdd() throws Exception {
+        final ${KTypeName}HashSet set = new ${KTypeName}HashSet();
+
+        assertTrue(set.add(100));
+        assertTrue(set.add(200));
+        assertFalse(set.add(100));
+        assertThat(set.size(), is(2));
+    }
+
+    @Test
+    public void testContains() throws Exception {
+        final ${KTypeName}HashSet set = new ${KTypeName}HashSet();
+        set.add(100);
+        set.add(200);
+
+        assertTrue(set.contains(100));
+        assertFalse(set.contains(300));
+    }
+
+    @Test
+    public void testZeroElement() throws Exception {
+        final ${KTypeName}HashSet set = new ${KTypeName}HashSet();
+        assertFalse(set.contains(0));
+
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+
+        assertTrue(set.contains(0));
+        assertThat(set.size(), is(1));
+        assertTrue(set.remove(0));
+        assertFalse(set.contains(0));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        final ${KTypeName}HashSet set = new ${KTypeName}HashSet();
+        set.add(100);
+        set.add(200);
+
+        assertTrue(set.remove(100));
+        assertFalse(set.remove(100));
+        assertFalse(set.contains(100));
+        assertTrue(set.contains(200));
+    }
+
+    @Test
+    public void testRemoveKeepsCollidingElements() throws Exception {
+        final ${KTypeName}HashSet set = new ${KTypeName}HashSet(4, 0.9f);
+        for (int i = 1; i <= 1000; i++) {
+            set.add(i);
+        }
+        for (int i = 1; i <= 1000; i += 2) {
+            set.remove(i);
+        }
+
+        assertThat(set.size(), is(500));
+        for (int i = 1; i <= 1000; i++) {
+            assertThat(set.contains(i), is(i % 2 == 0));
+        }
+    }
+
+    @Test
+    public void testCapacityGrowthKeepsElements() throws Exception {
+        final ${KTypeName}HashSet set = new ${KTypeName}HashSet();
+        for (int i = 0; i < 10000; i++) {
+            set.add(i * 31);
+        }
+
+        assertThat(set.size(), is(10000));
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(set.contains(i * 31));
+        }
+    }
+
+    @Test
+    public void testAddAllList() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        for (int i = 0; i < 1000; i++) {
+            ${KType}ArrayList.add(i % 500);
+        }
+
+        final ${KTypeName}HashSet set = new ${KTypeName}HashSet();
+        assertTrue(set.addAll(${KType}ArrayList));
+        assertFalse(set.addAll(${KType}ArrayList));
+
+        assertThat(set.size(), is(500));
+        for (int i = 0; i < 500; i++) {
+            assertTrue(set.contains(i));
+        }
+    }
+
+    @Test
+    public void testAddAllSet() throws Exception {
+        final ${KTypeName}HashSet set1 = new ${KTypeName}HashSet();
+        set1.add(0);
+        set1.add(100);
+
+        final ${KTypeName}HashSet set2 = new ${KTypeName}HashSet();
+        set2.add(100);
+        set2.add(200);
+
+        assertTrue(set2.addAll(set1));
+        assertThat(set2.size(), is(3));
+        assertTrue(set2.contains(0));
+    }
+
+    @Test
+    public void testListConstructor() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add(100);
+        ${KType}ArrayList.add(200);
+        ${KType}ArrayList.add(100);
+
+        final ${KTypeName}HashSet set = new ${KTypeName}HashSet(${KType}ArrayList);
+        assertThat(set.size(), is(2));
+    }
+
+    @Test
+    public void testToArray() throws Exception {
+        final ${KTypeName}HashSet set = new ${KTypeName}HashSet();
+        set.add(200);
+        set.add(0);
+        set.add(100);
+
+        final ${KType}[] array = set.toArray();
+        Arrays.sort(array);
+        assertTrue(Arrays.equals(new ${KType}[] { 0, 100, 200 }, array));
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        final ${KTypeName}HashSet set = new ${KTypeName}HashSet();
+        set.add(0);
+        set.add(100);
+
+        set.clear();
+
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(0));
+        assertFalse(set.contains(100));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalLoadFactor() throws Exception {
+        new ${KTypeName}HashSet(16, 0f);
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        final ${KTypeName}HashSet set1 = new ${KTypeName}HashSet();
+        set1.add(0);
+        set1.add(100);
+
+        final ${KTypeName}HashSet set2 = new ${KTypeName}HashSet(100);
+        set2.add(100);
+        set2.add(0);
+
+        assertEquals(set1, set2);
+        assertThat(set1.hashCode(), is(set2.hashCode()));
+    }
+
+    @Test
+    public void testNotEquals() throws Exception {
+        final ${KTypeName}HashSet set1 = new ${KTypeName}HashSet();
+        set1.add(100);
+
+        final ${KTypeName}HashSet set2 = new ${KTypeName}HashSet();
+        set2.add(200);
+
+        assertNotEquals(set1, set2);
+    }
+
+    @Test
+    public void testToString() {
+        final ${KTypeName}HashSet set = new ${KTypeName}HashSet();
+        set.add(100);
+
+        assertEquals("${KTypeName}HashSet { 100 }", set.toString());
+    }
+
+    @Test
+    public void testCopyConstructor() throws Exception {
+        final ${KTypeName}HashSet set1 = new ${KTypeName}HashSet();
+        set1.add(0);
+        set1.add(100);
+
+        final ${KTypeName}HashSet set2 = new ${KTypeName}HashSet(set1);
+        assertEquals(set1, set2);
+
+        set1.remove(100);
+        assertNotEquals(set1, set2);
+    }
+
+    @Test
+    public void testParcelable() throws Exception {
+        final ${KTypeName}HashSet setIn = new ${KTypeName}HashSet();
+        setIn.add(0);
+        setIn.add(100);
+        setIn.add(200);
+
+        final Parcel parcel = MockParcel.obtain();
+        setIn.writeToParcel(parcel, 0);
+
+        parcel.setDataPosition(0);
+
+        final ${KTypeName}HashSet setOut = ${KTypeName}HashSet.CREATOR.createFromParcel(parcel);
+        assertEquals(setIn, setOut);
+    }
+
+    @Test
+    public void testParcelableNewArray() throws Exception {
+        final ${KTypeName}HashSet[] array = ${KTypeName}HashSet.CREATOR.newArray(2);
+        assertThat(array.length, is(2));
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ${KTypeName}IndexedPriorityQueueTest {
+
+    @Test
+    public void testPollOrder() throws Exception {
+        final ${KTypeName}IndexedPriorityQueue queue = new ${KTypeName}IndexedPriorityQueue(10);
+        queue.add(0, 300);
+        queue.add(1, 100);
+        queue.add(2, 400);
+        queue.add(3, 200);
+
+        assertThat(queue.size(), is(4));
+        assertThat(queue.peekId(), is(1));
+        assertThat(queue.peekKey(), is((${KType}) 100));
+        assertThat(queue.poll(), is(1));
+        assertThat(queue.poll(), is(3));
+        assertThat(queue.poll(), is(0));
+        assertThat(queue.poll(), is(2));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testDescendingOrder() throws Exception {
+        final ${KTypeName}IndexedPriorityQueue queue = new ${KTypeName}IndexedPriorityQueue(10,
+                ${KTypeName}IndexedPriorityQueue.ORDER_DESCENDING);
+        queue.add(0, 300);
+        queue.add(1, 100);
+        queue.add(2, 400);
+
+        assertThat(queue.poll(), is(2));
+        queue.decreaseKey(1, 500);
+        assertThat(queue.poll(), is(1));
+        assertThat(queue.poll(), is(0));
+    }
+
+    @Test
+    public void testDecreaseKey() throws Exception {
+        final ${KTypeName}IndexedPriorityQueue queue = new ${KTypeName}IndexedPriorityQueue(10);
+        queue.add(0, 300);
+        queue.add(1, 100);
+        queue.add(2, 400);
+
+        queue.decreaseKey(2, 50);
+        assertThat(queue.keyOf(2), is((${KType}) 50));
+        assertThat(queue.peekId(), is(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecreaseKeyToLargerKey() throws Exception {
+        final ${KTypeName}IndexedPriorityQueue queue = new ${KTypeName}IndexedPriorityQueue(10);
+        queue.add(0, 300);
+        queue.decreaseKey(0, 400);
+    }
+
+    @Test
+    public void testUpdateKey() throws Exception {
+        final ${KTypeName}IndexedPriorityQueue queue = new ${KTypeName}IndexedPriorityQueue(10);
+        queue.add(0, 300);
+        queue.add(1, 100);
+        queue.add(2, 200);
+
+        queue.updateKey(1, 500);
+        assertThat(queue.poll(), is(2));
+        assertThat(queue.poll(), is(0));
+        assertThat(queue.poll(), is(1));
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        final ${KTypeName}IndexedPriorityQueue queue = new ${KTypeName}IndexedPriorityQueue(10);
+        queue.add(0, 300);
+        queue.add(1, 100);
+        queue.add(2, 200);
+
+        assertTrue(queue.remove(1));
+        assertFalse(queue.remove(1));
+        assertFalse(queue.contains(1));
+        assertThat(queue.size(), is(2));
+        assertThat(queue.poll(), is(2));
+
+        // A removed id can be added again.
+        queue.add(1, 50);
+        assertThat(queue.poll(), is(1));
+    }
+
+    @Test
+    public void testRandomOperations() throws Exception {
+        final int maxIds = 2000;
+        final Random random = new Random(42);
+        final ${KTypeName}IndexedPriorityQueue queue = new ${KTypeName}IndexedPriorityQueue(maxIds);
+        final ${KType}[] keys = new ${KType}[maxIds];
+        final boolean[] queued = new boolean[maxIds];
+        for (int i = 0; i < 20000; i++) {
+            final int id = random.nextInt(maxIds);
+            final ${KType} key = (${KType}) random.nextInt(100000);
+            if (!queued[id]) {
+                queue.add(id, key);
+                queued[id] = true;
+                keys[id] = key;
+            } else if (random.nextBoolean()) {
+                queue.updateKey(id, key);
+                keys[id] = key;
+            } else {
+                assertTrue(queue.remove(id));
+                queued[id] = false;
+            }
+        }
+
+        ${KType} previous = ${KTypeBoxed}.MIN_VALUE;
+        while (!queue.isEmpty()) {
+            final ${KType} key = queue.peekKey();
+            final int id = queue.poll();
+            assertTrue(queued[id]);
+            assertThat(key, is(keys[id]));
+            assertTrue(key >= previous);
+            queued[id] = false;
+            previous = key;
+        }
+        for (final boolean q : queued) {
+            assertFalse(q);
+        }
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        final ${KTypeName}IndexedPriorityQueue queue = new ${KTypeName}IndexedPriorityQueue(10);
+        queue.add(0, 300);
+        queue.add(1, 100);
+        queue.clear();
+
+        assertTrue(queue.isEmpty());
+        assertFalse(queue.contains(0));
+        queue.add(0, 200);
+        assertThat(queue.peekId(), is(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddQueuedId() throws Exception {
+        final ${KTypeName}IndexedPriorityQueue queue = new ${KTypeName}IndexedPriorityQueue(10);
+        queue.add(0, 300);
+        queue.add(0, 100);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIdOutOfBounds() throws Exception {
+        new ${KTypeName}IndexedPriorityQueue(10).add(10, 100);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testKeyOfMissingId() throws Exception {
+        new ${KTypeName}IndexedPriorityQueue(10).keyOf(3);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testPollEmpty() throws Exception {
+        new ${KTypeName}IndexedPriorityQueue(10).poll();
+    }
+
+    @Test
+    public void testToString() throws Exception {
+        final ${KTypeName}IndexedPriorityQueue queue = new ${KTypeName}IndexedPriorityQueue(10);
+        queue.add(5, 100);
+
+        assertEquals("${KTypeName}IndexedPriorityQueue { size=1 }", queue.toString());
+    }
+
+}
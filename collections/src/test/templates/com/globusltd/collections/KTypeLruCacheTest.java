@@ -0,0 +1,242 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ${KTypeName}LruCacheTest {
+
+    private static final ${KTypeName}LruCache.Weigher<String> LENGTH_WEIGHER =
+            new ${KTypeName}LruCache.Weigher<String>() {
+
+                @Override
+                public int weigh(final ${KType} key, final String value) {
+                    return value.length();
+                }
+
+            };
+
+    @Test
+    public void testPutAndGet() throws Exception {
+        final ${KTypeName}LruCache<String> cache = new ${KTypeName}LruCache<>(10);
+        assertNull(cache.put(100, "a"));
+        assertNull(cache.put(0, "b"));
+
+        assertEquals("a", cache.get(100));
+        assertEquals("b", cache.get(0));
+        assertNull(cache.get(200));
+        assertThat(cache.size(), is(2));
+        assertThat(cache.entryCount(), is(2));
+    }
+
+    @Test
+    public void testPutReplacesValue() throws Exception {
+        final ${KTypeName}LruCache<String> cache = new ${KTypeName}LruCache<>(10);
+        cache.put(100, "a");
+
+        assertEquals("a", cache.put(100, "b"));
+        assertEquals("b", cache.get(100));
+        assertThat(cache.size(), is(1));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testPutNullValue() throws Exception {
+        new ${KTypeName}LruCache<String>(10).put(100, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalMaxSize() throws Exception {
+        new ${KTypeName}LruCache<String>(0);
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() throws Exception {
+        final ${KTypeName}LruCache<String> cache = new ${KTypeName}LruCache<>(3);
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.put(3, "c");
+        cache.get(1);
+
+        cache.put(4, "d");
+        assertFalse(cache.containsKey(2));
+        assertTrue(Arrays.equals(new ${KType}[] { 3, 1, 4 }, cache.keys()));
+        assertThat(cache.evictionCount(), is(1));
+    }
+
+    @Test
+    public void testReplaceUpdatesRecency() throws Exception {
+        final ${KTypeName}LruCache<String> cache = new ${KTypeName}LruCache<>(3);
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.put(1, "c");
+
+        assertTrue(Arrays.equals(new ${KType}[] { 2, 1 }, cache.keys()));
+    }
+
+    @Test
+    public void testContainsKeyDoesNotUpdateRecency() throws Exception {
+        final ${KTypeName}LruCache<String> cache = new ${KTypeName}LruCache<>(2);
+        cache.put(1, "a");
+        cache.put(2, "b");
+        assertTrue(cache.containsKey(1));
+
+        cache.put(3, "c");
+        assertFalse(cache.containsKey(1));
+        assertThat(cache.hitCount(), is(0));
+        assertThat(cache.missCount(), is(0));
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        final ${KTypeName}LruCache<String> cache = new ${KTypeName}LruCache<>(10);
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.put(3, "c");
+
+        assertEquals("b", cache.remove(2));
+        assertNull(cache.remove(2));
+        assertThat(cache.size(), is(2));
+        assertTrue(Arrays.equals(new ${KType}[] { 1, 3 }, cache.keys()));
+        assertThat(cache.evictionCount(), is(0));
+    }
+
+    @Test
+    public void testWeigher() throws Exception {
+        final ${KTypeName}LruCache<String> cache = new ${KTypeName}LruCache<>(10, LENGTH_WEIGHER);
+        cache.put(1, "aaaa");
+        cache.put(2, "bbbb");
+        assertThat(cache.size(), is(8));
+
+        cache.put(3, "cccc");
+        assertThat(cache.size(), is(8));
+        assertFalse(cache.containsKey(1));
+
+        cache.put(2, "b");
+        assertThat(cache.size(), is(5));
+
+        cache.put(4, "dddddddddddd");
+        assertThat(cache.size(), is(0));
+        assertThat(cache.entryCount(), is(0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNegativeWeight() throws Exception {
+        final ${KTypeName}LruCache<String> cache = new ${KTypeName}LruCache<>(10,
+                new ${KTypeName}LruCache.Weigher<String>() {
+
+                    @Override
+                    public int weigh(final ${KType} key, final String value) {
+                        return -1;
+                    }
+
+                });
+        cache.put(1, "a");
+    }
+
+    @Test
+    public void testEntryRemoved() throws Exception {
+        final List<String> removed = new ArrayList<>();
+        final ${KTypeName}LruCache<String> cache = new ${KTypeName}LruCache<String>(2) {
+
+            @Override
+            protected void entryRemoved(final boolean evicted, final ${KType} key,
+                    final String oldValue, final String newValue) {
+                removed.add(evicted + ":" + key + ":" + oldValue + ":" + newValue);
+            }
+
+        };
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.put(1, "c");
+        cache.put(3, "d");
+        cache.remove(1);
+
+        assertEquals(Arrays.asList("false:1:a:c", "true:2:b:null", "false:1:c:null"), removed);
+    }
+
+    @Test
+    public void testStats() throws Exception {
+        final ${KTypeName}LruCache<String> cache = new ${KTypeName}LruCache<>(10);
+        cache.put(1, "a");
+        cache.put(1, "b");
+        cache.get(1);
+        cache.get(1);
+        cache.get(1);
+        cache.get(2);
+
+        assertThat(cache.putCount(), is(2));
+        assertThat(cache.hitCount(), is(3));
+        assertThat(cache.missCount(), is(1));
+        assertEquals("${KTypeName}LruCache { maxSize=10, hits=3, misses=1, hitRate=75% }",
+                cache.toString());
+    }
+
+    @Test
+    public void testResizeAndTrim() throws Exception {
+        final ${KTypeName}LruCache<String> cache = new ${KTypeName}LruCache<>(10);
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, "v" + i);
+        }
+
+        cache.resize(5);
+        assertThat(cache.maxSize(), is(5));
+        assertTrue(Arrays.equals(new ${KType}[] { 5, 6, 7, 8, 9 }, cache.keys()));
+
+        cache.trimToSize(2);
+        assertTrue(Arrays.equals(new ${KType}[] { 8, 9 }, cache.keys()));
+
+        cache.evictAll();
+        assertThat(cache.size(), is(0));
+        assertThat(cache.keys().length, is(0));
+        assertThat(cache.evictionCount(), is(10));
+    }
+
+    @Test
+    public void testGrowthAndReuse() throws Exception {
+        final ${KTypeName}LruCache<Integer> cache = new ${KTypeName}LruCache<>(1000);
+        for (int i = 0; i < 5000; i++) {
+            cache.put(i * 31, i);
+        }
+
+        assertThat(cache.entryCount(), is(1000));
+        for (int i = 0; i < 4000; i++) {
+            assertFalse(cache.containsKey(i * 31));
+        }
+        for (int i = 4000; i < 5000; i++) {
+            assertThat(cache.get(i * 31), is(i));
+        }
+
+        for (int i = 4000; i < 5000; i += 2) {
+            cache.remove(i * 31);
+        }
+        for (int i = 4001; i < 5000; i += 2) {
+            assertThat(cache.get(i * 31), is(i));
+        }
+        assertThat(cache.entryCount(), is(500));
+    }
+
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ${KTypeName}ObjectHashMapTest {
+
+    @Test
+    public void testNewMapIsEmpty() throws Exception {
+        final ${KTypeName}ObjectHashMap<String> map = new ${KTypeName}ObjectHashMap<>();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(100));
+    }
+
+    @Test
+    public void testPutAndGet() throws Exception {
+        final ${KTypeName}ObjectHashMap<String> map = new ${KTypeName}ObjectHashMap<>();
+        map.put(100, "a");
+        map.put(200, "b");
+        map.put(300, "c");
+
+        assertThat(map.size(), is(3));
+        assertEquals("b", map.get(200));
+        assertNull(map.get(400));
+        assertEquals("d", map.get(400, "d"));
+    }
+
+    @Test
+    public void testPutReplacesValue() throws Exception {
+        final ${KTypeName}ObjectHashMap<String> map = new ${KTypeName}ObjectHashMap<>();
+        assertNull(map.put(100, "a"));
+
+        assertEquals("a", map.put(100, "b"));
+        assertEquals("b", map.get(100));
+        assertThat(map.size(), is(1));
+    }
+
+    @Test
+    public void testNullValue() throws Exception {
+        final ${KTypeName}ObjectHashMap<String> map = new ${KTypeName}ObjectHashMap<>();
+        map.put(100, null);
+
+        assertTrue(map.containsKey(100));
+        assertNull(map.get(100, "default"));
+        assertThat(map.size(), is(1));
+    }
+
+    @Test
+    public void testZeroKey() throws Exception {
+        final ${KTypeName}ObjectHashMap<String> map = new ${KTypeName}ObjectHashMap<>();
+        assertFalse(map.containsKey(0));
+
+        assertNull(map.put(0, "zero"));
+        assertTrue(map.containsKey(0));
+        assertEquals("zero", map.get(0));
+        assertThat(map.size(), is(1));
+
+        assertEquals("zero", map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertNull(map.remove(0));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        final ${KTypeName}ObjectHashMap<String> map = new ${KTypeName}ObjectHashMap<>();
+        map.put(100, "a");
+        map.put(200, "b");
+
+        assertEquals("a", map.remove(100));
+        assertNull(map.remove(100));
+        assertFalse(map.containsKey(100));
+        assertEquals("b", map.get(200));
+        assertThat(map.size(), is(1));
+    }
+
+    @Test
+    public void testCapacityGrowthKeepsMappings() throws Exception {
+        final ${KTypeName}ObjectHashMap<Integer> map = new ${KTypeName}ObjectHashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            map.put(i * 31, i);
+        }
+
+        assertThat(map.size(), is(10000));
+        for (int i = 0; i < 10000; i++) {
+            assertThat(map.get(i * 31), is(i));
+        }
+    }
+
+    @Test
+    public void testRemoveKeepsCollidingMappings() throws Exception {
+        final ${KTypeName}ObjectHashMap<Integer> map = new ${KTypeName}ObjectHashMap<>(4, 0.9f);
+        for (int i = 1; i <= 1000; i++) {
+            map.put(i, i);
+        }
+        for (int i = 1; i <= 1000; i += 2) {
+            map.remove(i);
+        }
+
+        assertThat(map.size(), is(500));
+        for (int i = 1; i <= 1000; i++) {
+            assertThat(map.containsKey(i), is(i % 2 == 0));
+            if (i % 2 == 0) {
+                assertThat(map.get(i), is(i));
+            }
+        }
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        final ${KTypeName}ObjectHashMap<String> map = new ${KTypeName}ObjectHashMap<>();
+        map.put(0, "a");
+        map.put(100, "b");
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(0));
+        assertFalse(map.containsKey(100));
+        assertNull(map.get(100));
+    }
+
+    @Test
+    public void testKeys() throws Exception {
+        final ${KTypeName}ObjectHashMap<String> map = new ${KTypeName}ObjectHashMap<>();
+        map.put(0, "a");
+        map.put(100, "b");
+        map.put(200, "c");
+
+        final ${KType}[] keys = map.keys();
+        Arrays.sort(keys);
+        assertTrue(Arrays.equals(new ${KType}[] { 0, 100, 200 }, keys));
+    }
+
+    @Test
+    public void testCursor() throws Exception {
+        final ${KTypeName}ObjectHashMap<String> map = new ${KTypeName}ObjectHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "v" + i);
+        }
+
+        final ${KTypeName}ObjectHashMap.Cursor<String> cursor = map.cursor();
+        int count = 0;
+        while (cursor.moveNext()) {
+            assertEquals("v" + cursor.key(), cursor.value());
+            count++;
+        }
+        assertThat(count, is(100));
+        assertFalse(cursor.moveNext());
+
+        map.remove(0);
+        cursor.reset(map);
+        count = 0;
+        while (cursor.moveNext()) {
+            count++;
+        }
+        assertThat(count, is(99));
+    }
+
+    @Test
+    public void testCursorEmptyMap() throws Exception {
+        final ${KTypeName}ObjectHashMap.Cursor<String> cursor =
+                new ${KTypeName}ObjectHashMap<String>().cursor();
+        assertFalse(cursor.moveNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalLoadFactor() throws Exception {
+        new ${KTypeName}ObjectHashMap<String>(16, 1.5f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalCapacity() throws Exception {
+        new ${KTypeName}ObjectHashMap<String>(-1);
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        final ${KTypeName}ObjectHashMap<String> map1 = new ${KTypeName}ObjectHashMap<>();
+        map1.put(0, "a");
+        map1.put(100, null);
+        map1.put(200, "c");
+
+        final ${KTypeName}ObjectHashMap<String> map2 = new ${KTypeName}ObjectHashMap<>(1000);
+        map2.put(200, "c");
+        map2.put(100, null);
+        map2.put(0, "a");
+
+        assertEquals(map1, map2);
+        assertThat(map1.hashCode(), is(map2.hashCode()));
+    }
+
+    @Test
+    public void testNotEquals() throws Exception {
+        final ${KTypeName}ObjectHashMap<String> map1 = new ${KTypeName}ObjectHashMap<>();
+        map1.put(100, "a");
+
+        final ${KTypeName}ObjectHashMap<String> map2 = new ${KTypeName}ObjectHashMap<>();
+        map2.put(100, "b");
+
+        assertNotEquals(map1, map2);
+        map2.put(100, "a");
+        map2.put(200, "a");
+        assertNotEquals(map1, map2);
+    }
+
+    @Test
+    public void testToString() {
+        final ${KTypeName}ObjectHashMap<String> map = new ${KTypeName}ObjectHashMap<>();
+        map.put(100, "a");
+
+        assertEquals("${KTypeName}ObjectHashMap { 100=a }", map.toString());
+    }
+
+    @Test
+    public void testCopyConstructor() throws Exception {
+        final ${KTypeName}ObjectHashMap<String> map = new ${KTypeName}ObjectHashMap<>();
+        map.put(0, "a");
+        map.put(100, "b");
+
+        final ${KTypeName}ObjectHashMap<String> copy = new ${KTypeName}ObjectHashMap<>(map);
+        assertEquals(map, copy);
+
+        copy.put(200, "c");
+        assertFalse(map.containsKey(200));
+    }
+
+}
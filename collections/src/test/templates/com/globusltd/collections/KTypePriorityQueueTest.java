@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ${KTypeName}PriorityQueueTest {
+
+    @Test
+    public void testAscendingOrder() throws Exception {
+        final ${KTypeName}PriorityQueue queue = new ${KTypeName}PriorityQueue();
+        queue.add(300);
+        queue.add(100);
+        queue.add(400);
+        queue.add(200);
+        queue.add(100);
+
+        assertThat(queue.size(), is(5));
+        assertThat(queue.peek(), is((${KType}) 100));
+        assertThat(queue.poll(), is((${KType}) 100));
+        assertThat(queue.poll(), is((${KType}) 100));
+        assertThat(queue.poll(), is((${KType}) 200));
+        assertThat(queue.poll(), is((${KType}) 300));
+        assertThat(queue.poll(), is((${KType}) 400));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testDescendingOrder() throws Exception {
+        final ${KTypeName}PriorityQueue queue = new ${KTypeName}PriorityQueue(4,
+                ${KTypeName}PriorityQueue.ORDER_DESCENDING);
+        queue.add(300);
+        queue.add(100);
+        queue.add(400);
+        queue.add(200);
+
+        assertThat(queue.poll(), is((${KType}) 400));
+        assertThat(queue.poll(), is((${KType}) 300));
+        assertThat(queue.poll(), is((${KType}) 200));
+        assertThat(queue.poll(), is((${KType}) 100));
+    }
+
+    @Test
+    public void testRandomElements() throws Exception {
+        final Random random = new Random(42);
+        final ${KType}[] expected = new ${KType}[5000];
+        final ${KTypeName}PriorityQueue queue = new ${KTypeName}PriorityQueue();
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = random.next${KTypeName}();
+            queue.add(expected[i]);
+        }
+        Arrays.sort(expected);
+
+        for (final ${KType} e : expected) {
+            assertThat(queue.poll(), is(e));
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testAddAll() throws Exception {
+        final ${KTypeName}PriorityQueue queue = new ${KTypeName}PriorityQueue(0);
+        queue.add(50);
+        queue.addAll(new ${KType}[] { 900, 70, 10, 30, 80, 20, 60 }, 1, 5);
+        queue.addAll(new ${KType}[] { 40 }, 0, 1);
+
+        final ${KType}[] expected = new ${KType}[] { 10, 30, 40, 50, 70, 80, 20 };
+        Arrays.sort(expected);
+        for (final ${KType} e : expected) {
+            assertThat(queue.poll(), is(e));
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAddAllOutOfBounds() throws Exception {
+        new ${KTypeName}PriorityQueue().addAll(new ${KType}[2], 1, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownOrder() throws Exception {
+        new ${KTypeName}PriorityQueue(10, 2);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testPollEmpty() throws Exception {
+        new ${KTypeName}PriorityQueue().poll();
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testPeekEmpty() throws Exception {
+        new ${KTypeName}PriorityQueue().peek();
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        final ${KTypeName}PriorityQueue queue = new ${KTypeName}PriorityQueue();
+        queue.add(100);
+        queue.add(200);
+        queue.clear();
+
+        assertTrue(queue.isEmpty());
+        queue.add(300);
+        assertThat(queue.peek(), is((${KType}) 300));
+        assertFalse(queue.isEmpty());
+    }
+
+    @Test
+    public void testToArray() throws Exception {
+        final ${KTypeName}PriorityQueue queue = new ${KTypeName}PriorityQueue();
+        queue.add(300);
+        queue.add(100);
+        queue.add(200);
+
+        final ${KType}[] array = queue.toArray();
+        Arrays.sort(array);
+        assertTrue(Arrays.equals(new ${KType}[] { 100, 200, 300 }, array));
+    }
+
+    @Test
+    public void testToString() throws Exception {
+        final ${KTypeName}PriorityQueue queue = new ${KTypeName}PriorityQueue();
+        queue.add(100);
+
+        assertEquals("${KTypeName}PriorityQueue { size=1 }", queue.toString());
+    }
+
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.os.Parcel;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ${KTypeName}${VTypeName}HashMapTest {
+
+    @Test
+    public void testNewMapIsEmpty() throws Exception {
+        final ${KTypeName}${VTypeName}HashMap map = new ${KTypeName}${VTypeName}HashMap();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testPutAndGet() throws Exception {
+        final ${KTypeName}${VTypeName}HashMap map = new ${KTypeName}${VTypeName}HashMap();
+        map.put(100, 1);
+        map.put(200, 2);
+        map.put(300, 3);
+
+        assertThat(map.size(), is(3));
+        assertThat(map.get(200), is((${VType}) 2));
+    }
+
+    @Test
+    public void testPutReplacesValue() throws Exception {
+        final ${KTypeName}${VTypeName}HashMap map = new ${KTypeName}${VTypeName}HashMap();
+        map.put(100, 1);
+
+        assertThat(map.put(100, 2), is((${VType}) 1));
+        assertThat(map.get(100), is((${VType}) 2));
+        assertThat(map.size(), is(1));
+    }
+
+    @Test
+    public void testGetMissingKeyReturnsNoEntryValue() throws Exception {
+        final ${KTypeName}${VTypeName}HashMap map = new ${KTypeName}${VTypeName}HashMap(16, 0.5f, -1);
+        map.put(100, 1);
+
+        assertThat(map.get(200), is((${VType}) -1));
+        assertThat(map.put(200, 2), is((${VType}) -1));
+        assertThat(map.getNoEntryValue(), is((${VType}) -1));
+    }
+
+    @Test
+    public void testGetWithDefaultValue() throws Exception {
+        final ${KTypeName}${VTypeName}HashMap map = new ${KTypeName}${VTypeName}HashMap();
+        map.put(100, 1);
+
+        assertThat(map.get(100, 5), is((${VType}) 1));
+        assertThat(map.get(200, 5), is((${VType}) 5));
+    }
+
+    @Test
+    public void testZeroKey() throws Exception {
+        final ${KTypeName}${VTypeName}HashMap map = new ${KTypeName}${VTypeName}HashMap();
+        assertFalse(map.containsKey(0));
+
+        map.put(0, 7);
+
+        assertTrue(map.containsKey(0));
+        assertThat(map.get(0), is((${VType}) 7));
+        assertThat(map.size(), is(1));
+        assertThat(map.remove(0), is((${VType}) 7));
+        assertFalse(map.containsKey(0));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testContainsKey() throws Exception {
+        final ${KTypeName}${VTypeName}HashMap map = new ${KTypeName}${VTypeName}HashMap();
+        map.put(100, 1);
+
+        assertTrue(map.containsKey(100));
+        assertFalse(map.containsKey(200));
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        final ${KTypeName}${VTypeName}HashMap map = new ${KTypeName}${VTypeName}HashMap();
+        map.put(100, 1);
+        map.put(200, 2);
+
+        assertThat(map.remove(100), is((${VType}) 1));
+        assertThat(map.remove(100), is((${VType}) 0));
+        assertFalse(map.containsKey(100));
+        assertThat(map.get(200), is((${VType}) 2));
+        assertThat(map.size(), is(1));
+    }
+
+    @Test
+    public void testCapacityGrowthKeepsMappings() throws Exception {
+        final ${KTypeName}${VTypeName}HashMap map = new ${KTypeName}${VTypeName}HashMap();
+        for (int i = 0; i < 10000; i++) {
+            map.put(i * 31, i);
+        }
+
+        assertThat(map.size(), is(10000));
+        for (int i = 0; i < 10000; i++) {
+            assertThat(map.get(i * 31), is((${VType}) i));
+        }
+    }
+
+    @Test
+    public void testRemoveKeepsCollidingMappings() throws Exception {
+        final ${KTypeName}${VTypeName}HashMap map = new ${KTypeName}${VTypeName}HashMap(4, 0.9f);
+        for (int i = 1; i <= 1000; i++) {
+            map.put(i, i);
+        }
+        for (int i = 1; i <= 1000; i += 2) {
+            map.remove(i);
+        }
+
+        assertThat(map.size(), is(500));
+        for (int i = 1; i <= 1000; i++) {
+            assertThat(map.containsKey(i), is(i % 2 == 0));
+        }
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        final ${KTypeName}${VTypeName}HashMap map = new ${KTypeName}${VTypeName}HashMap();
+        map.put(0, 1);
+        map.put(100, 2);
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(0));
+        assertFalse(map.containsKey(100));
+    }
+
+    @Test
+    public void testKeysAndValues() throws Exception {
+        final ${KTypeName}${VTypeName}HashMap map = new ${KTypeName}${VTypeName}HashMap();
+        map.put(0, 10);
+        map.put(100, 20);
+        map.put(200, 30);
+
+        final ${KType}[] keys = map.keys();
+        final ${VType}[] values = map.values();
+        for (int i = 0; i < keys.length; i++) {
+            assertThat(map.get(keys[i]), is(values[i]));
+        }
+
+        Arrays.sort(keys);
+        assertTrue(Arrays.equals(new ${KType}[] { 0, 100, 200 }, keys));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalLoadFactor() throws Exception {
+        new ${KTypeName}${VTypeName}HashMap(16, 1f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalCapacity() throws Exception {
+        new ${KTypeName}${VTypeName}HashMap(-1);
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        final ${KTypeName}${VTypeName}HashMap map1 = new ${KTypeName}${VTypeName}HashMap();
+        map1.put(0, 1);
+        map1.put(100, 2);
+
+        final ${KTypeName}${VTypeName}HashMap map2 = new ${KTypeName}${VTypeName}HashMap(100);
+        map2.put(100, 2);
+        map2.put(0, 1);
+
+        assertEquals(map1, map2);
+        assertThat(map1.hashCode(), is(map2.hashCode()));
+    }
+
+    @Test
+    public void testNotEquals() throws Exception {
+        final ${KTypeName}${VTypeName}HashMap map1 = new ${KTypeName}${VTypeName}HashMap();
+        map1.put(100, 1);
+
+        final ${KTypeName}${VTypeName}HashMap map2 = new ${KTypeName}${VTypeName}HashMap();
+        map2.put(100, 2);
+
+        assertNotEquals(map1, map2);
+    }
+
+    @Test
+    public void testToString() {
+        final ${KTypeName}${VTypeName}HashMap map = new ${KTypeName}${VTypeName}HashMap();
+        map.put(100, 200);
+
+        assertEquals("${KTypeName}${VTypeName}HashMap { 100=200 }", map.toString());
+    }
+
+    @Test
+    public void testCopyConstructor() throws Exception {
+        final ${KTypeName}${VTypeName}HashMap map1 = new ${KTypeName}${VTypeName}HashMap();
+        map1.put(0, 1);
+        map1.put(100, 2);
+
+        final ${KTypeName}${VTypeName}HashMap map2 = new ${KTypeName}${VTypeName}HashMap(map1);
+        assertEquals(map1, map2);
+
+        map1.remove(100);
+        assertNotEquals(map1, map2);
+    }
+
+    @Test
+    public void testParcelable() throws Exception {
+        final ${KTypeName}${VTypeName}HashMap mapIn = new ${KTypeName}${VTypeName}HashMap(16, 0.5f, -1);
+        mapIn.put(0, 1);
+        mapIn.put(100, 2);
+        mapIn.put(200, 3);
+
+        final Parcel parcel = MockParcel.obtain();
+        mapIn.writeToParcel(parcel, 0);
+
+        parcel.setDataPosition(0);
+
+        final ${KTypeName}${VTypeName}HashMap mapOut = ${KTypeName}${VTypeName}HashMap.CREATOR.createFromParcel(parcel);
+        assertEquals(mapIn, mapOut);
+        assertThat(mapOut.getNoEntryValue(), is((${VType}) -1));
+    }
+
+    @Test
+    public void testParcelableNewArray() throws Exception {
+        final ${KTypeName}${VTypeName}HashMap[] array = ${KTypeName}${VTypeName}HashMap.CREATOR.newArray(2);
+        assertThat(array.length, is(2));
+    }
+
+}
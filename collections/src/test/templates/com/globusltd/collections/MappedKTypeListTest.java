@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class Mapped${KTypeName}ListTest {
+
+    @Test
+    public void testMapSavedList() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        for (int i = 0; i < 10000; i++) {
+            ${KType}ArrayList.add(i * 3);
+        }
+
+        final Mapped${KTypeName}List list = map(${KType}ArrayList);
+
+        assertThat(list.size(), is(10000));
+        for (int i = 0; i < 10000; i++) {
+            assertThat(list.get(i), is((${KType}) (i * 3)));
+        }
+        assertEquals(${KType}ArrayList, list.to${KTypeName}ArrayList());
+        assertThat(list.hashCode(), is(${KType}ArrayList.hashCode()));
+    }
+
+    @Test
+    public void testMapEmptyList() throws Exception {
+        final Mapped${KTypeName}List list = map(new ${KTypeName}ArrayList());
+
+        assertTrue(list.isEmpty());
+        assertThat(list.toArray().length, is(0));
+    }
+
+    @Test
+    public void testIndexOf() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add(100);
+        ${KType}ArrayList.add(200);
+        ${KType}ArrayList.add(200);
+
+        final Mapped${KTypeName}List list = map(${KType}ArrayList);
+
+        assertThat(list.indexOf(200), is(1));
+        assertThat(list.indexOf(300), is(-1));
+        assertTrue(list.contains(100));
+        assertFalse(list.contains(300));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexOutOfBoundsException() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add(100);
+
+        map(${KType}ArrayList).get(1);
+    }
+
+    @Test(expected = IOException.class)
+    public void testMapUnknownFile() throws Exception {
+        final File file = File.createTempFile("list", null);
+        try {
+            final RandomAccessFile out = new RandomAccessFile(file, "rw");
+            try {
+                out.getChannel().write(ByteBuffer.wrap(new byte[32]));
+            } finally {
+                out.close();
+            }
+
+            final RandomAccessFile in = new RandomAccessFile(file, "r");
+            try {
+                Mapped${KTypeName}List.map(in.getChannel());
+            } finally {
+                in.close();
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add(100);
+        ${KType}ArrayList.add(200);
+
+        final Mapped${KTypeName}List list1 = map(${KType}ArrayList);
+        final Mapped${KTypeName}List list2 = map(${KType}ArrayList);
+        assertEquals(list1, list2);
+
+        ${KType}ArrayList.add(300);
+        assertNotEquals(list1, map(${KType}ArrayList));
+    }
+
+    @Test
+    public void testToString() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add(100);
+        ${KType}ArrayList.add(200);
+
+        assertEquals("Mapped${KTypeName}List [ 100, 200 ]", map(${KType}ArrayList).toString());
+    }
+
+    private static Mapped${KTypeName}List map(final ${KTypeName}ArrayList ${KType}ArrayList)
+            throws IOException {
+        final File file = File.createTempFile("list", null);
+        file.deleteOnExit();
+
+        final RandomAccessFile out = new RandomAccessFile(file, "rw");
+        try {
+            ${KType}ArrayList.saveTo(out.getChannel());
+        } finally {
+            out.close();
+        }
+
+        final RandomAccessFile in = new RandomAccessFile(file, "r");
+        try {
+            return Mapped${KTypeName}List.map(in.getChannel());
+        } finally {
+            in.close();
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+public class Parallel${KTypeName}AggregatesTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private static final ${KTypeName}Predicate DIVISIBLE_BY_3 = new ${KTypeName}Predicate() {
+        @Override
+        public boolean apply(final ${KType} value) {
+            return value % 3 == 0;
+        }
+    };
+
+    @Test
+    public void testSum() throws Exception {
+        final ${KTypeName}ArrayList list = newList(100000);
+        assertThat(Parallel${KTypeName}Aggregates.sum(list, POOL), is(list.sum()));
+    }
+
+    @Test
+    public void testMinAndMax() throws Exception {
+        final ${KTypeName}ArrayList list = newList(100000);
+        list.set(77777, -1);
+        list.set(12345, 1000000);
+
+        assertThat(Parallel${KTypeName}Aggregates.min(list, POOL), is((${KType}) -1));
+        assertThat(Parallel${KTypeName}Aggregates.max(list, POOL), is((${KType}) 1000000));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testMinOfEmptyList() throws Exception {
+        Parallel${KTypeName}Aggregates.min(new ${KTypeName}ArrayList(), POOL);
+    }
+
+    @Test
+    public void testCount() throws Exception {
+        final ${KTypeName}ArrayList list = newList(100000);
+        assertThat(Parallel${KTypeName}Aggregates.count(list, DIVISIBLE_BY_3, POOL),
+                is(list.count(DIVISIBLE_BY_3)));
+    }
+
+    @Test
+    public void testFilterKeepsOrder() throws Exception {
+        final ${KTypeName}ArrayList list = newList(100000);
+        assertEquals(list.filter(DIVISIBLE_BY_3),
+                Parallel${KTypeName}Aggregates.filter(list, DIVISIBLE_BY_3, POOL));
+    }
+
+    @Test
+    public void testSmallList() throws Exception {
+        final ${KTypeName}ArrayList list = newList(10);
+
+        assertThat(Parallel${KTypeName}Aggregates.sum(list, POOL), is(45L));
+        assertThat(Parallel${KTypeName}Aggregates.max(list, POOL), is((${KType}) 9));
+        assertThat(Parallel${KTypeName}Aggregates.count(list, DIVISIBLE_BY_3, POOL), is(4));
+    }
+
+    private static ${KTypeName}ArrayList newList(final int size) {
+        final ${KTypeName}ArrayList list = new ${KTypeName}ArrayList();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+}
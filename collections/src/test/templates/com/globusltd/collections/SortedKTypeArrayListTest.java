@@ -0,0 +1,234 @@
+/*
+ * Copyright 2017 Globus Ltd.
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.globusltd.collections;
+
+import android.os.Parcel;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class Sorted${KTypeName}ArrayListTest {
+
+    @Test
+    public void testNewListIsEmpty() throws Exception {
+        final Sorted${KTypeName}ArrayList list = new Sorted${KTypeName}ArrayList();
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void testAddKeepsOrder() throws Exception {
+        final Sorted${KTypeName}ArrayList list = new Sorted${KTypeName}ArrayList();
+        assertThat(list.add(300), is(0));
+        assertThat(list.add(100), is(0));
+        assertThat(list.add(200), is(1));
+        assertThat(list.add(-100), is(0));
+
+        assertTrue(Arrays.equals(new ${KType}[] { -100, 100, 200, 300 }, list.toArray()));
+    }
+
+    @Test
+    public void testAddAll() throws Exception {
+        final Sorted${KTypeName}ArrayList list = new Sorted${KTypeName}ArrayList();
+        list.add(200);
+
+        assertTrue(list.addAll(new ${KType}[] { 300, 100, 0 }, 0, 3));
+        assertFalse(list.addAll(new ${KType}[] { 300 }, 0, 0));
+
+        assertTrue(Arrays.equals(new ${KType}[] { 0, 100, 200, 300 }, list.toArray()));
+    }
+
+    @Test
+    public void testListConstructorSorts() throws Exception {
+        final ${KTypeName}ArrayList ${KType}ArrayList = new ${KTypeName}ArrayList();
+        ${KType}ArrayList.add(300);
+        ${KType}ArrayList.add(100);
+        ${KType}ArrayList.add(200);
+
+        final Sorted${KTypeName}ArrayList list = new Sorted${KTypeName}ArrayList(${KType}ArrayList);
+
+        assertTrue(Arrays.equals(new ${KType}[] { 100, 200, 300 }, list.toArray()));
+        assertThat(${KType}ArrayList.get(0), is((${KType}) 300));
+    }
+
+    @Test
+    public void testIndexOfReturnsFirstOccurrence() throws Exception {
+        final Sorted${KTypeName}ArrayList list = new Sorted${KTypeName}ArrayList();
+        for (int i = 0; i < 10; i++) {
+            list.add(100);
+        }
+        list.add(0);
+        list.add(200);
+
+        assertThat(list.indexOf(100), is(1));
+        assertThat(list.indexOf(200), is(11));
+        assertThat(list.indexOf(150), is(-1));
+    }
+
+    @Test
+    public void testIndexOfLongRunOfDuplicates() throws Exception {
+        final Sorted${KTypeName}ArrayList list = new Sorted${KTypeName}ArrayList();
+        for (int i = 0; i < 3; i++) {
+            list.add(50);
+        }
+        for (int i = 0; i < 10000; i++) {
+            list.add(100);
+        }
+        list.add(200);
+
+        assertThat(list.indexOf(50), is(0));
+        assertThat(list.indexOf(100), is(3));
+        assertThat(list.indexOf(200), is(10003));
+        assertThat(list.indexOf(300), is(-1));
+        assertThat(list.indexOf(0), is(-1));
+
+        list.remove(100);
+        assertThat(list.indexOf(100), is(3));
+        assertThat(list.size(), is(10003));
+    }
+
+    @Test
+    public void testContains() throws Exception {
+        final Sorted${KTypeName}ArrayList list = new Sorted${KTypeName}ArrayList();
+        for (int i = 0; i < 1000; i += 2) {
+            list.add(i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(list.contains(i), is(i % 2 == 0));
+        }
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        final Sorted${KTypeName}ArrayList list = new Sorted${KTypeName}ArrayList();
+        list.add(100);
+        list.add(200);
+        list.add(100);
+
+        assertTrue(list.remove(100));
+        assertFalse(list.remove(300));
+        assertTrue(Arrays.equals(new ${KType}[] { 100, 200 }, list.toArray()));
+
+        assertThat(list.removeAt(1), is((${KType}) 200));
+        assertThat(list.size(), is(1));
+    }
+
+    @Test
+    public void testRemoveDuplicates() throws Exception {
+        final Sorted${KTypeName}ArrayList list = new Sorted${KTypeName}ArrayList();
+        list.add(100);
+        list.add(200);
+        list.add(100);
+        list.add(200);
+
+        assertThat(list.removeDuplicates(), is(2));
+        assertTrue(Arrays.equals(new ${KType}[] { 100, 200 }, list.toArray()));
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        final Sorted${KTypeName}ArrayList list = new Sorted${KTypeName}ArrayList();
+        list.add(100);
+
+        list.clear();
+
+        assertTrue(list.isEmpty());
+        assertFalse(list.contains(100));
+    }
+
+    @Test
+    public void testTo${KTypeName}ArrayList() throws Exception {
+        final Sorted${KTypeName}ArrayList list = new Sorted${KTypeName}ArrayList();
+        list.add(200);
+        list.add(100);
+
+        final ${KTypeName}ArrayList ${KType}ArrayList = list.to${KTypeName}ArrayList();
+        ${KType}ArrayList.add(0);
+
+        assertThat(list.size(), is(2));
+        assertThat(${KType}ArrayList.get(0), is((${KType}) 100));
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        final Sorted${KTypeName}ArrayList list1 = new Sorted${KTypeName}ArrayList();
+        list1.add(100);
+        list1.add(200);
+
+        final Sorted${KTypeName}ArrayList list2 = new Sorted${KTypeName}ArrayList();
+        list2.add(200);
+        list2.add(100);
+
+        assertEquals(list1, list2);
+        assertThat(list1.hashCode(), is(list2.hashCode()));
+
+        list2.add(300);
+        assertNotEquals(list1, list2);
+    }
+
+    @Test
+    public void testToString() {
+        final Sorted${KTypeName}ArrayList list = new Sorted${KTypeName}ArrayList();
+        assertEquals("Sorted${KTypeName}ArrayList [  ]", list.toString());
+
+        list.add(200);
+        list.add(100);
+        assertEquals("Sorted${KTypeName}ArrayList [ 100, 200 ]", list.toString());
+    }
+
+    @Test
+    public void testCopyConstructor() throws Exception {
+        final Sorted${KTypeName}ArrayList list1 = new Sorted${KTypeName}ArrayList();
+        list1.add(100);
+
+        final Sorted${KTypeName}ArrayList list2 = new Sorted${KTypeName}ArrayList(list1);
+        assertEquals(list1, list2);
+
+        list1.add(200);
+        assertNotEquals(list1, list2);
+    }
+
+    @Test
+    public void testParcelable() throws Exception {
+        final Sorted${KTypeName}ArrayList listIn = new Sorted${KTypeName}ArrayList();
+        for (int i = 0; i < 100; i++) {
+            listIn.add(1000 + 3 * i);
+        }
+
+        final Parcel parcel = MockParcel.obtain();
+        listIn.writeToParcel(parcel, 0);
+
+        parcel.setDataPosition(0);
+
+        final Sorted${KTypeName}ArrayList listOut = Sorted${KTypeName}ArrayList.CREATOR.createFromParcel(parcel);
+        assertEquals(listIn, listOut);
+    }
+
+    @Test
+    public void testParcelableNewArray() throws Exception {
+        final Sorted${KTypeName}ArrayList[] array = Sorted${KTypeName}ArrayList.CREATOR.newArray(2);
+        assertThat(array.length, is(2));
+    }
+
+}